@@ -0,0 +1,92 @@
+package edu.cit.Judify.benchmarks;
+
+import edu.cit.Judify.TutorAvailability.TutorAvailabilityEntity;
+import edu.cit.Judify.TutorAvailability.TutorAvailabilityRepository;
+import edu.cit.Judify.TutorAvailability.TutorAvailabilityService;
+import edu.cit.Judify.User.UserEntity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the availability conflict check that runs on every slot create/update, against a tutor
+ * who already has {@code existingSlots} slots that day. The repository is an in-memory stand-in
+ * so only the parsing and overlap logic is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class AvailabilityConflictBenchmark {
+
+    private static final String DAY = "MONDAY";
+
+    @Param({"1", "4", "12"})
+    private int existingSlots;
+
+    private TutorAvailabilityService availabilityService;
+    private UserEntity tutor;
+    private TutorAvailabilityEntity freeSlot;
+    private TutorAvailabilityEntity conflictingSlot;
+
+    @Setup
+    public void setUp() {
+        tutor = EntityFixtures.tutor(202);
+        List<TutorAvailabilityEntity> slots = EntityFixtures.availability(tutor, DAY, existingSlots);
+        availabilityService = new TutorAvailabilityService(inMemoryRepository(slots), new SimpleMeterRegistry());
+
+        // Before the first existing slot, so every slot is checked and none conflicts
+        freeSlot = EntityFixtures.slot(null, tutor, DAY, "05:00", "05:45");
+        // Overlaps the last existing slot, so the whole list is scanned before the rejection
+        TutorAvailabilityEntity last = slots.get(slots.size() - 1);
+        conflictingSlot = EntityFixtures.slot(null, tutor, DAY, last.getStartTime(), last.getEndTime());
+    }
+
+    @Benchmark
+    public TutorAvailabilityEntity createFreeSlot() {
+        return availabilityService.createAvailability(freeSlot);
+    }
+
+    @Benchmark
+    public Object rejectConflictingSlot() {
+        try {
+            return availabilityService.createAvailability(conflictingSlot);
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public boolean isTimeSlotAvailable() {
+        return availabilityService.isTimeSlotAvailable(tutor, DAY, "05:00", "05:45");
+    }
+
+    private static TutorAvailabilityRepository inMemoryRepository(List<TutorAvailabilityEntity> slots) {
+        return (TutorAvailabilityRepository) Proxy.newProxyInstance(
+                TutorAvailabilityRepository.class.getClassLoader(),
+                new Class<?>[] {TutorAvailabilityRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findByTutorAndDayOfWeek" -> slots;
+                    case "save" -> args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "InMemoryTutorAvailabilityRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,134 @@
+package edu.cit.Judify.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Diffs two JMH JSON result files, e.g. the baseline committed for the last release against a fresh
+ * run. Prints time and allocation per operation side by side and exits with status 1 when either
+ * got worse by more than the threshold (default 10%), so it can gate a release build.
+ *
+ * Usage: java -cp benchmarks.jar edu.cit.Judify.benchmarks.BaselineComparison baseline.json current.json [thresholdPercent]
+ */
+public final class BaselineComparison {
+
+    private static final String ALLOC_METRIC = "gc.alloc.rate.norm";
+
+    private BaselineComparison() {
+    }
+
+    private static final class Result {
+        private final double score;
+        private final String unit;
+        private final double allocatedBytes;  // NaN when the run had no GC profiler
+
+        private Result(double score, String unit, double allocatedBytes) {
+            this.score = score;
+            this.unit = unit;
+            this.allocatedBytes = allocatedBytes;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparison <baseline.json> <current.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+
+        Map<String, Result> baseline = read(new File(args[0]));
+        Map<String, Result> current = read(new File(args[1]));
+
+        boolean regressed = false;
+        System.out.printf("%-70s %14s %14s %8s %12s %12s %8s%n",
+                "Benchmark", "Baseline", "Current", "Time", "Alloc B/op", "Alloc B/op", "Alloc");
+        for (Map.Entry<String, Result> entry : current.entrySet()) {
+            Result before = baseline.get(entry.getKey());
+            Result after = entry.getValue();
+            if (before == null) {
+                System.out.printf("%-70s %14s %14.3f %8s%n", entry.getKey(), "(new)", after.score, "");
+                continue;
+            }
+
+            double timeDelta = percentChange(before.score, after.score);
+            double allocDelta = percentChange(before.allocatedBytes, after.allocatedBytes);
+            boolean worse = timeDelta > threshold || allocDelta > threshold;
+            regressed |= worse;
+
+            System.out.printf("%-70s %11.3f %-2s %11.3f %-2s %7.1f%% %12.0f %12.0f %7.1f%%%s%n",
+                    entry.getKey(), before.score, shortUnit(before.unit), after.score, shortUnit(after.unit), timeDelta,
+                    before.allocatedBytes, after.allocatedBytes, allocDelta, worse ? "  REGRESSION" : "");
+        }
+        for (String missing : baseline.keySet()) {
+            if (!current.containsKey(missing)) {
+                System.out.printf("%-70s %14s%n", missing, "(removed)");
+            }
+        }
+
+        if (regressed) {
+            System.out.printf("%nAt least one benchmark regressed by more than %.1f%%%n", threshold);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Reads a JMH JSON file into results keyed by benchmark name plus its parameters.
+     */
+    private static Map<String, Result> read(File file) throws IOException {
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            JsonNode primary = run.path("primaryMetric");
+            results.put(key(run), new Result(
+                    primary.path("score").asDouble(),
+                    primary.path("scoreUnit").asText(),
+                    allocation(run.path("secondaryMetrics"))));
+        }
+        return results;
+    }
+
+    private static String key(JsonNode run) {
+        String benchmark = run.path("benchmark").asText();
+        benchmark = benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1);
+
+        Map<String, String> params = new TreeMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = run.path("params").fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            params.put(field.getKey(), field.getValue().asText());
+        }
+        return params.isEmpty() ? benchmark : benchmark + params;
+    }
+
+    private static double allocation(JsonNode secondaryMetrics) {
+        Iterator<Map.Entry<String, JsonNode>> metrics = secondaryMetrics.fields();
+        while (metrics.hasNext()) {
+            Map.Entry<String, JsonNode> metric = metrics.next();
+            // Older JMH versions prefix profiler metrics with a middle dot
+            if (metric.getKey().replace("\u00b7", "").equals(ALLOC_METRIC)) {
+                return metric.getValue().path("score").asDouble();
+            }
+        }
+        return Double.NaN;
+    }
+
+    private static double percentChange(double before, double after) {
+        if (Double.isNaN(before) || Double.isNaN(after)) {
+            return 0;
+        }
+        if (before == 0) {
+            return after == 0 ? 0 : 100;
+        }
+        return (after - before) / before * 100;
+    }
+
+    private static String shortUnit(String unit) {
+        return unit.replace("/op", "");
+    }
+}
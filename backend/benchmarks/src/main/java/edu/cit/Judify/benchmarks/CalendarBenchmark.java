@@ -0,0 +1,47 @@
+package edu.cit.Judify.benchmarks;
+
+import edu.cit.Judify.Calendar.CalendarService;
+import edu.cit.Judify.TutoringSession.TutoringSessionEntity;
+import edu.cit.Judify.User.UserEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of rendering the .ics attachment for a session, which happens for every calendar download
+ * and confirmation email.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class CalendarBenchmark {
+
+    private final CalendarService calendarService = new CalendarService();
+
+    private TutoringSessionEntity session;
+
+    @Setup
+    public void setUp() {
+        UserEntity student = EntityFixtures.student(101);
+        UserEntity tutor = EntityFixtures.tutor(202);
+        session = EntityFixtures.session(404, tutor, student, EntityFixtures.conversation(303, student, tutor));
+    }
+
+    @Benchmark
+    public byte[] generateICalendarFile() throws IOException {
+        return calendarService.generateICalendarFile(session);
+    }
+}
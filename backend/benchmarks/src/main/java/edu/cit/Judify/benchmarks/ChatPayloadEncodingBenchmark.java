@@ -0,0 +1,134 @@
+package edu.cit.Judify.benchmarks;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import edu.cit.Judify.Conversation.ConversationEntity;
+import edu.cit.Judify.Message.DTO.MessageDTO;
+import edu.cit.Judify.Message.DTO.MessageDTOMapper;
+import edu.cit.Judify.User.UserEntity;
+import edu.cit.Judify.WebSocket.ChatMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+
+/**
+ * Cost and size of the STOMP chat payloads in each format a client can negotiate: the
+ * {@link ChatMessage} echoed on a conversation topic and the {@link MessageDTO} pushed to the
+ * receiver's queue. {@code transcodeFromJson} is the work the server does per frame for a session
+ * on CBOR or Smile; {@code encodeAndDeflate} adds permessage-deflate as applied to a
+ * session's first message. The bytes per message, plain and deflated, are printed once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ChatPayloadEncodingBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"chatMessage", "messageDTO"})
+    private String payload;
+
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+    private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+    private final byte[] deflateBuffer = new byte[4096];
+
+    private ObjectMapper mapper;
+    private Object value;
+    private Class<?> type;
+    private byte[] json;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = new ObjectMapper(factory(format));
+
+        UserEntity student = EntityFixtures.student(101);
+        UserEntity tutor = EntityFixtures.tutor(202);
+        ConversationEntity conversation = EntityFixtures.conversation(303, student, tutor);
+        if ("chatMessage".equals(payload)) {
+            ChatMessage message = new ChatMessage("msg_1735689600000_k3j9x2", student.getUserId(), tutor.getUserId(),
+                    conversation.getConversationId(), "Can we go over the last problem set before the session?",
+                    ChatMessage.MessageType.CHAT);
+            value = message;
+            type = ChatMessage.class;
+        } else {
+            value = new MessageDTOMapper().toDTO(EntityFixtures.messages(conversation, null, 1).get(0));
+            type = MessageDTO.class;
+        }
+
+        json = jsonMapper.writeValueAsBytes(value);
+        encoded = mapper.writeValueAsBytes(value);
+        System.out.printf("%n%s as %s: %d bytes, %d bytes deflated (JSON: %d bytes, %d deflated)%n",
+                payload, format, encoded.length, deflate(encoded), json.length, deflate(json));
+    }
+
+    @TearDown
+    public void tearDown() {
+        deflater.end();
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return mapper.writeValueAsBytes(value);
+    }
+
+    @Benchmark
+    public Object decode() throws IOException {
+        return mapper.readValue(encoded, type);
+    }
+
+    @Benchmark
+    public byte[] transcodeFromJson() throws IOException {
+        return mapper.writeValueAsBytes(jsonMapper.readTree(json));
+    }
+
+    @Benchmark
+    public int encodeAndDeflate() throws IOException {
+        return deflate(mapper.writeValueAsBytes(value));
+    }
+
+    /**
+     * Compressed size of one message as permessage-deflate sends it with a fresh window: a raw,
+     * sync-flushed deflate stream. With context takeover later messages on a session compress
+     * better, so this is the saving on a session's first message.
+     */
+    private int deflate(byte[] bytes) {
+        deflater.reset();
+        deflater.setInput(bytes);
+        int length = 0;
+        int written;
+        do {
+            written = deflater.deflate(deflateBuffer, 0, deflateBuffer.length, Deflater.SYNC_FLUSH);
+            length += written;
+        } while (written == deflateBuffer.length);
+        // The trailing 00 00 ff ff of the sync flush is not sent (RFC 7692)
+        return length - 4;
+    }
+
+    private static JsonFactory factory(String format) {
+        return switch (format) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> new JsonFactory();
+        };
+    }
+}
@@ -0,0 +1,82 @@
+package edu.cit.Judify.benchmarks;
+
+import edu.cit.Judify.Conversation.ConversationEntity;
+import edu.cit.Judify.Conversation.DTO.ConversationDTO;
+import edu.cit.Judify.Conversation.DTO.ConversationDTOMapper;
+import edu.cit.Judify.Message.DTO.MessageDTO;
+import edu.cit.Judify.Message.DTO.MessageDTOMapper;
+import edu.cit.Judify.Message.MessageEntity;
+import edu.cit.Judify.TutoringSession.DTO.TutoringSessionDTO;
+import edu.cit.Judify.TutoringSession.DTO.TutoringSessionDTOMapper;
+import edu.cit.Judify.TutoringSession.TutoringSessionEntity;
+import edu.cit.Judify.User.UserEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning entities into the DTOs the REST endpoints return: one session, one conversation,
+ * and a page of messages as served by the conversation history endpoint.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class DTOMapperBenchmark {
+
+    @Param({"20", "100"})
+    private int messagePageSize;
+
+    private final TutoringSessionDTOMapper sessionMapper = new TutoringSessionDTOMapper();
+    private final ConversationDTOMapper conversationMapper = new ConversationDTOMapper();
+    private final MessageDTOMapper messageMapper = new MessageDTOMapper();
+
+    private TutoringSessionEntity session;
+    private ConversationEntity conversation;
+    private List<MessageEntity> messages;
+
+    @Setup
+    public void setUp() {
+        UserEntity student = EntityFixtures.student(101);
+        UserEntity tutor = EntityFixtures.tutor(202);
+        conversation = EntityFixtures.conversation(303, student, tutor);
+        session = EntityFixtures.session(404, tutor, student, conversation);
+        messages = EntityFixtures.messages(conversation, session, messagePageSize);
+    }
+
+    @Benchmark
+    public TutoringSessionDTO tutoringSessionToDTO() {
+        return sessionMapper.toDTO(session);
+    }
+
+    @Benchmark
+    public ConversationDTO conversationToDTO() {
+        return conversationMapper.toDTO(conversation);
+    }
+
+    @Benchmark
+    public MessageDTO messageToDTO() {
+        return messageMapper.toDTO(messages.get(0));
+    }
+
+    @Benchmark
+    public void messagePageToDTOs(Blackhole blackhole) {
+        for (MessageEntity message : messages) {
+            blackhole.consume(messageMapper.toDTO(message));
+        }
+    }
+}
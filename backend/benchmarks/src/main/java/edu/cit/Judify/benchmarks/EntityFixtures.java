@@ -0,0 +1,143 @@
+package edu.cit.Judify.benchmarks;
+
+import edu.cit.Judify.Conversation.ConversationEntity;
+import edu.cit.Judify.Message.MessageEntity;
+import edu.cit.Judify.TutorAvailability.TutorAvailabilityEntity;
+import edu.cit.Judify.TutorProfile.TutorProfileEntity;
+import edu.cit.Judify.TutoringSession.TutoringSessionEntity;
+import edu.cit.Judify.User.UserEntity;
+import edu.cit.Judify.User.UserRole;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Builds detached, fully initialized entity graphs shaped like production data, so benchmarks
+ * measure the mapping and service code rather than Hibernate or the database.
+ */
+final class EntityFixtures {
+
+    // Fixed so every run formats the same dates
+    private static final long EPOCH = 1_735_689_600_000L;  // 2025-01-01T00:00:00Z
+    private static final long HOUR = 3_600_000L;
+
+    static final int MAX_SLOTS_PER_DAY = 12;
+
+    private EntityFixtures() {
+    }
+
+    static UserEntity student(long userId) {
+        return user(userId, "student" + userId, "Maria", "Santos", UserRole.STUDENT);
+    }
+
+    static UserEntity tutor(long userId) {
+        UserEntity tutor = user(userId, "tutor" + userId, "Jose", "Reyes", UserRole.TUTOR);
+        TutorProfileEntity profile = new TutorProfileEntity();
+        profile.setId(userId * 10);
+        profile.setUser(tutor);
+        profile.setExpertise("Calculus and Linear Algebra");
+        profile.setBiography("Ten years of university-level tutoring.");
+        profile.setHourlyRate(450.0);
+        profile.setRating(4.8);
+        profile.setSubjects(Set.of("Calculus", "Linear Algebra", "Statistics"));
+        tutor.setTutorProfile(profile);
+        return tutor;
+    }
+
+    static ConversationEntity conversation(long conversationId, UserEntity student, UserEntity tutor) {
+        ConversationEntity conversation = new ConversationEntity();
+        conversation.setConversationId(conversationId);
+        conversation.setStudent(student);
+        conversation.setTutor(tutor);
+        conversation.setCreatedAt(new Date(EPOCH));
+        conversation.setUpdatedAt(new Date(EPOCH + HOUR));
+        return conversation;
+    }
+
+    static TutoringSessionEntity session(long sessionId, UserEntity tutor, UserEntity student,
+                                         ConversationEntity conversation) {
+        TutoringSessionEntity session = new TutoringSessionEntity();
+        session.setSessionId(sessionId);
+        session.setTutor(tutor);
+        session.setStudent(student);
+        session.setConversation(conversation);
+        session.setStartTime(new Date(EPOCH + sessionId * HOUR));
+        session.setEndTime(new Date(EPOCH + sessionId * HOUR + 2 * HOUR));
+        session.setSubject("Calculus");
+        session.setStatus("CONFIRMED");
+        session.setPrice(900.0);
+        session.setNotes("Review integration by parts and practice problems from chapter 7.");
+        session.setLocationData("Lat: 10.2944, Long: 123.8811, Name: CIT-U Library");
+        session.setSessionType("in-person");
+        session.setTutorAccepted(true);
+        session.setStudentAccepted(true);
+        session.setCreatedAt(new Date(EPOCH));
+        session.setUpdatedAt(new Date(EPOCH + HOUR));
+        return session;
+    }
+
+    static List<MessageEntity> messages(ConversationEntity conversation, TutoringSessionEntity session, int count) {
+        List<MessageEntity> messages = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            boolean fromStudent = i % 2 == 0;
+            MessageEntity message = new MessageEntity();
+            message.setMessageId((long) i + 1);
+            message.setConversation(conversation);
+            message.setSender(fromStudent ? conversation.getStudent() : conversation.getTutor());
+            message.setReceiver(fromStudent ? conversation.getTutor() : conversation.getStudent());
+            message.setContent("Message " + i + ": can we go over the last problem set before the session?");
+            message.setTimestamp(new Date(EPOCH + i * 60_000L));
+            message.setIsRead(i < count - 3);
+            if (i % 10 == 0) {
+                message.setMessageType(MessageEntity.MessageType.SESSION_DETAILS);
+                message.setSession(session);
+            }
+            messages.add(message);
+        }
+        return messages;
+    }
+
+    /**
+     * Non-overlapping one-hour slots on the given day, starting at 06:00 with a half-hour gap between them.
+     * At most {@link #MAX_SLOTS_PER_DAY} fit before midnight.
+     */
+    static List<TutorAvailabilityEntity> availability(UserEntity tutor, String dayOfWeek, int count) {
+        if (count > MAX_SLOTS_PER_DAY) {
+            throw new IllegalArgumentException("At most " + MAX_SLOTS_PER_DAY + " slots fit in one day");
+        }
+        List<TutorAvailabilityEntity> slots = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int startMinutes = 6 * 60 + i * 90;
+            slots.add(slot((long) i + 1, tutor, dayOfWeek, time(startMinutes), time(startMinutes + 60)));
+        }
+        return slots;
+    }
+
+    static TutorAvailabilityEntity slot(Long availabilityId, UserEntity tutor, String dayOfWeek,
+                                        String startTime, String endTime) {
+        TutorAvailabilityEntity slot = new TutorAvailabilityEntity();
+        slot.setAvailabilityId(availabilityId);
+        slot.setTutor(tutor);
+        slot.setDayOfWeek(dayOfWeek);
+        slot.setStartTime(startTime);
+        slot.setEndTime(endTime);
+        return slot;
+    }
+
+    static String time(int minutesOfDay) {
+        return String.format("%02d:%02d", minutesOfDay / 60, minutesOfDay % 60);
+    }
+
+    private static UserEntity user(long userId, String username, String firstName, String lastName, UserRole role) {
+        UserEntity user = new UserEntity();
+        user.setUserId(userId);
+        user.setUsername(username);
+        user.setEmail(username + "@judify.edu");
+        user.setFirstName(firstName);
+        user.setLastName(lastName);
+        user.setRole(role);
+        return user;
+    }
+}
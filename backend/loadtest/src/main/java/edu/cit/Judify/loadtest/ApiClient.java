@@ -0,0 +1,99 @@
+package edu.cit.Judify.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Thin HTTP client for the REST API, shared by all workers. Every request goes through
+ * {@link #exchange}, which records its latency under the given operation name.
+ */
+final class ApiClient {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final LatencyRecorder recorder;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(TIMEOUT)
+            .build();
+
+    ApiClient(String baseUrl, LatencyRecorder recorder) {
+        this.baseUrl = baseUrl;
+        this.recorder = recorder;
+    }
+
+    String baseUrl() {
+        return baseUrl;
+    }
+
+    ObjectMapper objectMapper() {
+        return objectMapper;
+    }
+
+    /**
+     * Logs a seeded user in and returns their JWT.
+     */
+    String login(DataSeeder.Account account) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/users/authenticate"
+                        + "?email=" + URLEncoder.encode(account.email(), StandardCharsets.UTF_8)
+                        + "&password=" + URLEncoder.encode(DataSeeder.PASSWORD, StandardCharsets.UTF_8)))
+                .timeout(TIMEOUT)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+        HttpResponse<byte[]> response = exchange("POST /api/users/authenticate", request);
+        if (response == null) {
+            throw new IOException("Login failed for " + account.email());
+        }
+        JsonNode body = objectMapper.readTree(response.body());
+        if (!body.path("authenticated").asBoolean()) {
+            throw new IOException("Login rejected for " + account.email());
+        }
+        return body.path("token").asText();
+    }
+
+    HttpRequest get(String path, String token) {
+        return authorized(path, token).GET().build();
+    }
+
+    HttpRequest post(String path, String token, Object body) throws IOException {
+        return authorized(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+    }
+
+    /**
+     * Sends the request and records it. Returns the response on a 2xx status and null otherwise,
+     * in which case an error was counted instead of a latency.
+     */
+    HttpResponse<byte[]> exchange(String operation, HttpRequest request) throws InterruptedException {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() / 100 == 2) {
+                recorder.record(operation, System.nanoTime() - start);
+                return response;
+            }
+        } catch (IOException e) {
+            // Counted below like any other failed request
+        }
+        recorder.error(operation);
+        return null;
+    }
+
+    private HttpRequest.Builder authorized(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .header("Authorization", "Bearer " + token);
+    }
+}
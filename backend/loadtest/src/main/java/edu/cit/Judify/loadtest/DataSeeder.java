@@ -0,0 +1,249 @@
+package edu.cit.Judify.loadtest;
+
+import edu.cit.Judify.Conversation.ConversationEntity;
+import edu.cit.Judify.Conversation.ConversationRepository;
+import edu.cit.Judify.Message.MessageEntity;
+import edu.cit.Judify.Message.MessageRepository;
+import edu.cit.Judify.TutorProfile.TutorProfileEntity;
+import edu.cit.Judify.TutoringSession.TutoringSessionEntity;
+import edu.cit.Judify.TutoringSession.TutoringSessionRepository;
+import edu.cit.Judify.User.PasswordService;
+import edu.cit.Judify.User.UserEntity;
+import edu.cit.Judify.User.UserRepository;
+import edu.cit.Judify.User.UserRole;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Fills the database through the application's own repositories, in chunks of {@value #CHUNK}
+ * entities per transaction. Data is deterministic (fixed seed) so runs are comparable.
+ */
+final class DataSeeder {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataSeeder.class);
+
+    static final String PASSWORD = "LoadTest#2025";
+
+    private static final int CHUNK = 500;
+    private static final long HOUR = 3_600_000L;
+
+    private static final String[] SUBJECTS = {
+            "Calculus", "Linear Algebra", "Statistics", "Physics", "Chemistry", "Biology",
+            "Java Programming", "Data Structures", "Accounting", "English Composition"
+    };
+    private static final String[] STATUSES = {"PENDING", "NEGOTIATING", "SCHEDULED", "SCHEDULED", "CANCELLED"};
+    private static final String[] LINES = {
+            "Hi! Are you available this week for a session?",
+            "Sure, I have Tuesday and Thursday afternoons open.",
+            "Could we go over integration by parts again?",
+            "Please bring the problem set from chapter 7.",
+            "Thanks, that explanation really helped.",
+            "Can we move tomorrow's session an hour later?",
+            "No problem, see you then."
+    };
+
+    /**
+     * Ids of what was seeded; the scenarios pick users and conversations from here.
+     */
+    static final class SeededData {
+        final List<Account> students;
+        final List<Account> tutors;
+        final List<Conversation> conversations;
+        // The session linked to each conversation, by conversation ID
+        final Map<Long, Long> sessionByConversation;
+
+        private SeededData(List<Account> students, List<Account> tutors, List<Conversation> conversations,
+                           Map<Long, Long> sessionByConversation) {
+            this.students = students;
+            this.tutors = tutors;
+            this.conversations = conversations;
+            this.sessionByConversation = sessionByConversation;
+        }
+    }
+
+    record Account(long userId, String email) {
+    }
+
+    record Conversation(long conversationId, long studentId, long tutorId) {
+    }
+
+    private final LoadTestConfig config;
+    private final UserRepository userRepository;
+    private final ConversationRepository conversationRepository;
+    private final TutoringSessionRepository sessionRepository;
+    private final MessageRepository messageRepository;
+    private final PasswordService passwordService;
+    private final TransactionTemplate transactionTemplate;
+    private final Random random = new Random(42);
+
+    DataSeeder(ApplicationContext context, LoadTestConfig config) {
+        this.config = config;
+        this.userRepository = context.getBean(UserRepository.class);
+        this.conversationRepository = context.getBean(ConversationRepository.class);
+        this.sessionRepository = context.getBean(TutoringSessionRepository.class);
+        this.messageRepository = context.getBean(MessageRepository.class);
+        this.passwordService = context.getBean(PasswordService.class);
+        this.transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    SeededData seed() {
+        long start = System.nanoTime();
+        // One hash for everybody; hashing per user would dominate the seeding time
+        String passwordHash = passwordService.hash(PASSWORD).join();
+
+        List<Account> students = seedUsers(UserRole.STUDENT, config.students, passwordHash);
+        List<Account> tutors = seedUsers(UserRole.TUTOR, config.tutors, passwordHash);
+        List<Conversation> conversations = seedConversations(students, tutors);
+        Map<Long, Long> sessionByConversation = seedSessionsAndMessages(conversations);
+
+        logger.info("Seeded {} students, {} tutors, {} conversations, {} sessions and {} messages in {} s",
+                students.size(), tutors.size(), conversations.size(),
+                conversations.size() * config.sessionsPerConversation,
+                conversations.size() * config.messagesPerConversation,
+                (System.nanoTime() - start) / 1_000_000_000L);
+        return new SeededData(students, tutors, conversations, sessionByConversation);
+    }
+
+    private List<Account> seedUsers(UserRole role, int count, String passwordHash) {
+        List<Account> accounts = new ArrayList<>(count);
+        for (int from = 0; from < count; from += CHUNK) {
+            int to = Math.min(count, from + CHUNK);
+            List<UserEntity> users = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                users.add(user(role, i, passwordHash));
+            }
+            transactionTemplate.executeWithoutResult(status -> userRepository.saveAll(users));
+            for (UserEntity user : users) {
+                accounts.add(new Account(user.getUserId(), user.getEmail()));
+            }
+        }
+        return accounts;
+    }
+
+    private UserEntity user(UserRole role, int index, String passwordHash) {
+        String name = role.name().toLowerCase() + index;
+        UserEntity user = new UserEntity();
+        user.setUsername(name);
+        user.setEmail(name + "@loadtest.judify");
+        user.setPassword(passwordHash);
+        user.setFirstName(role == UserRole.TUTOR ? "Tutor" : "Student");
+        user.setLastName(Integer.toString(index));
+        user.setRole(role);
+        user.setContactDetails("+63 900 000 " + index);
+
+        if (role == UserRole.TUTOR) {
+            TutorProfileEntity profile = new TutorProfileEntity();
+            profile.setUser(user);
+            profile.setBiography("Experienced tutor number " + index + ", patient and well prepared.");
+            profile.setExpertise(SUBJECTS[index % SUBJECTS.length]);
+            profile.setHourlyRate(200.0 + random.nextInt(800));
+            profile.setRating(3.0 + random.nextInt(21) / 10.0);
+            profile.setSubjects(Set.of(SUBJECTS[index % SUBJECTS.length], SUBJECTS[(index + 3) % SUBJECTS.length]));
+            user.setTutorProfile(profile);
+        }
+        return user;
+    }
+
+    private List<Conversation> seedConversations(List<Account> students, List<Account> tutors) {
+        List<Conversation> conversations = new ArrayList<>(students.size() * config.conversationsPerStudent);
+        for (int from = 0; from < students.size(); from += CHUNK) {
+            List<Account> chunk = students.subList(from, Math.min(students.size(), from + CHUNK));
+            conversations.addAll(transactionTemplate.execute(status -> {
+                List<ConversationEntity> entities = new ArrayList<>();
+                for (Account student : chunk) {
+                    // Consecutive tutors from a random start, so a student never gets two conversations with one tutor
+                    int firstTutor = random.nextInt(tutors.size());
+                    for (int c = 0; c < config.conversationsPerStudent; c++) {
+                        Account tutor = tutors.get((firstTutor + c) % tutors.size());
+                        ConversationEntity conversation = new ConversationEntity();
+                        conversation.setStudent(userRepository.getReferenceById(student.userId()));
+                        conversation.setTutor(userRepository.getReferenceById(tutor.userId()));
+                        entities.add(conversation);
+                    }
+                }
+                conversationRepository.saveAll(entities);
+
+                List<Conversation> saved = new ArrayList<>(entities.size());
+                int index = 0;
+                for (Account student : chunk) {
+                    for (int c = 0; c < config.conversationsPerStudent; c++, index++) {
+                        ConversationEntity conversation = entities.get(index);
+                        saved.add(new Conversation(conversation.getConversationId(), student.userId(),
+                                conversation.getTutor().getUserId()));
+                    }
+                }
+                return saved;
+            }));
+        }
+        return conversations;
+    }
+
+    private Map<Long, Long> seedSessionsAndMessages(List<Conversation> conversations) {
+        // Messages dominate the volume, so chunk by conversations that add up to roughly CHUNK rows
+        int perChunk = Math.max(1, CHUNK / Math.max(1, config.messagesPerConversation));
+        long now = System.currentTimeMillis();
+        Map<Long, Long> sessionByConversation = new HashMap<>();
+        for (int from = 0; from < conversations.size(); from += perChunk) {
+            List<Conversation> chunk = conversations.subList(from, Math.min(conversations.size(), from + perChunk));
+            transactionTemplate.executeWithoutResult(status -> {
+                List<TutoringSessionEntity> sessions = new ArrayList<>();
+                List<MessageEntity> messages = new ArrayList<>();
+                for (Conversation conversation : chunk) {
+                    ConversationEntity conversationRef = conversationRepository.getReferenceById(conversation.conversationId());
+                    UserEntity student = userRepository.getReferenceById(conversation.studentId());
+                    UserEntity tutor = userRepository.getReferenceById(conversation.tutorId());
+
+                    for (int s = 0; s < config.sessionsPerConversation; s++) {
+                        // Spread over the past and next month so both history and upcoming views have rows
+                        long startTime = now + (random.nextInt(60 * 24) - 30 * 24) * HOUR;
+                        TutoringSessionEntity session = new TutoringSessionEntity();
+                        session.setStudent(student);
+                        session.setTutor(tutor);
+                        // conversation_id is unique on sessions, so only the first one links back
+                        session.setConversation(s == 0 ? conversationRef : null);
+                        session.setStartTime(new Date(startTime));
+                        session.setEndTime(new Date(startTime + 2 * HOUR));
+                        session.setSubject(SUBJECTS[random.nextInt(SUBJECTS.length)]);
+                        session.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+                        session.setPrice(400.0 + random.nextInt(1200));
+                        session.setNotes("Bring the latest problem set.");
+                        session.setSessionType(random.nextBoolean() ? "online" : "in-person");
+                        sessions.add(session);
+                    }
+
+                    for (int m = 0; m < config.messagesPerConversation; m++) {
+                        boolean fromStudent = m % 2 == 0;
+                        MessageEntity message = new MessageEntity();
+                        message.setConversation(conversationRef);
+                        message.setSender(fromStudent ? student : tutor);
+                        message.setReceiver(fromStudent ? tutor : student);
+                        message.setContent(LINES[random.nextInt(LINES.length)]);
+                        // The last few messages of each conversation stay unread
+                        message.setIsRead(m < config.messagesPerConversation - 3);
+                        messages.add(message);
+                    }
+                }
+                sessionRepository.saveAll(sessions);
+                messageRepository.saveAll(messages);
+
+                for (TutoringSessionEntity session : sessions) {
+                    if (session.getConversation() != null) {
+                        sessionByConversation.put(session.getConversation().getConversationId(), session.getSessionId());
+                    }
+                }
+            });
+        }
+        return sessionByConversation;
+    }
+}
@@ -0,0 +1,74 @@
+package edu.cit.Judify.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and error counts per operation name (an endpoint or a STOMP message type). Recording is
+ * lock-free, so hundreds of client threads can write while the run is in progress.
+ */
+final class LatencyRecorder {
+
+    private static final class Series {
+        private final Recorder recorder = new Recorder(3);
+        private final LongAdder errors = new LongAdder();
+    }
+
+    private final Map<String, Series> series = new ConcurrentHashMap<>();
+
+    void record(String operation, long elapsedNanos) {
+        series(operation).recorder.recordValue(TimeUnit.NANOSECONDS.toMicros(elapsedNanos));
+    }
+
+    void error(String operation) {
+        series(operation).errors.increment();
+    }
+
+    /**
+     * Drops everything recorded so far; called when the warm-up ends.
+     */
+    void reset() {
+        for (Series s : series.values()) {
+            s.recorder.reset();
+            s.errors.reset();
+        }
+    }
+
+    /**
+     * Summarizes what was recorded since the last reset, over a measurement window of the given length.
+     */
+    List<LoadReport.Row> summarize(long windowNanos) {
+        double seconds = windowNanos / 1_000_000_000.0;
+        List<LoadReport.Row> rows = new ArrayList<>();
+        for (Map.Entry<String, Series> entry : new TreeMap<>(series).entrySet()) {
+            Histogram histogram = entry.getValue().recorder.getIntervalHistogram();
+            long errors = entry.getValue().errors.sum();
+            rows.add(new LoadReport.Row(
+                    entry.getKey(),
+                    histogram.getTotalCount(),
+                    errors,
+                    histogram.getTotalCount() / seconds,
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getMaxValue())));
+        }
+        return rows;
+    }
+
+    private Series series(String operation) {
+        return series.computeIfAbsent(operation, name -> new Series());
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,56 @@
+package edu.cit.Judify.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Results of the measurement window: one row per REST endpoint and STOMP message type, printed as
+ * a table and written as JSON so runs can be kept and compared.
+ */
+final class LoadReport {
+
+    record Row(String operation, long count, long errors, double throughputPerSecond,
+               double p50Ms, double p90Ms, double p99Ms, double maxMs) {
+    }
+
+    private final Map<String, Object> settings;
+    private final double durationSeconds;
+    private final List<Row> rows;
+
+    LoadReport(Map<String, Object> settings, long windowNanos, List<Row> rows) {
+        this.settings = settings;
+        this.durationSeconds = windowNanos / 1_000_000_000.0;
+        this.rows = rows;
+    }
+
+    void print(PrintStream out) {
+        out.printf("%nMeasured for %.1f s%n", durationSeconds);
+        out.printf("%-55s %9s %7s %10s %9s %9s %9s %9s%n",
+                "Operation", "Count", "Errors", "Ops/s", "p50 ms", "p90 ms", "p99 ms", "Max ms");
+        for (Row row : rows) {
+            out.printf("%-55s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    row.operation(), row.count(), row.errors(), row.throughputPerSecond(),
+                    row.p50Ms(), row.p90Ms(), row.p99Ms(), row.maxMs());
+        }
+    }
+
+    void write(File file) throws IOException {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("settings", settings);
+        json.put("durationSeconds", durationSeconds);
+        json.put("results", rows);
+
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, json);
+    }
+}
@@ -0,0 +1,162 @@
+package edu.cit.Judify.loadtest;
+
+import edu.cit.Judify.JudifyApplication;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Boots the backend in-process on an in-memory H2 database (PostgreSQL mode) and a random port,
+ * seeds it, then runs the REST and STOMP scenarios side by side. Everything recorded during the
+ * warm-up is discarded; the report covers the measurement window only.
+ *
+ * Usage: java -jar target/loadtest.jar [--students=2000] [--rest-workers=32] [--stomp-pairs=150] ...
+ * Any {@code --spring.*} or {@code --judify.*} argument overrides the application's own settings,
+ * e.g. {@code --spring.datasource.url=jdbc:postgresql://localhost:5432/loadtest} to run against a
+ * local PostgreSQL instead of H2.
+ */
+public final class LoadTestApplication {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestApplication.class);
+
+    private LoadTestApplication() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+
+        // System properties rank above application.properties but below command line arguments
+        embeddedProperties(config).forEach((name, value) -> {
+            if (System.getProperty(name) == null) {
+                System.setProperty(name, value);
+            }
+        });
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(JudifyApplication.class).run(args);
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            run(context, config, "http://localhost:" + port);
+        } finally {
+            context.close();
+        }
+    }
+
+    private static void run(ConfigurableApplicationContext context, LoadTestConfig config, String baseUrl)
+            throws Exception {
+        DataSeeder.SeededData data = new DataSeeder(context, config).seed();
+
+        LatencyRecorder recorder = new LatencyRecorder();
+        ApiClient api = new ApiClient(baseUrl, recorder);
+
+        List<DataSeeder.Conversation> pairs = StompScenario.distinctPairs(data.conversations, config.stompPairs);
+        Map<Long, List<DataSeeder.Conversation>> conversationsByUser = conversationsByUser(data.conversations);
+        Map<Long, String> emails = new HashMap<>();
+        data.students.forEach(account -> emails.put(account.userId(), account.email()));
+        data.tutors.forEach(account -> emails.put(account.userId(), account.email()));
+
+        // Log in everyone who takes part; REST workers act as students from the end of the list so
+        // they don't share users with the STOMP pairs, which are picked from the start
+        Map<Long, String> tokens = new HashMap<>();
+        for (DataSeeder.Conversation pair : pairs) {
+            tokens.put(pair.studentId(), api.login(new DataSeeder.Account(pair.studentId(), emails.get(pair.studentId()))));
+            tokens.put(pair.tutorId(), api.login(new DataSeeder.Account(pair.tutorId(), emails.get(pair.tutorId()))));
+        }
+        List<RestScenario.Actor> actors = new ArrayList<>();
+        for (int i = data.students.size() - 1; i >= 0 && actors.size() < config.restWorkers; i--) {
+            DataSeeder.Account student = data.students.get(i);
+            actors.add(new RestScenario.Actor(student.userId(), api.login(student), conversationsByUser.get(student.userId())));
+        }
+        logger.info("Logged in {} STOMP users and {} REST users", tokens.size(), actors.size());
+
+        StompScenario stomp = new StompScenario(baseUrl, recorder);
+        stomp.connect(pairs, tokens::get);
+        RestScenario rest = new RestScenario(api, actors, config.tutors, data.sessionByConversation, config.slowDependency());
+
+        rest.start(config.restWorkers);
+        stomp.start(config.stompInterval.toMillis());
+
+        logger.info("Warming up for {} s", config.warmup.toSeconds());
+        Thread.sleep(config.warmup.toMillis());
+        recorder.reset();
+        long windowStart = System.nanoTime();
+
+        logger.info("Measuring for {} s", config.duration.toSeconds());
+        Thread.sleep(config.duration.toMillis());
+        long window = System.nanoTime() - windowStart;
+        Map<String, Object> settings = config.describe();
+        settings.put("virtualThreads", context.getEnvironment().getProperty("spring.threads.virtual.enabled", Boolean.class, false)
+                && Runtime.version().feature() >= 21);
+        settings.put("javaVersion", Runtime.version().toString());
+        LoadReport report = new LoadReport(settings, window, recorder.summarize(window));
+
+        rest.stop();
+        stomp.stop();
+
+        report.print(System.out);
+        report.write(new File(config.report));
+        logger.info("Report written to {}", config.report);
+    }
+
+    /**
+     * Settings that make the application self-contained; each can still be overridden on the command line.
+     */
+    private static Map<String, String> embeddedProperties(LoadTestConfig config) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("server.port", "0");
+        properties.put("spring.main.banner-mode", "off");
+
+        properties.put("spring.datasource.url",
+                "jdbc:h2:mem:loadtest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        // The migrations are PostgreSQL scripts; H2 gets its schema from the entities
+        properties.put("spring.flyway.enabled", "false");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        properties.put("spring.jpa.show-sql", "false");
+
+        // Placeholders the application refuses to start without; nothing calls out during a run
+        properties.put("OAUTH_CLIENT_ID", "loadtest");
+        properties.put("OAUTH_CLIENT_SECRET", "loadtest");
+        properties.put("OAUTH_REDIRECT_URI", "http://localhost/login/oauth2/code/google");
+        properties.put("STRIPE_API_KEY", "sk_test_loadtest");
+        properties.put("STRIPE_WEBHOOK_SECRET", "whsec_loadtest");
+        properties.put("STRIPE_PUBLISHABLE_KEY", "pk_test_loadtest");
+        properties.put("judify.media.root", "target/loadtest-media");
+
+        // Every worker hammers from one address, so the per-client limits would only measure 429s
+        properties.put("judify.rate-limit.enabled", "false");
+        // Keep the mail outbox from trying to reach a real SMTP server
+        properties.put("judify.mail.outbox.poll-interval-ms", "86400000");
+
+        if (config.slowDependency()) {
+            // Payments block on the stub gateway for the given latency, standing in for a slow Stripe;
+            // the bulkhead is opened up so request threads, not the gateway's own limit, are what saturates
+            properties.put("payment.gateway.mode", "stub");
+            properties.put("payment.gateway.stub.latency-ms", Integer.toString(config.dependencyLatencyMs));
+            properties.put("payment.gateway.bulkhead.max-concurrent-calls", "100000");
+        }
+
+        // Request logging at INFO would put the console on the hot path
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.edu.cit.Judify.loadtest", "INFO");
+        return properties;
+    }
+
+    private static Map<Long, List<DataSeeder.Conversation>> conversationsByUser(List<DataSeeder.Conversation> conversations) {
+        Map<Long, List<DataSeeder.Conversation>> byUser = new HashMap<>();
+        for (DataSeeder.Conversation conversation : conversations) {
+            byUser.computeIfAbsent(conversation.studentId(), id -> new ArrayList<>()).add(conversation);
+            byUser.computeIfAbsent(conversation.tutorId(), id -> new ArrayList<>()).add(conversation);
+        }
+        return byUser;
+    }
+}
@@ -0,0 +1,93 @@
+package edu.cit.Judify.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Knobs of a load test run, read from {@code --name=value} arguments. Anything not listed here
+ * (e.g. {@code --spring.datasource.url=...}) is passed through to the application unchanged.
+ */
+final class LoadTestConfig {
+
+    final int students;
+    final int tutors;
+    final int conversationsPerStudent;
+    final int sessionsPerConversation;
+    final int messagesPerConversation;
+    final int restWorkers;
+    final int stompPairs;
+    final Duration stompInterval;
+    final Duration warmup;
+    final Duration duration;
+    // Latency of the stub payment gateway; negative leaves payments out of the REST mix
+    final int dependencyLatencyMs;
+    final String report;
+
+    private LoadTestConfig(Map<String, String> values) {
+        students = intValue(values, "students", 2000);
+        tutors = intValue(values, "tutors", 300);
+        conversationsPerStudent = intValue(values, "conversations-per-student", 2);
+        sessionsPerConversation = intValue(values, "sessions-per-conversation", 3);
+        messagesPerConversation = intValue(values, "messages-per-conversation", 40);
+        restWorkers = intValue(values, "rest-workers", 32);
+        stompPairs = intValue(values, "stomp-pairs", 150);
+        stompInterval = Duration.ofMillis(intValue(values, "stomp-interval-ms", 1000));
+        warmup = Duration.ofSeconds(intValue(values, "warmup-seconds", 20));
+        duration = Duration.ofSeconds(intValue(values, "duration-seconds", 60));
+        dependencyLatencyMs = intValue(values, "dependency-latency-ms", -1);
+        report = values.getOrDefault("report", "target/loadtest-report.json");
+    }
+
+    static LoadTestConfig parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.indexOf('=') > 2) {
+                values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        LoadTestConfig config = new LoadTestConfig(values);
+        if (config.conversationsPerStudent > config.tutors) {
+            throw new IllegalArgumentException("conversations-per-student cannot exceed the number of tutors");
+        }
+        if (config.stompPairs > config.students * config.conversationsPerStudent) {
+            throw new IllegalArgumentException("stomp-pairs cannot exceed the number of seeded conversations");
+        }
+        if (config.slowDependency() && config.sessionsPerConversation < 1) {
+            throw new IllegalArgumentException("dependency-latency-ms needs at least one session per conversation to pay for");
+        }
+        return config;
+    }
+
+    /**
+     * Settings as they go into the report, so results from different runs stay comparable.
+     */
+    Map<String, Object> describe() {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("students", students);
+        settings.put("tutors", tutors);
+        settings.put("conversationsPerStudent", conversationsPerStudent);
+        settings.put("sessionsPerConversation", sessionsPerConversation);
+        settings.put("messagesPerConversation", messagesPerConversation);
+        settings.put("restWorkers", restWorkers);
+        settings.put("stompPairs", stompPairs);
+        settings.put("stompIntervalMs", stompInterval.toMillis());
+        settings.put("warmupSeconds", warmup.toSeconds());
+        settings.put("durationSeconds", duration.toSeconds());
+        settings.put("dependencyLatencyMs", dependencyLatencyMs);
+        return settings;
+    }
+
+    /**
+     * Whether payment requests against the latency-injecting stub gateway are part of the REST mix.
+     */
+    boolean slowDependency() {
+        return dependencyLatencyMs >= 0;
+    }
+
+    private static int intValue(Map<String, String> values, String name, int defaultValue) {
+        String value = values.get(name);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+}
@@ -0,0 +1,120 @@
+package edu.cit.Judify.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Closed-loop REST load: each worker is logged in as one seeded user and issues requests back to
+ * back, drawn from a weighted mix of what the web client does most (browse tutors, open the session
+ * list, the inbox and a conversation, send a message, poll the notification badge). With a slow
+ * dependency configured, paying for a session is added to the mix; that request blocks on the stub
+ * payment gateway for the configured latency.
+ */
+final class RestScenario {
+
+    /**
+     * A logged-in user together with the conversations they take part in.
+     */
+    record Actor(long userId, String token, List<DataSeeder.Conversation> conversations) {
+    }
+
+    @FunctionalInterface
+    private interface RequestFactory {
+        HttpRequest create(Actor actor, ThreadLocalRandom random) throws IOException;
+    }
+
+    private final ApiClient api;
+    private final List<Actor> actors;
+    private final int tutorPages;
+    private final Map<String, RequestFactory> operations = new LinkedHashMap<>();
+    private final List<String> weightedOperations = new ArrayList<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    RestScenario(ApiClient api, List<Actor> actors, int tutors, Map<Long, Long> sessionByConversation,
+                 boolean payments) {
+        this.api = api;
+        this.actors = actors;
+        this.tutorPages = Math.max(1, tutors / 12);
+
+        operation("GET /api/tutors/getAllProfilesPaginated", 25, (actor, random) ->
+                api.get("/api/tutors/getAllProfilesPaginated?page=" + random.nextInt(tutorPages) + "&size=12", actor.token()));
+        operation("GET /api/tutoring-sessions/findByUserPaginated", 20, (actor, random) ->
+                api.get("/api/tutoring-sessions/findByUserPaginated/" + actor.userId() + "?page=0&size=10", actor.token()));
+        operation("GET /api/conversations/findByUser", 20, (actor, random) ->
+                api.get("/api/conversations/findByUser/" + actor.userId(), actor.token()));
+        operation("GET /api/messages/findByConversationPaginated", 20, (actor, random) ->
+                api.get("/api/messages/findByConversationPaginated/" + pick(actor, random).conversationId()
+                        + "?page=0&size=20", actor.token()));
+        operation("POST /api/messages/sendMessage", 10, (actor, random) -> {
+            DataSeeder.Conversation conversation = pick(actor, random);
+            Map<String, Object> message = new LinkedHashMap<>();
+            message.put("conversationId", conversation.conversationId());
+            message.put("senderId", actor.userId());
+            message.put("receiverId", actor.userId() == conversation.studentId()
+                    ? conversation.tutorId() : conversation.studentId());
+            message.put("content", "Load test message " + random.nextInt(1_000_000));
+            return api.post("/api/messages/sendMessage", actor.token(), message);
+        });
+        operation("GET /api/notifications/unreadCount", 5, (actor, random) ->
+                api.get("/api/notifications/unreadCount/" + actor.userId(), actor.token()));
+        if (payments) {
+            operation("POST /api/payments/create-payment-intent", 10, (actor, random) -> {
+                Map<String, Object> payment = new LinkedHashMap<>();
+                payment.put("sessionId", sessionByConversation.get(pick(actor, random).conversationId()));
+                payment.put("amount", 500.0 + random.nextInt(1000));
+                payment.put("currency", "PHP");
+                return api.post("/api/payments/create-payment-intent", actor.token(), payment);
+            });
+        }
+    }
+
+    void start(int workerCount) {
+        running = true;
+        for (int i = 0; i < workerCount; i++) {
+            Actor actor = actors.get(i % actors.size());
+            Thread worker = new Thread(() -> run(actor), "rest-worker-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    void stop() throws InterruptedException {
+        running = false;
+        for (Thread worker : workers) {
+            worker.join();
+        }
+    }
+
+    private void run(Actor actor) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (running) {
+            String operation = weightedOperations.get(random.nextInt(weightedOperations.size()));
+            try {
+                api.exchange(operation, operations.get(operation).create(actor, random));
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not build request for " + operation, e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void operation(String name, int weight, RequestFactory factory) {
+        operations.put(name, factory);
+        for (int i = 0; i < weight; i++) {
+            weightedOperations.add(name);
+        }
+    }
+
+    private static DataSeeder.Conversation pick(Actor actor, ThreadLocalRandom random) {
+        return actor.conversations().get(random.nextInt(actor.conversations().size()));
+    }
+}
@@ -0,0 +1,252 @@
+package edu.cit.Judify.loadtest;
+
+import edu.cit.Judify.WebSocket.ChatMessage;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Chat load over SockJS/STOMP at /ws, the way the web client uses it: both participants of a
+ * conversation connect, join it, and then each sends a message at a fixed interval. The receiver
+ * answers every delivered message with a read receipt. Latencies are recorded per message type:
+ * connect, send-to-ack (echo to the sender), send-to-delivery (push to the receiver) and
+ * read-to-receipt.
+ */
+final class StompScenario {
+
+    static final String CONNECT = "STOMP connect";
+    static final String ACK = "STOMP chat.send -> ack";
+    static final String DELIVERY = "STOMP chat.send -> delivery";
+    static final String RECEIPT = "STOMP chat.read -> receipt";
+
+    private static final long TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    /**
+     * One side of a conversation with its own STOMP session.
+     */
+    private final class Client {
+        private final long userId;
+        private final long peerId;
+        private final long conversationId;
+        private StompSession session;
+
+        private Client(long userId, long peerId, long conversationId) {
+            this.userId = userId;
+            this.peerId = peerId;
+            this.conversationId = conversationId;
+        }
+
+        private void connect(String token) throws InterruptedException, ExecutionException, TimeoutException {
+            WebSocketHttpHeaders headers = new WebSocketHttpHeaders();
+            headers.add("Authorization", "Bearer " + token);
+
+            long start = System.nanoTime();
+            session = stompClient.connectAsync(url, headers, new StompSessionHandlerAdapter() {
+            }).get(30, TimeUnit.SECONDS);
+            recorder.record(CONNECT, System.nanoTime() - start);
+
+            session.subscribe("/user/queue/messages", handler(this::onMessage));
+            session.subscribe("/user/queue/receipts", handler(this::onReceipt));
+            session.send("/app/chat.join/" + conversationId, message(ChatMessage.MessageType.JOIN, null));
+        }
+
+        private void sendChat() {
+            String nonce = UUID.randomUUID().toString();
+            long now = System.nanoTime();
+            pendingAcks.put(nonce, now);
+            pendingDeliveries.put(nonce, now);
+            try {
+                session.send("/app/chat.send/" + conversationId, message(ChatMessage.MessageType.CHAT, nonce));
+            } catch (RuntimeException e) {
+                pendingAcks.remove(nonce);
+                pendingDeliveries.remove(nonce);
+                recorder.error(ACK);
+            }
+        }
+
+        private void onMessage(ChatMessage message) {
+            if (message.getType() != ChatMessage.MessageType.CHAT || message.getContent() == null) {
+                return;
+            }
+            long now = System.nanoTime();
+            if (message.getSenderId() != null && message.getSenderId() == userId) {
+                complete(pendingAcks, message.getContent(), ACK, now);
+            } else if (complete(pendingDeliveries, message.getContent(), DELIVERY, now)
+                    && message.getMessageId() != null) {
+                ChatMessage read = new ChatMessage();
+                read.setSenderId(message.getSenderId());
+                read.setReceiverId(userId);
+                read.setConversationId(conversationId);
+                pendingReceipts.put(message.getMessageId(), System.nanoTime());
+                session.send("/app/chat.read/" + message.getMessageId(), read);
+            }
+        }
+
+        private void onReceipt(ChatMessage receipt) {
+            if (receipt.getMessageId() != null) {
+                complete(pendingReceipts, receipt.getMessageId(), RECEIPT, System.nanoTime());
+            }
+        }
+
+        private ChatMessage message(ChatMessage.MessageType type, String content) {
+            ChatMessage message = new ChatMessage();
+            message.setType(type);
+            message.setSenderId(userId);
+            message.setReceiverId(peerId);
+            message.setConversationId(conversationId);
+            message.setContent(content);
+            return message;
+        }
+
+        private void disconnect() {
+            if (session != null && session.isConnected()) {
+                session.disconnect();
+            }
+        }
+    }
+
+    private final String url;
+    private final LatencyRecorder recorder;
+    private final WebSocketStompClient stompClient;
+    private final ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+    private final List<Client> clients = new ArrayList<>();
+
+    // Send time (System.nanoTime) of everything still waiting for its echo, delivery or receipt
+    private final Map<String, Long> pendingAcks = new ConcurrentHashMap<>();
+    private final Map<String, Long> pendingDeliveries = new ConcurrentHashMap<>();
+    private final Map<String, Long> pendingReceipts = new ConcurrentHashMap<>();
+
+    StompScenario(String baseUrl, LatencyRecorder recorder) {
+        this.url = baseUrl + "/ws";
+        this.recorder = recorder;
+
+        stompClient = new WebSocketStompClient(new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+
+        scheduler.setPoolSize(Math.max(2, Runtime.getRuntime().availableProcessors()));
+        scheduler.setThreadNamePrefix("stomp-load-");
+        scheduler.setDaemon(true);
+        scheduler.initialize();
+    }
+
+    /**
+     * Picks conversations whose participants are not already used by another pair, since the server
+     * pushes to every session of a user and shared users would see each other's traffic.
+     */
+    static List<DataSeeder.Conversation> distinctPairs(List<DataSeeder.Conversation> conversations, int pairs) {
+        Set<Long> used = new HashSet<>();
+        List<DataSeeder.Conversation> selected = new ArrayList<>(pairs);
+        for (DataSeeder.Conversation conversation : conversations) {
+            if (selected.size() == pairs) {
+                break;
+            }
+            if (!used.contains(conversation.studentId()) && !used.contains(conversation.tutorId())) {
+                used.add(conversation.studentId());
+                used.add(conversation.tutorId());
+                selected.add(conversation);
+            }
+        }
+        if (selected.size() < pairs) {
+            throw new IllegalArgumentException("Only " + selected.size() + " conversations with distinct participants "
+                    + "were seeded; lower stomp-pairs or seed more tutors");
+        }
+        return selected;
+    }
+
+    /**
+     * Connects both participants of every pair; tokens are looked up by user id.
+     */
+    void connect(List<DataSeeder.Conversation> pairs, Function<Long, String> tokens) throws Exception {
+        for (DataSeeder.Conversation pair : pairs) {
+            Client student = new Client(pair.studentId(), pair.tutorId(), pair.conversationId());
+            Client tutor = new Client(pair.tutorId(), pair.studentId(), pair.conversationId());
+            student.connect(tokens.apply(pair.studentId()));
+            tutor.connect(tokens.apply(pair.tutorId()));
+            clients.add(student);
+            clients.add(tutor);
+        }
+    }
+
+    void start(long intervalMillis) {
+        for (Client client : clients) {
+            // Random phase so the clients don't all send in the same millisecond
+            long delay = ThreadLocalRandom.current().nextLong(intervalMillis);
+            scheduler.getScheduledExecutor().scheduleAtFixedRate(client::sendChat, delay, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+        scheduler.getScheduledExecutor().scheduleWithFixedDelay(this::expire, 1, 1, TimeUnit.SECONDS);
+    }
+
+    void stop() {
+        scheduler.shutdown();
+        for (Client client : clients) {
+            client.disconnect();
+        }
+        stompClient.stop();
+    }
+
+    /**
+     * Counts anything that has waited longer than the timeout as an error of its message type.
+     */
+    private void expire() {
+        long cutoff = System.nanoTime() - TIMEOUT_NANOS;
+        expire(pendingAcks, ACK, cutoff);
+        expire(pendingDeliveries, DELIVERY, cutoff);
+        expire(pendingReceipts, RECEIPT, cutoff);
+    }
+
+    private void expire(Map<String, Long> pending, String operation, long cutoff) {
+        pending.entrySet().removeIf(entry -> {
+            if (entry.getValue() < cutoff) {
+                recorder.error(operation);
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private boolean complete(Map<String, Long> pending, String key, String operation, long now) {
+        Long sentAt = pending.remove(key);
+        if (sentAt == null) {
+            return false;
+        }
+        recorder.record(operation, now - sentAt);
+        return true;
+    }
+
+    private static StompFrameHandler handler(Consumer<ChatMessage> consumer) {
+        return new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return ChatMessage.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                consumer.accept((ChatMessage) payload);
+            }
+        };
+    }
+}
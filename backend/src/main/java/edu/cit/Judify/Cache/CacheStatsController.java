@@ -0,0 +1,69 @@
+package edu.cit.Judify.Cache;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/cache")
+@CrossOrigin(origins = "*")
+@Tag(name = "Cache", description = "Cache statistics")
+public class CacheStatsController {
+
+    private final CacheManager cacheManager;
+
+    @Autowired
+    public CacheStatsController(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @Operation(summary = "Get cache statistics", description = "Returns size, hits, misses, hit rate and evictions for each local cache region")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Statistics returned")
+    })
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getStats() {
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (!(cache instanceof CaffeineCache caffeineCache)) {
+                continue;  // distributed tier: statistics live in the cache server
+            }
+            CacheStats stats = caffeineCache.getNativeCache().stats();
+            Map<String, Object> region = new LinkedHashMap<>();
+            region.put("size", caffeineCache.getNativeCache().estimatedSize());
+            region.put("hits", stats.hitCount());
+            region.put("misses", stats.missCount());
+            region.put("hitRate", stats.hitRate());
+            region.put("evictions", stats.evictionCount());
+            regions.put(name, region);
+        }
+        return ResponseEntity.ok(regions);
+    }
+
+    @Operation(summary = "Clear a cache region", description = "Drops every entry of the named cache region")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Region cleared"),
+        @ApiResponse(responseCode = "404", description = "Unknown region")
+    })
+    @DeleteMapping("/{region}")
+    public ResponseEntity<Void> clearRegion(@PathVariable String region) {
+        Cache cache = cacheManager.getCache(region);
+        if (cache == null) {
+            return ResponseEntity.notFound().build();
+        }
+        cache.clear();
+        return ResponseEntity.ok().build();
+    }
+}
@@ -5,11 +5,15 @@ import java.util.Date;
 import edu.cit.Judify.User.UserEntity;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
@@ -17,6 +21,12 @@ import jakarta.persistence.Temporal;
 import jakarta.persistence.TemporalType;
 
 @Entity
+// Conversation lists render both participants' names and the tutor's expertise. The inverse
+// UserEntity.tutorProfile one-to-one can't be proxied, so it is joined rather than selected per user.
+@NamedEntityGraph(name = "Conversation.participants", attributeNodes = {
+        @NamedAttributeNode(value = "student", subgraph = "participant"),
+        @NamedAttributeNode(value = "tutor", subgraph = "participant")
+}, subgraphs = @NamedSubgraph(name = "participant", attributeNodes = @NamedAttributeNode("tutorProfile")))
 @Table(name = "conversations")
 public class ConversationEntity {
 
@@ -24,11 +34,11 @@ public class ConversationEntity {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long conversationId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "student_id", nullable = false)
     private UserEntity student;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "tutor_id", nullable = false)
     private UserEntity tutor;
 
@@ -0,0 +1,199 @@
+package edu.cit.Judify.Email;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Delivers queued emails from the outbox in the background.
+ * Each batch is handed to {@link JavaMailSender#send(MimeMessage...)}, which opens a single
+ * SMTP connection for the whole batch instead of one per email. Failed rows are retried with
+ * exponential backoff and dead-lettered once they exceed the configured number of attempts.
+ * <p>
+ * A batch is claimed in one short transaction, which leases the rows by moving their next attempt
+ * past the lease; SMTP then runs outside any transaction, and the outcome is recorded in a second
+ * short one. A slow mail server therefore holds neither a pooled connection nor row locks, and
+ * rows of a node that dies mid-batch are picked up again once their lease runs out.
+ */
+@Component
+public class EmailOutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+
+    private final EmailOutboxRepository outboxRepository;
+    private final JavaMailSender emailSender;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${spring.mail.username:noreply@judify.edu}")
+    private String fromEmail;
+
+    @Value("${judify.mail.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${judify.mail.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${judify.mail.outbox.initial-backoff-ms:30000}")
+    private long initialBackoffMs;
+
+    @Value("${judify.mail.outbox.max-backoff-ms:3600000}")
+    private long maxBackoffMs;
+
+    // Longer than a batch can take with the SMTP timeouts, or a second node would send it again
+    @Value("${judify.mail.outbox.lease-ms:600000}")
+    private long leaseMs;
+
+    @Autowired
+    public EmailOutboxDispatcher(EmailOutboxRepository outboxRepository, JavaMailSender emailSender,
+                                 PlatformTransactionManager transactionManager) {
+        this.outboxRepository = outboxRepository;
+        this.emailSender = emailSender;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${judify.mail.outbox.poll-interval-ms:5000}",
+               initialDelayString = "${judify.mail.outbox.poll-interval-ms:5000}")
+    public void dispatchPending() {
+        List<EmailOutboxEntity> batch = transactionTemplate.execute(status -> claimBatch());
+        if (batch == null || batch.isEmpty()) {
+            return;
+        }
+
+        // Build all messages up front; rows that can't even be rendered fail individually
+        Map<MimeMessage, EmailOutboxEntity> messages = new IdentityHashMap<>();
+        for (EmailOutboxEntity email : batch) {
+            try {
+                messages.put(buildMessage(email), email);
+            } catch (MessagingException e) {
+                markFailed(email, e);
+            }
+        }
+
+        Map<Object, Exception> failures = sendBatch(messages);
+
+        Date now = new Date();
+        int sent = 0;
+        for (Map.Entry<MimeMessage, EmailOutboxEntity> entry : messages.entrySet()) {
+            Exception failure = failures.get(entry.getKey());
+            if (failure != null) {
+                markFailed(entry.getValue(), failure);
+            } else {
+                EmailOutboxEntity email = entry.getValue();
+                email.setStatus(EmailOutboxEntity.STATUS_SENT);
+                email.setSentAt(now);
+                email.setLastError(null);
+                sent++;
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> outboxRepository.saveAll(batch));
+        logger.info("Email outbox batch processed: {} sent, {} failed", sent, batch.size() - sent);
+    }
+
+    /**
+     * Locks the next due rows, skipping those another node holds, and leases them to this node.
+     */
+    private List<EmailOutboxEntity> claimBatch() {
+        Date now = new Date();
+        List<EmailOutboxEntity> batch = outboxRepository.claimDue(
+                EmailOutboxEntity.STATUS_PENDING, now, PageRequest.of(0, batchSize));
+        Date leasedUntil = new Date(now.getTime() + leaseMs);
+        for (EmailOutboxEntity email : batch) {
+            email.setNextAttemptAt(leasedUntil);
+        }
+        return batch;
+    }
+
+    /**
+     * Sends the batch over one SMTP connection and returns the messages that failed.
+     */
+    private Map<Object, Exception> sendBatch(Map<MimeMessage, EmailOutboxEntity> messages) {
+        if (messages.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        List<MimeMessage> toSend = new ArrayList<>(messages.keySet());
+        try {
+            emailSender.send(toSend.toArray(new MimeMessage[0]));
+            return Collections.emptyMap();
+        } catch (MailSendException e) {
+            // Partial failure: only the listed messages need to be retried
+            return e.getFailedMessages().isEmpty() ? failAll(toSend, e) : e.getFailedMessages();
+        } catch (MailException e) {
+            // Authentication or connection failure: nothing was delivered
+            return failAll(toSend, e);
+        }
+    }
+
+    private Map<Object, Exception> failAll(List<MimeMessage> messages, Exception e) {
+        Map<Object, Exception> failures = new IdentityHashMap<>();
+        messages.forEach(message -> failures.put(message, e));
+        return failures;
+    }
+
+    private MimeMessage buildMessage(EmailOutboxEntity email) throws MessagingException {
+        MimeMessage message = emailSender.createMimeMessage();
+        boolean multipart = email.getAttachmentContent() != null;
+        MimeMessageHelper helper = new MimeMessageHelper(message, multipart, StandardCharsets.UTF_8.name());
+
+        helper.setFrom(fromEmail);
+        helper.setTo(email.getRecipient());
+        helper.setSubject(email.getSubject());
+        helper.setText(email.getBody(), true);
+
+        if (multipart) {
+            helper.addAttachment(
+                    email.getAttachmentName(),
+                    new ByteArrayResource(email.getAttachmentContent().getBytes(StandardCharsets.UTF_8)),
+                    email.getAttachmentContentType());
+        }
+
+        return message;
+    }
+
+    private void markFailed(EmailOutboxEntity email, Exception e) {
+        int attempts = email.getAttempts() + 1;
+        email.setAttempts(attempts);
+        email.setLastError(truncate(e.getMessage()));
+
+        if (attempts >= maxAttempts) {
+            email.setStatus(EmailOutboxEntity.STATUS_DEAD);
+            logger.error("Email {} to {} dead-lettered after {} attempts", email.getOutboxId(), email.getRecipient(), attempts, e);
+            return;
+        }
+
+        // Exponential backoff: initial, 2x, 4x, ... capped at the max backoff
+        long backoff = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempts - 1, 20));
+        email.setNextAttemptAt(new Date(System.currentTimeMillis() + backoff));
+        logger.warn("Email {} to {} failed (attempt {}), retrying in {} ms: {}",
+                email.getOutboxId(), email.getRecipient(), attempts, backoff, e.getMessage());
+    }
+
+    private String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+}
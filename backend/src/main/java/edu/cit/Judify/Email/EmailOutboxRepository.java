@@ -0,0 +1,33 @@
+package edu.cit.Judify.Email;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Date;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxEntity, Long> {
+
+    /**
+     * Claims the next batch of due emails. Rows already locked by another node are
+     * skipped (lock timeout -2 is Hibernate's SKIP LOCKED) so dispatchers never
+     * deliver the same row twice.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM EmailOutboxEntity e WHERE e.status = :status AND e.nextAttemptAt <= :now " +
+           "ORDER BY e.outboxId ASC")
+    List<EmailOutboxEntity> claimDue(@Param("status") String status, @Param("now") Date now, Pageable pageable);
+
+    long countByStatus(String status);
+
+    List<EmailOutboxEntity> findByStatusOrderByCreatedAtDesc(String status);
+}
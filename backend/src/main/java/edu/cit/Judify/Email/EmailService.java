@@ -2,108 +2,98 @@ package edu.cit.Judify.Email;
 
 import edu.cit.Judify.Calendar.CalendarService;
 import edu.cit.Judify.TutoringSession.TutoringSessionEntity;
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
 
 @Service
 public class EmailService {
 
-    private final JavaMailSender emailSender;
+    private final EmailOutboxRepository outboxRepository;
     private final CalendarService calendarService;
     
-    @Value("${spring.mail.username:noreply@judify.edu}")
-    private String fromEmail;
-    
     @Autowired
-    public EmailService(JavaMailSender emailSender, CalendarService calendarService) {
-        this.emailSender = emailSender;
+    public EmailService(EmailOutboxRepository outboxRepository, CalendarService calendarService) {
+        this.outboxRepository = outboxRepository;
         this.calendarService = calendarService;
     }
     
     /**
-     * Sends a session confirmation email with calendar attachment to both tutor and student
+     * Queues a session confirmation email with calendar attachment for both tutor and student.
+     * The emails are written to the outbox in the caller's transaction and delivered
+     * asynchronously by {@link EmailOutboxDispatcher}, so booking never waits on SMTP.
      * 
      * @param session The tutoring session
-     * @throws MessagingException If there's an error sending the email
      * @throws IOException If there's an error generating the calendar file
      */
-    public void sendSessionConfirmationEmail(TutoringSessionEntity session) throws MessagingException, IOException {
+    @Transactional
+    public void queueSessionConfirmationEmail(TutoringSessionEntity session) throws IOException {
         // Generate calendar attachment
-        byte[] calendarData = calendarService.generateICalendarFile(session);
-        ByteArrayResource calendarAttachment = new ByteArrayResource(calendarData);
+        String calendarData = new String(calendarService.generateICalendarFile(session), StandardCharsets.UTF_8);
         
         // Format dates for display
         SimpleDateFormat dateFormat = new SimpleDateFormat("EEEE, MMMM d, yyyy 'at' h:mm a");
         String formattedStartTime = dateFormat.format(session.getStartTime());
         String formattedEndTime = dateFormat.format(session.getEndTime());
         
-        // Send email to student
-        sendSessionEmailToRecipient(
+        // Queue email to student
+        queueSessionEmailToRecipient(
             session.getStudent().getEmail(),
             session.getStudent().getFirstName(),
             session.getTutor().getFirstName() + " " + session.getTutor().getLastName(),
             session,
             formattedStartTime,
             formattedEndTime,
-            calendarAttachment,
+            calendarData,
             false
         );
         
-        // Send email to tutor
-        sendSessionEmailToRecipient(
+        // Queue email to tutor
+        queueSessionEmailToRecipient(
             session.getTutor().getEmail(),
             session.getTutor().getFirstName(),
             session.getStudent().getFirstName() + " " + session.getStudent().getLastName(),
             session,
             formattedStartTime,
             formattedEndTime,
-            calendarAttachment,
+            calendarData,
             true
         );
     }
     
     /**
-     * Sends a session confirmation email to a recipient (either tutor or student)
+     * Queues a session confirmation email to a recipient (either tutor or student)
      */
-    private void sendSessionEmailToRecipient(
+    private void queueSessionEmailToRecipient(
             String toEmail, 
             String recipientFirstName,
             String otherPartyName,
             TutoringSessionEntity session,
             String formattedStartTime,
             String formattedEndTime,
-            ByteArrayResource calendarAttachment,
-            boolean isTutor) throws MessagingException {
-        
-        MimeMessage message = emailSender.createMimeMessage();
-        MimeMessageHelper helper = new MimeMessageHelper(message, true);
-        
-        helper.setFrom(fromEmail);
-        helper.setTo(toEmail);
-        helper.setSubject("Tutoring Session Confirmation: " + session.getSubject());
+            String calendarData,
+            boolean isTutor) {
         
-        String emailContent = buildEmailContent(
+        EmailOutboxEntity email = new EmailOutboxEntity();
+        email.setRecipient(toEmail);
+        email.setSubject("Tutoring Session Confirmation: " + session.getSubject());
+        email.setBody(buildEmailContent(
             recipientFirstName,
             otherPartyName,
             session,
             formattedStartTime,
             formattedEndTime,
             isTutor
-        );
-        
-        helper.setText(emailContent, true);
-        helper.addAttachment("tutoring_session.ics", calendarAttachment);
+        ));
+        email.setAttachmentName("tutoring_session.ics");
+        email.setAttachmentContentType("text/calendar; charset=UTF-8; method=REQUEST");
+        email.setAttachmentContent(calendarData);
         
-        emailSender.send(message);
+        outboxRepository.save(email);
     }
     
     /**
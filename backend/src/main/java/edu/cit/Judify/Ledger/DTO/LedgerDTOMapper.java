@@ -0,0 +1,62 @@
+package edu.cit.Judify.Ledger.DTO;
+
+import edu.cit.Judify.Ledger.LedgerAccountType;
+import edu.cit.Judify.Ledger.LedgerBalanceEntity;
+import edu.cit.Judify.Ledger.LedgerEntryEntity;
+import edu.cit.Judify.Ledger.LedgerRollupEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps ledger entities to DTOs. Amounts are converted to major currency units and shown
+ * from the account holder's point of view: earnings are positive for tutors and
+ * payments are positive for students (refunds reduce both).
+ */
+@Component
+public class LedgerDTOMapper {
+
+    public LedgerEntryDTO toDTO(LedgerEntryEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+
+        LedgerEntryDTO dto = new LedgerEntryDTO();
+        dto.setEntryId(entity.getEntryId());
+        dto.setTransactionId(entity.getTransactionId());
+        dto.setSessionId(entity.getSessionId());
+        dto.setEntryType(entity.getEntryType());
+        dto.setAmount(toMajor(entity.getAmountMinor(), entity.getAccountType()));
+        dto.setCurrency(entity.getCurrency());
+        dto.setCreatedAt(entity.getCreatedAt());
+        return dto;
+    }
+
+    public LedgerRollupDTO toDTO(LedgerRollupEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+
+        LedgerRollupDTO dto = new LedgerRollupDTO();
+        dto.setPeriodType(entity.getPeriodType());
+        dto.setPeriodStart(entity.getPeriodStart());
+        dto.setCurrency(entity.getCurrency());
+        dto.setTotal(toMajor(entity.getTotalMinor(), entity.getAccountType()));
+        dto.setEntryCount(entity.getEntryCount());
+        return dto;
+    }
+
+    public LedgerSummaryDTO toSummaryDTO(LedgerBalanceEntity balance, LedgerRollupEntity today, LedgerRollupEntity thisMonth) {
+        LedgerSummaryDTO dto = new LedgerSummaryDTO();
+        dto.setAccountType(balance.getAccountType().name());
+        dto.setCurrency(balance.getCurrency());
+        dto.setTotal(toMajor(balance.getBalanceMinor(), balance.getAccountType()));
+        dto.setEntryCount(balance.getEntryCount());
+        dto.setToday(today != null ? toMajor(today.getTotalMinor(), today.getAccountType()) : 0.0);
+        dto.setThisMonth(thisMonth != null ? toMajor(thisMonth.getTotalMinor(), thisMonth.getAccountType()) : 0.0);
+        return dto;
+    }
+
+    private Double toMajor(Long amountMinor, LedgerAccountType accountType) {
+        long sign = accountType == LedgerAccountType.STUDENT_PAYMENTS ? -1 : 1;
+        return (amountMinor * sign) / 100.0;
+    }
+}
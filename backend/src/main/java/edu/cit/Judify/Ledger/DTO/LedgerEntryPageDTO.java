@@ -0,0 +1,34 @@
+package edu.cit.Judify.Ledger.DTO;
+
+import java.util.List;
+
+public class LedgerEntryPageDTO {
+    private List<LedgerEntryDTO> entries;
+    private Long nextCursor;  // Pass as "cursor" to fetch the next page; null when there are no more entries
+
+    // Default constructor
+    public LedgerEntryPageDTO() {
+    }
+
+    public LedgerEntryPageDTO(List<LedgerEntryDTO> entries, Long nextCursor) {
+        this.entries = entries;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<LedgerEntryDTO> getEntries() {
+        return entries;
+    }
+
+    public void setEntries(List<LedgerEntryDTO> entries) {
+        this.entries = entries;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(Long nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
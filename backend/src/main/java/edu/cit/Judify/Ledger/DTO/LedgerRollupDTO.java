@@ -0,0 +1,56 @@
+package edu.cit.Judify.Ledger.DTO;
+
+import java.util.Date;
+
+public class LedgerRollupDTO {
+    private String periodType;
+    private Date periodStart;
+    private String currency;
+    private Double total;
+    private Long entryCount;
+
+    // Default constructor
+    public LedgerRollupDTO() {
+    }
+
+    // Getters and Setters
+    public String getPeriodType() {
+        return periodType;
+    }
+
+    public void setPeriodType(String periodType) {
+        this.periodType = periodType;
+    }
+
+    public Date getPeriodStart() {
+        return periodStart;
+    }
+
+    public void setPeriodStart(Date periodStart) {
+        this.periodStart = periodStart;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    public Double getTotal() {
+        return total;
+    }
+
+    public void setTotal(Double total) {
+        this.total = total;
+    }
+
+    public Long getEntryCount() {
+        return entryCount;
+    }
+
+    public void setEntryCount(Long entryCount) {
+        this.entryCount = entryCount;
+    }
+}
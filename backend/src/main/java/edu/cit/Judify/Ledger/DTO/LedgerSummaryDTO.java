@@ -0,0 +1,63 @@
+package edu.cit.Judify.Ledger.DTO;
+
+public class LedgerSummaryDTO {
+    private String accountType;
+    private String currency;
+    private Double total;
+    private Long entryCount;
+    private Double today;
+    private Double thisMonth;
+
+    // Default constructor
+    public LedgerSummaryDTO() {
+    }
+
+    // Getters and Setters
+    public String getAccountType() {
+        return accountType;
+    }
+
+    public void setAccountType(String accountType) {
+        this.accountType = accountType;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    public Double getTotal() {
+        return total;
+    }
+
+    public void setTotal(Double total) {
+        this.total = total;
+    }
+
+    public Long getEntryCount() {
+        return entryCount;
+    }
+
+    public void setEntryCount(Long entryCount) {
+        this.entryCount = entryCount;
+    }
+
+    public Double getToday() {
+        return today;
+    }
+
+    public void setToday(Double today) {
+        this.today = today;
+    }
+
+    public Double getThisMonth() {
+        return thisMonth;
+    }
+
+    public void setThisMonth(Double thisMonth) {
+        this.thisMonth = thisMonth;
+    }
+}
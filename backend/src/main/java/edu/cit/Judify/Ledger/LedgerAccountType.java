@@ -0,0 +1,11 @@
+package edu.cit.Judify.Ledger;
+
+/**
+ * Ledger accounts kept per user. Every payment posts a debit to the payer's
+ * STUDENT_PAYMENTS account and an equal credit to the payee's TUTOR_EARNINGS account,
+ * so the entries of each journal always sum to zero.
+ */
+public enum LedgerAccountType {
+    TUTOR_EARNINGS,
+    STUDENT_PAYMENTS
+}
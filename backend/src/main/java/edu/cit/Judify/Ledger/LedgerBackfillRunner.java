@@ -0,0 +1,46 @@
+package edu.cit.Judify.Ledger;
+
+import edu.cit.Judify.PaymentTransaction.PaymentTransactionEntity;
+import edu.cit.Judify.PaymentTransaction.PaymentTransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * One-off backfill that posts existing completed and refunded transactions to the ledger.
+ * Enable with judify.ledger.backfill-on-startup=true; postings are idempotent, so running it again is safe.
+ */
+@Component
+@ConditionalOnProperty(name = "judify.ledger.backfill-on-startup", havingValue = "true")
+public class LedgerBackfillRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(LedgerBackfillRunner.class);
+
+    private final PaymentTransactionRepository paymentTransactionRepository;
+    private final LedgerService ledgerService;
+
+    @Autowired
+    public LedgerBackfillRunner(PaymentTransactionRepository paymentTransactionRepository, LedgerService ledgerService) {
+        this.paymentTransactionRepository = paymentTransactionRepository;
+        this.ledgerService = ledgerService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int posted = 0;
+        for (PaymentTransactionEntity transaction : paymentTransactionRepository.findByPaymentStatus("COMPLETED")) {
+            ledgerService.recordPayment(transaction);
+            posted++;
+        }
+        for (PaymentTransactionEntity transaction : paymentTransactionRepository.findByPaymentStatus("REFUNDED")) {
+            ledgerService.recordPayment(transaction);
+            ledgerService.recordRefund(transaction);
+            posted++;
+        }
+        logger.info("Ledger backfill checked {} transactions", posted);
+    }
+}
@@ -0,0 +1,102 @@
+package edu.cit.Judify.Ledger;
+
+import jakarta.persistence.*;
+
+import java.util.Date;
+
+/**
+ * Running balance of one ledger account, updated in the same transaction as each posting
+ * so dashboards can read totals without summing entries.
+ */
+@Entity
+@Table(name = "ledger_balances",
+        uniqueConstraints = @UniqueConstraint(name = "uk_ledger_balances_account",
+                columnNames = {"user_id", "account_type", "currency"}))
+public class LedgerBalanceEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long balanceId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "account_type", nullable = false, length = 32)
+    private LedgerAccountType accountType;
+
+    @Column(nullable = false, length = 3)
+    private String currency;
+
+    @Column(nullable = false)
+    private Long balanceMinor;
+
+    @Column(nullable = false)
+    private Long entryCount;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date updatedAt;
+
+    // Constructors
+    public LedgerBalanceEntity() {
+    }
+
+    public LedgerBalanceEntity(Long userId, LedgerAccountType accountType, String currency) {
+        this.userId = userId;
+        this.accountType = accountType;
+        this.currency = currency;
+        this.balanceMinor = 0L;
+        this.entryCount = 0L;
+    }
+
+    // Getters and Setters
+
+    public Long getBalanceId() {
+        return balanceId;
+    }
+    public void setBalanceId(Long balanceId) {
+        this.balanceId = balanceId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public LedgerAccountType getAccountType() {
+        return accountType;
+    }
+    public void setAccountType(LedgerAccountType accountType) {
+        this.accountType = accountType;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    public Long getBalanceMinor() {
+        return balanceMinor;
+    }
+    public void setBalanceMinor(Long balanceMinor) {
+        this.balanceMinor = balanceMinor;
+    }
+
+    public Long getEntryCount() {
+        return entryCount;
+    }
+    public void setEntryCount(Long entryCount) {
+        this.entryCount = entryCount;
+    }
+
+    public Date getUpdatedAt() {
+        return updatedAt;
+    }
+    public void setUpdatedAt(Date updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
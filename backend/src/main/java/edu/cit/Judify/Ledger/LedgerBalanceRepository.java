@@ -0,0 +1,18 @@
+package edu.cit.Judify.Ledger;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface LedgerBalanceRepository extends JpaRepository<LedgerBalanceEntity, Long> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<LedgerBalanceEntity> findByUserIdAndAccountTypeAndCurrency(
+            Long userId, LedgerAccountType accountType, String currency);
+
+    List<LedgerBalanceEntity> findByUserIdAndAccountType(Long userId, LedgerAccountType accountType);
+}
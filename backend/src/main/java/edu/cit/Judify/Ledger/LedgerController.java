@@ -0,0 +1,148 @@
+package edu.cit.Judify.Ledger;
+
+import edu.cit.Judify.Ledger.DTO.LedgerDTOMapper;
+import edu.cit.Judify.Ledger.DTO.LedgerEntryDTO;
+import edu.cit.Judify.Ledger.DTO.LedgerEntryPageDTO;
+import edu.cit.Judify.Ledger.DTO.LedgerRollupDTO;
+import edu.cit.Judify.Ledger.DTO.LedgerSummaryDTO;
+import edu.cit.Judify.User.UserRepository;
+import edu.cit.Judify.config.JwtPrincipal;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api/ledger")
+@CrossOrigin(origins = "*")
+@Tag(name = "Ledger", description = "Pre-aggregated earnings and payment totals")
+public class LedgerController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final LedgerService ledgerService;
+    private final LedgerDTOMapper ledgerDTOMapper;
+    private final UserRepository userRepository;
+
+    @Autowired
+    public LedgerController(LedgerService ledgerService, LedgerDTOMapper ledgerDTOMapper, UserRepository userRepository) {
+        this.ledgerService = ledgerService;
+        this.ledgerDTOMapper = ledgerDTOMapper;
+        this.userRepository = userRepository;
+    }
+
+    @Operation(summary = "Get my earnings summary", description = "Returns the current tutor's total, today's and this month's earnings per currency")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved the earnings summary")
+    })
+    @GetMapping("/my-earnings/summary")
+    public ResponseEntity<List<LedgerSummaryDTO>> getMyEarningsSummary() {
+        return ResponseEntity.ok(getSummary(getCurrentUserId(), LedgerAccountType.TUTOR_EARNINGS));
+    }
+
+    @Operation(summary = "Get my earnings entries", description = "Returns the current tutor's ledger entries, newest first, using cursor pagination")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved the entries")
+    })
+    @GetMapping("/my-earnings/entries")
+    public ResponseEntity<LedgerEntryPageDTO> getMyEarningsEntries(
+            @Parameter(description = "Entry ID returned as nextCursor by the previous page") @RequestParam(required = false) Long cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(getEntries(getCurrentUserId(), LedgerAccountType.TUTOR_EARNINGS, cursor, limit));
+    }
+
+    @Operation(summary = "Get my earnings rollups", description = "Returns the current tutor's daily or monthly earnings totals, newest first")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved the rollups")
+    })
+    @GetMapping("/my-earnings/rollups")
+    public ResponseEntity<List<LedgerRollupDTO>> getMyEarningsRollups(
+            @Parameter(description = "DAY or MONTH") @RequestParam(defaultValue = "MONTH") String period,
+            @Parameter(description = "Number of periods") @RequestParam(defaultValue = "12") int limit) {
+        return ResponseEntity.ok(ledgerService.getRecentRollups(getCurrentUserId(),
+                        LedgerAccountType.TUTOR_EARNINGS, normalizePeriod(period), clampLimit(limit))
+                .stream()
+                .map(ledgerDTOMapper::toDTO)
+                .collect(Collectors.toList()));
+    }
+
+    @Operation(summary = "Get my payments summary", description = "Returns the current student's total, today's and this month's payments per currency")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved the payments summary")
+    })
+    @GetMapping("/my-payments/summary")
+    public ResponseEntity<List<LedgerSummaryDTO>> getMyPaymentsSummary() {
+        return ResponseEntity.ok(getSummary(getCurrentUserId(), LedgerAccountType.STUDENT_PAYMENTS));
+    }
+
+    @Operation(summary = "Get my payment entries", description = "Returns the current student's ledger entries, newest first, using cursor pagination")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved the entries")
+    })
+    @GetMapping("/my-payments/entries")
+    public ResponseEntity<LedgerEntryPageDTO> getMyPaymentEntries(
+            @Parameter(description = "Entry ID returned as nextCursor by the previous page") @RequestParam(required = false) Long cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(getEntries(getCurrentUserId(), LedgerAccountType.STUDENT_PAYMENTS, cursor, limit));
+    }
+
+    private List<LedgerSummaryDTO> getSummary(Long userId, LedgerAccountType accountType) {
+        Map<String, LedgerRollupEntity> today = byCurrency(
+                ledgerService.getCurrentRollups(userId, accountType, LedgerRollupEntity.PERIOD_DAY));
+        Map<String, LedgerRollupEntity> thisMonth = byCurrency(
+                ledgerService.getCurrentRollups(userId, accountType, LedgerRollupEntity.PERIOD_MONTH));
+
+        return ledgerService.getBalances(userId, accountType)
+                .stream()
+                .map(balance -> ledgerDTOMapper.toSummaryDTO(balance,
+                        today.get(balance.getCurrency()), thisMonth.get(balance.getCurrency())))
+                .collect(Collectors.toList());
+    }
+
+    private LedgerEntryPageDTO getEntries(Long userId, LedgerAccountType accountType, Long cursor, int limit) {
+        int pageSize = clampLimit(limit);
+        List<LedgerEntryDTO> entries = ledgerService.getEntries(userId, accountType, cursor, pageSize)
+                .stream()
+                .map(ledgerDTOMapper::toDTO)
+                .collect(Collectors.toList());
+        Long nextCursor = entries.size() == pageSize ? entries.get(entries.size() - 1).getEntryId() : null;
+        return new LedgerEntryPageDTO(entries, nextCursor);
+    }
+
+    private Map<String, LedgerRollupEntity> byCurrency(List<LedgerRollupEntity> rollups) {
+        return rollups.stream().collect(Collectors.toMap(LedgerRollupEntity::getCurrency, Function.identity()));
+    }
+
+    private String normalizePeriod(String period) {
+        return LedgerRollupEntity.PERIOD_DAY.equalsIgnoreCase(period)
+                ? LedgerRollupEntity.PERIOD_DAY
+                : LedgerRollupEntity.PERIOD_MONTH;
+    }
+
+    private int clampLimit(int limit) {
+        return Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+    }
+
+    private Long getCurrentUserId() {
+        // Token-authenticated requests carry the user ID; only other authentication types need a lookup
+        return JwtPrincipal.current()
+                .map(JwtPrincipal::getUserId)
+                .orElseGet(() -> {
+                    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+                    return userRepository.findByUsername(authentication.getName())
+                            .orElseThrow(() -> new RuntimeException("User not found"))
+                            .getUserId();
+                });
+    }
+}
@@ -0,0 +1,128 @@
+package edu.cit.Judify.Ledger;
+
+import jakarta.persistence.*;
+
+import java.util.Date;
+
+/**
+ * One side of a double-entry posting. Amounts are signed and stored in minor currency
+ * units (credits positive, debits negative). The unique constraint makes posting
+ * idempotent when a webhook or refund is applied more than once.
+ */
+@Entity
+@Table(name = "ledger_entries",
+        uniqueConstraints = @UniqueConstraint(name = "uk_ledger_entries_posting",
+                columnNames = {"transaction_id", "entry_type", "account_type"}),
+        indexes = @Index(name = "idx_ledger_entries_user_account", columnList = "user_id, account_type, entry_id"))
+public class LedgerEntryEntity {
+
+    public static final String TYPE_PAYMENT = "PAYMENT";
+    public static final String TYPE_REFUND = "REFUND";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "entry_id")
+    private Long entryId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "account_type", nullable = false, length = 32)
+    private LedgerAccountType accountType;
+
+    @Column(name = "transaction_id", nullable = false)
+    private Long transactionId;
+
+    @Column(nullable = false)
+    private Long sessionId;
+
+    @Column(name = "entry_type", nullable = false, length = 16)
+    private String entryType;  // PAYMENT or REFUND
+
+    @Column(nullable = false)
+    private Long amountMinor;
+
+    @Column(nullable = false, length = 3)
+    private String currency;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(nullable = false, updatable = false)
+    private Date createdAt;
+
+    // Constructors
+    public LedgerEntryEntity() {
+    }
+
+    // Getters and Setters
+
+    public Long getEntryId() {
+        return entryId;
+    }
+    public void setEntryId(Long entryId) {
+        this.entryId = entryId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public LedgerAccountType getAccountType() {
+        return accountType;
+    }
+    public void setAccountType(LedgerAccountType accountType) {
+        this.accountType = accountType;
+    }
+
+    public Long getTransactionId() {
+        return transactionId;
+    }
+    public void setTransactionId(Long transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public Long getSessionId() {
+        return sessionId;
+    }
+    public void setSessionId(Long sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    public String getEntryType() {
+        return entryType;
+    }
+    public void setEntryType(String entryType) {
+        this.entryType = entryType;
+    }
+
+    public Long getAmountMinor() {
+        return amountMinor;
+    }
+    public void setAmountMinor(Long amountMinor) {
+        this.amountMinor = amountMinor;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+    public void setCreatedAt(Date createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = new Date();
+        }
+    }
+}
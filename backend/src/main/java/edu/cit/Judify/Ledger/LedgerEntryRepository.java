@@ -0,0 +1,18 @@
+package edu.cit.Judify.Ledger;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface LedgerEntryRepository extends JpaRepository<LedgerEntryEntity, Long> {
+    boolean existsByTransactionIdAndEntryType(Long transactionId, String entryType);
+
+    // Keyset pagination: newest first, continuing below the cursor
+    List<LedgerEntryEntity> findByUserIdAndAccountTypeOrderByEntryIdDesc(
+            Long userId, LedgerAccountType accountType, Pageable pageable);
+    List<LedgerEntryEntity> findByUserIdAndAccountTypeAndEntryIdLessThanOrderByEntryIdDesc(
+            Long userId, LedgerAccountType accountType, Long entryId, Pageable pageable);
+}
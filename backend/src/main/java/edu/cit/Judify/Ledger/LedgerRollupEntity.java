@@ -0,0 +1,118 @@
+package edu.cit.Judify.Ledger;
+
+import jakarta.persistence.*;
+
+import java.util.Date;
+
+/**
+ * Daily or monthly total for one ledger account, maintained incrementally as entries are posted.
+ */
+@Entity
+@Table(name = "ledger_rollups",
+        uniqueConstraints = @UniqueConstraint(name = "uk_ledger_rollups_period",
+                columnNames = {"user_id", "account_type", "currency", "period_type", "period_start"}))
+public class LedgerRollupEntity {
+
+    public static final String PERIOD_DAY = "DAY";
+    public static final String PERIOD_MONTH = "MONTH";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long rollupId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "account_type", nullable = false, length = 32)
+    private LedgerAccountType accountType;
+
+    @Column(nullable = false, length = 3)
+    private String currency;
+
+    @Column(name = "period_type", nullable = false, length = 8)
+    private String periodType;  // DAY or MONTH
+
+    @Temporal(TemporalType.DATE)
+    @Column(name = "period_start", nullable = false)
+    private Date periodStart;
+
+    @Column(nullable = false)
+    private Long totalMinor;
+
+    @Column(nullable = false)
+    private Long entryCount;
+
+    // Constructors
+    public LedgerRollupEntity() {
+    }
+
+    public LedgerRollupEntity(Long userId, LedgerAccountType accountType, String currency,
+                              String periodType, Date periodStart) {
+        this.userId = userId;
+        this.accountType = accountType;
+        this.currency = currency;
+        this.periodType = periodType;
+        this.periodStart = periodStart;
+        this.totalMinor = 0L;
+        this.entryCount = 0L;
+    }
+
+    // Getters and Setters
+
+    public Long getRollupId() {
+        return rollupId;
+    }
+    public void setRollupId(Long rollupId) {
+        this.rollupId = rollupId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public LedgerAccountType getAccountType() {
+        return accountType;
+    }
+    public void setAccountType(LedgerAccountType accountType) {
+        this.accountType = accountType;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    public String getPeriodType() {
+        return periodType;
+    }
+    public void setPeriodType(String periodType) {
+        this.periodType = periodType;
+    }
+
+    public Date getPeriodStart() {
+        return periodStart;
+    }
+    public void setPeriodStart(Date periodStart) {
+        this.periodStart = periodStart;
+    }
+
+    public Long getTotalMinor() {
+        return totalMinor;
+    }
+    public void setTotalMinor(Long totalMinor) {
+        this.totalMinor = totalMinor;
+    }
+
+    public Long getEntryCount() {
+        return entryCount;
+    }
+    public void setEntryCount(Long entryCount) {
+        this.entryCount = entryCount;
+    }
+}
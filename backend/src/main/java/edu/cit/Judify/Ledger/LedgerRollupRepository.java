@@ -0,0 +1,24 @@
+package edu.cit.Judify.Ledger;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.stereotype.Repository;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface LedgerRollupRepository extends JpaRepository<LedgerRollupEntity, Long> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<LedgerRollupEntity> findByUserIdAndAccountTypeAndCurrencyAndPeriodTypeAndPeriodStart(
+            Long userId, LedgerAccountType accountType, String currency, String periodType, Date periodStart);
+
+    List<LedgerRollupEntity> findByUserIdAndAccountTypeAndPeriodTypeOrderByPeriodStartDesc(
+            Long userId, LedgerAccountType accountType, String periodType, Pageable pageable);
+
+    List<LedgerRollupEntity> findByUserIdAndAccountTypeAndPeriodTypeAndPeriodStart(
+            Long userId, LedgerAccountType accountType, String periodType, Date periodStart);
+}
@@ -0,0 +1,163 @@
+package edu.cit.Judify.Ledger;
+
+import edu.cit.Judify.PaymentTransaction.PaymentTransactionEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Posts payment transactions to the double-entry ledger and keeps per-account
+ * running balances and daily/monthly rollups up to date in the same transaction.
+ */
+@Service
+public class LedgerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LedgerService.class);
+
+    private final LedgerEntryRepository entryRepository;
+    private final LedgerBalanceRepository balanceRepository;
+    private final LedgerRollupRepository rollupRepository;
+    private final ZoneId zone;
+
+    @Autowired
+    public LedgerService(LedgerEntryRepository entryRepository,
+                         LedgerBalanceRepository balanceRepository,
+                         LedgerRollupRepository rollupRepository,
+                         @Value("${judify.ledger.zone:Asia/Manila}") String zone) {
+        this.entryRepository = entryRepository;
+        this.balanceRepository = balanceRepository;
+        this.rollupRepository = rollupRepository;
+        this.zone = ZoneId.of(zone);
+    }
+
+    /**
+     * Posts a completed payment: the payer's STUDENT_PAYMENTS account is debited
+     * and the payee's TUTOR_EARNINGS account is credited. Dated when the payment
+     * completed (or was created, for rows from before completedAt was recorded).
+     * Posting twice is a no-op.
+     */
+    @Transactional
+    public void recordPayment(PaymentTransactionEntity transaction) {
+        post(transaction, LedgerEntryEntity.TYPE_PAYMENT, 1,
+                firstNonNull(transaction.getCompletedAt(), transaction.getCreatedAt()));
+    }
+
+    /**
+     * Posts a refund by reversing the original payment entries, dated when the refund happened.
+     * Refunds from before refundedAt was recorded fall back to the row's last update. Posting twice is a no-op.
+     */
+    @Transactional
+    public void recordRefund(PaymentTransactionEntity transaction) {
+        post(transaction, LedgerEntryEntity.TYPE_REFUND, -1,
+                firstNonNull(transaction.getRefundedAt(), transaction.getUpdatedAt(), transaction.getCreatedAt()));
+    }
+
+    private void post(PaymentTransactionEntity transaction, String entryType, int direction, Date postedAt) {
+        if (entryRepository.existsByTransactionIdAndEntryType(transaction.getTransactionId(), entryType)) {
+            return;
+        }
+
+        long amountMinor = Math.round(transaction.getAmount() * 100) * direction;
+        String currency = transaction.getCurrency().toUpperCase(Locale.ROOT);
+
+        postEntry(transaction, entryType, transaction.getPayee().getUserId(),
+                LedgerAccountType.TUTOR_EARNINGS, amountMinor, currency, postedAt);
+        postEntry(transaction, entryType, transaction.getPayer().getUserId(),
+                LedgerAccountType.STUDENT_PAYMENTS, -amountMinor, currency, postedAt);
+
+        logger.info("Posted {} of {} {} for transaction {}", entryType, amountMinor, currency,
+                transaction.getTransactionId());
+    }
+
+    private void postEntry(PaymentTransactionEntity transaction, String entryType, Long userId,
+                           LedgerAccountType accountType, long amountMinor, String currency, Date postedAt) {
+        LedgerEntryEntity entry = new LedgerEntryEntity();
+        entry.setUserId(userId);
+        entry.setAccountType(accountType);
+        entry.setTransactionId(transaction.getTransactionId());
+        entry.setSessionId(transaction.getSession().getSessionId());
+        entry.setEntryType(entryType);
+        entry.setAmountMinor(amountMinor);
+        entry.setCurrency(currency);
+        entry.setCreatedAt(postedAt);
+        entryRepository.save(entry);
+
+        LedgerBalanceEntity balance = balanceRepository
+                .findByUserIdAndAccountTypeAndCurrency(userId, accountType, currency)
+                .orElseGet(() -> new LedgerBalanceEntity(userId, accountType, currency));
+        balance.setBalanceMinor(balance.getBalanceMinor() + amountMinor);
+        balance.setEntryCount(balance.getEntryCount() + 1);
+        balance.setUpdatedAt(new Date());
+        balanceRepository.save(balance);
+
+        LocalDate day = postedAt.toInstant().atZone(zone).toLocalDate();
+        addToRollup(userId, accountType, currency, LedgerRollupEntity.PERIOD_DAY, toDate(day), amountMinor);
+        addToRollup(userId, accountType, currency, LedgerRollupEntity.PERIOD_MONTH, toDate(day.withDayOfMonth(1)), amountMinor);
+    }
+
+    private void addToRollup(Long userId, LedgerAccountType accountType, String currency,
+                             String periodType, Date periodStart, long amountMinor) {
+        LedgerRollupEntity rollup = rollupRepository
+                .findByUserIdAndAccountTypeAndCurrencyAndPeriodTypeAndPeriodStart(
+                        userId, accountType, currency, periodType, periodStart)
+                .orElseGet(() -> new LedgerRollupEntity(userId, accountType, currency, periodType, periodStart));
+        rollup.setTotalMinor(rollup.getTotalMinor() + amountMinor);
+        rollup.setEntryCount(rollup.getEntryCount() + 1);
+        rollupRepository.save(rollup);
+    }
+
+    public List<LedgerBalanceEntity> getBalances(Long userId, LedgerAccountType accountType) {
+        return balanceRepository.findByUserIdAndAccountType(userId, accountType);
+    }
+
+    /**
+     * Get the current day's or month's rollups for an account (one per currency)
+     */
+    public List<LedgerRollupEntity> getCurrentRollups(Long userId, LedgerAccountType accountType, String periodType) {
+        LocalDate today = LocalDate.now(zone);
+        LocalDate periodStart = LedgerRollupEntity.PERIOD_MONTH.equals(periodType) ? today.withDayOfMonth(1) : today;
+        return rollupRepository.findByUserIdAndAccountTypeAndPeriodTypeAndPeriodStart(
+                userId, accountType, periodType, toDate(periodStart));
+    }
+
+    public List<LedgerRollupEntity> getRecentRollups(Long userId, LedgerAccountType accountType,
+                                                     String periodType, int limit) {
+        return rollupRepository.findByUserIdAndAccountTypeAndPeriodTypeOrderByPeriodStartDesc(
+                userId, accountType, periodType, PageRequest.of(0, limit));
+    }
+
+    /**
+     * Get a page of entries, newest first. Pass the last entry ID of the previous page as the cursor.
+     */
+    public List<LedgerEntryEntity> getEntries(Long userId, LedgerAccountType accountType, Long cursor, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        return Optional.ofNullable(cursor)
+                .map(before -> entryRepository.findByUserIdAndAccountTypeAndEntryIdLessThanOrderByEntryIdDesc(
+                        userId, accountType, before, page))
+                .orElseGet(() -> entryRepository.findByUserIdAndAccountTypeOrderByEntryIdDesc(userId, accountType, page));
+    }
+
+    private static Date firstNonNull(Date... dates) {
+        for (Date date : dates) {
+            if (date != null) {
+                return date;
+            }
+        }
+        return new Date();
+    }
+
+    private Date toDate(LocalDate date) {
+        return Date.from(date.atStartOfDay(zone).toInstant());
+    }
+}
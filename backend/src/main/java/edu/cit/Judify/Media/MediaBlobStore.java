@@ -0,0 +1,130 @@
+package edu.cit.Judify.Media;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed blob store on the local filesystem.
+ * Blobs are keyed by the SHA-256 of their bytes and sharded into two directory levels
+ * (ab/cd/abcd...), so identical uploads are stored once and a stored blob never changes.
+ * Derived variants (e.g. thumbnails) are stored next to their source blob under "{hash}-{variant}".
+ */
+@Component
+public class MediaBlobStore {
+
+    private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{64}");
+    private static final Pattern VARIANT_PATTERN = Pattern.compile("[a-z0-9]{1,16}");
+
+    private final Path root;
+
+    public MediaBlobStore(@Value("${judify.media.root:./data/media}") String root) {
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(this.root);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create media directory " + this.root, e);
+        }
+    }
+
+    /**
+     * Stores the bytes and returns their hash. Writing an already stored blob is a no-op.
+     */
+    public String put(byte[] data) throws IOException {
+        String hash = hash(data);
+        write(pathFor(hash, null), data);
+        return hash;
+    }
+
+    /**
+     * Stores a variant derived from the blob with the given hash.
+     */
+    public void putVariant(String hash, String variant, byte[] data) throws IOException {
+        write(pathFor(hash, variant), data);
+    }
+
+    /**
+     * Moves a file created by {@link #createTempFile()} into place under the given hash without copying it.
+     * The caller is responsible for the hash actually matching the file's contents.
+     */
+    public void putFile(Path source, String hash) throws IOException {
+        Path target = pathFor(hash, null);
+        if (Files.exists(target)) {
+            Files.deleteIfExists(source);
+            return;
+        }
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            Files.deleteIfExists(source);
+        }
+    }
+
+    /**
+     * Creates a temp file inside the store, on the same filesystem as the blobs, so it can later be
+     * moved into place atomically.
+     */
+    public Path createTempFile() throws IOException {
+        return Files.createTempFile(root, ".upload-", ".tmp");
+    }
+
+    /**
+     * Returns the file for a blob (or one of its variants) if it exists.
+     * Malformed hashes and variant names resolve to empty, so callers can pass request input directly.
+     */
+    public Optional<Path> find(String hash, String variant) {
+        if (!isValidHash(hash) || (variant != null && !VARIANT_PATTERN.matcher(variant).matches())) {
+            return Optional.empty();
+        }
+        Path path = pathFor(hash, variant);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    public boolean isValidHash(String hash) {
+        return hash != null && HASH_PATTERN.matcher(hash).matches();
+    }
+
+    private Path pathFor(String hash, String variant) {
+        String name = variant == null ? hash : hash + "-" + variant;
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(name);
+    }
+
+    private void write(Path target, byte[] data) throws IOException {
+        if (Files.exists(target)) {
+            return;
+        }
+        Files.createDirectories(target.getParent());
+
+        // Write to a temp file and move it into place so readers never see a partial blob
+        Path temp = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+        try {
+            Files.write(temp, data);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // Another request stored the same content concurrently
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static String hash(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
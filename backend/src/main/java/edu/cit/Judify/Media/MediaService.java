@@ -0,0 +1,383 @@
+package edu.cit.Judify.Media;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * Stores uploaded images in the {@link MediaBlobStore} and builds their public URLs.
+ * Uploads are streamed to a temp file (hashing on the way) rather than buffered on the heap.
+ * The format is sniffed from the magic bytes and the dimensions are read from the image header,
+ * so oversized or non-image uploads are rejected before any pixels are decoded. Originals that are
+ * already small enough are stored without re-encoding, minus their metadata (EXIF with GPS position,
+ * text chunks, comments), since stored images are served publicly; larger ones are decoded with
+ * subsampling and scaled down. A thumbnail is stored as the "thumb" variant.
+ */
+@Service
+public class MediaService {
+
+    public static final String THUMBNAIL_VARIANT = "thumb";
+
+    private static final Set<String> PNG_METADATA_CHUNKS = Set.of("tEXt", "zTXt", "iTXt", "eXIf", "tIME");
+
+    private final MediaBlobStore blobStore;
+
+    @Value("${judify.media.base-url:http://localhost:8080/media}")
+    private String baseUrl;
+
+    @Value("${judify.media.max-dimension:1024}")
+    private int maxDimension;
+
+    @Value("${judify.media.thumbnail-size:128}")
+    private int thumbnailSize;
+
+    @Value("${judify.media.max-upload-bytes:10485760}")
+    private long maxUploadBytes;
+
+    @Value("${judify.media.max-source-pixels:40000000}")
+    private long maxSourcePixels;
+
+    @Autowired
+    public MediaService(MediaBlobStore blobStore) {
+        this.blobStore = blobStore;
+    }
+
+    /**
+     * Streams an image into the store together with its thumbnail.
+     *
+     * @return the content hash identifying the stored image
+     * @throws IllegalArgumentException if the upload is too large, not a supported image, or has too many pixels
+     */
+    public String storeImage(InputStream in) throws IOException {
+        Path temp = blobStore.createTempFile();
+        try {
+            copyToFile(in, temp);
+
+            String format = sniffFormat(temp);
+            if (format == null) {
+                throw new IllegalArgumentException("Unsupported image format");
+            }
+
+            int[] size = readDimensions(temp);
+            if ((long) size[0] * size[1] > maxSourcePixels) {
+                throw new IllegalArgumentException("Image dimensions too large: " + size[0] + "x" + size[1]);
+            }
+
+            byte[] thumbnail = encode(decodeScaled(temp, thumbnailSize, size));
+
+            String hash;
+            boolean passThrough = Math.max(size[0], size[1]) <= maxDimension
+                    && ("png".equals(format) || "jpeg".equals(format));
+            if (passThrough) {
+                // Already small and in a format we serve: keep the image data, no decode or re-encode
+                Path stripped = blobStore.createTempFile();
+                try {
+                    hash = "png".equals(format) ? stripPngMetadata(temp, stripped) : stripJpegMetadata(temp, stripped);
+                    blobStore.putFile(stripped, hash);
+                } finally {
+                    Files.deleteIfExists(stripped);
+                }
+            } else {
+                hash = blobStore.put(encode(decodeScaled(temp, maxDimension, size)));
+            }
+
+            blobStore.putVariant(hash, THUMBNAIL_VARIANT, thumbnail);
+            return hash;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Stores an image given as a data URL ("data:image/png;base64,...").
+     * Returns null for anything that isn't a base64 data URL.
+     */
+    public String storeDataUrl(String dataUrl) throws IOException {
+        if (dataUrl == null || !dataUrl.startsWith("data:")) {
+            return null;
+        }
+        int comma = dataUrl.indexOf(',');
+        if (comma < 0 || !dataUrl.substring(0, comma).endsWith(";base64")) {
+            return null;
+        }
+        InputStream encoded = new ByteArrayInputStream(dataUrl.substring(comma + 1).getBytes(StandardCharsets.US_ASCII));
+        return storeImage(Base64.getDecoder().wrap(encoded));
+    }
+
+    public String urlFor(String hash) {
+        return hash == null ? null : baseUrl + "/" + hash;
+    }
+
+    public String thumbnailUrlFor(String hash) {
+        return hash == null ? null : baseUrl + "/" + hash + "?variant=" + THUMBNAIL_VARIANT;
+    }
+
+    /**
+     * Extracts the content hash from a URL built by {@link #urlFor}, or returns null if it isn't one.
+     */
+    public String hashFromUrl(String url) {
+        if (url == null) {
+            return null;
+        }
+        String path = url.contains("?") ? url.substring(0, url.indexOf('?')) : url;
+        String candidate = path.substring(path.lastIndexOf('/') + 1);
+        return path.contains("/media/") && blobStore.isValidHash(candidate) ? candidate : null;
+    }
+
+    /**
+     * Detects the content type of a stored blob; only PNG and JPEG are ever written.
+     */
+    public String contentTypeOf(Path blob) throws IOException {
+        return "png".equals(sniffFormat(blob)) ? "image/png" : "image/jpeg";
+    }
+
+    /**
+     * Copies the stream to the file, enforcing the upload limit.
+     */
+    private void copyToFile(InputStream in, Path target) throws IOException {
+        byte[] buffer = new byte[16 * 1024];
+        long total = 0;
+        try (OutputStream out = Files.newOutputStream(target)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                total += read;
+                if (total > maxUploadBytes) {
+                    throw new IllegalArgumentException("Image exceeds the maximum size of " + maxUploadBytes + " bytes");
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+
+    /**
+     * Copies a JPEG without its APP1 (EXIF, XMP), APP13 (IPTC) and other application segments or
+     * comments, and returns the SHA-256 of the copy. JFIF (APP0), the ICC profile (APP2) and the Adobe
+     * colour transform (APP14) are kept since decoders need them; everything from the first scan on
+     * is copied unchanged.
+     */
+    private String stripJpegMetadata(Path source, Path target) throws IOException {
+        MessageDigest digest = sha256();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(source)));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                     new DigestOutputStream(Files.newOutputStream(target), digest)))) {
+            out.writeShort(in.readUnsignedShort()); // SOI
+            while (true) {
+                int marker = in.readUnsignedByte();
+                if (marker != 0xFF) {
+                    throw new IllegalArgumentException("Malformed JPEG");
+                }
+                int code = in.readUnsignedByte();
+                while (code == 0xFF) {
+                    code = in.readUnsignedByte();
+                }
+                if (code == 0xD9 || code == 0x01 || (code >= 0xD0 && code <= 0xD7)) {
+                    // EOI, TEM and restart markers carry no length
+                    out.writeByte(0xFF);
+                    out.writeByte(code);
+                    if (code == 0xD9) {
+                        break;
+                    }
+                    continue;
+                }
+
+                int length = in.readUnsignedShort();
+                if (length < 2) {
+                    throw new IllegalArgumentException("Malformed JPEG");
+                }
+                boolean metadata = code == 0xFE || (code >= 0xE1 && code <= 0xEF && code != 0xE2 && code != 0xEE);
+                if (metadata) {
+                    in.skipNBytes(length - 2);
+                    continue;
+                }
+                out.writeByte(0xFF);
+                out.writeByte(code);
+                out.writeShort(length);
+                copy(in, out, length - 2);
+                if (code == 0xDA) {
+                    // Start of scan: the entropy-coded data and anything after it are copied as they are
+                    in.transferTo(out);
+                    break;
+                }
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Copies a PNG without its text (tEXt, zTXt, iTXt), EXIF (eXIf) and timestamp (tIME) chunks, and
+     * returns the SHA-256 of the copy. All other chunks, including the colour profile, are kept.
+     */
+    private String stripPngMetadata(Path source, Path target) throws IOException {
+        MessageDigest digest = sha256();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(source)));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                     new DigestOutputStream(Files.newOutputStream(target), digest)))) {
+            copy(in, out, 8); // signature
+            while (true) {
+                long length = Integer.toUnsignedLong(in.readInt());
+                byte[] type = in.readNBytes(4);
+                String name = new String(type, StandardCharsets.US_ASCII);
+                if (PNG_METADATA_CHUNKS.contains(name)) {
+                    in.skipNBytes(length + 4); // data and CRC
+                    continue;
+                }
+                out.writeInt((int) length);
+                out.write(type);
+                copy(in, out, length + 4);
+                if ("IEND".equals(name)) {
+                    break;
+                }
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void copy(InputStream in, OutputStream out, long count) throws IOException {
+        byte[] buffer = new byte[16 * 1024];
+        long remaining = count;
+        while (remaining > 0) {
+            int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+            if (read < 0) {
+                throw new EOFException();
+            }
+            out.write(buffer, 0, read);
+            remaining -= read;
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Identifies the image format from its magic bytes; returns null for anything else.
+     */
+    private String sniffFormat(Path file) throws IOException {
+        byte[] header = new byte[12];
+        int read;
+        try (InputStream in = Files.newInputStream(file)) {
+            read = in.readNBytes(header, 0, header.length);
+        }
+        if (read >= 8 && (header[0] & 0xFF) == 0x89 && header[1] == 'P' && header[2] == 'N' && header[3] == 'G') {
+            return "png";
+        }
+        if (read >= 3 && (header[0] & 0xFF) == 0xFF && (header[1] & 0xFF) == 0xD8 && (header[2] & 0xFF) == 0xFF) {
+            return "jpeg";
+        }
+        if (read >= 6 && header[0] == 'G' && header[1] == 'I' && header[2] == 'F' && header[3] == '8') {
+            return "gif";
+        }
+        if (read >= 2 && header[0] == 'B' && header[1] == 'M') {
+            return "bmp";
+        }
+        return null;
+    }
+
+    /**
+     * Reads width and height from the image header without decoding any pixel data.
+     */
+    private int[] readDimensions(Path file) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            ImageReader reader = readerFor(input);
+            try {
+                reader.setInput(input, true, true);
+                return new int[] { reader.getWidth(0), reader.getHeight(0) };
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Decodes the image at reduced resolution (every n-th pixel) so the full-size raster is never
+     * materialised, then scales the result to fit exactly.
+     */
+    private BufferedImage decodeScaled(Path file, int maxEdge, int[] size) throws IOException {
+        int subsampling = Math.max(1, Math.max(size[0], size[1]) / maxEdge);
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            ImageReader reader = readerFor(input);
+            try {
+                reader.setInput(input, true, true);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return scaleToFit(reader.read(0, param), maxEdge);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private ImageReader readerFor(ImageInputStream input) {
+        if (input == null) {
+            throw new IllegalArgumentException("Unsupported image format");
+        }
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+        if (!readers.hasNext()) {
+            throw new IllegalArgumentException("Unsupported image format");
+        }
+        return readers.next();
+    }
+
+    private BufferedImage scaleToFit(BufferedImage source, int maxEdge) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double scale = Math.min(1.0, (double) maxEdge / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+
+        boolean alpha = source.getColorModel().hasAlpha();
+        BufferedImage target = new BufferedImage(targetWidth, targetHeight,
+                alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, targetWidth, targetHeight, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private byte[] encode(BufferedImage image) throws IOException {
+        // Keep transparency as PNG; everything else is re-encoded as JPEG, which is far smaller for photos
+        String format = image.getColorModel().hasAlpha() ? "png" : "jpg";
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (!ImageIO.write(image, format, out)) {
+            throw new IOException("No image writer for " + format);
+        }
+        return out.toByteArray();
+    }
+}
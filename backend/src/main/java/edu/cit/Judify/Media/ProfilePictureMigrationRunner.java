@@ -0,0 +1,81 @@
+package edu.cit.Judify.Media;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One-off migration of legacy base64 profile pictures from the users.profile_picture TEXT column
+ * into the media store. Each picture is stored, its hash written to profile_picture_hash and the
+ * legacy column cleared, in batches keyed by user ID. Enable with judify.media.migrate-legacy-pictures=true;
+ * already migrated rows are skipped, so running it again is safe.
+ */
+@Component
+@ConditionalOnProperty(name = "judify.media.migrate-legacy-pictures", havingValue = "true")
+public class ProfilePictureMigrationRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProfilePictureMigrationRunner.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MediaService mediaService;
+
+    @Value("${judify.media.migration-batch-size:50}")
+    private int batchSize;
+
+    @Autowired
+    public ProfilePictureMigrationRunner(JdbcTemplate jdbcTemplate, MediaService mediaService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.mediaService = mediaService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long lastUserId = 0;
+        int migrated = 0;
+        int skipped = 0;
+
+        while (true) {
+            List<Map<String, Object>> rows;
+            try {
+                rows = jdbcTemplate.queryForList(
+                        "SELECT user_id, profile_picture FROM users " +
+                        "WHERE user_id > ? AND profile_picture IS NOT NULL ORDER BY user_id LIMIT ?",
+                        lastUserId, batchSize);
+            } catch (DataAccessException e) {
+                // Fresh schemas never had the legacy column
+                logger.info("No legacy profile_picture column found, nothing to migrate");
+                return;
+            }
+            if (rows.isEmpty()) {
+                break;
+            }
+
+            for (Map<String, Object> row : rows) {
+                long userId = ((Number) row.get("user_id")).longValue();
+                lastUserId = userId;
+                try {
+                    String hash = mediaService.storeDataUrl((String) row.get("profile_picture"));
+                    jdbcTemplate.update(
+                            "UPDATE users SET profile_picture_hash = COALESCE(?, profile_picture_hash), profile_picture = NULL WHERE user_id = ?",
+                            hash, userId);
+                    migrated++;
+                } catch (Exception e) {
+                    logger.warn("Could not migrate profile picture for user {}: {}", userId, e.getMessage());
+                    skipped++;
+                }
+            }
+        }
+
+        logger.info("Profile picture migration finished: {} migrated, {} skipped", migrated, skipped);
+    }
+}
@@ -3,7 +3,10 @@ package edu.cit.Judify.Message;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -27,16 +30,28 @@ public class MessageService {
     private final ConversationRepository conversationRepository;
     private final UserRepository userRepository;
     private final TutoringSessionRepository tutoringSessionRepository;
+    private final Timer sendSucceeded;
+    private final Timer sendFailed;
 
     @Autowired
     public MessageService(MessageRepository messageRepository, 
                           ConversationRepository conversationRepository,
                           UserRepository userRepository,
-                          TutoringSessionRepository tutoringSessionRepository) {
+                          TutoringSessionRepository tutoringSessionRepository,
+                          MeterRegistry meterRegistry) {
         this.messageRepository = messageRepository;
         this.conversationRepository = conversationRepository;
         this.userRepository = userRepository;
         this.tutoringSessionRepository = tutoringSessionRepository;
+        this.sendSucceeded = sendTimer(meterRegistry, "success");
+        this.sendFailed = sendTimer(meterRegistry, "failure");
+    }
+
+    private static Timer sendTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("judify.messages.send")
+                .description("Validating and storing a chat message, from REST or STOMP")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
 
     /**
@@ -47,6 +62,18 @@ public class MessageService {
      */
     @Transactional
     public MessageEntity sendMessage(MessageDTO messageDTO) {
+        long start = System.nanoTime();
+        try {
+            MessageEntity message = saveMessage(messageDTO);
+            sendSucceeded.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return message;
+        } catch (RuntimeException e) {
+            sendFailed.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private MessageEntity saveMessage(MessageDTO messageDTO) {
         // Validate conversation
         ConversationEntity conversation = conversationRepository.findById(messageDTO.getConversationId())
                 .orElseThrow(() -> new RuntimeException("Conversation not found with ID: " + messageDTO.getConversationId()));
@@ -0,0 +1,124 @@
+package edu.cit.Judify.Message;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Read receipts as a per-reader "read up to message id" watermark for each conversation.
+ * Watermarks only move forward and are kept in memory until the next flush, which marks every
+ * message up to each watermark as read in one JDBC batch. A client that reports each message as
+ * it scrolls past therefore costs one UPDATE per conversation and flush, not one per message.
+ * The last flushed watermark of each reader is remembered (bounded, forgotten once idle), so a
+ * receipt below it, e.g. after scrolling back up, is no advance either.
+ *
+ * Unread counts read from the database lag behind by up to one flush interval.
+ */
+@Service
+public class ReadWatermarkService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadWatermarkService.class);
+
+    // is_read = false is a literal so the planner can match the partial unread-messages index
+    private static final String MARK_READ_UP_TO =
+            "UPDATE messages SET is_read = true WHERE conversation_id = ? AND receiver_id = ? AND message_id <= ? AND is_read = false";
+
+    /**
+     * A reader in one conversation.
+     */
+    record ReadKey(Long conversationId, Long readerId) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Counter receiptsReceived;
+    private final Counter watermarksFlushed;
+
+    // Map of (conversation, reader) -> highest message id read and not yet written
+    private final Map<ReadKey, Long> pending = new ConcurrentHashMap<>();
+
+    // Map of (conversation, reader) -> highest message id handed to a flush; updated only while holding the
+    // reader's entry in pending, so a receipt is compared against both atomically
+    private final Cache<ReadKey, Long> flushed;
+
+    @Autowired
+    public ReadWatermarkService(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+                                @Value("${judify.chat.read-watermarks.flushed-spec:maximumSize=100000,expireAfterAccess=30m}")
+                                String flushedSpec) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.flushed = Caffeine.from(flushedSpec).build();
+        this.receiptsReceived = Counter.builder("judify.chat.read.receipts")
+                .description("Read watermarks reported by clients")
+                .register(meterRegistry);
+        this.watermarksFlushed = Counter.builder("judify.chat.read.flushed")
+                .description("Read watermarks written to the database after coalescing")
+                .register(meterRegistry);
+        Gauge.builder("judify.chat.read.pending", pending, Map::size)
+                .description("Read watermarks waiting for the next flush")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records that the reader has read every message in the conversation up to and including the given one.
+     *
+     * @return false if an equal or higher watermark is already waiting to be written or was written
+     */
+    public boolean advance(Long conversationId, Long readerId, Long upToMessageId) {
+        receiptsReceived.increment();
+        boolean[] advanced = {false};
+        pending.compute(new ReadKey(conversationId, readerId), (key, current) -> {
+            Long flushedUpTo = flushed.getIfPresent(key);
+            if ((current != null && current >= upToMessageId) || (flushedUpTo != null && flushedUpTo >= upToMessageId)) {
+                return current;
+            }
+            advanced[0] = true;
+            return upToMessageId;
+        });
+        return advanced[0];
+    }
+
+    @Scheduled(fixedDelayString = "${judify.chat.read-watermarks.flush-interval-ms:2000}")
+    @PreDestroy
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Map<ReadKey, Long> batch = new HashMap<>();
+        for (ReadKey key : pending.keySet()) {
+            pending.computeIfPresent(key, (k, upToMessageId) -> {
+                flushed.asMap().merge(k, upToMessageId, Math::max);
+                batch.put(k, upToMessageId);
+                return null;
+            });
+        }
+
+        List<Object[]> args = new ArrayList<>(batch.size());
+        batch.forEach((key, upToMessageId) ->
+                args.add(new Object[] {key.conversationId(), key.readerId(), upToMessageId}));
+        try {
+            jdbcTemplate.batchUpdate(MARK_READ_UP_TO, args);
+            watermarksFlushed.increment(args.size());
+        } catch (DataAccessException e) {
+            // Marking read is idempotent, so the watermarks are simply retried on the next flush
+            batch.forEach((key, upToMessageId) -> pending.merge(key, upToMessageId, Math::max));
+            logger.warn("Could not write {} read watermarks, retrying on the next flush: {}", batch.size(), e.getMessage());
+        }
+    }
+}
@@ -8,7 +8,10 @@ public class NotificationDTO {
     private String type;
     private String content;
     private Boolean isRead;
+    private Long sessionId;
+    private Integer occurrences;
     private Date createdAt;
+    private Date updatedAt;
 
     // Default constructor
     public NotificationDTO() {
@@ -55,6 +58,22 @@ public class NotificationDTO {
         this.isRead = isRead;
     }
 
+    public Long getSessionId() {
+        return sessionId;
+    }
+
+    public void setSessionId(Long sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    public Integer getOccurrences() {
+        return occurrences;
+    }
+
+    public void setOccurrences(Integer occurrences) {
+        this.occurrences = occurrences;
+    }
+
     public Date getCreatedAt() {
         return createdAt;
     }
@@ -62,4 +81,12 @@ public class NotificationDTO {
     public void setCreatedAt(Date createdAt) {
         this.createdAt = createdAt;
     }
+
+    public Date getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Date updatedAt) {
+        this.updatedAt = updatedAt;
+    }
 } 
\ No newline at end of file
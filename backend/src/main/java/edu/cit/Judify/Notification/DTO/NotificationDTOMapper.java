@@ -18,7 +18,10 @@ public class NotificationDTOMapper {
         dto.setType(entity.getType());
         dto.setContent(entity.getContent());
         dto.setIsRead(entity.getIsRead());
+        dto.setSessionId(entity.getSessionId());
+        dto.setOccurrences(entity.getOccurrences());
         dto.setCreatedAt(entity.getCreatedAt());
+        dto.setUpdatedAt(entity.getUpdatedAt());
         return dto;
     }
 
@@ -33,6 +36,7 @@ public class NotificationDTOMapper {
         entity.setType(dto.getType());
         entity.setContent(dto.getContent());
         entity.setIsRead(dto.getIsRead());
+        entity.setSessionId(dto.getSessionId());
         entity.setCreatedAt(dto.getCreatedAt());
         return entity;
     }
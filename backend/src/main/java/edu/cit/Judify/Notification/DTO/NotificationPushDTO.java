@@ -0,0 +1,55 @@
+package edu.cit.Judify.Notification.DTO;
+
+/**
+ * Payload pushed to /user/queue/notifications whenever a user's notifications change.
+ */
+public class NotificationPushDTO {
+    private String event;
+    private NotificationDTO notification;
+    private Long notificationId;
+    private long unreadCount;
+
+    // Default constructor
+    public NotificationPushDTO() {
+    }
+
+    public NotificationPushDTO(String event, NotificationDTO notification, Long notificationId, long unreadCount) {
+        this.event = event;
+        this.notification = notification;
+        this.notificationId = notificationId;
+        this.unreadCount = unreadCount;
+    }
+
+    // Getters and Setters
+    public String getEvent() {
+        return event;
+    }
+
+    public void setEvent(String event) {
+        this.event = event;
+    }
+
+    public NotificationDTO getNotification() {
+        return notification;
+    }
+
+    public void setNotification(NotificationDTO notification) {
+        this.notification = notification;
+    }
+
+    public Long getNotificationId() {
+        return notificationId;
+    }
+
+    public void setNotificationId(Long notificationId) {
+        this.notificationId = notificationId;
+    }
+
+    public long getUnreadCount() {
+        return unreadCount;
+    }
+
+    public void setUnreadCount(long unreadCount) {
+        this.unreadCount = unreadCount;
+    }
+}
@@ -15,6 +15,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
@@ -86,6 +87,31 @@ public class NotificationController {
                 .collect(Collectors.toList()));
     }
 
+    @Operation(summary = "Get user's notifications since an ID", description = "Returns a user's notifications created after the given notification ID, oldest first. Clients call this after reconnecting to catch up on missed pushes.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved the notifications")
+    })
+    @GetMapping("/findByUserSince/{userId}")
+    public ResponseEntity<List<NotificationDTO>> getUserNotificationsSince(
+            @Parameter(description = "User ID") @PathVariable Long userId,
+            @Parameter(description = "Last notification ID the client has seen") @RequestParam(defaultValue = "0") Long sinceId,
+            @Parameter(description = "Maximum number of notifications to return") @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(notificationService.getUserNotificationsSince(userId, sinceId, Math.min(Math.max(limit, 1), 500))
+                .stream()
+                .map(notificationDTOMapper::toDTO)
+                .collect(Collectors.toList()));
+    }
+
+    @Operation(summary = "Get user's unread notification count", description = "Returns the number of unread notifications for a specific user")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved the unread count")
+    })
+    @GetMapping("/unreadCount/{userId}")
+    public ResponseEntity<Map<String, Long>> getUnreadCount(
+            @Parameter(description = "User ID") @PathVariable Long userId) {
+        return ResponseEntity.ok(Map.of("unreadCount", notificationService.getUnreadCount(userId)));
+    }
+
     @Operation(summary = "Get notifications by type", description = "Returns all notifications of a specific type")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved notifications by type")
@@ -5,14 +5,19 @@ import jakarta.persistence.*;
 import java.util.Date;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        // Serves the per-user unread/list queries and the retention sweep
+        @Index(name = "idx_notifications_user_read_created", columnList = "user_id, is_read, created_at"),
+        // Serves the coalescing lookup for repeated session notifications
+        @Index(name = "idx_notifications_user_session_type", columnList = "user_id, session_id, type")
+})
 public class NotificationEntity {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long notificationId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private UserEntity user;
 
@@ -25,10 +30,21 @@ public class NotificationEntity {
     @Column(nullable = false)
     private Boolean isRead;
 
+    @Column(name = "session_id")
+    private Long sessionId;  // Tutoring session this notification is about, if any
+
+    private Integer occurrences;  // Number of events coalesced into this notification
+
+    @Column(nullable = false)
+    private Boolean heldForDigest;  // Waiting for (or already rolled into) a digest; never listed on its own
+
     @Temporal(TemporalType.TIMESTAMP)
     @Column(nullable = false, updatable = false)
     private Date createdAt;
 
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date updatedAt;
+
     // Constructors
     public NotificationEntity() {
     }
@@ -70,6 +86,27 @@ public class NotificationEntity {
         this.isRead = isRead;
     }
 
+    public Long getSessionId() {
+        return sessionId;
+    }
+    public void setSessionId(Long sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    public Integer getOccurrences() {
+        return occurrences;
+    }
+    public void setOccurrences(Integer occurrences) {
+        this.occurrences = occurrences;
+    }
+
+    public Boolean getHeldForDigest() {
+        return heldForDigest;
+    }
+    public void setHeldForDigest(Boolean heldForDigest) {
+        this.heldForDigest = heldForDigest;
+    }
+
     public Date getCreatedAt() {
         return createdAt;
     }
@@ -77,11 +114,25 @@ public class NotificationEntity {
         this.createdAt = createdAt;
     }
 
+    public Date getUpdatedAt() {
+        return updatedAt;
+    }
+    public void setUpdatedAt(Date updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
     @PrePersist
     protected void onCreate() {
         createdAt = new Date();
+        updatedAt = createdAt;
         if (isRead == null) {
             isRead = false;
         }
+        if (occurrences == null) {
+            occurrences = 1;
+        }
+        if (heldForDigest == null) {
+            heldForDigest = false;
+        }
     }
 }
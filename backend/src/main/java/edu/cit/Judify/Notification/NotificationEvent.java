@@ -0,0 +1,48 @@
+package edu.cit.Judify.Notification;
+
+/**
+ * Published by {@link NotificationService} whenever a user's notifications change.
+ * Delivered to {@link NotificationPushService} after the surrounding transaction commits.
+ */
+public class NotificationEvent {
+
+    public enum Type {
+        CREATED,
+        COALESCED,
+        READ,
+        READ_ALL,
+        DELETED,
+        DELETED_ALL
+    }
+
+    private final Type type;
+    private final Long userId;
+    private final NotificationEntity notification;
+    private final boolean wasUnread;
+
+    public NotificationEvent(Type type, Long userId, NotificationEntity notification, boolean wasUnread) {
+        this.type = type;
+        this.userId = userId;
+        this.notification = notification;
+        this.wasUnread = wasUnread;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    /**
+     * The affected notification, or null for bulk events
+     */
+    public NotificationEntity getNotification() {
+        return notification;
+    }
+
+    public boolean wasUnread() {
+        return wasUnread;
+    }
+}
@@ -0,0 +1,82 @@
+package edu.cit.Judify.Notification;
+
+import edu.cit.Judify.Notification.DTO.NotificationDTO;
+import edu.cit.Judify.Notification.DTO.NotificationDTOMapper;
+import edu.cit.Judify.Notification.DTO.NotificationPushDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Pushes notification changes to connected clients over STOMP at /user/queue/notifications,
+ * together with the user's updated unread count. Runs after commit so clients never see
+ * a notification that was rolled back.
+ */
+@Service
+public class NotificationPushService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationPushService.class);
+
+    public static final String NOTIFICATION_QUEUE = "/queue/notifications";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final NotificationUnreadCounter unreadCounter;
+    private final NotificationDTOMapper notificationDTOMapper;
+
+    @Autowired
+    public NotificationPushService(SimpMessagingTemplate messagingTemplate,
+                                   NotificationUnreadCounter unreadCounter,
+                                   NotificationDTOMapper notificationDTOMapper) {
+        this.messagingTemplate = messagingTemplate;
+        this.unreadCounter = unreadCounter;
+        this.notificationDTOMapper = notificationDTOMapper;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationEvent(NotificationEvent event) {
+        Long userId = event.getUserId();
+        long unreadCount;
+
+        switch (event.getType()) {
+            case CREATED:
+                unreadCount = unreadCounter.adjust(userId, 1);
+                break;
+            case COALESCED:
+                // An existing unread notification was updated in place; the count doesn't change
+                unreadCount = unreadCounter.get(userId);
+                break;
+            case READ:
+            case DELETED:
+                unreadCount = event.wasUnread() ? unreadCounter.adjust(userId, -1) : unreadCounter.get(userId);
+                break;
+            case READ_ALL:
+            case DELETED_ALL:
+                unreadCount = unreadCounter.reset(userId);
+                break;
+            default:
+                return;
+        }
+
+        NotificationEntity notification = event.getNotification();
+        boolean carriesNotification = event.getType() == NotificationEvent.Type.CREATED
+                || event.getType() == NotificationEvent.Type.COALESCED;
+        NotificationDTO dto = carriesNotification
+                ? notificationDTOMapper.toDTO(notification)
+                : null;
+        Long notificationId = notification != null ? notification.getNotificationId() : null;
+
+        try {
+            messagingTemplate.convertAndSendToUser(
+                    userId.toString(),
+                    NOTIFICATION_QUEUE,
+                    new NotificationPushDTO(event.getType().name().toLowerCase(), dto, notificationId, unreadCount)
+            );
+        } catch (Exception e) {
+            // Push is best effort; clients catch up through the "since id" endpoint on reconnect
+            logger.warn("Failed to push notification event {} to user {}", event.getType(), userId, e);
+        }
+    }
+}
@@ -1,13 +1,63 @@
 package edu.cit.Judify.Notification;
 
 import edu.cit.Judify.User.UserEntity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<NotificationEntity, Long> {
-    List<NotificationEntity> findByUserOrderByCreatedAtDesc(UserEntity user);
-    List<NotificationEntity> findByUserAndIsReadFalse(UserEntity user);
-    List<NotificationEntity> findByType(String type);
-} 
\ No newline at end of file
+    // Notifications held for a digest are only ever delivered through the digest, so user-facing queries skip them
+    List<NotificationEntity> findByUserAndHeldForDigestFalseOrderByCreatedAtDesc(UserEntity user);
+    List<NotificationEntity> findByUserAndIsReadFalseAndHeldForDigestFalse(UserEntity user);
+    List<NotificationEntity> findByTypeAndHeldForDigestFalse(String type);
+
+    // Delta query for clients catching up after a reconnect
+    List<NotificationEntity> findByUserUserIdAndHeldForDigestFalseAndNotificationIdGreaterThanOrderByNotificationIdAsc(
+            Long userId, Long notificationId, Pageable pageable);
+
+    long countByUserUserIdAndIsReadFalseAndHeldForDigestFalse(Long userId);
+
+    // Coalescing: latest unread notification of the same type for the same session, updated within the window
+    NotificationEntity findFirstByUserUserIdAndSessionIdAndTypeAndIsReadFalseAndUpdatedAtAfterOrderByNotificationIdDesc(
+            Long userId, Long sessionId, String type, Date updatedAfter);
+
+    /**
+     * Claims a batch of notifications waiting for the next digest, by user. Rows locked by
+     * another node's flush are skipped (lock timeout -2 is SKIP LOCKED), so none is digested twice.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT n FROM NotificationEntity n WHERE n.heldForDigest = true AND n.isRead = false " +
+           "ORDER BY n.user.userId ASC, n.notificationId ASC")
+    List<NotificationEntity> claimPendingDigest(Pageable pageable);
+
+    // Set-based bulk operations: one statement instead of loading and saving every row
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE NotificationEntity n SET n.isRead = true " +
+           "WHERE n.user = :user AND n.isRead = false AND n.heldForDigest = false")
+    int markAllAsReadByUser(@Param("user") UserEntity user);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM NotificationEntity n WHERE n.user = :user")
+    int deleteAllByUser(@Param("user") UserEntity user);
+
+    // Retention: select a bounded batch of expired read notifications, then delete them by ID
+    @Query("SELECT n.notificationId FROM NotificationEntity n WHERE n.isRead = true AND n.createdAt < :cutoff " +
+           "ORDER BY n.notificationId ASC")
+    List<Long> findReadNotificationIdsCreatedBefore(@Param("cutoff") Date cutoff, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM NotificationEntity n WHERE n.notificationId IN :ids")
+    int deleteByNotificationIdIn(@Param("ids") Collection<Long> ids);
+} 
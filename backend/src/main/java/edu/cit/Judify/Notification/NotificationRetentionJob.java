@@ -0,0 +1,75 @@
+package edu.cit.Judify.Notification;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically deletes read notifications older than the configured age.
+ * Work is split into bounded batches, each in its own short transaction,
+ * so the sweep never holds long locks on the notifications table.
+ */
+@Component
+public class NotificationRetentionJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationRetentionJob.class);
+
+    private final NotificationRepository notificationRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${judify.notifications.retention.enabled:true}")
+    private boolean enabled;
+
+    @Value("${judify.notifications.retention.read-max-age-days:90}")
+    private int readMaxAgeDays;
+
+    @Value("${judify.notifications.retention.batch-size:500}")
+    private int batchSize;
+
+    @Value("${judify.notifications.retention.max-batches:200}")
+    private int maxBatches;
+
+    @Autowired
+    public NotificationRetentionJob(NotificationRepository notificationRepository,
+                                    PlatformTransactionManager transactionManager) {
+        this.notificationRepository = notificationRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${judify.notifications.retention.cron:0 30 3 * * *}")
+    public void purgeExpiredReadNotifications() {
+        if (!enabled) {
+            return;
+        }
+
+        Date cutoff = new Date(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(readMaxAgeDays));
+        int totalDeleted = 0;
+
+        for (int batch = 0; batch < maxBatches; batch++) {
+            Integer deleted = transactionTemplate.execute(status -> {
+                List<Long> ids = notificationRepository.findReadNotificationIdsCreatedBefore(
+                        cutoff, PageRequest.of(0, batchSize));
+                return ids.isEmpty() ? 0 : notificationRepository.deleteByNotificationIdIn(ids);
+            });
+
+            totalDeleted += deleted != null ? deleted : 0;
+            if (deleted == null || deleted < batchSize) {
+                break;
+            }
+        }
+
+        if (totalDeleted > 0) {
+            logger.info("Notification retention removed {} read notifications older than {} days", totalDeleted, readMaxAgeDays);
+        }
+    }
+}
@@ -1,27 +1,225 @@
 package edu.cit.Judify.Notification;
 
 import edu.cit.Judify.User.UserEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class NotificationService {
 
+    private static final Logger logger = LoggerFactory.getLogger(NotificationService.class);
+
+    public static final String DIGEST_TYPE = "digest";
+
+    private static final int DIGEST_BATCH_SIZE = 500;
+
     private final NotificationRepository notificationRepository;
+    private final NotificationUnreadCounter unreadCounter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${judify.notifications.coalesce-window-seconds:300}")
+    private long coalesceWindowSeconds;
+
+    @Value("${judify.notifications.digest.enabled:false}")
+    private boolean digestEnabled;
+
+    @Value("#{'${judify.notifications.digest.types:}'.split(',')}")
+    private Set<String> digestTypes;
 
     @Autowired
-    public NotificationService(NotificationRepository notificationRepository) {
+    public NotificationService(NotificationRepository notificationRepository,
+                               NotificationUnreadCounter unreadCounter,
+                               ApplicationEventPublisher eventPublisher,
+                               PlatformTransactionManager transactionManager) {
         this.notificationRepository = notificationRepository;
+        this.unreadCounter = unreadCounter;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Transactional
     public NotificationEntity createNotification(NotificationEntity notification) {
+        return createNotifications(List.of(notification)).get(0);
+    }
+
+    /**
+     * Creates several notifications at once.
+     * A notification tied to a session is merged into the user's latest unread notification
+     * of the same type for that session if it was updated within the coalescing window.
+     * Notifications of a digest type are saved as held for a digest, hidden from the user until
+     * {@link #flushDigests()} delivers them. Everything is inserted with a single saveAll.
+     *
+     * @return The created, updated or held notifications, one per input
+     */
+    @Transactional
+    public List<NotificationEntity> createNotifications(List<NotificationEntity> notifications) {
+        Date now = new Date();
+        Date windowStart = new Date(now.getTime() - coalesceWindowSeconds * 1000);
+
+        List<NotificationEntity> result = new ArrayList<>();
+        List<NotificationEntity> toInsert = new ArrayList<>();
+
+        for (NotificationEntity notification : notifications) {
+            notification.setIsRead(false);
+            notification.setHeldForDigest(digestEnabled && digestTypes.contains(notification.getType()));
+
+            if (notification.getHeldForDigest()) {
+                toInsert.add(notification);
+                continue;
+            }
+
+            NotificationEntity existing = findCoalesceTarget(notification, windowStart);
+            if (existing != null) {
+                existing.setContent(notification.getContent());
+                existing.setOccurrences((existing.getOccurrences() != null ? existing.getOccurrences() : 1) + 1);
+                existing.setUpdatedAt(now);
+                result.add(existing);
+                publish(NotificationEvent.Type.COALESCED, existing.getUser().getUserId(), existing, true);
+            } else {
+                toInsert.add(notification);
+            }
+        }
+
+        for (NotificationEntity saved : notificationRepository.saveAll(toInsert)) {
+            result.add(saved);
+            if (!saved.getHeldForDigest()) {
+                publish(NotificationEvent.Type.CREATED, saved.getUser().getUserId(), saved, true);
+            }
+        }
+
+        return result;
+    }
+
+    private NotificationEntity findCoalesceTarget(NotificationEntity notification, Date windowStart) {
+        if (notification.getSessionId() == null || notification.getType() == null || coalesceWindowSeconds <= 0) {
+            return null;
+        }
+        return notificationRepository
+                .findFirstByUserUserIdAndSessionIdAndTypeAndIsReadFalseAndUpdatedAtAfterOrderByNotificationIdDesc(
+                        notification.getUser().getUserId(), notification.getSessionId(),
+                        notification.getType(), windowStart);
+    }
+
+    /**
+     * Rolls each user's held low-priority notifications into a single digest notification.
+     * A user with only one pending notification gets a copy of it delivered as is. Delivered
+     * notifications are new rows, so clients catching up by notification ID see them; the held
+     * rows are marked read and left to the retention job.
+     * Held notifications are claimed in bounded batches, each digested in its own short transaction,
+     * so a large backlog never holds its row locks or a connection for the whole run. Nothing runs
+     * while digests are disabled; anything still held is delivered once they are enabled again.
+     */
+    @Scheduled(fixedDelayString = "${judify.notifications.digest.interval-ms:900000}")
+    public void flushDigests() {
+        if (!digestEnabled) {
+            return;
+        }
+
+        int totalDelivered = 0;
+        for (;;) {
+            DigestBatch batch = transactionTemplate.execute(status -> flushDigestBatch());
+            totalDelivered += batch.delivered();
+            if (batch.claimed() < DIGEST_BATCH_SIZE) {
+                break;
+            }
+        }
+
+        if (totalDelivered > 0) {
+            logger.info("Delivered {} notification digests", totalDelivered);
+        }
+    }
+
+    /**
+     * How many held notifications a batch claimed, and how many notifications it delivered for them.
+     */
+    private record DigestBatch(int claimed, int delivered) {
+    }
+
+    private DigestBatch flushDigestBatch() {
+        List<NotificationEntity> batch = notificationRepository.claimPendingDigest(PageRequest.of(0, DIGEST_BATCH_SIZE));
+        if (batch.isEmpty()) {
+            return new DigestBatch(0, 0);
+        }
+
+        // Map of userId -> held notifications, oldest first
+        Map<Long, List<NotificationEntity>> pendingByUser = new LinkedHashMap<>();
+        for (NotificationEntity notification : batch) {
+            pendingByUser.computeIfAbsent(notification.getUser().getUserId(), userId -> new ArrayList<>())
+                    .add(notification);
+        }
+
+        if (batch.size() == DIGEST_BATCH_SIZE && pendingByUser.size() > 1) {
+            // Claims are ordered by user, so the last user's notifications may continue past this batch;
+            // leave them to the next one so that user still gets a single digest
+            Long lastUserId = batch.get(batch.size() - 1).getUser().getUserId();
+            pendingByUser.remove(lastUserId);
+        }
+
+        List<NotificationEntity> held = new ArrayList<>();
+        List<NotificationEntity> toInsert = new ArrayList<>();
+        for (List<NotificationEntity> pending : pendingByUser.values()) {
+            pending.forEach(notification -> notification.setIsRead(true));
+            held.addAll(pending);
+            toInsert.add(pending.size() == 1 ? copyForDelivery(pending.get(0)) : buildDigest(pending));
+        }
+        // Marked read, so the next claim no longer matches them
+        notificationRepository.saveAll(held);
+
+        for (NotificationEntity saved : notificationRepository.saveAll(toInsert)) {
+            publish(NotificationEvent.Type.CREATED, saved.getUser().getUserId(), saved, true);
+        }
+        return new DigestBatch(batch.size(), toInsert.size());
+    }
+
+    private NotificationEntity copyForDelivery(NotificationEntity held) {
+        NotificationEntity notification = new NotificationEntity();
+        notification.setUser(held.getUser());
+        notification.setType(held.getType());
+        notification.setContent(held.getContent());
+        notification.setSessionId(held.getSessionId());
+        notification.setOccurrences(held.getOccurrences());
         notification.setIsRead(false);
-        return notificationRepository.save(notification);
+        notification.setHeldForDigest(false);
+        return notification;
+    }
+
+    private NotificationEntity buildDigest(List<NotificationEntity> pending) {
+        StringBuilder content = new StringBuilder();
+        content.append("You have ").append(pending.size()).append(" new updates:");
+        for (NotificationEntity notification : pending) {
+            String line = "\n- " + notification.getContent();
+            if (content.length() + line.length() > 1000) {
+                break;
+            }
+            content.append(line);
+        }
+
+        NotificationEntity digest = new NotificationEntity();
+        digest.setUser(pending.get(0).getUser());
+        digest.setType(DIGEST_TYPE);
+        digest.setContent(content.toString());
+        digest.setIsRead(false);
+        digest.setHeldForDigest(false);
+        digest.setOccurrences(pending.size());
+        return digest;
     }
 
     public Optional<NotificationEntity> getNotificationById(Long id) {
@@ -29,15 +227,28 @@ public class NotificationService {
     }
 
     public List<NotificationEntity> getUserNotifications(UserEntity user) {
-        return notificationRepository.findByUserOrderByCreatedAtDesc(user);
+        return notificationRepository.findByUserAndHeldForDigestFalseOrderByCreatedAtDesc(user);
     }
 
     public List<NotificationEntity> getUnreadNotifications(UserEntity user) {
-        return notificationRepository.findByUserAndIsReadFalse(user);
+        return notificationRepository.findByUserAndIsReadFalseAndHeldForDigestFalse(user);
     }
 
     public List<NotificationEntity> getNotificationsByType(String type) {
-        return notificationRepository.findByType(type);
+        return notificationRepository.findByTypeAndHeldForDigestFalse(type);
+    }
+
+    /**
+     * Get a user's notifications created after the given notification ID, oldest first.
+     * Used by clients to catch up on pushes missed while disconnected.
+     */
+    public List<NotificationEntity> getUserNotificationsSince(Long userId, Long sinceId, int limit) {
+        return notificationRepository.findByUserUserIdAndHeldForDigestFalseAndNotificationIdGreaterThanOrderByNotificationIdAsc(
+                userId, sinceId != null ? sinceId : 0L, PageRequest.of(0, limit));
+    }
+
+    public long getUnreadCount(Long userId) {
+        return unreadCounter.get(userId);
     }
 
     @Transactional
@@ -45,25 +256,40 @@ public class NotificationService {
         NotificationEntity notification = notificationRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Notification not found"));
         
+        boolean wasUnread = isCountedUnread(notification);
         notification.setIsRead(true);
-        return notificationRepository.save(notification);
+        NotificationEntity saved = notificationRepository.save(notification);
+        publish(NotificationEvent.Type.READ, saved.getUser().getUserId(), saved, wasUnread);
+        return saved;
     }
 
     @Transactional
     public void markAllAsRead(UserEntity user) {
-        List<NotificationEntity> unreadNotifications = notificationRepository.findByUserAndIsReadFalse(user);
-        unreadNotifications.forEach(notification -> notification.setIsRead(true));
-        notificationRepository.saveAll(unreadNotifications);
+        notificationRepository.markAllAsReadByUser(user);
+        publish(NotificationEvent.Type.READ_ALL, user.getUserId(), null, false);
     }
 
     @Transactional
     public void deleteNotification(Long id) {
-        notificationRepository.deleteById(id);
+        notificationRepository.findById(id).ifPresent(notification -> {
+            notificationRepository.delete(notification);
+            publish(NotificationEvent.Type.DELETED, notification.getUser().getUserId(), notification,
+                    isCountedUnread(notification));
+        });
     }
 
     @Transactional
     public void deleteAllUserNotifications(UserEntity user) {
-        List<NotificationEntity> userNotifications = notificationRepository.findByUserOrderByCreatedAtDesc(user);
-        notificationRepository.deleteAll(userNotifications);
+        notificationRepository.deleteAllByUser(user);
+        publish(NotificationEvent.Type.DELETED_ALL, user.getUserId(), null, false);
+    }
+
+    // Held notifications are not in the user's unread count until their digest is delivered
+    private static boolean isCountedUnread(NotificationEntity notification) {
+        return !Boolean.TRUE.equals(notification.getIsRead()) && !Boolean.TRUE.equals(notification.getHeldForDigest());
+    }
+
+    private void publish(NotificationEvent.Type type, Long userId, NotificationEntity notification, boolean wasUnread) {
+        eventPublisher.publishEvent(new NotificationEvent(type, userId, notification, wasUnread));
     }
 } 
\ No newline at end of file
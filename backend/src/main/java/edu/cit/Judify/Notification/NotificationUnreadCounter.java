@@ -0,0 +1,70 @@
+package edu.cit.Judify.Notification;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps per-user unread notification counts in memory.
+ * A user's count is seeded from the database on first access and adjusted
+ * incrementally afterwards, so clients never need to reload their full list to show a badge.
+ * Counts are per node and miss changes made on other nodes, so they are bounded in number and
+ * expire a while after they were seeded (judify.notifications.unread-counts.spec); the next
+ * access then seeds them from the database again.
+ */
+@Component
+public class NotificationUnreadCounter {
+
+    private final NotificationRepository notificationRepository;
+
+    // Map of userId -> unread notification count
+    private final Cache<Long, AtomicLong> unreadCounts;
+
+    @Autowired
+    public NotificationUnreadCounter(NotificationRepository notificationRepository,
+                                     @Value("${judify.notifications.unread-counts.spec:maximumSize=100000,expireAfterWrite=5m}")
+                                     String spec) {
+        this.notificationRepository = notificationRepository;
+        this.unreadCounts = Caffeine.from(spec).build();
+    }
+
+    /**
+     * Get the unread count for a user, seeding it from the database if it isn't tracked yet
+     */
+    public long get(Long userId) {
+        return unreadCounts.get(userId,
+                id -> new AtomicLong(notificationRepository.countByUserUserIdAndIsReadFalseAndHeldForDigestFalse(id))).get();
+    }
+
+    /**
+     * Adjust the unread count for a user and return the new value.
+     * Must be called after the change has committed: an untracked user is seeded
+     * from the database, which already reflects the change.
+     */
+    public long adjust(Long userId, long delta) {
+        AtomicLong count = unreadCounts.getIfPresent(userId);
+        if (count == null) {
+            return get(userId);
+        }
+        return count.updateAndGet(value -> Math.max(0, value + delta));
+    }
+
+    /**
+     * Reset a user's unread count to zero
+     */
+    public long reset(Long userId) {
+        unreadCounts.put(userId, new AtomicLong(0));
+        return 0;
+    }
+
+    /**
+     * Stop tracking a user; the next access re-seeds from the database
+     */
+    public void evict(Long userId) {
+        unreadCounts.invalidate(userId);
+    }
+}
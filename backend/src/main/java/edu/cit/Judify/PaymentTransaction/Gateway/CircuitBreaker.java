@@ -0,0 +1,74 @@
+package edu.cit.Judify.PaymentTransaction.Gateway;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Minimal consecutive-failure circuit breaker.
+ * CLOSED lets calls through; after the failure threshold it turns OPEN and rejects calls
+ * for the open duration; then HALF_OPEN lets a single probe through, whose outcome
+ * closes or re-opens the circuit.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openDurationMs;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong openedAt = new AtomicLong(0);
+    private final AtomicBoolean probeInFlight = new AtomicBoolean(false);
+
+    public CircuitBreaker(int failureThreshold, long openDurationMs) {
+        this.failureThreshold = failureThreshold;
+        this.openDurationMs = openDurationMs;
+    }
+
+    /**
+     * Returns true if the call may proceed. In HALF_OPEN only one caller gets a probe.
+     */
+    public boolean tryAcquirePermission() {
+        switch (getState()) {
+            case CLOSED:
+                return true;
+            case HALF_OPEN:
+                return probeInFlight.compareAndSet(false, true);
+            default:
+                return false;
+        }
+    }
+
+    public void onSuccess() {
+        consecutiveFailures.set(0);
+        openedAt.set(0);
+        probeInFlight.set(false);
+    }
+
+    public void onFailure() {
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold || probeInFlight.get()) {
+            openedAt.set(System.currentTimeMillis());
+        }
+        probeInFlight.set(false);
+    }
+
+    /**
+     * Gives back a permission for a call that never reached the provider
+     */
+    public void releasePermission() {
+        probeInFlight.set(false);
+    }
+
+    public State getState() {
+        long opened = openedAt.get();
+        if (opened == 0) {
+            return State.CLOSED;
+        }
+        return System.currentTimeMillis() - opened >= openDurationMs ? State.HALF_OPEN : State.OPEN;
+    }
+}
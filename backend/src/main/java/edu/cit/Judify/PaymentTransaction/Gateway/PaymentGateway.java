@@ -0,0 +1,17 @@
+package edu.cit.Judify.PaymentTransaction.Gateway;
+
+import java.util.Map;
+
+/**
+ * Abstraction over the external payment provider.
+ * Implementations must be safe to call concurrently; the idempotency key lets the provider
+ * collapse retries of the same operation into a single charge or refund.
+ */
+public interface PaymentGateway {
+
+    PaymentIntentResult createPaymentIntent(long amountMinor, String currency, String description,
+                                            Map<String, String> metadata, String idempotencyKey)
+            throws PaymentGatewayException;
+
+    RefundResult refund(String paymentIntentId, String idempotencyKey) throws PaymentGatewayException;
+}
@@ -0,0 +1,25 @@
+package edu.cit.Judify.PaymentTransaction.Gateway;
+
+/**
+ * A payment provider call failed. Transient failures (network errors, timeouts,
+ * rate limiting, provider 5xx) count towards the circuit breaker; business
+ * failures such as a declined card do not.
+ */
+public class PaymentGatewayException extends Exception {
+
+    private final boolean transientFailure;
+
+    public PaymentGatewayException(String message, boolean transientFailure) {
+        super(message);
+        this.transientFailure = transientFailure;
+    }
+
+    public PaymentGatewayException(String message, boolean transientFailure, Throwable cause) {
+        super(message, cause);
+        this.transientFailure = transientFailure;
+    }
+
+    public boolean isTransientFailure() {
+        return transientFailure;
+    }
+}
@@ -0,0 +1,12 @@
+package edu.cit.Judify.PaymentTransaction.Gateway;
+
+/**
+ * The call was rejected locally without reaching the provider,
+ * because the circuit breaker is open or the bulkhead is full.
+ */
+public class PaymentGatewayUnavailableException extends PaymentGatewayException {
+
+    public PaymentGatewayUnavailableException(String message) {
+        super(message, true);
+    }
+}
@@ -0,0 +1,19 @@
+package edu.cit.Judify.PaymentTransaction.Gateway;
+
+public class PaymentIntentResult {
+    private final String id;
+    private final String clientSecret;
+
+    public PaymentIntentResult(String id, String clientSecret) {
+        this.id = id;
+        this.clientSecret = clientSecret;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getClientSecret() {
+        return clientSecret;
+    }
+}
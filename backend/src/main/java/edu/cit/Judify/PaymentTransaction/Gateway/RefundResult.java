@@ -0,0 +1,19 @@
+package edu.cit.Judify.PaymentTransaction.Gateway;
+
+public class RefundResult {
+    private final String id;
+    private final String paymentIntentId;
+
+    public RefundResult(String id, String paymentIntentId) {
+        this.id = id;
+        this.paymentIntentId = paymentIntentId;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getPaymentIntentId() {
+        return paymentIntentId;
+    }
+}
@@ -0,0 +1,99 @@
+package edu.cit.Judify.PaymentTransaction.Gateway;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wraps a {@link PaymentGateway} with a bulkhead and a circuit breaker.
+ * The bulkhead caps how many request threads can be inside provider calls at once,
+ * so a slow provider region can't tie up the whole servlet pool; the circuit breaker
+ * fails fast once the provider keeps failing, instead of letting every request wait out its timeout.
+ */
+public class ResilientPaymentGateway implements PaymentGateway {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResilientPaymentGateway.class);
+
+    private final PaymentGateway delegate;
+    private final Semaphore bulkhead;
+    private final long bulkheadWaitMs;
+    private final CircuitBreaker circuitBreaker;
+
+    public ResilientPaymentGateway(PaymentGateway delegate, int maxConcurrentCalls, long bulkheadWaitMs,
+                                   CircuitBreaker circuitBreaker) {
+        this.delegate = delegate;
+        this.bulkhead = new Semaphore(maxConcurrentCalls, true);
+        this.bulkheadWaitMs = bulkheadWaitMs;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public PaymentIntentResult createPaymentIntent(long amountMinor, String currency, String description,
+                                                   Map<String, String> metadata, String idempotencyKey)
+            throws PaymentGatewayException {
+        return execute("createPaymentIntent",
+                () -> delegate.createPaymentIntent(amountMinor, currency, description, metadata, idempotencyKey));
+    }
+
+    @Override
+    public RefundResult refund(String paymentIntentId, String idempotencyKey) throws PaymentGatewayException {
+        return execute("refund", () -> delegate.refund(paymentIntentId, idempotencyKey));
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    public int getAvailableBulkheadPermits() {
+        return bulkhead.availablePermits();
+    }
+
+    private <T> T execute(String operation, GatewayCall<T> call) throws PaymentGatewayException {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            throw new PaymentGatewayUnavailableException("Payment provider is unavailable, please try again shortly");
+        }
+
+        boolean acquired;
+        try {
+            acquired = bulkhead.tryAcquire(bulkheadWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            // Rejected before reaching the provider; this says nothing about its health
+            circuitBreaker.releasePermission();
+            throw new PaymentGatewayUnavailableException("Too many concurrent payment requests, please try again");
+        }
+
+        try {
+            T result = call.run();
+            circuitBreaker.onSuccess();
+            return result;
+        } catch (PaymentGatewayException e) {
+            if (e.isTransientFailure()) {
+                circuitBreaker.onFailure();
+                logger.warn("Payment gateway {} failed (circuit {}): {}", operation, circuitBreaker.getState(), e.getMessage());
+            } else {
+                // The provider answered (e.g. card declined), so it is healthy
+                circuitBreaker.onSuccess();
+            }
+            throw e;
+        } catch (RuntimeException | Error e) {
+            // Unexpected failure inside the client; count it, so a half-open probe never stays in flight
+            circuitBreaker.onFailure();
+            logger.warn("Payment gateway {} failed unexpectedly (circuit {})", operation, circuitBreaker.getState(), e);
+            throw e;
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    @FunctionalInterface
+    private interface GatewayCall<T> {
+        T run() throws PaymentGatewayException;
+    }
+}
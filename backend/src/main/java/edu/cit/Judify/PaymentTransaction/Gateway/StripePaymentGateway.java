@@ -0,0 +1,81 @@
+package edu.cit.Judify.PaymentTransaction.Gateway;
+
+import com.stripe.exception.ApiConnectionException;
+import com.stripe.exception.ApiException;
+import com.stripe.exception.RateLimitException;
+import com.stripe.exception.StripeException;
+import com.stripe.model.PaymentIntent;
+import com.stripe.model.Refund;
+import com.stripe.net.RequestOptions;
+import com.stripe.param.PaymentIntentCreateParams;
+import com.stripe.param.RefundCreateParams;
+
+import java.util.Map;
+
+/**
+ * {@link PaymentGateway} backed by the Stripe SDK, with per-operation timeouts,
+ * a bounded number of SDK-level network retries and caller-supplied idempotency keys.
+ */
+public class StripePaymentGateway implements PaymentGateway {
+
+    private final int connectTimeoutMs;
+    private final int createIntentTimeoutMs;
+    private final int refundTimeoutMs;
+    private final int maxNetworkRetries;
+
+    public StripePaymentGateway(int connectTimeoutMs, int createIntentTimeoutMs, int refundTimeoutMs, int maxNetworkRetries) {
+        this.connectTimeoutMs = connectTimeoutMs;
+        this.createIntentTimeoutMs = createIntentTimeoutMs;
+        this.refundTimeoutMs = refundTimeoutMs;
+        this.maxNetworkRetries = maxNetworkRetries;
+    }
+
+    @Override
+    public PaymentIntentResult createPaymentIntent(long amountMinor, String currency, String description,
+                                                   Map<String, String> metadata, String idempotencyKey)
+            throws PaymentGatewayException {
+        PaymentIntentCreateParams.Builder params = PaymentIntentCreateParams.builder()
+                .setCurrency(currency)
+                .setAmount(amountMinor)
+                .setDescription(description);
+        metadata.forEach(params::putMetadata);
+
+        try {
+            PaymentIntent paymentIntent = PaymentIntent.create(params.build(), options(idempotencyKey, createIntentTimeoutMs));
+            return new PaymentIntentResult(paymentIntent.getId(), paymentIntent.getClientSecret());
+        } catch (StripeException e) {
+            throw translate(e);
+        }
+    }
+
+    @Override
+    public RefundResult refund(String paymentIntentId, String idempotencyKey) throws PaymentGatewayException {
+        RefundCreateParams params = RefundCreateParams.builder()
+                .setPaymentIntent(paymentIntentId)
+                .build();
+
+        try {
+            Refund refund = Refund.create(params, options(idempotencyKey, refundTimeoutMs));
+            return new RefundResult(refund.getId(), paymentIntentId);
+        } catch (StripeException e) {
+            throw translate(e);
+        }
+    }
+
+    private RequestOptions options(String idempotencyKey, int readTimeoutMs) {
+        return RequestOptions.builder()
+                .setIdempotencyKey(idempotencyKey)
+                .setConnectTimeout(connectTimeoutMs)
+                .setReadTimeout(readTimeoutMs)
+                .setMaxNetworkRetries(maxNetworkRetries)
+                .build();
+    }
+
+    private PaymentGatewayException translate(StripeException e) {
+        boolean transientFailure = e instanceof ApiConnectionException
+                || e instanceof RateLimitException
+                || e instanceof ApiException
+                || (e.getStatusCode() != null && e.getStatusCode() >= 500);
+        return new PaymentGatewayException(e.getMessage(), transientFailure, e);
+    }
+}
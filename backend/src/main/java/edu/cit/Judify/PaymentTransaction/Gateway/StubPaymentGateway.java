@@ -0,0 +1,56 @@
+package edu.cit.Judify.PaymentTransaction.Gateway;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Offline {@link PaymentGateway} for local development and tests.
+ * Honours idempotency keys like Stripe does and can inject latency or transient
+ * failures to exercise the timeout, bulkhead and circuit breaker paths.
+ */
+public class StubPaymentGateway implements PaymentGateway {
+
+    private final long latencyMs;
+    private final double failureRate;
+
+    // Map of idempotency key -> previous result, mirroring Stripe's idempotent replay
+    private final Map<String, Object> results = new ConcurrentHashMap<>();
+
+    public StubPaymentGateway(long latencyMs, double failureRate) {
+        this.latencyMs = latencyMs;
+        this.failureRate = failureRate;
+    }
+
+    @Override
+    public PaymentIntentResult createPaymentIntent(long amountMinor, String currency, String description,
+                                                   Map<String, String> metadata, String idempotencyKey)
+            throws PaymentGatewayException {
+        simulateNetwork();
+        return (PaymentIntentResult) results.computeIfAbsent(idempotencyKey, key -> {
+            String id = "pi_stub_" + UUID.randomUUID().toString().replace("-", "");
+            return new PaymentIntentResult(id, id + "_secret_stub");
+        });
+    }
+
+    @Override
+    public RefundResult refund(String paymentIntentId, String idempotencyKey) throws PaymentGatewayException {
+        simulateNetwork();
+        return (RefundResult) results.computeIfAbsent(idempotencyKey,
+                key -> new RefundResult("re_stub_" + UUID.randomUUID().toString().replace("-", ""), paymentIntentId));
+    }
+
+    private void simulateNetwork() throws PaymentGatewayException {
+        if (latencyMs > 0) {
+            try {
+                Thread.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new PaymentGatewayException("Interrupted", true, e);
+            }
+        }
+        if (failureRate > 0 && Math.random() < failureRate) {
+            throw new PaymentGatewayException("Simulated gateway failure", true);
+        }
+    }
+}
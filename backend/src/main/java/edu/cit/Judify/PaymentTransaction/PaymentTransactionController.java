@@ -1,12 +1,14 @@
 package edu.cit.Judify.PaymentTransaction;
 
-import com.stripe.exception.StripeException;
 import edu.cit.Judify.PaymentTransaction.DTO.CreatePaymentIntentRequest;
 import edu.cit.Judify.PaymentTransaction.DTO.PaymentIntentResponse;
 import edu.cit.Judify.PaymentTransaction.DTO.PaymentTransactionDTO;
 import edu.cit.Judify.PaymentTransaction.DTO.PaymentTransactionDTOMapper;
+import edu.cit.Judify.PaymentTransaction.Gateway.PaymentGatewayException;
+import edu.cit.Judify.PaymentTransaction.Gateway.PaymentGatewayUnavailableException;
 import edu.cit.Judify.User.UserEntity;
 import edu.cit.Judify.User.UserRepository;
+import edu.cit.Judify.config.JwtPrincipal;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -150,10 +152,7 @@ public class PaymentTransactionController {
     public ResponseEntity<?> processRefund(
             @Parameter(description = "Transaction ID to refund") @PathVariable Long id) {
         try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            String username = authentication.getName();
-            UserEntity currentUser = userRepository.findByUsername(username)
-                    .orElseThrow(() -> new RuntimeException("User not found"));
+            UserEntity currentUser = getCurrentUser();
 
             // Get the transaction
             PaymentTransactionEntity transaction = paymentTransactionService.getTransactionById(id)
@@ -168,7 +167,9 @@ public class PaymentTransactionController {
 
             PaymentTransactionEntity refundedTransaction = paymentTransactionService.processRefund(id);
             return ResponseEntity.ok(dtoMapper.toDTO(refundedTransaction));
-        } catch (StripeException e) {
+        } catch (PaymentGatewayUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+        } catch (PaymentGatewayException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Error processing refund: " + e.getMessage());
         } catch (RuntimeException e) {
@@ -191,14 +192,13 @@ public class PaymentTransactionController {
     @PostMapping("/create-payment-intent")
     public ResponseEntity<?> createPaymentIntent(@RequestBody CreatePaymentIntentRequest request) {
         try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            String username = authentication.getName();
-            UserEntity currentUser = userRepository.findByUsername(username)
-                    .orElseThrow(() -> new RuntimeException("User not found"));
+            UserEntity currentUser = getCurrentUser();
 
             PaymentIntentResponse response = paymentTransactionService.createPaymentIntent(request, currentUser);
             return ResponseEntity.ok(response);
-        } catch (StripeException e) {
+        } catch (PaymentGatewayUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+        } catch (PaymentGatewayException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Error creating payment intent: " + e.getMessage());
         } catch (RuntimeException e) {
@@ -208,10 +208,7 @@ public class PaymentTransactionController {
 
     @GetMapping("/my-payments")
     public ResponseEntity<List<PaymentTransactionDTO>> getMyPayments() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
-        UserEntity currentUser = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        UserEntity currentUser = getCurrentUser();
 
         List<PaymentTransactionEntity> transactions = paymentTransactionService.getPayerTransactions(currentUser);
         List<PaymentTransactionDTO> dtos = transactions.stream()
@@ -223,10 +220,7 @@ public class PaymentTransactionController {
 
     @GetMapping("/my-earnings")
     public ResponseEntity<List<PaymentTransactionDTO>> getMyEarnings() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
-        UserEntity currentUser = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        UserEntity currentUser = getCurrentUser();
 
         List<PaymentTransactionEntity> transactions = paymentTransactionService.getPayeeTransactions(currentUser);
         List<PaymentTransactionDTO> dtos = transactions.stream()
@@ -235,4 +229,15 @@ public class PaymentTransactionController {
 
         return ResponseEntity.ok(dtos);
     }
-} 
\ No newline at end of file
+
+    private UserEntity getCurrentUser() {
+        // Token-authenticated requests carry the user ID, so a lazy reference avoids loading the user
+        return JwtPrincipal.current()
+                .map(principal -> userRepository.getReferenceById(principal.getUserId()))
+                .orElseGet(() -> {
+                    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+                    return userRepository.findByUsername(authentication.getName())
+                            .orElseThrow(() -> new RuntimeException("User not found"));
+                });
+    }
+}
@@ -7,7 +7,10 @@ import jakarta.persistence.*;
 import java.util.Date;
 
 @Entity
-@Table(name = "payment_transactions")
+@Table(name = "payment_transactions", indexes = {
+        // Webhook handlers look transactions up by Stripe PaymentIntent ID
+        @Index(name = "idx_payment_transactions_payment_intent", columnList = "payment_intent_id", unique = true)
+})
 public class PaymentTransactionEntity {
 
     @Id
@@ -15,16 +18,16 @@ public class PaymentTransactionEntity {
     private Long transactionId;
 
     // One-to-one mapping with a tutoring session
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "session_id", nullable = false)
     private TutoringSessionEntity session;
 
     // Payer (usually the learner) and payee (usually the tutor)
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "payer_id", nullable = false)
     private UserEntity payer;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "payee_id", nullable = false)
     private UserEntity payee;
 
@@ -72,6 +75,9 @@ public class PaymentTransactionEntity {
     @Temporal(TemporalType.TIMESTAMP)
     private Date completedAt;
 
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date refundedAt;
+
     // Constructors
     public PaymentTransactionEntity() {
     }
@@ -204,6 +210,13 @@ public class PaymentTransactionEntity {
         this.completedAt = completedAt;
     }
 
+    public Date getRefundedAt() {
+        return refundedAt;
+    }
+    public void setRefundedAt(Date refundedAt) {
+        this.refundedAt = refundedAt;
+    }
+
     @PrePersist
     protected void onCreate() {
         createdAt = new Date();
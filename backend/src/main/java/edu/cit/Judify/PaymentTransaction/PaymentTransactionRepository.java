@@ -4,6 +4,7 @@ import edu.cit.Judify.User.UserEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PaymentTransactionRepository extends JpaRepository<PaymentTransactionEntity, Long> {
@@ -12,4 +13,5 @@ public interface PaymentTransactionRepository extends JpaRepository<PaymentTrans
     List<PaymentTransactionEntity> findByPaymentStatus(String status);
     List<PaymentTransactionEntity> findByPaymentGatewayReference(String reference);
     List<PaymentTransactionEntity> findByPaymentIntentId(String paymentIntentId);
+    Optional<PaymentTransactionEntity> findFirstByPaymentIntentId(String paymentIntentId);
 } 
\ No newline at end of file
@@ -1,19 +1,21 @@
 package edu.cit.Judify.PaymentTransaction;
 
-import com.stripe.exception.StripeException;
-import com.stripe.model.PaymentIntent;
-import com.stripe.model.Refund;
-import com.stripe.param.PaymentIntentCreateParams;
-import com.stripe.param.RefundCreateParams;
+import edu.cit.Judify.Ledger.LedgerService;
 import edu.cit.Judify.PaymentTransaction.DTO.CreatePaymentIntentRequest;
 import edu.cit.Judify.PaymentTransaction.DTO.PaymentIntentResponse;
+import edu.cit.Judify.PaymentTransaction.Gateway.PaymentGateway;
+import edu.cit.Judify.PaymentTransaction.Gateway.PaymentGatewayException;
+import edu.cit.Judify.PaymentTransaction.Gateway.PaymentIntentResult;
 import edu.cit.Judify.TutoringSession.TutoringSessionEntity;
 import edu.cit.Judify.TutoringSession.TutoringSessionService;
 import edu.cit.Judify.User.UserEntity;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Date;
 import java.util.HashMap;
@@ -27,15 +29,24 @@ public class PaymentTransactionService {
 
     private final PaymentTransactionRepository paymentTransactionRepository;
     private final TutoringSessionService tutoringSessionService;
+    private final LedgerService ledgerService;
+    private final PaymentGateway paymentGateway;
+    private final TransactionTemplate transactionTemplate;
 
     @Value("${stripe.publishable.key}")
     private String stripePublishableKey;
 
     @Autowired
     public PaymentTransactionService(PaymentTransactionRepository paymentTransactionRepository,
-                                     TutoringSessionService tutoringSessionService) {
+                                     TutoringSessionService tutoringSessionService,
+                                     LedgerService ledgerService,
+                                     PaymentGateway paymentGateway,
+                                     PlatformTransactionManager transactionManager) {
         this.paymentTransactionRepository = paymentTransactionRepository;
         this.tutoringSessionService = tutoringSessionService;
+        this.ledgerService = ledgerService;
+        this.paymentGateway = paymentGateway;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Transactional
@@ -43,8 +54,11 @@ public class PaymentTransactionService {
         return paymentTransactionRepository.save(transaction);
     }
 
-    @Transactional
-    public PaymentIntentResponse createPaymentIntent(CreatePaymentIntentRequest request, UserEntity currentUser) throws StripeException {
+    /**
+     * Not transactional: the gateway call can take the full provider timeout, and no JDBC connection is
+     * held while it runs. The transaction record is written in a short transaction once the intent exists.
+     */
+    public PaymentIntentResponse createPaymentIntent(CreatePaymentIntentRequest request, UserEntity currentUser) throws PaymentGatewayException {
         // Get the tutoring session
         TutoringSessionEntity session = tutoringSessionService.getTutoringSessionById(request.getSessionId())
                 .orElseThrow(() -> new RuntimeException("Tutoring session not found"));
@@ -57,19 +71,44 @@ public class PaymentTransactionService {
         // Convert amount to cents (Stripe uses smallest currency unit)
         long amountInCents = Math.round(request.getAmount() * 100);
 
-        // Create a payment intent using Stripe API
-        PaymentIntentCreateParams params = PaymentIntentCreateParams.builder()
-                .setCurrency(request.getCurrency())
-                .setAmount(amountInCents)
-                .setDescription("Payment for tutoring session #" + session.getSessionId())
-                .putMetadata("sessionId", session.getSessionId().toString())
-                .putMetadata("studentId", session.getStudent().getUserId().toString())
-                .putMetadata("tutorId", session.getTutor().getUserId().toString())
-                .build();
+        // Create a payment intent through the gateway. The idempotency key is derived from the session,
+        // so a retried or double-submitted request returns the same intent instead of creating a second one.
+        Map<String, String> metadata = new HashMap<>();
+        metadata.put("sessionId", session.getSessionId().toString());
+        metadata.put("studentId", session.getStudent().getUserId().toString());
+        metadata.put("tutorId", session.getTutor().getUserId().toString());
+
+        String idempotencyKey = "pi-session-" + session.getSessionId() + "-" + amountInCents + "-" + request.getCurrency();
+        PaymentIntentResult paymentIntent = paymentGateway.createPaymentIntent(
+                amountInCents,
+                request.getCurrency(),
+                "Payment for tutoring session #" + session.getSessionId(),
+                metadata,
+                idempotencyKey);
 
-        PaymentIntent paymentIntent = PaymentIntent.create(params);
+        // Create a transaction record in the database, unless a retry of this request already did: the
+        // idempotency key gives it the same intent
+        PaymentTransactionEntity savedTransaction;
+        try {
+            savedTransaction = transactionTemplate.execute(status ->
+                    paymentTransactionRepository.findFirstByPaymentIntentId(paymentIntent.getId())
+                            .orElseGet(() -> saveTransaction(session, request, paymentIntent)));
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent retry inserted it first (the payment intent ID is unique)
+            savedTransaction = transactionTemplate.execute(status ->
+                    paymentTransactionRepository.findFirstByPaymentIntentId(paymentIntent.getId())
+                            .orElseThrow(() -> e));
+        }
+
+        return new PaymentIntentResponse(
+                paymentIntent.getClientSecret(),
+                savedTransaction.getTransactionId(),
+                stripePublishableKey
+        );
+    }
 
-        // Create a transaction record in the database
+    private PaymentTransactionEntity saveTransaction(TutoringSessionEntity session, CreatePaymentIntentRequest request,
+                                                     PaymentIntentResult paymentIntent) {
         PaymentTransactionEntity transaction = new PaymentTransactionEntity();
         transaction.setSession(session);
         transaction.setPayer(session.getStudent());
@@ -83,26 +122,20 @@ public class PaymentTransactionService {
         transaction.setPaymentIntentId(paymentIntent.getId());
         transaction.setClientSecret(paymentIntent.getClientSecret());
 
-        PaymentTransactionEntity savedTransaction = paymentTransactionRepository.save(transaction);
-
-        return new PaymentIntentResponse(
-                paymentIntent.getClientSecret(),
-                savedTransaction.getTransactionId(),
-                stripePublishableKey
-        );
+        return paymentTransactionRepository.save(transaction);
     }
 
     @Transactional
     public void handlePaymentIntentSucceeded(String paymentIntentId, String paymentMethodId, String receiptUrl) {
         // Find transaction by payment intent ID
-        List<PaymentTransactionEntity> transactions = paymentTransactionRepository.findByPaymentIntentId(paymentIntentId);
+        PaymentTransactionEntity transaction = paymentTransactionRepository.findFirstByPaymentIntentId(paymentIntentId)
+                .orElseThrow(() -> new RuntimeException("Transaction not found for payment intent ID: " + paymentIntentId));
         
-        if (transactions.isEmpty()) {
-            throw new RuntimeException("Transaction not found for payment intent ID: " + paymentIntentId);
+        // Already applied (e.g. replayed event) or refunded since; nothing to do
+        if ("COMPLETED".equals(transaction.getPaymentStatus()) || "REFUNDED".equals(transaction.getPaymentStatus())) {
+            return;
         }
         
-        PaymentTransactionEntity transaction = transactions.get(0);
-        
         // Update transaction status
         transaction.setPaymentStatus("COMPLETED");
         transaction.setStatus("COMPLETED");
@@ -112,6 +145,9 @@ public class PaymentTransactionService {
         
         paymentTransactionRepository.save(transaction);
         
+        // Credit the tutor's earnings and update running balances
+        ledgerService.recordPayment(transaction);
+        
         // Update the session status as needed
         TutoringSessionEntity session = transaction.getSession();
         // You might want to update session status based on payment completion
@@ -121,14 +157,14 @@ public class PaymentTransactionService {
     @Transactional
     public void handlePaymentIntentFailed(String paymentIntentId, String failureMessage) {
         // Find transaction by payment intent ID
-        List<PaymentTransactionEntity> transactions = paymentTransactionRepository.findByPaymentIntentId(paymentIntentId);
+        PaymentTransactionEntity transaction = paymentTransactionRepository.findFirstByPaymentIntentId(paymentIntentId)
+                .orElseThrow(() -> new RuntimeException("Transaction not found for payment intent ID: " + paymentIntentId));
         
-        if (transactions.isEmpty()) {
-            throw new RuntimeException("Transaction not found for payment intent ID: " + paymentIntentId);
+        // A late failure event must not overwrite a payment that has since succeeded
+        if (!"PENDING".equals(transaction.getPaymentStatus())) {
+            return;
         }
         
-        PaymentTransactionEntity transaction = transactions.get(0);
-        
         // Update transaction status
         transaction.setPaymentStatus("FAILED");
         transaction.setStatus("FAILED");
@@ -183,31 +219,50 @@ public class PaymentTransactionService {
         paymentTransactionRepository.deleteById(id);
     }
 
-    @Transactional
-    public PaymentTransactionEntity processRefund(Long transactionId) throws StripeException {
-        PaymentTransactionEntity transaction = paymentTransactionRepository.findById(transactionId)
-                .orElseThrow(() -> new RuntimeException("Transaction not found"));
-        
-        if (!"COMPLETED".equals(transaction.getPaymentStatus())) {
-            throw new RuntimeException("Can only refund completed transactions");
-        }
-        
-        if (transaction.getIsRefunded()) {
-            throw new RuntimeException("Transaction has already been refunded");
-        }
-        
-        // Process refund via Stripe
-        RefundCreateParams params = RefundCreateParams.builder()
-                .setPaymentIntent(transaction.getPaymentIntentId())
-                .build();
-                
-        Refund refund = Refund.create(params);
-        
-        // Update transaction status
-        transaction.setPaymentStatus("REFUNDED");
-        transaction.setStatus("REFUNDED");
-        transaction.setIsRefunded(true);
-        
-        return paymentTransactionRepository.save(transaction);
+    /**
+     * Not transactional, like {@link #createPaymentIntent}: the transaction is checked and updated in two
+     * short transactions around the gateway call.
+     */
+    public PaymentTransactionEntity processRefund(Long transactionId) throws PaymentGatewayException {
+        PaymentTransactionEntity transaction = transactionTemplate.execute(status -> {
+            PaymentTransactionEntity refundable = paymentTransactionRepository.findById(transactionId)
+                    .orElseThrow(() -> new RuntimeException("Transaction not found"));
+
+            if (!"COMPLETED".equals(refundable.getPaymentStatus())) {
+                throw new RuntimeException("Can only refund completed transactions");
+            }
+
+            if (Boolean.TRUE.equals(refundable.getIsRefunded())) {
+                throw new RuntimeException("Transaction has already been refunded");
+            }
+            return refundable;
+        });
+
+        // Process refund via the payment gateway; keyed per session and transaction so retries can't refund twice
+        paymentGateway.refund(transaction.getPaymentIntentId(),
+                "refund-session-" + transaction.getSession().getSessionId() + "-tx-" + transaction.getTransactionId());
+
+        return transactionTemplate.execute(status -> {
+            PaymentTransactionEntity refunded = paymentTransactionRepository.findById(transactionId)
+                    .orElseThrow(() -> new RuntimeException("Transaction not found"));
+            // A concurrent request refunded it while the gateway was called; the idempotency key made that
+            // the same refund, so it is already recorded
+            if (Boolean.TRUE.equals(refunded.getIsRefunded())) {
+                return refunded;
+            }
+
+            // Update transaction status
+            refunded.setPaymentStatus("REFUNDED");
+            refunded.setStatus("REFUNDED");
+            refunded.setIsRefunded(true);
+            refunded.setRefundedAt(new Date());
+
+            PaymentTransactionEntity savedTransaction = paymentTransactionRepository.save(refunded);
+
+            // Reverse the ledger postings for this payment
+            ledgerService.recordRefund(savedTransaction);
+
+            return savedTransaction;
+        });
     }
-} 
\ No newline at end of file
+}
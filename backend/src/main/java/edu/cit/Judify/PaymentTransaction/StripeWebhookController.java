@@ -2,8 +2,6 @@ package edu.cit.Judify.PaymentTransaction;
 
 import com.stripe.exception.SignatureVerificationException;
 import com.stripe.model.Event;
-import com.stripe.model.EventDataObjectDeserializer;
-import com.stripe.model.PaymentIntent;
 import com.stripe.net.Webhook;
 import edu.cit.Judify.config.StripeConfig;
 import org.slf4j.Logger;
@@ -17,6 +15,8 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.Optional;
+
 @RestController
 @RequestMapping("/api/webhooks")
 public class StripeWebhookController {
@@ -24,12 +24,16 @@ public class StripeWebhookController {
     private static final Logger log = LoggerFactory.getLogger(StripeWebhookController.class);
 
     private final StripeConfig stripeConfig;
-    private final PaymentTransactionService paymentTransactionService;
+    private final StripeWebhookService webhookService;
+    private final StripeWebhookProcessor webhookProcessor;
 
     @Autowired
-    public StripeWebhookController(StripeConfig stripeConfig, PaymentTransactionService paymentTransactionService) {
+    public StripeWebhookController(StripeConfig stripeConfig,
+                                   StripeWebhookService webhookService,
+                                   StripeWebhookProcessor webhookProcessor) {
         this.stripeConfig = stripeConfig;
-        this.paymentTransactionService = paymentTransactionService;
+        this.webhookService = webhookService;
+        this.webhookProcessor = webhookProcessor;
     }
 
     @PostMapping("/stripe")
@@ -49,48 +53,15 @@ public class StripeWebhookController {
 
         log.info("Webhook verified successfully. Event type: {}", event.getType());
 
-        // Process different event types
-        EventDataObjectDeserializer dataObjectDeserializer = event.getDataObjectDeserializer();
-
-        switch (event.getType()) {
-            case "payment_intent.succeeded":
-                if (dataObjectDeserializer.getObject().isPresent()) {
-                    PaymentIntent paymentIntent = (PaymentIntent) dataObjectDeserializer.getObject().get();
-                    log.info("Payment succeeded for PaymentIntent: {}", paymentIntent.getId());
-                    
-                    // Extract payment method
-                    String paymentMethodId = paymentIntent.getPaymentMethod();
-                    
-                    // For receipt URL, we don't have direct access in this version of the API
-                    String receiptUrl = null;
-                    
-                    // Update transaction status
-                    paymentTransactionService.handlePaymentIntentSucceeded(
-                            paymentIntent.getId(), 
-                            paymentMethodId, 
-                            receiptUrl);
-                }
-                break;
-                
-            case "payment_intent.payment_failed":
-                if (dataObjectDeserializer.getObject().isPresent()) {
-                    PaymentIntent paymentIntent = (PaymentIntent) dataObjectDeserializer.getObject().get();
-                    log.info("Payment failed for PaymentIntent: {}", paymentIntent.getId());
-                    
-                    // Get last error message if available
-                    String failureMessage = paymentIntent.getLastPaymentError() != null ? 
-                            paymentIntent.getLastPaymentError().getMessage() : "Payment failed";
-                            
-                    // Update transaction status
-                    paymentTransactionService.handlePaymentIntentFailed(paymentIntent.getId(), failureMessage);
-                }
-                break;
-                
-            default:
-                log.info("Unhandled event type: {}", event.getType());
-                break;
+        // Persist and acknowledge right away; the event is applied in the background
+        Optional<StripeWebhookEventEntity> stored = webhookService.ingest(event, payload);
+        if (stored.isEmpty()) {
+            log.info("Duplicate Stripe event {} ignored", event.getId());
+            return ResponseEntity.ok("Duplicate event ignored");
         }
 
+        webhookProcessor.submit(stored.get());
+
         return ResponseEntity.ok("Webhook received successfully");
     }
 } 
\ No newline at end of file
@@ -0,0 +1,151 @@
+package edu.cit.Judify.PaymentTransaction;
+
+import jakarta.persistence.*;
+
+import java.util.Date;
+
+/**
+ * A Stripe webhook event as received. The unique event ID makes ingestion idempotent:
+ * Stripe retries and duplicate deliveries hit the constraint and are acknowledged without reprocessing.
+ */
+@Entity
+@Table(name = "stripe_webhook_events", indexes = {
+        @Index(name = "idx_stripe_webhook_events_status_next_attempt", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_stripe_webhook_events_payment_intent", columnList = "payment_intent_id, webhook_event_id")
+})
+public class StripeWebhookEventEntity {
+
+    public static final String STATUS_RECEIVED = "RECEIVED";
+    public static final String STATUS_PROCESSED = "PROCESSED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long webhookEventId;
+
+    @Column(name = "event_id", nullable = false, unique = true)
+    private String eventId;  // Stripe event ID (evt_...)
+
+    @Column(nullable = false)
+    private String eventType;
+
+    @Column
+    private String paymentIntentId;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String payload;
+
+    @Column(nullable = false, length = 16)
+    private String status;
+
+    @Column(nullable = false)
+    private Integer attempts;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "received_at", nullable = false, updatable = false)
+    private Date receivedAt;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date processedAt;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "next_attempt_at")
+    private Date nextAttemptAt;  // When the recovery sweep may pick it up; null once it gave up or is parked
+
+    // Constructors
+    public StripeWebhookEventEntity() {
+    }
+
+    // Getters and Setters
+
+    public Long getWebhookEventId() {
+        return webhookEventId;
+    }
+    public void setWebhookEventId(Long webhookEventId) {
+        this.webhookEventId = webhookEventId;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+
+    public String getPaymentIntentId() {
+        return paymentIntentId;
+    }
+    public void setPaymentIntentId(String paymentIntentId) {
+        this.paymentIntentId = paymentIntentId;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Integer getAttempts() {
+        return attempts;
+    }
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public Date getReceivedAt() {
+        return receivedAt;
+    }
+    public void setReceivedAt(Date receivedAt) {
+        this.receivedAt = receivedAt;
+    }
+
+    public Date getProcessedAt() {
+        return processedAt;
+    }
+    public void setProcessedAt(Date processedAt) {
+        this.processedAt = processedAt;
+    }
+
+    public Date getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+    public void setNextAttemptAt(Date nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        receivedAt = new Date();
+        if (status == null) {
+            status = STATUS_RECEIVED;
+        }
+        if (attempts == null) {
+            attempts = 0;
+        }
+    }
+}
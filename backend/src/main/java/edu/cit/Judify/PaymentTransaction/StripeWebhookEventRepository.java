@@ -0,0 +1,48 @@
+package edu.cit.Judify.PaymentTransaction;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StripeWebhookEventRepository extends JpaRepository<StripeWebhookEventEntity, Long> {
+    boolean existsByEventId(String eventId);
+    Optional<StripeWebhookEventEntity> findByEventId(String eventId);
+
+    /**
+     * Locks an event for applying it or recording its outcome. Empty while another node holds it
+     * (lock timeout -2 is Hibernate's SKIP LOCKED), so an event is never applied on two nodes at once.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM StripeWebhookEventEntity e WHERE e.webhookEventId = :webhookEventId")
+    Optional<StripeWebhookEventEntity> claim(@Param("webhookEventId") Long webhookEventId);
+
+    // Events left behind by a crash or due for another attempt, in arrival order
+    List<StripeWebhookEventEntity> findByStatusInAndAttemptsLessThanAndNextAttemptAtLessThanEqualOrderByWebhookEventIdAsc(
+            Collection<String> statuses, Integer maxAttempts, Date now, Pageable pageable);
+
+    // The earliest event for the same payment intent that arrived before this one and is not applied yet
+    Optional<StripeWebhookEventEntity> findFirstByPaymentIntentIdAndStatusInAndWebhookEventIdLessThanOrderByWebhookEventIdAsc(
+            String paymentIntentId, Collection<String> statuses, Long webhookEventId);
+
+    // Makes the events that were held back behind an applied one (never attempted themselves) due now
+    @Modifying
+    @Query("UPDATE StripeWebhookEventEntity e SET e.nextAttemptAt = :now WHERE e.paymentIntentId = :paymentIntentId " +
+           "AND e.webhookEventId > :webhookEventId AND e.status = 'RECEIVED' " +
+           "AND (e.nextAttemptAt IS NULL OR e.nextAttemptAt > :now)")
+    int releaseFollowers(@Param("paymentIntentId") String paymentIntentId,
+                         @Param("webhookEventId") Long webhookEventId, @Param("now") Date now);
+}
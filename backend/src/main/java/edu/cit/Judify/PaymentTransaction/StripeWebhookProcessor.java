@@ -0,0 +1,176 @@
+package edu.cit.Judify.PaymentTransaction;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Applies stored webhook events in the background.
+ * Events are spread over a fixed number of single-threaded lanes keyed by payment intent ID,
+ * so events for the same payment intent are applied one at a time and in arrival order,
+ * while different payment intents proceed in parallel. An event that fails keeps the later events
+ * of its payment intent waiting (see {@link StripeWebhookService#process(Long)}) until its retry succeeds.
+ * Each lane queues a bounded number of events; what doesn't fit is left to the recovery sweep,
+ * which submits it again once it is due.
+ */
+@Component
+public class StripeWebhookProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(StripeWebhookProcessor.class);
+
+    private final StripeWebhookService webhookService;
+    private final StripeWebhookEventRepository webhookEventRepository;
+    private final ExecutorService[] lanes;
+    private final Timer lag;
+    private final Timer processed;
+    private final Timer failed;
+    private final Timer held;
+    private final Counter rejected;
+
+    // IDs of events currently queued or running, so the recovery sweep doesn't submit them twice
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    @Value("${stripe.webhook.max-attempts:10}")
+    private int maxAttempts;
+
+    @Autowired
+    public StripeWebhookProcessor(StripeWebhookService webhookService,
+                                  StripeWebhookEventRepository webhookEventRepository,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${stripe.webhook.lanes:4}") int laneCount,
+                                  @Value("${stripe.webhook.lane-queue-capacity:1000}") int laneQueueCapacity) {
+        this.webhookService = webhookService;
+        this.webhookEventRepository = webhookEventRepository;
+        this.lag = Timer.builder("judify.stripe.webhook.lag")
+                .description("Time from receiving a webhook event to starting to apply it")
+                .register(meterRegistry);
+        this.processed = processingTimer(meterRegistry, "success");
+        this.failed = processingTimer(meterRegistry, "failure");
+        this.held = processingTimer(meterRegistry, "held");
+        this.rejected = Counter.builder("judify.stripe.webhook.rejected")
+                .description("Webhook events not queued because their lane was full; the recovery sweep applies them")
+                .register(meterRegistry);
+        Gauge.builder("judify.stripe.webhook.inflight", inFlight, Set::size)
+                .description("Webhook events queued or running on the lanes")
+                .register(meterRegistry);
+        this.lanes = new ExecutorService[Math.max(1, laneCount)];
+        for (int i = 0; i < lanes.length; i++) {
+            final int lane = i;
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(laneQueueCapacity),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "stripe-webhook-" + lane);
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    new ThreadPoolExecutor.AbortPolicy());
+        }
+    }
+
+    /**
+     * Queue a stored event for processing on its payment intent's lane
+     */
+    public void submit(StripeWebhookEventEntity webhookEvent) {
+        Long id = webhookEvent.getWebhookEventId();
+        if (!inFlight.add(id)) {
+            return;
+        }
+
+        String key = webhookEvent.getPaymentIntentId() != null
+                ? webhookEvent.getPaymentIntentId()
+                : webhookEvent.getEventId();
+        ExecutorService lane = lanes[Math.floorMod(key.hashCode(), lanes.length)];
+
+        try {
+            lane.execute(() -> apply(webhookEvent));
+        } catch (RejectedExecutionException e) {
+            // Stored with its next attempt set, so the recovery sweep submits it again once it is due
+            inFlight.remove(id);
+            rejected.increment();
+            log.warn("Stripe webhook lane is full, leaving event {} to the recovery sweep", webhookEvent.getEventId());
+        }
+    }
+
+    private void apply(StripeWebhookEventEntity webhookEvent) {
+        Long id = webhookEvent.getWebhookEventId();
+        long start = System.nanoTime();
+        if (webhookEvent.getReceivedAt() != null) {
+            lag.record(Math.max(0, System.currentTimeMillis() - webhookEvent.getReceivedAt().getTime()),
+                    TimeUnit.MILLISECONDS);
+        }
+        try {
+            boolean applied = webhookService.process(id);
+            (applied ? processed : held).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        } catch (Exception e) {
+            failed.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            log.error("Failed to process Stripe webhook event {} ({})", webhookEvent.getEventId(),
+                    webhookEvent.getEventType(), e);
+            webhookService.markFailed(id, e);
+        } finally {
+            inFlight.remove(id);
+        }
+    }
+
+    private static Timer processingTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("judify.stripe.webhook.processing")
+                .description("Applying one stored webhook event")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Picks up events that were received but never processed (e.g. the node stopped
+     * before its lane ran) and failed or held back events whose next attempt is due,
+     * until they reach the attempt limit. Submitted in arrival order, so an event is
+     * queued on its lane behind the earlier events of its payment intent.
+     */
+    @Scheduled(fixedDelayString = "${stripe.webhook.recovery-interval-ms:60000}")
+    public void recoverPending() {
+        List<StripeWebhookEventEntity> pending = webhookEventRepository
+                .findByStatusInAndAttemptsLessThanAndNextAttemptAtLessThanEqualOrderByWebhookEventIdAsc(
+                        List.of(StripeWebhookEventEntity.STATUS_RECEIVED, StripeWebhookEventEntity.STATUS_FAILED),
+                        maxAttempts, new Date(), PageRequest.of(0, 100));
+
+        AtomicInteger submitted = new AtomicInteger();
+        pending.forEach(webhookEvent -> {
+            if (!inFlight.contains(webhookEvent.getWebhookEventId())) {
+                submit(webhookEvent);
+                submitted.incrementAndGet();
+            }
+        });
+
+        if (submitted.get() > 0) {
+            log.info("Re-queued {} pending Stripe webhook events", submitted.get());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+        for (ExecutorService lane : lanes) {
+            lane.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+}
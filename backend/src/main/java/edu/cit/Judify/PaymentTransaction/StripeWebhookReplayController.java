@@ -0,0 +1,83 @@
+package edu.cit.Judify.PaymentTransaction;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.stripe.model.Event;
+import com.stripe.net.ApiResource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Development tool for feeding Stripe events through the webhook pipeline without a signature.
+ * Accepts event JSON as printed by {@code stripe listen --print-json}, either a single event or an array,
+ * e.g. the fixtures under src/test/resources/stripe. Only registered when stripe.webhook.replay.enabled=true;
+ * never enable it in production.
+ */
+@RestController
+@RequestMapping("/api/webhooks/stripe/replay")
+@ConditionalOnProperty(name = "stripe.webhook.replay.enabled", havingValue = "true")
+public class StripeWebhookReplayController {
+
+    private static final Logger log = LoggerFactory.getLogger(StripeWebhookReplayController.class);
+
+    private final StripeWebhookService webhookService;
+    private final StripeWebhookProcessor webhookProcessor;
+
+    @Autowired
+    public StripeWebhookReplayController(StripeWebhookService webhookService,
+                                         StripeWebhookProcessor webhookProcessor) {
+        this.webhookService = webhookService;
+        this.webhookProcessor = webhookProcessor;
+    }
+
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> replayFixture(@RequestBody String fixture) {
+        JsonElement root = JsonParser.parseString(fixture);
+        List<JsonElement> events = new ArrayList<>();
+        if (root.isJsonArray()) {
+            root.getAsJsonArray().forEach(events::add);
+        } else {
+            events.add(root);
+        }
+
+        List<String> accepted = new ArrayList<>();
+        List<String> duplicates = new ArrayList<>();
+        for (JsonElement element : events) {
+            Event event = ApiResource.GSON.fromJson(element, Event.class);
+            webhookService.ingest(event, element.toString()).ifPresentOrElse(stored -> {
+                webhookProcessor.submit(stored);
+                accepted.add(event.getId());
+            }, () -> duplicates.add(event.getId()));
+        }
+
+        log.info("Replayed Stripe fixture: {} accepted, {} duplicates", accepted.size(), duplicates.size());
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("accepted", accepted);
+        response.put("duplicates", duplicates);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/{eventId}")
+    public ResponseEntity<String> replayStoredEvent(@PathVariable String eventId) {
+        return webhookService.resetForReplay(eventId)
+                .map(stored -> {
+                    webhookProcessor.submit(stored);
+                    return ResponseEntity.ok("Event " + eventId + " queued for reprocessing");
+                })
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,221 @@
+package edu.cit.Judify.PaymentTransaction;
+
+import com.stripe.model.Event;
+import com.stripe.model.PaymentIntent;
+import com.stripe.model.StripeObject;
+import com.stripe.net.ApiResource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Stores verified Stripe webhook events and applies them to payment transactions.
+ * Ingestion only persists the event so the webhook can be acknowledged immediately;
+ * {@link StripeWebhookProcessor} applies it in the background.
+ */
+@Service
+public class StripeWebhookService {
+
+    private static final Logger log = LoggerFactory.getLogger(StripeWebhookService.class);
+
+    private final StripeWebhookEventRepository webhookEventRepository;
+    private final PaymentTransactionService paymentTransactionService;
+
+    @Value("${stripe.webhook.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${stripe.webhook.retry-delay-ms:60000}")
+    private long retryDelayMs;
+
+    @Value("${stripe.webhook.max-retry-delay-ms:3600000}")
+    private long maxRetryDelayMs;
+
+    @Autowired
+    public StripeWebhookService(StripeWebhookEventRepository webhookEventRepository,
+                                PaymentTransactionService paymentTransactionService) {
+        this.webhookEventRepository = webhookEventRepository;
+        this.paymentTransactionService = paymentTransactionService;
+    }
+
+    /**
+     * Persists a verified event.
+     *
+     * @return The stored event, or empty if this event ID was already received
+     */
+    @Transactional
+    public Optional<StripeWebhookEventEntity> ingest(Event event, String payload) {
+        if (webhookEventRepository.existsByEventId(event.getId())) {
+            return Optional.empty();
+        }
+
+        StripeWebhookEventEntity webhookEvent = new StripeWebhookEventEntity();
+        webhookEvent.setEventId(event.getId());
+        webhookEvent.setEventType(event.getType());
+        webhookEvent.setPaymentIntentId(extractPaymentIntentId(event));
+        webhookEvent.setPayload(payload);
+        // The lane it is submitted to on ingestion applies it; the recovery sweep only steps in if that never happens
+        webhookEvent.setNextAttemptAt(new Date(System.currentTimeMillis() + retryDelayMs));
+
+        try {
+            // Flush now so a concurrent duplicate delivery fails on the unique constraint here
+            return Optional.of(webhookEventRepository.saveAndFlush(webhookEvent));
+        } catch (DataIntegrityViolationException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Applies a stored event. Already processed events are skipped, so re-delivery is harmless.
+     * Events for a payment intent are applied in arrival order: while an earlier event for the same
+     * payment intent is not applied yet (e.g. it failed and waits for its retry), this one is held back
+     * and becomes due again once the earlier one is applied. The event stays locked until it is applied,
+     * so another node's lane or recovery sweep skips it in the meantime.
+     *
+     * @return Whether the event is applied, false if it was held back or another node is applying it
+     */
+    @Transactional
+    public boolean process(Long webhookEventId) {
+        Optional<StripeWebhookEventEntity> claimed = webhookEventRepository.claim(webhookEventId);
+        if (claimed.isEmpty()) {
+            log.debug("Stripe webhook event {} is being applied elsewhere", webhookEventId);
+            return false;
+        }
+        StripeWebhookEventEntity webhookEvent = claimed.get();
+
+        if (StripeWebhookEventEntity.STATUS_PROCESSED.equals(webhookEvent.getStatus())) {
+            return true;
+        }
+
+        String paymentIntentId = webhookEvent.getPaymentIntentId();
+        if (paymentIntentId != null) {
+            Optional<StripeWebhookEventEntity> earlier = webhookEventRepository
+                    .findFirstByPaymentIntentIdAndStatusInAndWebhookEventIdLessThanOrderByWebhookEventIdAsc(
+                            paymentIntentId,
+                            List.of(StripeWebhookEventEntity.STATUS_RECEIVED, StripeWebhookEventEntity.STATUS_FAILED),
+                            webhookEventId);
+            if (earlier.isPresent()) {
+                // Checked again when the earlier event is next due; parked (null) if it has given up
+                webhookEvent.setNextAttemptAt(earlier.get().getNextAttemptAt());
+                webhookEventRepository.save(webhookEvent);
+                log.info("Holding Stripe webhook event {} until earlier event {} for PaymentIntent {} is applied",
+                        webhookEvent.getEventId(), earlier.get().getEventId(), paymentIntentId);
+                return false;
+            }
+        }
+
+        Event event = ApiResource.GSON.fromJson(webhookEvent.getPayload(), Event.class);
+        applyEvent(event);
+
+        Date now = new Date();
+        webhookEvent.setAttempts(webhookEvent.getAttempts() + 1);
+        webhookEvent.setStatus(StripeWebhookEventEntity.STATUS_PROCESSED);
+        webhookEvent.setProcessedAt(now);
+        webhookEvent.setNextAttemptAt(null);
+        webhookEvent.setLastError(null);
+        webhookEventRepository.save(webhookEvent);
+
+        if (paymentIntentId != null) {
+            webhookEventRepository.releaseFollowers(paymentIntentId, webhookEventId, now);
+        }
+        return true;
+    }
+
+    /**
+     * Records a failed attempt and schedules the next one with exponential backoff,
+     * or none once the attempt limit is reached. Left alone if another node has applied it since.
+     */
+    @Transactional
+    public void markFailed(Long webhookEventId, Exception error) {
+        Optional<StripeWebhookEventEntity> claimed = webhookEventRepository.claim(webhookEventId);
+        if (claimed.isEmpty() || StripeWebhookEventEntity.STATUS_PROCESSED.equals(claimed.get().getStatus())) {
+            return;
+        }
+        StripeWebhookEventEntity webhookEvent = claimed.get();
+
+        int attempts = webhookEvent.getAttempts() + 1;
+        webhookEvent.setAttempts(attempts);
+        webhookEvent.setStatus(StripeWebhookEventEntity.STATUS_FAILED);
+        webhookEvent.setNextAttemptAt(attempts < maxAttempts
+                ? new Date(System.currentTimeMillis() + retryDelay(attempts))
+                : null);
+        String message = error.getMessage();
+        webhookEvent.setLastError(message != null && message.length() > 1000 ? message.substring(0, 1000) : message);
+        webhookEventRepository.save(webhookEvent);
+    }
+
+    // retry-delay-ms after the first failure, doubling with every further one up to max-retry-delay-ms
+    private long retryDelay(int attempts) {
+        return Math.min(retryDelayMs << Math.min(attempts - 1, 20), maxRetryDelayMs);
+    }
+
+    /**
+     * Resets a stored event so it is processed again (used by the replay tool)
+     */
+    @Transactional
+    public Optional<StripeWebhookEventEntity> resetForReplay(String eventId) {
+        return webhookEventRepository.findByEventId(eventId).map(webhookEvent -> {
+            webhookEvent.setStatus(StripeWebhookEventEntity.STATUS_RECEIVED);
+            webhookEvent.setAttempts(0);
+            webhookEvent.setNextAttemptAt(new Date());
+            webhookEvent.setLastError(null);
+            return webhookEventRepository.save(webhookEvent);
+        });
+    }
+
+    private void applyEvent(Event event) {
+        switch (event.getType()) {
+            case "payment_intent.succeeded": {
+                PaymentIntent paymentIntent = extractPaymentIntent(event);
+                if (paymentIntent != null) {
+                    log.info("Payment succeeded for PaymentIntent: {}", paymentIntent.getId());
+
+                    // For receipt URL, we don't have direct access in this version of the API
+                    paymentTransactionService.handlePaymentIntentSucceeded(
+                            paymentIntent.getId(),
+                            paymentIntent.getPaymentMethod(),
+                            null);
+                }
+                break;
+            }
+
+            case "payment_intent.payment_failed": {
+                PaymentIntent paymentIntent = extractPaymentIntent(event);
+                if (paymentIntent != null) {
+                    log.info("Payment failed for PaymentIntent: {}", paymentIntent.getId());
+
+                    // Get last error message if available
+                    String failureMessage = paymentIntent.getLastPaymentError() != null ?
+                            paymentIntent.getLastPaymentError().getMessage() : "Payment failed";
+
+                    paymentTransactionService.handlePaymentIntentFailed(paymentIntent.getId(), failureMessage);
+                }
+                break;
+            }
+
+            default:
+                log.info("Unhandled event type: {}", event.getType());
+                break;
+        }
+    }
+
+    private PaymentIntent extractPaymentIntent(Event event) {
+        Optional<StripeObject> object = event.getDataObjectDeserializer().getObject();
+        if (object.isPresent() && object.get() instanceof PaymentIntent) {
+            return (PaymentIntent) object.get();
+        }
+        return null;
+    }
+
+    private String extractPaymentIntentId(Event event) {
+        PaymentIntent paymentIntent = extractPaymentIntent(event);
+        return paymentIntent != null ? paymentIntent.getId() : null;
+    }
+}
@@ -0,0 +1,65 @@
+package edu.cit.Judify.QueryProfile;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.annotation.support.SimpAnnotationMethodMessageHandler;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Attributes the SQL statements of each STOMP message to its destination, for messages handled by
+ * the @MessageMapping methods. Runs on the inbound channel's executor thread around the handler,
+ * so the broker's own handling of the same message is not included.
+ */
+@Component
+public class QueryProfileChannelInterceptor implements ExecutorChannelInterceptor {
+
+    private final QueryProfiler queryProfiler;
+    private final ThreadLocal<QueryProfiler.Scope> scopes = new ThreadLocal<>();
+
+    @Autowired
+    public QueryProfileChannelInterceptor(QueryProfiler queryProfiler) {
+        this.queryProfiler = queryProfiler;
+    }
+
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        if (queryProfiler.isEnabled() && handler instanceof SimpAnnotationMethodMessageHandler
+                && SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) == SimpMessageType.MESSAGE) {
+            scopes.set(queryProfiler.open());
+        }
+        return message;
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        QueryProfiler.Scope scope = scopes.get();
+        if (scope == null || !(handler instanceof SimpAnnotationMethodMessageHandler)) {
+            return;
+        }
+        scopes.remove();
+        queryProfiler.record("STOMP " + route(SimpMessageHeaderAccessor.getDestination(message.getHeaders())), scope);
+    }
+
+    /**
+     * The destination with every segment containing a digit replaced by {id},
+     * e.g. /app/chat.send/42 becomes /app/chat.send/{id}.
+     */
+    static String route(String destination) {
+        if (destination == null) {
+            return "none";
+        }
+        StringBuilder route = new StringBuilder();
+        for (String segment : destination.split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            route.append('/').append(segment.chars().anyMatch(Character::isDigit) ? "{id}" : segment);
+        }
+        return route.length() > 0 ? route.toString() : "/";
+    }
+}
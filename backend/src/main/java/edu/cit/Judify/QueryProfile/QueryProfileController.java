@@ -0,0 +1,92 @@
+package edu.cit.Judify.QueryProfile;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@RestController
+@RequestMapping("/api/sql-profile")
+@CrossOrigin(origins = "*")
+@Tag(name = "SQL Profile", description = "SQL statement statistics per route and per query")
+public class QueryProfileController {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final QueryProfiler queryProfiler;
+
+    @Autowired
+    public QueryProfileController(QueryProfiler queryProfiler) {
+        this.queryProfiler = queryProfiler;
+    }
+
+    @Operation(summary = "Get SQL statistics",
+            description = "Returns statements and SQL time per HTTP route and STOMP destination with their budgets, "
+                    + "and the slowest queries ordered by total (sort=total) or worst single execution time (sort=max)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Statistics returned")
+    })
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getStats(@RequestParam(defaultValue = "20") int limit,
+                                                        @RequestParam(defaultValue = "total") String sort) {
+        Map<String, Object> routes = new TreeMap<>();
+        queryProfiler.getRouteStats().forEach((route, stats) -> {
+            long requests = stats.requests.sum();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("requests", requests);
+            entry.put("avgStatements", requests > 0 ? (double) stats.statements.sum() / requests : 0.0);
+            entry.put("maxStatements", stats.maxStatements.get());
+            entry.put("avgSqlMs", requests > 0 ? stats.sqlNanos.sum() / NANOS_PER_MILLI / requests : 0.0);
+            entry.put("maxSqlMs", stats.maxSqlNanos.get() / NANOS_PER_MILLI);
+            entry.put("statementBudget", stats.statementBudget);
+            entry.put("overBudget", stats.overBudget.sum());
+            routes.put(route, entry);
+        });
+
+        Comparator<Map.Entry<String, QueryProfiler.QueryStats>> order = "max".equals(sort)
+                ? Comparator.comparingLong(query -> query.getValue().maxNanos.get())
+                : Comparator.comparingLong(query -> query.getValue().totalNanos.sum());
+        List<Map.Entry<String, QueryProfiler.QueryStats>> slowest = new ArrayList<>(queryProfiler.getQueryStats().entrySet());
+        slowest.sort(order.reversed());
+
+        List<Map<String, Object>> queries = new ArrayList<>();
+        for (Map.Entry<String, QueryProfiler.QueryStats> query : slowest.subList(0, Math.min(Math.max(limit, 0), slowest.size()))) {
+            QueryProfiler.QueryStats stats = query.getValue();
+            long executions = stats.executions.sum();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("sql", query.getKey());
+            entry.put("executions", executions);
+            entry.put("totalMs", stats.totalNanos.sum() / NANOS_PER_MILLI);
+            entry.put("avgMs", executions > 0 ? stats.totalNanos.sum() / NANOS_PER_MILLI / executions : 0.0);
+            entry.put("maxMs", stats.maxNanos.get() / NANOS_PER_MILLI);
+            queries.add(entry);
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("statementBudget", queryProfiler.getStatementBudget());
+        response.put("timeBudgetMs", queryProfiler.getTimeBudgetMs());
+        response.put("routes", routes);
+        response.put("slowestQueries", queries);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Reset SQL statistics", description = "Drops the per-route and per-query statistics collected so far")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Statistics reset")
+    })
+    @DeleteMapping("/stats")
+    public ResponseEntity<Void> resetStats() {
+        queryProfiler.reset();
+        return ResponseEntity.ok().build();
+    }
+}
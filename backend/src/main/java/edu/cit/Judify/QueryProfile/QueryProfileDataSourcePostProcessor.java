@@ -0,0 +1,53 @@
+package edu.cit.Judify.QueryProfile;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Wraps the application's DataSource in a datasource-proxy that reports every statement to the
+ * {@link QueryProfiler}. The pool underneath is unchanged, and Boot still finds it for pool metrics
+ * and health checks by unwrapping the proxy.
+ */
+@Component
+@ConditionalOnProperty(name = "judify.sql-profiler.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryProfileDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<QueryProfiler> queryProfiler;
+
+    // Post-processors are created before ordinary beans, so the profiler is only looked up
+    // when the first statement runs
+    public QueryProfileDataSourcePostProcessor(ObjectProvider<QueryProfiler> queryProfiler) {
+        this.queryProfiler = queryProfiler;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+            return bean;
+        }
+        return ProxyDataSourceBuilder.create(dataSource)
+                .name(beanName)
+                .listener(new QueryExecutionListener() {
+                    @Override
+                    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                        queryProfiler.getObject().beforeQuery(execInfo, queryInfoList);
+                    }
+
+                    @Override
+                    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                        queryProfiler.getObject().afterQuery(execInfo, queryInfoList);
+                    }
+                })
+                .build();
+    }
+}
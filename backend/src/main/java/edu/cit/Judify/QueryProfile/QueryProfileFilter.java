@@ -0,0 +1,49 @@
+package edu.cit.Judify.QueryProfile;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Attributes the SQL statements of each HTTP request to its route, the method plus the matched
+ * mapping pattern (e.g. "GET /api/users/{id}"), so requests for different ids share one entry.
+ * Runs first so statements issued by the security filters are counted as well.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QueryProfileFilter extends OncePerRequestFilter {
+
+    private final QueryProfiler queryProfiler;
+
+    @Autowired
+    public QueryProfileFilter(QueryProfiler queryProfiler) {
+        this.queryProfiler = queryProfiler;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !queryProfiler.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryProfiler.Scope scope = queryProfiler.open();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            // Set by the handler mapping, so only known once the request has been dispatched
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            queryProfiler.record(request.getMethod() + " " + (pattern != null ? pattern : "unmapped"), scope);
+        }
+    }
+}
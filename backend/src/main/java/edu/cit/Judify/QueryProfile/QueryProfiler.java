@@ -0,0 +1,259 @@
+package edu.cit.Judify.QueryProfile;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Receives every JDBC statement from the profiling DataSource proxy. Statements are counted and
+ * timed against the scope open on the current thread (an HTTP request or a STOMP message, see
+ * {@link QueryProfileFilter} and {@link QueryProfileChannelInterceptor}) and aggregated per SQL
+ * string for the slowest-query report. When a scope ends it is recorded under its route and
+ * checked against the statement and time budgets.
+ *
+ * Tests can open their own scope to assert how many statements a piece of code issues:
+ * <pre>
+ * try (QueryProfiler.Scope scope = queryProfiler.open()) {
+ *     service.call();
+ *     assertTrue(scope.getStatementCount() &lt;= 3);
+ * }
+ * </pre>
+ */
+@Component
+public class QueryProfiler implements QueryExecutionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryProfiler.class);
+
+    static final String OTHER_QUERIES = "(other statements)";
+    private static final int MAX_SQL_LENGTH = 2000;
+
+    /**
+     * Statements issued on one thread between {@link #open()} and {@link #close()}.
+     * Scopes nest; a closed scope adds its totals to the enclosing one.
+     */
+    public final class Scope implements AutoCloseable {
+        private final Scope parent;
+        private int statementCount;
+        private long sqlNanos;
+        private boolean closed;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        public int getStatementCount() {
+            return statementCount;
+        }
+
+        public long getSqlTime(TimeUnit unit) {
+            return unit.convert(sqlNanos, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (parent != null) {
+                parent.statementCount += statementCount;
+                parent.sqlNanos += sqlNanos;
+                currentScope.set(parent);
+            } else {
+                currentScope.remove();
+            }
+        }
+    }
+
+    /**
+     * Totals for one statement, keyed by its SQL text.
+     */
+    static final class QueryStats {
+        final LongAdder executions = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    }
+
+    /**
+     * Totals for one route (HTTP method and pattern, or STOMP destination).
+     */
+    static final class RouteStats {
+        final LongAdder requests = new LongAdder();
+        final LongAdder statements = new LongAdder();
+        final LongAccumulator maxStatements = new LongAccumulator(Math::max, 0);
+        final LongAdder sqlNanos = new LongAdder();
+        final LongAccumulator maxSqlNanos = new LongAccumulator(Math::max, 0);
+        final LongAdder overBudget = new LongAdder();
+        final int statementBudget;
+
+        RouteStats(int statementBudget) {
+            this.statementBudget = statementBudget;
+        }
+    }
+
+    private final ThreadLocal<Scope> currentScope = new ThreadLocal<>();
+    private final ThreadLocal<long[]> statementStart = ThreadLocal.withInitial(() -> new long[1]);
+    private final Map<String, QueryStats> queries = new ConcurrentHashMap<>();
+    private final Map<String, RouteStats> routes = new ConcurrentHashMap<>();
+    private final Map<String, Integer> routeBudgets = new HashMap<>();
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Value("${judify.sql-profiler.enabled:true}")
+    private boolean enabled;
+
+    @Value("${judify.sql-profiler.statement-budget:20}")
+    private int statementBudget;
+
+    @Value("${judify.sql-profiler.time-budget-ms:500}")
+    private long timeBudgetMs;
+
+    @Value("${judify.sql-profiler.max-tracked-queries:1000}")
+    private int maxTrackedQueries;
+
+    // The registry is resolved when the first route is recorded; this bean itself is needed
+    // as soon as the DataSource runs its first statement, long before metrics are set up
+    @Autowired
+    public QueryProfiler(ObjectProvider<MeterRegistry> meterRegistry,
+                         @Value("${judify.sql-profiler.route-budgets:}") String routeBudgets) {
+        this.meterRegistry = meterRegistry;
+        for (String entry : routeBudgets.split(",")) {
+            int separator = entry.lastIndexOf('=');
+            if (separator > 0) {
+                this.routeBudgets.put(entry.substring(0, separator).trim(), Integer.parseInt(entry.substring(separator + 1).trim()));
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts counting the statements issued on this thread until the returned scope is closed.
+     */
+    public Scope open() {
+        Scope scope = new Scope(currentScope.get());
+        currentScope.set(scope);
+        return scope;
+    }
+
+    /**
+     * Closes the scope and records it under the route, flagging it if it went over budget.
+     */
+    public void record(String route, Scope scope) {
+        scope.close();
+        int budget = routeBudgets.getOrDefault(route, statementBudget);
+        RouteStats stats = routes.computeIfAbsent(route, name -> new RouteStats(budget));
+        long sqlMs = scope.getSqlTime(TimeUnit.MILLISECONDS);
+
+        stats.requests.increment();
+        stats.statements.add(scope.statementCount);
+        stats.maxStatements.accumulate(scope.statementCount);
+        stats.sqlNanos.add(scope.sqlNanos);
+        stats.maxSqlNanos.accumulate(scope.sqlNanos);
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            DistributionSummary.builder("judify.sql.statements")
+                    .description("SQL statements issued per request")
+                    .tag("route", route)
+                    .register(registry)
+                    .record(scope.statementCount);
+        }
+
+        if (scope.statementCount > budget || sqlMs > timeBudgetMs) {
+            stats.overBudget.increment();
+            if (registry != null) {
+                Counter.builder("judify.sql.budget.exceeded")
+                        .description("Requests that issued more SQL statements or spent more time in SQL than their budget")
+                        .tag("route", route)
+                        .register(registry)
+                        .increment();
+            }
+            logger.warn("{} issued {} SQL statements taking {} ms (budget: {} statements, {} ms)",
+                    route, scope.statementCount, sqlMs, budget, timeBudgetMs);
+        }
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        statementStart.get()[0] = System.nanoTime();
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsed = System.nanoTime() - statementStart.get()[0];
+
+        Scope scope = currentScope.get();
+        if (scope != null) {
+            scope.statementCount++;
+            scope.sqlNanos += elapsed;
+        }
+
+        if (queryInfoList.isEmpty()) {
+            return;
+        }
+        String sql = queryInfoList.get(0).getQuery();
+        if (logger.isDebugEnabled()) {
+            logger.debug("{} us{}: {}", TimeUnit.NANOSECONDS.toMicros(elapsed),
+                    execInfo.isBatch() ? " (batch of " + execInfo.getBatchSize() + ")" : "", sql);
+        }
+        QueryStats stats = queryStats(sql.length() > MAX_SQL_LENGTH ? sql.substring(0, MAX_SQL_LENGTH) : sql);
+        stats.executions.increment();
+        stats.totalNanos.add(elapsed);
+        stats.maxNanos.accumulate(elapsed);
+    }
+
+    Map<String, RouteStats> getRouteStats() {
+        return routes;
+    }
+
+    Map<String, QueryStats> getQueryStats() {
+        return queries;
+    }
+
+    int getStatementBudget() {
+        return statementBudget;
+    }
+
+    long getTimeBudgetMs() {
+        return timeBudgetMs;
+    }
+
+    /**
+     * Drops everything aggregated so far; scopes in progress are not affected.
+     */
+    void reset() {
+        queries.clear();
+        routes.clear();
+    }
+
+    private QueryStats queryStats(String sql) {
+        QueryStats stats = queries.get(sql);
+        if (stats != null) {
+            return stats;
+        }
+        // Statements with inlined literals would otherwise grow this map without bound
+        if (queries.size() >= maxTrackedQueries) {
+            return queries.computeIfAbsent(OTHER_QUERIES, key -> new QueryStats());
+        }
+        return queries.computeIfAbsent(sql, key -> new QueryStats());
+    }
+}
@@ -0,0 +1,46 @@
+package edu.cit.Judify.RateLimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket implemented with the generic cell rate algorithm (GCRA).
+ * The whole bucket state is a single "theoretical arrival time": each admitted request pushes it
+ * forward by one emission interval, and a request is rejected if that would put it more than a
+ * full burst ahead of now. Admission is one compare-and-set, with no locks or refill thread.
+ */
+class RateLimitBucket {
+
+    private final AtomicLong theoreticalArrivalNanos;
+
+    RateLimitBucket(long nowNanos) {
+        this.theoreticalArrivalNanos = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Tries to admit one request.
+     *
+     * @return 0 if admitted, otherwise the number of nanoseconds until a request would be admitted
+     */
+    long tryAcquire(RateLimitPolicy policy, long nowNanos) {
+        long interval = policy.emissionIntervalNanos();
+        long burst = interval * policy.getLimit();
+        while (true) {
+            long current = theoreticalArrivalNanos.get();
+            long next = Math.max(current, nowNanos) + interval;
+            long ahead = next - nowNanos;
+            if (ahead > burst) {
+                return ahead - burst;
+            }
+            if (theoreticalArrivalNanos.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * A bucket is idle once it has fully refilled; it then behaves exactly like a new bucket and can be dropped.
+     */
+    boolean isIdle(long nowNanos) {
+        return theoreticalArrivalNanos.get() - nowNanos <= 0;
+    }
+}
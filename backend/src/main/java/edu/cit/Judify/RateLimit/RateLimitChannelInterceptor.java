@@ -0,0 +1,54 @@
+package edu.cit.Judify.RateLimit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Throttles STOMP chat messages on the inbound channel, before they reach the message handlers
+ * and the database. Keyed per authenticated user, or per WebSocket session for anonymous connections.
+ * Over-limit messages are dropped.
+ */
+@Component
+public class RateLimitChannelInterceptor implements ChannelInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitChannelInterceptor.class);
+
+    private static final String CHAT_SEND_PREFIX = "/app/chat.send/";
+
+    private final RateLimiter rateLimiter;
+
+    @Autowired
+    public RateLimitChannelInterceptor(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() != StompCommand.SEND) {
+            return message;
+        }
+
+        String destination = accessor.getDestination();
+        if (destination == null || !destination.startsWith(CHAT_SEND_PREFIX)) {
+            return message;
+        }
+
+        String key = accessor.getUser() != null
+                ? "user:" + accessor.getUser().getName()
+                : "session:" + accessor.getSessionId();
+        if (rateLimiter.tryAcquire(RateLimiter.POLICY_CHAT_SEND, key) > 0) {
+            logger.warn("Chat rate limit exceeded for {}, dropping message to {}", key, destination);
+            return null;
+        }
+        return message;
+    }
+}
@@ -0,0 +1,48 @@
+package edu.cit.Judify.RateLimit;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/rate-limits")
+@CrossOrigin(origins = "*")
+@Tag(name = "Rate Limits", description = "Rate limiter statistics")
+public class RateLimitController {
+
+    private final RateLimiter rateLimiter;
+
+    @Autowired
+    public RateLimitController(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Operation(summary = "Get rate limiter statistics", description = "Returns the configured policies with their allowed and rejected request counts")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Statistics returned")
+    })
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getStats() {
+        Map<String, Object> policies = new LinkedHashMap<>();
+        for (RateLimitPolicy policy : rateLimiter.getPolicies().values()) {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("limit", policy.getLimit());
+            stats.put("windowMillis", policy.getWindowMillis());
+            stats.put("allowed", rateLimiter.getAllowedCount(policy.getName()));
+            stats.put("rejected", rateLimiter.getRejectedCount(policy.getName()));
+            policies.put(policy.getName(), stats);
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("activeKeys", rateLimiter.getActiveKeys());
+        response.put("policies", policies);
+        return ResponseEntity.ok(response);
+    }
+}
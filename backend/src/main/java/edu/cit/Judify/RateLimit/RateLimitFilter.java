@@ -0,0 +1,87 @@
+package edu.cit.Judify.RateLimit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Throttles the login and account-creation endpoints before they reach Spring Security or the database.
+ * Login attempts are limited per client IP and per account email from that IP; keying the account limit
+ * on the email alone would let anyone lock a user out by spending their attempts. Every route that
+ * creates an account shares one registration limit per client IP.
+ * Rejected requests get 429 with a Retry-After header.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 10)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    private static final String AUTHENTICATE_PATH = "/api/users/authenticate";
+
+    // Every route that creates a user account
+    private static final Set<String> REGISTER_PATHS = Set.of(
+            "/api/users/register",
+            "/api/users/addUser",
+            "/api/users/manual-user-create",
+            "/api/tutors/register");
+
+    private final RateLimiter rateLimiter;
+
+    @Autowired
+    public RateLimitFilter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod())) {
+            return true;
+        }
+        String path = request.getServletPath();
+        return !AUTHENTICATE_PATH.equals(path) && !REGISTER_PATHS.contains(path);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        // Client IP as seen by the container; behind a proxy set server.forward-headers-strategy so this is the real client
+        String clientIp = request.getRemoteAddr();
+
+        long retryAfterMs;
+        if (AUTHENTICATE_PATH.equals(request.getServletPath())) {
+            retryAfterMs = rateLimiter.tryAcquire(RateLimiter.POLICY_AUTHENTICATE, clientIp);
+            String email = request.getParameter("email");
+            if (retryAfterMs == 0 && email != null) {
+                retryAfterMs = rateLimiter.tryAcquire(RateLimiter.POLICY_AUTHENTICATE_ACCOUNT,
+                        email.trim().toLowerCase() + '|' + clientIp);
+            }
+        } else {
+            retryAfterMs = rateLimiter.tryAcquire(RateLimiter.POLICY_REGISTER, clientIp);
+        }
+
+        if (retryAfterMs > 0) {
+            logger.warn("Rate limit exceeded for {} from {}", request.getServletPath(), clientIp);
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf((retryAfterMs + 999) / 1000));
+            response.setContentType("text/plain");
+            response.getWriter().write("Too many requests, please try again later");
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,41 @@
+package edu.cit.Judify.RateLimit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the rate limiter's own counters, so admitted and rejected requests per policy and the
+ * number of tracked client keys show up next to the other metrics. The limiter keeps counting in its
+ * LongAdders; the meters only read them at scrape time.
+ */
+@Component
+public class RateLimitMetrics implements MeterBinder {
+
+    private final RateLimiter rateLimiter;
+
+    @Autowired
+    public RateLimitMetrics(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String policy : rateLimiter.getPolicies().keySet()) {
+            FunctionCounter.builder("judify.ratelimit.requests", rateLimiter, limiter -> limiter.getAllowedCount(policy))
+                    .description("Requests checked against a rate limit policy")
+                    .tags("policy", policy, "outcome", "allowed")
+                    .register(registry);
+            FunctionCounter.builder("judify.ratelimit.requests", rateLimiter, limiter -> limiter.getRejectedCount(policy))
+                    .description("Requests checked against a rate limit policy")
+                    .tags("policy", policy, "outcome", "rejected")
+                    .register(registry);
+        }
+        Gauge.builder("judify.ratelimit.keys", rateLimiter, RateLimiter::getActiveKeys)
+                .description("Client keys currently tracked by the rate limiter")
+                .register(registry);
+    }
+}
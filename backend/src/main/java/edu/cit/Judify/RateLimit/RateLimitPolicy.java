@@ -0,0 +1,41 @@
+package edu.cit.Judify.RateLimit;
+
+/**
+ * A named limit of {@code limit} requests per {@code windowMillis}, applied separately to each key
+ * (IP address, user or session). Bursts of up to {@code limit} requests are allowed, after which
+ * requests are admitted at the steady rate of one per {@code windowMillis / limit}.
+ */
+public class RateLimitPolicy {
+
+    private final String name;
+    private final int limit;
+    private final long windowMillis;
+
+    public RateLimitPolicy(String name, int limit, long windowMillis) {
+        if (limit < 1 || windowMillis < 1) {
+            throw new IllegalArgumentException("Rate limit policy '" + name + "' needs a positive limit and window");
+        }
+        this.name = name;
+        this.limit = limit;
+        this.windowMillis = windowMillis;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+
+    /**
+     * Time between two requests at the steady rate, in nanoseconds.
+     */
+    long emissionIntervalNanos() {
+        return Math.max(1, windowMillis * 1_000_000L / limit);
+    }
+}
@@ -0,0 +1,117 @@
+package edu.cit.Judify.RateLimit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process rate limiter shared by the HTTP filter and the STOMP interceptor.
+ * Policies are configured under judify.rate-limit.*; each (policy, key) pair gets its own bucket.
+ * Idle buckets are swept periodically so the key space stays bounded by the set of recently active clients.
+ */
+@Component
+public class RateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimiter.class);
+
+    public static final String POLICY_AUTHENTICATE = "authenticate";
+    public static final String POLICY_AUTHENTICATE_ACCOUNT = "authenticate-account";
+    public static final String POLICY_REGISTER = "register";
+    public static final String POLICY_CHAT_SEND = "chat-send";
+
+    private final Map<String, RateLimitPolicy> policies = new LinkedHashMap<>();
+    private final ConcurrentHashMap<String, RateLimitBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> allowed = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> rejected = new ConcurrentHashMap<>();
+
+    @Value("${judify.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${judify.rate-limit.max-keys:100000}")
+    private int maxKeys;
+
+    public RateLimiter(
+            @Value("${judify.rate-limit.authenticate.limit:10}") int authenticateLimit,
+            @Value("${judify.rate-limit.authenticate.window-seconds:60}") long authenticateWindow,
+            @Value("${judify.rate-limit.authenticate-account.limit:5}") int accountLimit,
+            @Value("${judify.rate-limit.authenticate-account.window-seconds:60}") long accountWindow,
+            @Value("${judify.rate-limit.register.limit:5}") int registerLimit,
+            @Value("${judify.rate-limit.register.window-seconds:600}") long registerWindow,
+            @Value("${judify.rate-limit.chat-send.limit:20}") int chatLimit,
+            @Value("${judify.rate-limit.chat-send.window-seconds:10}") long chatWindow) {
+        addPolicy(new RateLimitPolicy(POLICY_AUTHENTICATE, authenticateLimit, TimeUnit.SECONDS.toMillis(authenticateWindow)));
+        addPolicy(new RateLimitPolicy(POLICY_AUTHENTICATE_ACCOUNT, accountLimit, TimeUnit.SECONDS.toMillis(accountWindow)));
+        addPolicy(new RateLimitPolicy(POLICY_REGISTER, registerLimit, TimeUnit.SECONDS.toMillis(registerWindow)));
+        addPolicy(new RateLimitPolicy(POLICY_CHAT_SEND, chatLimit, TimeUnit.SECONDS.toMillis(chatWindow)));
+    }
+
+    private void addPolicy(RateLimitPolicy policy) {
+        policies.put(policy.getName(), policy);
+        allowed.put(policy.getName(), new LongAdder());
+        rejected.put(policy.getName(), new LongAdder());
+    }
+
+    /**
+     * Tries to admit one request for the key under the named policy.
+     *
+     * @return 0 if admitted, otherwise the number of milliseconds the caller should wait before retrying
+     */
+    public long tryAcquire(String policyName, String key) {
+        RateLimitPolicy policy = policies.get(policyName);
+        if (!enabled || policy == null || key == null) {
+            return 0;
+        }
+
+        long now = System.nanoTime();
+        if (buckets.size() >= maxKeys) {
+            // Under a flood of distinct keys, drop idle buckets before admitting more
+            sweepIdleBuckets();
+        }
+        RateLimitBucket bucket = buckets.computeIfAbsent(policyName + '|' + key, k -> new RateLimitBucket(now));
+
+        long waitNanos = bucket.tryAcquire(policy, now);
+        if (waitNanos == 0) {
+            allowed.get(policyName).increment();
+            return 0;
+        }
+        rejected.get(policyName).increment();
+        return Math.max(1, TimeUnit.NANOSECONDS.toMillis(waitNanos));
+    }
+
+    @Scheduled(fixedDelayString = "${judify.rate-limit.sweep-interval-ms:60000}")
+    public void sweepIdleBuckets() {
+        long now = System.nanoTime();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.isIdle(now));
+        int removed = before - buckets.size();
+        if (removed > 0) {
+            logger.debug("Rate limiter swept {} idle buckets, {} active", removed, buckets.size());
+        }
+    }
+
+    public Map<String, RateLimitPolicy> getPolicies() {
+        return policies;
+    }
+
+    public long getAllowedCount(String policyName) {
+        LongAdder counter = allowed.get(policyName);
+        return counter != null ? counter.sum() : 0;
+    }
+
+    public long getRejectedCount(String policyName) {
+        LongAdder counter = rejected.get(policyName);
+        return counter != null ? counter.sum() : 0;
+    }
+
+    public int getActiveKeys() {
+        return buckets.size();
+    }
+}
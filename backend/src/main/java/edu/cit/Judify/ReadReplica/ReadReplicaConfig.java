@@ -0,0 +1,116 @@
+package edu.cit.Judify.ReadReplica;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces Boot's single connection pool with a primary pool and one pool per read replica, routed by
+ * {@link ReplicaRouter}. Enabled with judify.datasource.replicas.enabled; the primary keeps the
+ * spring.datasource settings (or a service connection in tests) and every pool gets the
+ * spring.datasource.hikari settings. Flyway, like every other writer, only ever talks to the primary.
+ */
+@Configuration
+@ConditionalOnProperty(name = "judify.datasource.replicas.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadReplicaConfig.class);
+
+    @Bean
+    public ReplicaRouter replicaRouter(DataSourceProperties properties,
+                                       ObjectProvider<JdbcConnectionDetails> connectionDetails,
+                                       Environment environment,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${judify.datasource.replicas.urls:}") String replicaUrls,
+                                       @Value("${judify.datasource.replicas.username:}") String replicaUsername,
+                                       @Value("${judify.datasource.replicas.password:}") String replicaPassword,
+                                       @Value("${judify.datasource.replicas.max-lag-ms:1000}") long maxLagMs,
+                                       @Value("${judify.datasource.replicas.lag-check-interval-ms:1000}") long lagCheckIntervalMs) {
+        JdbcConnectionDetails primaryDetails = connectionDetails.getIfAvailable(() -> new JdbcConnectionDetails() {
+            @Override
+            public String getJdbcUrl() {
+                return properties.determineUrl();
+            }
+
+            @Override
+            public String getUsername() {
+                return properties.determineUsername();
+            }
+
+            @Override
+            public String getPassword() {
+                return properties.determinePassword();
+            }
+        });
+        Binder binder = Binder.get(environment);
+
+        HikariDataSource primary = pool(binder, "judify-primary", primaryDetails.getJdbcUrl(),
+                primaryDetails.getUsername(), primaryDetails.getPassword());
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : StringUtils.commaDelimitedListToStringArray(replicaUrls)) {
+            if (!StringUtils.hasText(url)) {
+                continue;
+            }
+            HikariDataSource replica = pool(binder, "judify-replica-" + (replicas.size() + 1), url.trim(),
+                    StringUtils.hasText(replicaUsername) ? replicaUsername : primaryDetails.getUsername(),
+                    StringUtils.hasText(replicaUsername) ? replicaPassword : primaryDetails.getPassword());
+            // Boot only instruments the pool behind the DataSource bean, which is the primary
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(replica);
+        }
+        if (replicas.isEmpty()) {
+            logger.warn("Read replicas are enabled but judify.datasource.replicas.urls is empty; all reads go to the primary");
+        } else {
+            logger.info("Routing read-only transactions to {} read replica(s) with up to {} ms lag", replicas.size(), maxLagMs);
+        }
+        return new ReplicaRouter(primary, replicas, maxLagMs, lagCheckIntervalMs, meterRegistry);
+    }
+
+    @Bean
+    public DataSource dataSource(ReplicaRouter replicaRouter) {
+        return replicaRouter.getDataSource();
+    }
+
+    // With open-in-view a session otherwise holds its first connection until the request ends, so a
+    // request that read on a replica would also write there. Released after every transaction, each
+    // transaction is routed on its own. Spring then no longer marks the JDBC connection read-only (nor
+    // allows a custom isolation level), which is why the router goes by the transaction's own flag
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionsAfterTransaction() {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    private static HikariDataSource pool(Binder binder, String poolName, String url, String username, String password) {
+        HikariDataSource pool = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(poolName);
+        return pool;
+    }
+}
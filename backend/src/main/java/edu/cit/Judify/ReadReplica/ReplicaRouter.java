@@ -0,0 +1,280 @@
+package edu.cit.Judify.ReadReplica;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends work the application declared {@code @Transactional(readOnly = true)} to the read replicas
+ * and everything else to the primary. The physical connection is only chosen at the first statement
+ * of a transaction, once the transaction is registered as read-only with the
+ * {@link TransactionSynchronizationManager}; a read-only transaction then gets one of the available
+ * replicas, round robin. The flag is read there rather than from {@code Connection.setReadOnly}, which
+ * Spring's Hibernate dialect only calls while sessions hold their connection until they close. It stays
+ * on the primary when
+ * <ul>
+ *   <li>no replica was within the lag bound at the last check, or the chosen one fails to connect,</li>
+ *   <li>the current user committed a write within the lag bound, so they read their own writes, or</li>
+ *   <li>it is Spring Data's implicit read-only transaction around a bare repository call: services
+ *       often look a row up through the repository and write in the next call, so only
+ *       transactions declared by the application are routed.</li>
+ * </ul>
+ * Owns the connection pools and closes them on shutdown.
+ */
+public class ReplicaRouter implements TransactionExecutionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRouter.class);
+
+    // Spring Data names the transactions of bare repository calls after SimpleJpaRepository's methods
+    static final String REPOSITORY_TRANSACTION_PREFIX = "org.springframework.data.";
+
+    // Where the primary's WAL ends, read just before the replicas are checked
+    private static final String PRIMARY_LSN_QUERY = "select pg_current_wal_lsn()::text";
+
+    // Replay lag in milliseconds. A standby that has replayed the primary's WAL up to where it ended before the
+    // check is not behind, however long ago its last transaction was. Otherwise it is as stale as its last
+    // replayed transaction is old, also when its WAL receiver lost the primary and it only seems caught up
+    // with what it received. An instance that is not a standby at all (a second local instance used for
+    // testing) has no lag. NULL while a standby has not replayed any transaction yet
+    private static final String LAG_QUERY = """
+            select case when not pg_is_in_recovery() or pg_last_wal_replay_lsn() >= cast(? as pg_lsn) then 0
+                        else extract(epoch from now() - pg_last_xact_replay_timestamp()) * 1000 end""";
+
+    /**
+     * A replica pool and its state as of the last lag check.
+     */
+    private static final class Replica {
+        private final HikariDataSource pool;
+        private final JdbcTemplate jdbcTemplate;
+        private volatile double lagMs = Double.NaN;
+        private volatile boolean available;
+
+        private Replica(HikariDataSource pool) {
+            this.pool = pool;
+            this.jdbcTemplate = new JdbcTemplate(pool);
+            this.jdbcTemplate.setQueryTimeout(2);
+        }
+    }
+
+    private final HikariDataSource primary;
+    private final JdbcTemplate primaryJdbcTemplate;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final LazyConnectionDataSourceProxy dataSource;
+    private final long maxLagMs;
+    private final long readYourWritesMs;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    // Map of username -> when their last read-write transaction committed (epoch millis)
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    private final Counter replicaReads;
+    private final Counter repositoryReads;
+    private final Counter stickyReads;
+    private final Counter fallbackReads;
+
+    public ReplicaRouter(HikariDataSource primary, List<HikariDataSource> replicaPools,
+                         long maxLagMs, long lagCheckIntervalMs, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.primaryJdbcTemplate = new JdbcTemplate(primary);
+        this.primaryJdbcTemplate.setQueryTimeout(2);
+        this.maxLagMs = maxLagMs;
+        // A write is on every available replica once it is older than the lag bound, give or take the time
+        // since the lag was last measured
+        this.readYourWritesMs = maxLagMs + lagCheckIntervalMs;
+
+        for (HikariDataSource pool : replicaPools) {
+            Replica replica = new Replica(pool);
+            replicas.add(replica);
+            Gauge.builder("judify.datasource.replica.lag", replica, r -> r.lagMs)
+                    .description("Replay lag of a read replica at the last check, in milliseconds (NaN if unreachable)")
+                    .tag("replica", pool.getPoolName())
+                    .register(meterRegistry);
+        }
+        Gauge.builder("judify.datasource.replicas.available", this, ReplicaRouter::getAvailableReplicaCount)
+                .description("Read replicas within the lag bound")
+                .register(meterRegistry);
+
+        this.replicaReads = readCounter(meterRegistry, "replica", "routed");
+        this.repositoryReads = readCounter(meterRegistry, "primary", "repository");
+        this.stickyReads = readCounter(meterRegistry, "primary", "read-your-writes");
+        this.fallbackReads = readCounter(meterRegistry, "primary", "no-replica");
+
+        this.dataSource = new LazyConnectionDataSourceProxy(new RoutingDataSource());
+        this.dataSource.setDefaultAutoCommit(true);
+    }
+
+    /**
+     * The application's DataSource: the primary, with read-only connections routed by this router.
+     */
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public int getAvailableReplicaCount() {
+        int available = 0;
+        for (Replica replica : replicas) {
+            if (replica.available) {
+                available++;
+            }
+        }
+        return available;
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure == null && transaction.isNewTransaction() && !transaction.isReadOnly()) {
+            String username = currentUsername();
+            if (username != null) {
+                lastWrites.put(username, System.currentTimeMillis());
+            }
+        }
+    }
+
+    /**
+     * Measures the lag of every replica and takes those beyond the bound, or unreachable, out of rotation.
+     */
+    @Scheduled(fixedDelayString = "${judify.datasource.replicas.lag-check-interval-ms:1000}")
+    public void checkReplicas() {
+        String primaryLsn = replicas.isEmpty() ? null : primaryLsn();
+        for (Replica replica : replicas) {
+            Double lagMs;
+            try {
+                lagMs = replica.jdbcTemplate.queryForObject(LAG_QUERY, Double.class, primaryLsn);
+            } catch (DataAccessException e) {
+                lagMs = null;
+                if (replica.available) {
+                    logger.warn("Read replica {} is unreachable, reading from the primary instead: {}",
+                            replica.pool.getPoolName(), e.getMessage());
+                }
+            }
+            boolean available = lagMs != null && lagMs <= maxLagMs;
+            if (available != replica.available && lagMs != null) {
+                logger.info("Read replica {} is {} ({} ms behind, bound {} ms)", replica.pool.getPoolName(),
+                        available ? "in rotation" : "out of rotation", Math.round(lagMs), maxLagMs);
+            }
+            replica.lagMs = lagMs != null ? lagMs : Double.NaN;
+            replica.available = available;
+        }
+
+        long cutoff = System.currentTimeMillis() - readYourWritesMs;
+        lastWrites.values().removeIf(writtenAt -> writtenAt < cutoff);
+    }
+
+    private String primaryLsn() {
+        try {
+            return primaryJdbcTemplate.queryForObject(PRIMARY_LSN_QUERY, String.class);
+        } catch (DataAccessException e) {
+            // Then only the age of the replicas' last replayed transaction tells how far behind they are
+            return null;
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        for (Replica replica : replicas) {
+            replica.pool.close();
+        }
+        primary.close();
+    }
+
+    /**
+     * Opens a connection to one of the pools.
+     */
+    @FunctionalInterface
+    private interface ConnectionOpener {
+        Connection open(DataSource pool) throws SQLException;
+    }
+
+    private Connection connection(ConnectionOpener opener) throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return opener.open(primary);
+        }
+        String transactionName = TransactionSynchronizationManager.getCurrentTransactionName();
+        if (transactionName != null && transactionName.startsWith(REPOSITORY_TRANSACTION_PREFIX)) {
+            repositoryReads.increment();
+            return opener.open(primary);
+        }
+        String username = currentUsername();
+        Long writtenAt = username != null ? lastWrites.get(username) : null;
+        if (writtenAt != null && System.currentTimeMillis() - writtenAt < readYourWritesMs) {
+            stickyReads.increment();
+            return opener.open(primary);
+        }
+
+        for (int attempt = 0; attempt < replicas.size(); attempt++) {
+            Replica replica = replicas.get(Math.floorMod(nextReplica.getAndIncrement(), replicas.size()));
+            if (!replica.available) {
+                continue;
+            }
+            try {
+                Connection connection = opener.open(replica.pool);
+                replicaReads.increment();
+                return connection;
+            } catch (SQLException e) {
+                // Out of rotation until the next check finds it healthy again
+                replica.available = false;
+                logger.warn("Could not connect to read replica {}, trying the next one: {}",
+                        replica.pool.getPoolName(), e.getMessage());
+            }
+        }
+        fallbackReads.increment();
+        return opener.open(primary);
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private static Counter readCounter(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("judify.datasource.read-only.connections")
+                .description("Connections handed to read-only transactions, by where they were routed and why")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * What {@link LazyConnectionDataSourceProxy} asks for the physical connection at the first statement.
+     */
+    private final class RoutingDataSource extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return connection(DataSource::getConnection);
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return connection(pool -> pool.getConnection(username, password));
+        }
+    }
+}
@@ -15,16 +15,16 @@ public class ReviewEntity {
     private Long reviewId;
 
     // One-to-one relationship with a tutoring session
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "session_id", nullable = false)
     private TutoringSessionEntity session;
 
     // Reviewer (learner) and review target (tutor)
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "tutor_id", nullable = false)
     private UserEntity tutor;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "student_id", nullable = false)
     private UserEntity student;
 
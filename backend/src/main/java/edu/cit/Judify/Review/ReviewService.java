@@ -32,18 +32,22 @@ public class ReviewService {
         return reviewRepository.findById(id);
     }
 
+    @Transactional(readOnly = true)
     public List<ReviewEntity> getTutorReviews(UserEntity tutor) {
         return reviewRepository.findByTutorOrderByCreatedAtDesc(tutor);
     }
 
+    @Transactional(readOnly = true)
     public List<ReviewEntity> getStudentReviews(UserEntity student) {
         return reviewRepository.findByStudentOrderByCreatedAtDesc(student);
     }
 
+    @Transactional(readOnly = true)
     public List<ReviewEntity> getReviewsByRating(Integer rating) {
         return reviewRepository.findByRating(rating);
     }
 
+    @Transactional(readOnly = true)
     public Double getTutorAverageRating(UserEntity tutor) {
         return reviewRepository.findAverageRatingByTutor(tutor);
     }
@@ -76,6 +80,7 @@ public class ReviewService {
     }
 
     // Paginated version of getTutorReviews with sorting
+    @Transactional(readOnly = true)
     public Page<ReviewEntity> getTutorReviewsPaginated(
             UserEntity tutor, String sortBy, String direction, int page, int size) {
         
@@ -88,6 +93,7 @@ public class ReviewService {
     }
     
     // Paginated version of getStudentReviews
+    @Transactional(readOnly = true)
     public Page<ReviewEntity> getStudentReviewsPaginated(
             UserEntity student, int page, int size) {
         
@@ -96,6 +102,7 @@ public class ReviewService {
     }
     
     // Paginated version of getReviewsByRating
+    @Transactional(readOnly = true)
     public Page<ReviewEntity> getReviewsByRatingPaginated(
             Integer rating, int page, int size) {
         
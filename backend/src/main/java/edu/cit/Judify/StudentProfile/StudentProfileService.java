@@ -5,8 +5,12 @@ import edu.cit.Judify.StudentProfile.DTO.LocationDTO;
 import edu.cit.Judify.StudentProfile.DTO.StudentProfileDTO;
 import edu.cit.Judify.User.UserEntity;
 import edu.cit.Judify.User.UserRepository;
+import edu.cit.Judify.config.CacheConfig;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -43,6 +47,7 @@ public class StudentProfileService {
      * @return The profile DTO
      * @throws EntityNotFoundException if profile not found
      */
+    @Cacheable(cacheNames = CacheConfig.STUDENT_PROFILES_BY_USER, key = "#userId")
     public StudentProfileDTO findByUserId(Long userId) {
         StudentProfileEntity entity = studentProfileRepository.findByUserId(userId)
                 .orElseThrow(() -> new EntityNotFoundException("Student profile not found for user ID: " + userId));
@@ -91,6 +96,7 @@ public class StudentProfileService {
      * @throws EntityNotFoundException if profile not found
      */
     @Transactional
+    @CachePut(cacheNames = CacheConfig.STUDENT_PROFILES_BY_USER, key = "#userId")
     public StudentProfileDTO updateProfile(Long userId, CreateStudentProfileRequest request) {
         StudentProfileEntity entity = studentProfileRepository.findByUserId(userId)
                 .orElseThrow(() -> new EntityNotFoundException("Student profile not found for user ID: " + userId));
@@ -106,6 +112,8 @@ public class StudentProfileService {
      * @throws EntityNotFoundException if profile not found
      */
     @Transactional
+    // Keyed by user ID, which isn't known here; deletes are rare enough to clear the region
+    @CacheEvict(cacheNames = CacheConfig.STUDENT_PROFILES_BY_USER, allEntries = true)
     public void deleteProfile(Long id) {
         if (!studentProfileRepository.existsById(id)) {
             throw new EntityNotFoundException("Student profile not found with ID: " + id);
@@ -21,7 +21,7 @@ public class TutorAvailabilityEntity {
     private Long availabilityId;
 
     // Many availability slots can be linked to a tutor (referenced via UserEntity)
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "tutor_id", nullable = false)
     private UserEntity tutor;
 
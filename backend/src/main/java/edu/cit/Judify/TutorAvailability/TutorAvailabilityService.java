@@ -1,6 +1,8 @@
 package edu.cit.Judify.TutorAvailability;
 
 import edu.cit.Judify.User.UserEntity;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,11 +17,21 @@ import java.util.Optional;
 public class TutorAvailabilityService {
 
     private final TutorAvailabilityRepository availabilityRepository;
+    private final Counter slotConflicts;
+    private final Counter bookingConflicts;
     private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
 
     @Autowired
-    public TutorAvailabilityService(TutorAvailabilityRepository availabilityRepository) {
+    public TutorAvailabilityService(TutorAvailabilityRepository availabilityRepository, MeterRegistry meterRegistry) {
         this.availabilityRepository = availabilityRepository;
+        this.slotConflicts = Counter.builder("judify.bookings.conflicts")
+                .description("Requests rejected because they overlap an existing slot or session")
+                .tag("check", "availability-slot")
+                .register(meterRegistry);
+        this.bookingConflicts = Counter.builder("judify.bookings.conflicts")
+                .description("Requests rejected because they overlap an existing slot or session")
+                .tag("check", "time-slot")
+                .register(meterRegistry);
     }
 
     @Transactional
@@ -121,6 +133,7 @@ public class TutorAvailabilityService {
             boolean overlaps = newStart.isBefore(existingEnd) && newEnd.isAfter(existingStart);
 
             if (overlaps) {
+                slotConflicts.increment();
                 throw new IllegalArgumentException(String.format(
                         "The new availability slot from %s to %s conflicts with an existing slot from %s to %s on %s.",
                         newAvailability.getStartTime(), newAvailability.getEndTime(),
@@ -159,6 +172,7 @@ public class TutorAvailabilityService {
 
             // Check if the requested slot [checkStart, checkEnd) overlaps with [existingStart, existingEnd)
             if (checkStart.isBefore(existingEnd) && checkEnd.isAfter(existingStart)) {
+                bookingConflicts.increment();
                 return false; // Found a conflict
             }
         }
@@ -0,0 +1,140 @@
+package edu.cit.Judify.TutorProfile;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from positive long keys to long values, stored in two primitive arrays
+ * so lookups neither box nor allocate. Key 0 marks an empty slot, which is safe for database IDs.
+ * Not thread-safe: {@link TutorIdMapping} only mutates private copies and publishes them once built.
+ */
+final class LongLongHashMap {
+
+    static final long NO_VALUE = -1L;
+
+    private static final long EMPTY = 0L;
+
+    private long[] keys;
+    private long[] values;
+    private int size;
+
+    LongLongHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2 - 1)) << 1;
+        keys = new long[capacity];
+        values = new long[capacity];
+    }
+
+    /**
+     * Returns the value for the key, or {@link #NO_VALUE} if absent.
+     */
+    long get(long key) {
+        if (key == EMPTY) {
+            return NO_VALUE;
+        }
+        long[] keys = this.keys;
+        int mask = keys.length - 1;
+        for (int slot = mix(key) & mask; ; slot = (slot + 1) & mask) {
+            long current = keys[slot];
+            if (current == key) {
+                return values[slot];
+            }
+            if (current == EMPTY) {
+                return NO_VALUE;
+            }
+        }
+    }
+
+    boolean containsKey(long key) {
+        return get(key) != NO_VALUE;
+    }
+
+    void put(long key, long value) {
+        if (key <= EMPTY) {
+            throw new IllegalArgumentException("Keys must be positive: " + key);
+        }
+        if ((size + 1) * 2 > keys.length) {
+            resize(keys.length << 1);
+        }
+        int mask = keys.length - 1;
+        for (int slot = mix(key) & mask; ; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+            if (keys[slot] == EMPTY) {
+                keys[slot] = key;
+                values[slot] = value;
+                size++;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Removes the key, if present. The entries after it in its probe run are shifted back into the gap
+     * (backward-shift deletion), so lookups stay correct without tombstones.
+     *
+     * @return whether the key was present
+     */
+    boolean remove(long key) {
+        if (key <= EMPTY) {
+            return false;
+        }
+        int mask = keys.length - 1;
+        int gap = mix(key) & mask;
+        while (keys[gap] != key) {
+            if (keys[gap] == EMPTY) {
+                return false;
+            }
+            gap = (gap + 1) & mask;
+        }
+        for (int slot = (gap + 1) & mask; keys[slot] != EMPTY; slot = (slot + 1) & mask) {
+            // The entry may fill the gap unless its home slot lies cyclically between the gap and itself
+            int home = mix(keys[slot]) & mask;
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                keys[gap] = keys[slot];
+                values[gap] = values[slot];
+                gap = slot;
+            }
+        }
+        keys[gap] = EMPTY;
+        values[gap] = 0;
+        size--;
+        return true;
+    }
+
+    LongLongHashMap copy() {
+        LongLongHashMap copy = new LongLongHashMap(0);
+        copy.keys = Arrays.copyOf(keys, keys.length);
+        copy.values = Arrays.copyOf(values, values.length);
+        copy.size = size;
+        return copy;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return keys.length;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        keys = new long[capacity];
+        values = new long[capacity];
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    // Home slot of a key is mix(key) & (capacity - 1)
+    static int mix(long key) {
+        // Sequential IDs would cluster under linear probing; spread them first
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
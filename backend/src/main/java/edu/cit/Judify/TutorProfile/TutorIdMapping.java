@@ -0,0 +1,173 @@
+package edu.cit.Judify.TutorProfile;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * In-memory translation between tutor profile IDs and user IDs. The pairing never changes once a
+ * profile exists, so both directions are kept in primitive long maps, loaded at startup and
+ * updated from {@link TutorIdMappingEvent}s after commit.
+ *
+ * Readers see immutable snapshots swapped in through a volatile field, so lookups take no locks.
+ * Other nodes pick up changes in two ways: a miss falls back to the database (and caches a hit),
+ * and the whole mapping is reloaded periodically to drop deleted profiles. IDs the database doesn't
+ * know either are remembered briefly (judify.tutor-id-mapping.miss-spec), so repeated lookups of
+ * student IDs don't query it every time; a profile created on another node can therefore take
+ * that long to resolve here.
+ */
+@Component
+public class TutorIdMapping {
+
+    private static final Logger logger = LoggerFactory.getLogger(TutorIdMapping.class);
+
+    private final TutorProfileRepository tutorProfileRepository;
+
+    private volatile Snapshot snapshot = new Snapshot(new LongLongHashMap(0), new LongLongHashMap(0));
+
+    // IDs recently looked up in the database without a match, per direction
+    private final Cache<Long, Boolean> missingTutorIds;
+    private final Cache<Long, Boolean> missingUserIds;
+
+    @Autowired
+    public TutorIdMapping(TutorProfileRepository tutorProfileRepository,
+                          @Value("${judify.tutor-id-mapping.miss-spec:maximumSize=10000,expireAfterWrite=30s}") String missSpec) {
+        this.tutorProfileRepository = tutorProfileRepository;
+        this.missingTutorIds = Caffeine.from(missSpec).build();
+        this.missingUserIds = Caffeine.from(missSpec).build();
+    }
+
+    private static final class Snapshot {
+        private final LongLongHashMap userIdByTutorId;
+        private final LongLongHashMap tutorIdByUserId;
+
+        private Snapshot(LongLongHashMap userIdByTutorId, LongLongHashMap tutorIdByUserId) {
+            this.userIdByTutorId = userIdByTutorId;
+            this.tutorIdByUserId = tutorIdByUserId;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${judify.tutor-id-mapping.refresh-interval-ms:900000}",
+               initialDelayString = "${judify.tutor-id-mapping.refresh-interval-ms:900000}")
+    public void reload() {
+        List<Object[]> rows = tutorProfileRepository.findAllIdMappings();
+        LongLongHashMap userIdByTutorId = new LongLongHashMap(rows.size());
+        LongLongHashMap tutorIdByUserId = new LongLongHashMap(rows.size());
+        for (Object[] row : rows) {
+            long tutorId = ((Number) row[0]).longValue();
+            long userId = ((Number) row[1]).longValue();
+            userIdByTutorId.put(tutorId, userId);
+            tutorIdByUserId.put(userId, tutorId);
+        }
+        synchronized (this) {
+            snapshot = new Snapshot(userIdByTutorId, tutorIdByUserId);
+        }
+        missingTutorIds.invalidateAll();
+        missingUserIds.invalidateAll();
+        logger.info("Loaded {} tutor id mappings", rows.size());
+    }
+
+    /**
+     * Returns the user ID of the tutor profile, if it exists.
+     */
+    public Optional<Long> findUserId(long tutorId) {
+        long userId = snapshot.userIdByTutorId.get(tutorId);
+        if (userId != LongLongHashMap.NO_VALUE) {
+            return Optional.of(userId);
+        }
+        if (missingTutorIds.getIfPresent(tutorId) != null) {
+            return Optional.empty();
+        }
+        // Possibly created on another node since the last reload
+        Optional<Long> loaded = tutorProfileRepository.findUserIdByTutorId(tutorId);
+        if (loaded.isPresent()) {
+            register(tutorId, loaded.get());
+        } else {
+            missingTutorIds.put(tutorId, Boolean.TRUE);
+        }
+        return loaded;
+    }
+
+    /**
+     * Returns the tutor profile ID of the user, if the user is a tutor.
+     */
+    public Optional<Long> findTutorId(long userId) {
+        long tutorId = snapshot.tutorIdByUserId.get(userId);
+        if (tutorId != LongLongHashMap.NO_VALUE) {
+            return Optional.of(tutorId);
+        }
+        if (missingUserIds.getIfPresent(userId) != null) {
+            return Optional.empty();
+        }
+        Optional<Long> loaded = tutorProfileRepository.findTutorIdByUserId(userId);
+        if (loaded.isPresent()) {
+            register(loaded.get(), userId);
+        } else {
+            missingUserIds.put(userId, Boolean.TRUE);
+        }
+        return loaded;
+    }
+
+    /**
+     * Resolves an ID that may be either a tutor's user ID or a tutor profile ID to the tutor's user ID.
+     * User IDs win when an ID matches both; IDs that match neither resolve to empty.
+     */
+    public Optional<Long> resolveUserId(long id) {
+        if (snapshot.tutorIdByUserId.containsKey(id)) {
+            return Optional.of(id);
+        }
+        Optional<Long> userId = findUserId(id);
+        if (userId.isPresent()) {
+            return userId;
+        }
+        return findTutorId(id).map(tutorId -> id);
+    }
+
+    public int size() {
+        return snapshot.userIdByTutorId.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMappingEvent(TutorIdMappingEvent event) {
+        if (event.getType() == TutorIdMappingEvent.Type.REGISTERED) {
+            missingTutorIds.invalidate(event.getTutorId());
+            missingUserIds.invalidate(event.getUserId());
+            register(event.getTutorId(), event.getUserId());
+        } else {
+            remove(event.getTutorId(), event.getUserId());
+        }
+    }
+
+    private synchronized void register(long tutorId, long userId) {
+        Snapshot current = snapshot;
+        if (current.userIdByTutorId.get(tutorId) == userId) {
+            return;
+        }
+        LongLongHashMap userIdByTutorId = current.userIdByTutorId.copy();
+        LongLongHashMap tutorIdByUserId = current.tutorIdByUserId.copy();
+        userIdByTutorId.put(tutorId, userId);
+        tutorIdByUserId.put(userId, tutorId);
+        snapshot = new Snapshot(userIdByTutorId, tutorIdByUserId);
+    }
+
+    private synchronized void remove(long tutorId, long userId) {
+        Snapshot current = snapshot;
+        LongLongHashMap userIdByTutorId = current.userIdByTutorId.copy();
+        LongLongHashMap tutorIdByUserId = current.tutorIdByUserId.copy();
+        userIdByTutorId.remove(tutorId);
+        tutorIdByUserId.remove(userId);
+        snapshot = new Snapshot(userIdByTutorId, tutorIdByUserId);
+    }
+}
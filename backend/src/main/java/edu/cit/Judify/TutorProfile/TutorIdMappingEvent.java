@@ -0,0 +1,35 @@
+package edu.cit.Judify.TutorProfile;
+
+/**
+ * Published when a tutor profile is created or deleted.
+ * Applied to {@link TutorIdMapping} after the surrounding transaction commits.
+ */
+public class TutorIdMappingEvent {
+
+    public enum Type {
+        REGISTERED,
+        REMOVED
+    }
+
+    private final Type type;
+    private final long tutorId;
+    private final long userId;
+
+    public TutorIdMappingEvent(Type type, long tutorId, long userId) {
+        this.type = type;
+        this.tutorId = tutorId;
+        this.userId = userId;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public long getTutorId() {
+        return tutorId;
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+}
@@ -1,7 +1,8 @@
 package edu.cit.Judify.TutorProfile;
 
 import java.util.List;
-import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -39,11 +40,14 @@ public class TutorProfileController {
 
     private final TutorProfileService tutorProfileService;
     private final TutorSubjectService tutorSubjectService;
+    private final TutorIdMapping tutorIdMapping;
 
     @Autowired
-    public TutorProfileController(TutorProfileService tutorProfileService, TutorSubjectService tutorSubjectService) {
+    public TutorProfileController(TutorProfileService tutorProfileService, TutorSubjectService tutorSubjectService,
+                                  TutorIdMapping tutorIdMapping) {
         this.tutorProfileService = tutorProfileService;
         this.tutorSubjectService = tutorSubjectService;
+        this.tutorIdMapping = tutorIdMapping;
     }
 
     /**
@@ -132,16 +136,9 @@ public class TutorProfileController {
     @GetMapping("/getTutorId/{userId}")
     public ResponseEntity<Long> getTutorIdByUserId(
             @Parameter(description = "User ID") @PathVariable Long userId) {
-        try {
-            Optional<TutorProfileEntity> tutorProfileOpt = tutorProfileService.findByUserId(userId);
-            if (tutorProfileOpt.isPresent()) {
-                return ResponseEntity.ok(tutorProfileOpt.get().getId());
-            } else {
-                return ResponseEntity.notFound().build();
-            }
-        } catch (Exception e) {
-            return ResponseEntity.notFound().build();
-        }
+        return tutorIdMapping.findTutorId(userId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @Operation(summary = "Get tutor profile by user ID", description = "Returns a tutor profile associated with the given user ID")
@@ -336,17 +333,20 @@ public class TutorProfileController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Tutor successfully registered",
                 content = @Content(mediaType = "application/json", schema = @Schema(implementation = TutorProfileDTO.class))),
-        @ApiResponse(responseCode = "400", description = "Invalid input data")
+        @ApiResponse(responseCode = "400", description = "Invalid input data"),
+        @ApiResponse(responseCode = "503", description = "Too many registrations in progress")
     })
     @PostMapping("/register")
-    public ResponseEntity<TutorProfileDTO> registerTutor(
+    public CompletableFuture<ResponseEntity<TutorProfileDTO>> registerTutor(
             @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Tutor registration data", required = true)
             @RequestBody TutorRegistrationDTO registrationDTO) {
+        // Completes once the password-hashing pool is done; the request thread is released while the hash runs
         try {
-            TutorProfileDTO createdProfile = tutorProfileService.registerTutor(registrationDTO);
-            return new ResponseEntity<>(createdProfile, HttpStatus.CREATED);
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().build();
+            return tutorProfileService.registerTutor(registrationDTO)
+                    .thenApply(createdProfile -> new ResponseEntity<>(createdProfile, HttpStatus.CREATED))
+                    .exceptionally(e -> ResponseEntity.badRequest().build());
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
         }
     }
 }
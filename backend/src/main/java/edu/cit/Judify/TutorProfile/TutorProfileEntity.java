@@ -8,6 +8,8 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+// Profile cards show the tutor's name; subjects are batch-fetched rather than joined so pagination stays in SQL
+@NamedEntityGraph(name = "TutorProfile.user", attributeNodes = @NamedAttributeNode("user"))
 @Table(name = "tutor_profiles")
 public class TutorProfileEntity {
 
@@ -16,7 +18,7 @@ public class TutorProfileEntity {
     private Long id;
 
     // One-to-one relationship with UserEntity
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private UserEntity user;
 
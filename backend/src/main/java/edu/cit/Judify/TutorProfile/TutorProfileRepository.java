@@ -5,6 +5,8 @@ import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -16,17 +18,42 @@ import edu.cit.Judify.User.UserEntity;
 @Repository
 public interface TutorProfileRepository extends JpaRepository<TutorProfileEntity, Long>, 
                                               JpaSpecificationExecutor<TutorProfileEntity> {
+    // Listing endpoints render the tutor's name, so they fetch the user with the profile
+    @Override
+    @EntityGraph("TutorProfile.user")
+    List<TutorProfileEntity> findAll();
+
+    @Override
+    @EntityGraph("TutorProfile.user")
+    Page<TutorProfileEntity> findAll(Pageable pageable);
+
+    @Override
+    @EntityGraph("TutorProfile.user")
+    Page<TutorProfileEntity> findAll(Specification<TutorProfileEntity> spec, Pageable pageable);
+
     TutorProfileEntity findByUser(UserEntity user);
     List<TutorProfileEntity> findByExpertiseLike(String expertise);
     List<TutorProfileEntity> findByHourlyRateBetween(Double minRate, Double maxRate);
     List<TutorProfileEntity> findByRatingGreaterThanEqual(Double rating);
     Optional<TutorProfileEntity> findByUserUserId(Long userId);
+
+    // ID-only projections for TutorIdMapping; none of these load the profile or user entities
+    @Query("SELECT tp.id, tp.user.userId FROM TutorProfileEntity tp")
+    List<Object[]> findAllIdMappings();
+
+    @Query("SELECT tp.user.userId FROM TutorProfileEntity tp WHERE tp.id = :tutorId")
+    Optional<Long> findUserIdByTutorId(@Param("tutorId") Long tutorId);
+
+    @Query("SELECT tp.id FROM TutorProfileEntity tp WHERE tp.user.userId = :userId")
+    Optional<Long> findTutorIdByUserId(@Param("userId") Long userId);
     
     // Custom JPQL query to find profiles by subject name from the TutorSubjects
+    @EntityGraph("TutorProfile.user")
     @Query("SELECT DISTINCT tp FROM TutorProfileEntity tp JOIN tp.subjectEntities ts WHERE LOWER(ts.subject) LIKE LOWER(CONCAT('%', :subject, '%'))")
     List<TutorProfileEntity> findBySubjectName(@Param("subject") String subject);
     
     // Custom JPQL query for paginated search by subject name
+    @EntityGraph("TutorProfile.user")
     @Query("SELECT DISTINCT tp FROM TutorProfileEntity tp JOIN tp.subjectEntities ts WHERE LOWER(ts.subject) LIKE LOWER(CONCAT('%', :subject, '%'))")
     Page<TutorProfileEntity> findBySubjectName(@Param("subject") String subject, Pageable pageable);
 } 
\ No newline at end of file
@@ -3,23 +3,35 @@ package edu.cit.Judify.TutorProfile;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import edu.cit.Judify.TutorProfile.DTO.TutorProfileDTO;
 import edu.cit.Judify.TutorProfile.DTO.TutorProfileDTOMapper;
 import edu.cit.Judify.TutorProfile.DTO.TutorRegistrationDTO;
 import edu.cit.Judify.TutorSubject.TutorSubjectService;
+import edu.cit.Judify.User.PasswordService;
 import edu.cit.Judify.User.UserEntity;
 import edu.cit.Judify.User.UserRepository;
 import edu.cit.Judify.User.UserRole;
+import edu.cit.Judify.config.CacheConfig;
 import jakarta.persistence.EntityNotFoundException;
 
 @Service
@@ -29,30 +41,48 @@ public class TutorProfileService {
     private final UserRepository userRepository;
     private final TutorProfileDTOMapper dtoMapper;
     private final TutorSubjectService tutorSubjectService;
+    private final PasswordService passwordService;
+    private final TutorIdMapping tutorIdMapping;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+    private final TransactionTemplate transactionTemplate;
 
     @Autowired
     public TutorProfileService(TutorProfileRepository tutorProfileRepository, 
                              UserRepository userRepository,
                              TutorProfileDTOMapper dtoMapper,
-                             TutorSubjectService tutorSubjectService) {
+                             TutorSubjectService tutorSubjectService,
+                             PasswordService passwordService,
+                             TutorIdMapping tutorIdMapping,
+                             ApplicationEventPublisher eventPublisher,
+                             CacheManager cacheManager,
+                             PlatformTransactionManager transactionManager) {
         this.tutorProfileRepository = tutorProfileRepository;
         this.userRepository = userRepository;
         this.dtoMapper = dtoMapper;
         this.tutorSubjectService = tutorSubjectService;
+        this.passwordService = passwordService;
+        this.tutorIdMapping = tutorIdMapping;
+        this.eventPublisher = eventPublisher;
+        this.cacheManager = cacheManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
+    @Transactional(readOnly = true)
     public List<TutorProfileDTO> getAllTutorProfiles() {
         return tutorProfileRepository.findAll().stream()
                 .map(dtoMapper::toDTO)
                 .collect(Collectors.toList());
     }
 
+    @Cacheable(cacheNames = CacheConfig.TUTOR_PROFILES, key = "#id")
     public TutorProfileDTO getTutorProfileById(Long id) {
         TutorProfileEntity profile = tutorProfileRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("TutorProfile not found with id: " + id));
         return dtoMapper.toDTO(profile);
     }
 
+    @Cacheable(cacheNames = CacheConfig.TUTOR_PROFILES_BY_USER, key = "#userId")
     public TutorProfileDTO getTutorProfileByUserId(Long userId) {
         TutorProfileEntity profile = tutorProfileRepository.findByUserUserId(userId)
                 .orElseThrow(() -> new EntityNotFoundException("TutorProfile not found for user id: " + userId));
@@ -66,9 +96,8 @@ public class TutorProfileService {
      * @throws EntityNotFoundException if tutor profile not found
      */
     public Long getUserIdFromTutorId(Long tutorId) {
-        TutorProfileEntity profile = tutorProfileRepository.findById(tutorId)
+        return tutorIdMapping.findUserId(tutorId)
                 .orElseThrow(() -> new EntityNotFoundException("TutorProfile not found with id: " + tutorId));
-        return profile.getUser().getUserId();
     }
     
     /**
@@ -78,9 +107,8 @@ public class TutorProfileService {
      * @throws EntityNotFoundException if tutor profile not found for this user
      */
     public Long getTutorIdFromUserId(Long userId) {
-        TutorProfileEntity profile = tutorProfileRepository.findByUserUserId(userId)
+        return tutorIdMapping.findTutorId(userId)
                 .orElseThrow(() -> new EntityNotFoundException("TutorProfile not found for user id: " + userId));
-        return profile.getId();
     }
 
     @Transactional
@@ -106,10 +134,16 @@ public class TutorProfileService {
             savedEntity = tutorProfileRepository.save(savedEntity);
         }
 
+        eventPublisher.publishEvent(new TutorIdMappingEvent(
+                TutorIdMappingEvent.Type.REGISTERED, savedEntity.getId(), user.getUserId()));
         return dtoMapper.toDTO(savedEntity);
     }
 
     @Transactional
+    @Caching(put = {
+        @CachePut(cacheNames = CacheConfig.TUTOR_PROFILES, key = "#id"),
+        @CachePut(cacheNames = CacheConfig.TUTOR_PROFILES_BY_USER, key = "#result.userId", condition = "#result.userId != null")
+    })
     public TutorProfileDTO updateTutorProfile(Long id, TutorProfileDTO dto) {
         TutorProfileEntity existingProfile = tutorProfileRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("TutorProfile not found with id: " + id));
@@ -131,14 +165,37 @@ public class TutorProfileService {
     }
 
     @Transactional
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.TUTOR_PROFILES, key = "#id"),
+        // Keyed by user ID, which isn't known here; deletes are rare enough to clear the region
+        @CacheEvict(cacheNames = CacheConfig.TUTOR_PROFILES_BY_USER, allEntries = true)
+    })
     public void deleteTutorProfile(Long id) {
-        if (!tutorProfileRepository.existsById(id)) {
-            throw new EntityNotFoundException("TutorProfile not found with id: " + id);
-        }
+        Long userId = tutorProfileRepository.findUserIdByTutorId(id)
+                .orElseThrow(() -> new EntityNotFoundException("TutorProfile not found with id: " + id));
         // The cascade delete will handle removing the related subjects
         tutorProfileRepository.deleteById(id);
+        eventPublisher.publishEvent(new TutorIdMappingEvent(TutorIdMappingEvent.Type.REMOVED, id, userId));
+    }
+
+    /**
+     * Drops the cached profile of a tutor whose user account was updated or is being deleted, since the
+     * profile DTO carries the username and names. Does nothing for users without a tutor profile.
+     */
+    public void evictUserDetails(Long userId) {
+        tutorProfileRepository.findTutorIdByUserId(userId)
+                .ifPresent(tutorId -> evict(CacheConfig.TUTOR_PROFILES, tutorId));
+        evict(CacheConfig.TUTOR_PROFILES_BY_USER, userId);
     }
 
+    private void evict(String region, Long key) {
+        Cache cache = cacheManager.getCache(region);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+
+    @Transactional(readOnly = true)
     public List<TutorProfileDTO> searchTutorProfiles(String subject) {
         return tutorProfileRepository.findBySubjectName(subject).stream()
                 .map(dtoMapper::toDTO)
@@ -146,6 +203,10 @@ public class TutorProfileService {
     }
 
     @Transactional
+    @Caching(put = {
+        @CachePut(cacheNames = CacheConfig.TUTOR_PROFILES, key = "#id"),
+        @CachePut(cacheNames = CacheConfig.TUTOR_PROFILES_BY_USER, key = "#result.userId", condition = "#result.userId != null")
+    })
     public TutorProfileDTO updateTutorRating(Long id, Double newRating) {
         TutorProfileEntity profile = tutorProfileRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("TutorProfile not found with id: " + id));
@@ -168,6 +229,10 @@ public class TutorProfileService {
      * @throws EntityNotFoundException if tutor profile not found
      */
     @Transactional
+    @Caching(put = {
+        @CachePut(cacheNames = CacheConfig.TUTOR_PROFILES, key = "#id"),
+        @CachePut(cacheNames = CacheConfig.TUTOR_PROFILES_BY_USER, key = "#result.userId", condition = "#result.userId != null")
+    })
     public TutorProfileDTO updateTutorLocation(Long id, Double latitude, Double longitude) {
         TutorProfileEntity profile = tutorProfileRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("TutorProfile not found with id: " + id));
@@ -179,6 +244,7 @@ public class TutorProfileService {
         return dtoMapper.toDTO(updatedEntity);
     }
 
+    @Transactional(readOnly = true)
     public Page<TutorProfileDTO> getAllTutorProfilesPaginated(int page, int size, 
                                                            String expertise, 
                                                            Double minRate, 
@@ -227,6 +293,7 @@ public class TutorProfileService {
      * @param limit Maximum number of tutor profiles to return (default is 10)
      * @return List of random tutor profiles
      */
+    @Transactional(readOnly = true)
     public List<TutorProfileDTO> getRandomTutorProfiles(int limit) {
         // Limit the number of tutors to avoid performance issues
         if (limit <= 0 || limit > 10) {
@@ -252,18 +319,24 @@ public class TutorProfileService {
     }
 
     /**
-     * Register a new user as a tutor
+     * Register a new user as a tutor. The password is hashed on the password-hashing executor; the
+     * user and profile are saved in one transaction on the application executor once the hash is ready.
      * 
      * @param registrationDTO DTO containing user and tutor profile information
      * @return The created tutor profile DTO
+     * @throws java.util.concurrent.RejectedExecutionException if the hashing executor is saturated
      */
-    @Transactional
-    public TutorProfileDTO registerTutor(TutorRegistrationDTO registrationDTO) {
+    public CompletableFuture<TutorProfileDTO> registerTutor(TutorRegistrationDTO registrationDTO) {
+        return passwordService.hash(registrationDTO.getPassword())
+                .thenApply(hash -> transactionTemplate.execute(status -> saveTutor(registrationDTO, hash)));
+    }
+
+    private TutorProfileDTO saveTutor(TutorRegistrationDTO registrationDTO, String passwordHash) {
         // Create a new user entity
         UserEntity user = new UserEntity();
         user.setUsername(registrationDTO.getUsername());
         user.setEmail(registrationDTO.getEmail());
-        user.setPassword(registrationDTO.getPassword());
+        user.setPassword(passwordHash);
         user.setFirstName(registrationDTO.getFirstName());
         user.setLastName(registrationDTO.getLastName());
         user.setContactDetails(registrationDTO.getContactDetails());
@@ -290,6 +363,8 @@ public class TutorProfileService {
             savedProfile = tutorProfileRepository.save(savedProfile);
         }
 
+        eventPublisher.publishEvent(new TutorIdMappingEvent(
+                TutorIdMappingEvent.Type.REGISTERED, savedProfile.getId(), savedUser.getUserId()));
         return dtoMapper.toDTO(savedProfile);
     }
 
@@ -4,8 +4,10 @@ import edu.cit.Judify.TutorProfile.TutorProfileEntity;
 import edu.cit.Judify.TutorProfile.TutorProfileRepository;
 import edu.cit.Judify.TutorSubject.DTO.TutorSubjectDTO;
 import edu.cit.Judify.TutorSubject.DTO.TutorSubjectDTOMapper;
+import edu.cit.Judify.config.CacheConfig;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -43,6 +45,7 @@ public class TutorSubjectService {
     }
 
     @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.TUTOR_PROFILES, CacheConfig.TUTOR_PROFILES_BY_USER}, allEntries = true)
     public TutorSubjectDTO addSubject(TutorSubjectDTO subjectDTO) {
         TutorProfileEntity tutorProfile = tutorProfileRepository.findById(subjectDTO.getTutorProfileId())
                 .orElseThrow(() -> new EntityNotFoundException("TutorProfile not found with id: " + subjectDTO.getTutorProfileId()));
@@ -55,6 +58,7 @@ public class TutorSubjectService {
     }
 
     @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.TUTOR_PROFILES, CacheConfig.TUTOR_PROFILES_BY_USER}, allEntries = true)
     public TutorSubjectDTO updateSubject(Long id, TutorSubjectDTO subjectDTO) {
         TutorSubjectEntity existingSubject = tutorSubjectRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Subject not found with id: " + id));
@@ -67,6 +71,7 @@ public class TutorSubjectService {
     }
 
     @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.TUTOR_PROFILES, CacheConfig.TUTOR_PROFILES_BY_USER}, allEntries = true)
     public void deleteSubject(Long id) {
         if (!tutorSubjectRepository.existsById(id)) {
             throw new EntityNotFoundException("Subject not found with id: " + id);
@@ -75,6 +80,7 @@ public class TutorSubjectService {
     }
 
     @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.TUTOR_PROFILES, CacheConfig.TUTOR_PROFILES_BY_USER}, allEntries = true)
     public List<TutorSubjectDTO> addSubjectsForTutor(Long tutorProfileId, List<String> subjects) {
         TutorProfileEntity tutorProfile = tutorProfileRepository.findById(tutorProfileId)
                 .orElseThrow(() -> new EntityNotFoundException("TutorProfile not found with id: " + tutorProfileId));
@@ -91,6 +97,7 @@ public class TutorSubjectService {
     }
 
     @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.TUTOR_PROFILES, CacheConfig.TUTOR_PROFILES_BY_USER}, allEntries = true)
     public void deleteAllSubjectsForTutor(Long tutorProfileId) {
         // Check if profile exists
         if (!tutorProfileRepository.existsById(tutorProfileId)) {
@@ -37,7 +37,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
-import edu.cit.Judify.TutorProfile.TutorProfileEntity;
+import edu.cit.Judify.TutorProfile.TutorIdMapping;
 
 @RestController
 @RequestMapping("/api/tutoring-sessions")
@@ -54,6 +54,9 @@ public class TutoringSessionController {
     @Autowired
     private TutorProfileService tutorProfileService;
 
+    @Autowired
+    private TutorIdMapping tutorIdMapping;
+
     @Autowired
     public TutoringSessionController(TutoringSessionService sessionService, 
                                     TutoringSessionDTOMapper sessionDTOMapper,
@@ -73,25 +76,7 @@ public class TutoringSessionController {
      * @return The userId (either the original ID if it's a valid userId, or converted from tutorProfileId)
      */
     private Long ensureUserId(Long id) {
-        try {
-            // First check if this ID exists as a userId
-            boolean userExists = userRepository.existsById(id);
-            if (userExists) {
-                System.out.println("ID " + id + " is already a valid userId");
-                return id;  // It's already a userId
-            }
-            
-            // If not, try to convert from tutorProfileId
-            System.out.println("ID " + id + " is not a userId, trying to convert from tutorProfileId...");
-            Long userId = tutorProfileService.getUserIdFromTutorId(id);
-            System.out.println("Successfully converted tutorProfileId " + id + " to userId " + userId);
-            return userId;
-        } catch (Exception e) {
-            System.out.println("ERROR converting ID: " + e.getMessage());
-            e.printStackTrace();
-            // Return original as fallback
-            return id;
-        }
+        return tutorIdMapping.resolveUserId(id).orElse(id);
     }
 
     @Operation(summary = "Create a new tutoring session", description = "Creates a new tutoring session between a tutor and a student")
@@ -119,13 +104,13 @@ public class TutoringSessionController {
                 String username = userDetails.getUsername();
                 System.out.println("Authenticated username: " + username);
 
-                // Get the user by username and set as student ID
-                UserEntity student = sessionService.findUserByUsername(username);
-                System.out.println("Found student: " + (student != null ? student.getUserId() : "null"));
+                // Resolve the authenticated user and set as student ID
+                Long studentId = sessionService.resolveUserId(userDetails);
+                System.out.println("Found student: " + studentId);
 
-                if (student != null) {
-                    sessionDTO.setStudentId(student.getUserId());
-                    System.out.println("Set student ID in DTO: " + student.getUserId());
+                if (studentId != null) {
+                    sessionDTO.setStudentId(studentId);
+                    System.out.println("Set student ID in DTO: " + studentId);
                 } else {
                     System.out.println("Student not found for username: " + username);
                 }
@@ -151,30 +136,20 @@ public class TutoringSessionController {
             // EARLY CONVERSION: Pre-process tutorId to ensure it's a valid userId BEFORE entity conversion
             // This ensures the conversation will be created with the proper userId
             Long initialTutorId = sessionDTO.getUserId();
-            Long processedTutorId = null;
-            
-            try {
-                // First check if this ID exists as a userId already
-                boolean isUserIdValid = userRepository.existsById(initialTutorId);
-                if (isUserIdValid) {
-                    System.out.println("tutorId " + initialTutorId + " is already a valid userId, using directly");
-                    processedTutorId = initialTutorId;
-                } else {
-                    // Only if it's not a valid userId, try to convert it from tutorProfileId
-                    System.out.println("tutorId " + initialTutorId + " is not a userId, trying to convert from tutorProfileId...");
-                    processedTutorId = tutorProfileService.getUserIdFromTutorId(initialTutorId);
-                    System.out.println("Successfully mapped tutorProfileId " + initialTutorId + 
-                                  " to userId " + processedTutorId + " BEFORE any operations");
-                }
-                
-                // Always update the DTO to use the processed ID for all subsequent operations
-                sessionDTO.setUserId(processedTutorId);
-            } catch (Exception e) {
-                // If this fails, it could mean either the ID is invalid
-                System.out.println("Failed to pre-process tutorId: " + e.getMessage());
+
+            Optional<Long> processedTutorId = tutorIdMapping.resolveUserId(initialTutorId);
+            if (processedTutorId.isEmpty() && userRepository.existsById(initialTutorId)) {
+                // Not a tutor, but still a valid user; let session validation decide
+                processedTutorId = Optional.of(initialTutorId);
+            }
+            if (processedTutorId.isEmpty()) {
+                System.out.println("Failed to pre-process tutorId: no user or tutor profile with id " + initialTutorId);
                 return ResponseEntity.badRequest().body(null);
             }
 
+            // Always update the DTO to use the processed ID for all subsequent operations
+            sessionDTO.setUserId(processedTutorId.get());
+
             // Set initial status to PENDING for negotiation
             if (sessionDTO.getStatus() == null) {
                 sessionDTO.setStatus("PENDING");
@@ -629,10 +604,9 @@ public class TutoringSessionController {
 
             // Verify the user is the tutor for this session
             if (userDetails != null) {
-                String username = userDetails.getUsername();
-                UserEntity user = sessionService.findUserByUsername(username);
+                Long userId = sessionService.resolveUserId(userDetails);
 
-                if (user == null || !user.getUserId().equals(session.getTutor().getUserId())) {
+                if (userId == null || !userId.equals(session.getTutor().getUserId())) {
                     return ResponseEntity.status(org.springframework.http.HttpStatus.FORBIDDEN)
                         .body(null);
                 }
@@ -694,10 +668,9 @@ public class TutoringSessionController {
 
             // Verify the user is the tutor for this session
             if (userDetails != null) {
-                String username = userDetails.getUsername();
-                UserEntity user = sessionService.findUserByUsername(username);
+                Long userId = sessionService.resolveUserId(userDetails);
 
-                if (user == null || !user.getUserId().equals(session.getTutor().getUserId())) {
+                if (userId == null || !userId.equals(session.getTutor().getUserId())) {
                     return ResponseEntity.status(org.springframework.http.HttpStatus.FORBIDDEN)
                         .body(null);
                 }
@@ -756,18 +729,17 @@ public class TutoringSessionController {
 
             // Verify the user is either the tutor or student for this session
             if (userDetails != null) {
-                String username = userDetails.getUsername();
-                UserEntity user = sessionService.findUserByUsername(username);
+                Long userId = sessionService.resolveUserId(userDetails);
 
-                if (user == null || 
-                    (!user.getUserId().equals(session.getTutor().getUserId()) && 
-                     !user.getUserId().equals(session.getStudent().getUserId()))) {
+                if (userId == null ||
+                    (!userId.equals(session.getTutor().getUserId()) &&
+                     !userId.equals(session.getStudent().getUserId()))) {
                     return ResponseEntity.status(org.springframework.http.HttpStatus.FORBIDDEN)
                         .body(null);
                 }
 
                 // Determine if the user is the tutor or student
-                boolean isUserTutor = user.getUserId().equals(session.getTutor().getUserId());
+                boolean isUserTutor = userId.equals(session.getTutor().getUserId());
 
                 // Update negotiable fields
                 if (sessionDTO.getPrice() != null) {
@@ -825,29 +797,12 @@ public class TutoringSessionController {
                 return ResponseEntity.badRequest().body("tutorId (as userId) is required");
             }
             
-            // First check if this ID is already a valid user ID
-            boolean isUserIdValid = userRepository.existsById(tutorId);
-            if (isUserIdValid) {
-                System.out.println("tutorId " + tutorId + " is a valid userId, using directly");
-                // No need to convert, just proceed
-            } else {
-                // Only if it's not a valid userId, try to convert from tutorProfileId
-                System.out.println("tutorId " + tutorId + " is not a userId, trying to convert from profile ID");
-                
-                // Get the tutor profile to find the associated userId
-                Optional<TutorProfileEntity> tutorProfileOpt = tutorProfileService.findByUserId(tutorId);
-                if (tutorProfileOpt.isEmpty()) {
-                    return ResponseEntity.badRequest().body("Tutor profile not found with ID: " + tutorId);
-                }
-                
-                // Extract the tutor user ID
-                TutorProfileEntity tutorProfile = tutorProfileOpt.get();
-                Long tutorUserId = tutorProfile.getUser().getUserId();
-                
-                // Set the userId field for backend processing
-                sessionDTO.setUserId(tutorUserId);
-                System.out.println("Converted tutorProfileId " + tutorId + " to userId " + tutorUserId);
+            // Accept either the tutor's userId or their tutorProfileId
+            Optional<Long> tutorUserId = tutorIdMapping.resolveUserId(tutorId);
+            if (tutorUserId.isEmpty()) {
+                return ResponseEntity.badRequest().body("Tutor profile not found with ID: " + tutorId);
             }
+            sessionDTO.setUserId(tutorUserId.get());
             
             // Proceed with the regular session creation logic
             return createSessionInternal(sessionDTO, userDetails);
@@ -6,11 +6,15 @@ import edu.cit.Judify.Conversation.ConversationEntity;
 import edu.cit.Judify.User.UserEntity;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
@@ -19,6 +23,13 @@ import jakarta.persistence.Temporal;
 import jakarta.persistence.TemporalType;
 
 @Entity
+// Session lists render both participants' names; everything else is loaded on demand.
+// UserEntity.tutorProfile is the inverse side of a one-to-one and can't be proxied, so it is
+// joined here instead of costing one select per participant.
+@NamedEntityGraph(name = "TutoringSession.participants", attributeNodes = {
+        @NamedAttributeNode(value = "tutor", subgraph = "participant"),
+        @NamedAttributeNode(value = "student", subgraph = "participant")
+}, subgraphs = @NamedSubgraph(name = "participant", attributeNodes = @NamedAttributeNode("tutorProfile")))
 @Table(name = "tutoring_sessions")
 public class TutoringSessionEntity {
 
@@ -27,11 +38,11 @@ public class TutoringSessionEntity {
     private Long sessionId;
 
     // Many sessions can be linked to a tutor and a learner (both are UserEntity)
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "tutor_id", nullable = false)
     private UserEntity tutor;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "student_id", nullable = false)
     private UserEntity student;
 
@@ -74,7 +85,7 @@ public class TutoringSessionEntity {
     @Column(nullable = true)
     private Boolean studentAccepted;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "conversation_id", nullable = true)
     private ConversationEntity conversation;
 
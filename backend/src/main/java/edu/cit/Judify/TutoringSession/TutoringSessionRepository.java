@@ -5,6 +5,7 @@ import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -14,23 +15,38 @@ import edu.cit.Judify.User.UserEntity;
 
 @Repository
 public interface TutoringSessionRepository extends JpaRepository<TutoringSessionEntity, Long> {
+    // List finders fetch both participants in the same query since every session DTO shows their names
+    @EntityGraph("TutoringSession.participants")
     List<TutoringSessionEntity> findByTutorOrderByStartTimeDesc(UserEntity tutor);
+    @EntityGraph("TutoringSession.participants")
     List<TutoringSessionEntity> findByStudentOrderByStartTimeDesc(UserEntity student);
+    @EntityGraph("TutoringSession.participants")
     List<TutoringSessionEntity> findByStatus(String status);
+    @EntityGraph("TutoringSession.participants")
     List<TutoringSessionEntity> findByStartTimeBetween(Date start, Date end);
+    @EntityGraph("TutoringSession.participants")
     List<TutoringSessionEntity> findByTutorAndStatus(UserEntity tutor, String status);
+    @EntityGraph("TutoringSession.participants")
     List<TutoringSessionEntity> findByStudentAndStatus(UserEntity student, String status);
 
     // Find session by conversation ID
     TutoringSessionEntity findByConversationConversationId(Long conversationId);
 
+    @EntityGraph("TutoringSession.participants")
     Page<TutoringSessionEntity> findByTutor(UserEntity tutor, Pageable pageable);
+    @EntityGraph("TutoringSession.participants")
     Page<TutoringSessionEntity> findByStudent(UserEntity student, Pageable pageable);
+    @EntityGraph("TutoringSession.participants")
     Page<TutoringSessionEntity> findByStatus(String status, Pageable pageable);
+    @EntityGraph("TutoringSession.participants")
     Page<TutoringSessionEntity> findByStartTimeBetween(Date start, Date end, Pageable pageable);
+    @EntityGraph("TutoringSession.participants")
     Page<TutoringSessionEntity> findByTutorAndStartTimeBetween(UserEntity tutor, Date start, Date end, Pageable pageable);
+    @EntityGraph("TutoringSession.participants")
     Page<TutoringSessionEntity> findByStudentAndStartTimeBetween(UserEntity student, Date start, Date end, Pageable pageable);
+    @EntityGraph("TutoringSession.participants")
     Page<TutoringSessionEntity> findByTutorAndStatus(UserEntity tutor, String status, Pageable pageable);
+    @EntityGraph("TutoringSession.participants")
     Page<TutoringSessionEntity> findByStudentAndStatus(UserEntity student, String status, Pageable pageable);
 
     /**
@@ -47,5 +63,6 @@ public interface TutoringSessionRepository extends JpaRepository<TutoringSession
             @Param("status") String status);
 
     // Retrieve sessions where user is either a tutor or student
+    @EntityGraph("TutoringSession.participants")
     List<TutoringSessionEntity> findByTutorOrStudentOrderByStartTimeDesc(UserEntity tutor, UserEntity student);
 } 
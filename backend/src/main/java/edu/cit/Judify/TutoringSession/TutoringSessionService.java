@@ -1,9 +1,12 @@
 package edu.cit.Judify.TutoringSession;
 
+import java.io.IOException;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,6 +14,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,6 +23,7 @@ import edu.cit.Judify.Notification.NotificationEntity;
 import edu.cit.Judify.Notification.NotificationService;
 import edu.cit.Judify.User.UserEntity;
 import edu.cit.Judify.User.UserRepository;
+import edu.cit.Judify.config.JwtPrincipal;
 
 @Service
 public class TutoringSessionService {
@@ -29,17 +34,23 @@ public class TutoringSessionService {
     private final EmailService emailService;
     private final NotificationService notificationService;
     private final UserRepository userRepository;
+    private final Counter overlapConflicts;
 
     @Autowired
     public TutoringSessionService(
             TutoringSessionRepository sessionRepository,
             EmailService emailService,
             NotificationService notificationService,
-            UserRepository userRepository) {
+            UserRepository userRepository,
+            MeterRegistry meterRegistry) {
         this.sessionRepository = sessionRepository;
         this.emailService = emailService;
         this.notificationService = notificationService;
         this.userRepository = userRepository;
+        this.overlapConflicts = Counter.builder("judify.bookings.conflicts")
+                .description("Requests rejected because they overlap an existing slot or session")
+                .tag("check", "session-overlap")
+                .register(meterRegistry);
     }
 
     @Transactional
@@ -52,16 +63,13 @@ public class TutoringSessionService {
 
         logger.info("Session created successfully with ID: {}", savedSession.getSessionId());
 
-        // Email functionality disabled - uncomment if needed
-        /*
         try {
-            // Send confirmation emails with calendar attachments
-            emailService.sendSessionConfirmationEmail(savedSession);
-        } catch (MessagingException | IOException e) {
+            // Queue confirmation emails with calendar attachments; delivery happens in the background
+            emailService.queueSessionConfirmationEmail(savedSession);
+        } catch (IOException e) {
             // Log the error but don't prevent the session from being created
-            logger.error("Failed to send session confirmation email", e);
+            logger.error("Failed to queue session confirmation email", e);
         }
-        */
 
         return savedSession;
     }
@@ -88,9 +96,11 @@ public class TutoringSessionService {
                 " has been confirmed for " + session.getStartTime());
         studentNotification.setIsRead(false);
 
-        // Save notifications
-        notificationService.createNotification(tutorNotification);
-        notificationService.createNotification(studentNotification);
+        tutorNotification.setSessionId(session.getSessionId());
+        studentNotification.setSessionId(session.getSessionId());
+
+        // Save both notifications in one call so repeated events can be coalesced
+        notificationService.createNotifications(List.of(tutorNotification, studentNotification));
     }
 
     public Optional<TutoringSessionEntity> getSessionById(Long id) {
@@ -101,10 +111,12 @@ public class TutoringSessionService {
         return sessionRepository.findById(id);
     }
 
+    @Transactional(readOnly = true)
     public List<TutoringSessionEntity> getTutorSessions(UserEntity tutor) {
         return sessionRepository.findByTutorOrderByStartTimeDesc(tutor);
     }
 
+    @Transactional(readOnly = true)
     public List<TutoringSessionEntity> getStudentSessions(UserEntity student) {
         return sessionRepository.findByStudentOrderByStartTimeDesc(student);
     }
@@ -114,6 +126,7 @@ public class TutoringSessionService {
      * @param user The user entity
      * @return A list of all sessions where the user is either a tutor or student
      */
+    @Transactional(readOnly = true)
     public List<TutoringSessionEntity> getAllUserSessions(UserEntity user) {
         return sessionRepository.findByTutorOrStudentOrderByStartTimeDesc(user, user);
     }
@@ -185,9 +198,11 @@ public class TutoringSessionService {
                 " " + statusMessage);
         studentNotification.setIsRead(false);
 
-        // Save notifications
-        notificationService.createNotification(tutorNotification);
-        notificationService.createNotification(studentNotification);
+        tutorNotification.setSessionId(session.getSessionId());
+        studentNotification.setSessionId(session.getSessionId());
+
+        // Save both notifications in one call so repeated events can be coalesced
+        notificationService.createNotifications(List.of(tutorNotification, studentNotification));
     }
 
     /**
@@ -222,6 +237,7 @@ public class TutoringSessionService {
     }
 
     // Paginated version of getTutorSessions with date range filter
+    @Transactional(readOnly = true)
     public Page<TutoringSessionEntity> getTutorSessionsPaginated(
             UserEntity tutor, Date startDate, Date endDate, int page, int size) {
 
@@ -237,6 +253,7 @@ public class TutoringSessionService {
     }
 
     // Paginated version of getStudentSessions with date range filter
+    @Transactional(readOnly = true)
     public Page<TutoringSessionEntity> getStudentSessionsPaginated(
             UserEntity student, Date startDate, Date endDate, int page, int size) {
 
@@ -268,6 +285,18 @@ public class TutoringSessionService {
         return userRepository.findByUsername(username).orElse(null);
     }
 
+    /**
+     * Resolves the ID of an authenticated user. Token-authenticated principals already carry it,
+     * so only other authentication types fall back to a lookup by username.
+     */
+    public Long resolveUserId(UserDetails userDetails) {
+        if (userDetails instanceof JwtPrincipal principal) {
+            return principal.getUserId();
+        }
+        UserEntity user = findUserByUsername(userDetails.getUsername());
+        return user != null ? user.getUserId() : null;
+    }
+
     /**
      * Find sessions that overlap with the given time range for a specific user and have the specified status.
      * 
@@ -292,7 +321,11 @@ public class TutoringSessionService {
     public boolean hasOverlappingApprovedSessions(Long userId, Date startTime, Date endTime) {
         List<TutoringSessionEntity> overlappingSessions = findOverlappingSessionsByUserAndStatus(
             userId, startTime, endTime, "APPROVED");
-        return !overlappingSessions.isEmpty();
+        if (overlappingSessions.isEmpty()) {
+            return false;
+        }
+        overlapConflicts.increment();
+        return true;
     }
 
     /**
@@ -10,7 +10,8 @@ public class UserDTO {
     private String firstName;
     private String lastName;
     private UserRole role;
-    private String profilePicture;
+    private String profilePicture;          // URL of the full-size image in the media store
+    private String profilePictureThumbnail; // URL of the thumbnail variant
     private String contactDetails;
     private Date createdAt;
     private Date updatedAt;
@@ -76,6 +77,14 @@ public class UserDTO {
         this.profilePicture = profilePicture;
     }
 
+    public String getProfilePictureThumbnail() {
+        return profilePictureThumbnail;
+    }
+
+    public void setProfilePictureThumbnail(String profilePictureThumbnail) {
+        this.profilePictureThumbnail = profilePictureThumbnail;
+    }
+
     public String getContactDetails() {
         return contactDetails;
     }
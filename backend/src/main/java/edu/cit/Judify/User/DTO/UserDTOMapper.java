@@ -1,11 +1,20 @@
 package edu.cit.Judify.User.DTO;
 
+import edu.cit.Judify.Media.MediaService;
 import edu.cit.Judify.User.UserEntity;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 @Component
 public class UserDTOMapper {
 
+    private final MediaService mediaService;
+
+    @Autowired
+    public UserDTOMapper(MediaService mediaService) {
+        this.mediaService = mediaService;
+    }
+
     public UserDTO toDTO(UserEntity entity) {
         if (entity == null) {
             return null;
@@ -18,7 +27,8 @@ public class UserDTOMapper {
         dto.setFirstName(entity.getFirstName());
         dto.setLastName(entity.getLastName());
         dto.setRole(entity.getRole());
-        dto.setProfilePicture(entity.getProfilePicture());
+        dto.setProfilePicture(mediaService.urlFor(entity.getProfilePictureHash()));
+        dto.setProfilePictureThumbnail(mediaService.thumbnailUrlFor(entity.getProfilePictureHash()));
         dto.setContactDetails(entity.getContactDetails());
         dto.setCreatedAt(entity.getCreatedAt());
         dto.setUpdatedAt(entity.getUpdatedAt());
@@ -37,7 +47,7 @@ public class UserDTOMapper {
         entity.setFirstName(dto.getFirstName());
         entity.setLastName(dto.getLastName());
         entity.setRole(dto.getRole());
-        entity.setProfilePicture(dto.getProfilePicture());
+        entity.setProfilePictureHash(mediaService.hashFromUrl(dto.getProfilePicture()));
         entity.setContactDetails(dto.getContactDetails());
         // Note: Password and other sensitive fields should be handled separately
         entity.setCreatedAt(dto.getCreatedAt());
@@ -0,0 +1,80 @@
+package edu.cit.Judify.User;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Measures password hashing cost on the machine the application runs on, to help pick
+ * judify.password.bcrypt.strength and judify.password.pbkdf2.iterations. For each cost it reports the
+ * median time of one hash and recommends the highest cost that stays under the target latency.
+ * Enable with judify.password.benchmark-on-startup=true and read the results from the log.
+ */
+@Component
+@ConditionalOnProperty(name = "judify.password.benchmark-on-startup", havingValue = "true")
+public class PasswordHashBenchmarkRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashBenchmarkRunner.class);
+
+    private static final String SAMPLE_PASSWORD = "correct horse battery staple";
+
+    @Value("${judify.password.benchmark.target-ms:250}")
+    private long targetMs;
+
+    @Value("${judify.password.benchmark.samples:5}")
+    private int samples;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        logger.info("Password hash benchmark: target {} ms per hash, median of {} samples, {} CPUs",
+                targetMs, samples, Runtime.getRuntime().availableProcessors());
+
+        Integer recommendedStrength = null;
+        for (int strength = 10; strength <= 14; strength++) {
+            long medianMs = medianMillis(new BCryptPasswordEncoder(strength));
+            logger.info("  bcrypt strength {}: {} ms", strength, medianMs);
+            if (medianMs <= targetMs) {
+                recommendedStrength = strength;
+            } else {
+                break;  // every further step doubles the cost
+            }
+        }
+
+        Integer recommendedIterations = null;
+        for (int iterations = 100_000; iterations <= 1_600_000; iterations *= 2) {
+            long medianMs = medianMillis(new Pbkdf2PasswordEncoder("", 16, iterations,
+                    Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256));
+            logger.info("  pbkdf2 {} iterations: {} ms", iterations, medianMs);
+            if (medianMs <= targetMs) {
+                recommendedIterations = iterations;
+            } else {
+                break;
+            }
+        }
+
+        logger.info("Recommended: judify.password.bcrypt.strength={}, judify.password.pbkdf2.iterations={}",
+                recommendedStrength != null ? recommendedStrength : "10 (all tested costs exceed the target)",
+                recommendedIterations != null ? recommendedIterations : "100000 (all tested costs exceed the target)");
+    }
+
+    private long medianMillis(PasswordEncoder encoder) {
+        encoder.encode(SAMPLE_PASSWORD);  // warm-up
+        long[] timings = new long[samples];
+        for (int i = 0; i < samples; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            timings[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(timings);
+        return timings[samples / 2] / 1_000_000;
+    }
+}
@@ -0,0 +1,122 @@
+package edu.cit.Judify.User;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Hashes and verifies user passwords on a dedicated, bounded thread pool. Hashing is deliberately
+ * slow, so a login burst runs here instead of tying up request threads, and once the queue is full
+ * further attempts are rejected instead of piling up.
+ * Verification also reports whether the stored hash is outdated (legacy, different algorithm or
+ * lower cost) and, if so, supplies a fresh hash so the caller can store it.
+ * The returned futures complete on Boot's application task executor, so the stages callers chain on
+ * (saving the user, signing a token) never hold a hashing thread.
+ */
+@Service
+public class PasswordService {
+
+    // Verified against when the account doesn't exist, so unknown emails take as long as wrong passwords
+    private final String dummyHash;
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Executor completionExecutor;
+
+    @Autowired
+    public PasswordService(PasswordEncoder passwordEncoder,
+                           @Value("${judify.password.executor.threads:0}") int threads,
+                           @Value("${judify.password.executor.queue-capacity:200}") int queueCapacity,
+                           @Qualifier("applicationTaskExecutor") Executor completionExecutor) {
+        this.passwordEncoder = passwordEncoder;
+        this.completionExecutor = completionExecutor;
+        this.dummyHash = passwordEncoder.encode("judify-dummy-password");
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Result of a password check; {@code upgradedHash} is set when the stored hash should be replaced.
+     */
+    public static class Verification {
+        private final boolean matches;
+        private final String upgradedHash;
+
+        Verification(boolean matches, String upgradedHash) {
+            this.matches = matches;
+            this.upgradedHash = upgradedHash;
+        }
+
+        public boolean matches() {
+            return matches;
+        }
+
+        public String getUpgradedHash() {
+            return upgradedHash;
+        }
+    }
+
+    /**
+     * Hashes a new password on the hashing executor. Blank passwords (OAuth2 accounts) are stored as-is
+     * and can never be used to log in.
+     *
+     * @throws java.util.concurrent.RejectedExecutionException if the hashing executor is saturated
+     */
+    public CompletableFuture<String> hash(String rawPassword) {
+        if (rawPassword == null || rawPassword.isEmpty()) {
+            return CompletableFuture.completedFuture(rawPassword);
+        }
+        return onHashingPool(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Verifies a password against a stored hash on the hashing executor.
+     * Pass a null stored hash for unknown accounts; the check still costs the same and never matches.
+     *
+     * @throws java.util.concurrent.RejectedExecutionException if the hashing executor is saturated
+     */
+    public CompletableFuture<Verification> verify(String rawPassword, String storedHash) {
+        return onHashingPool(() -> {
+            if (rawPassword == null || rawPassword.isEmpty() || storedHash == null || storedHash.isEmpty()) {
+                passwordEncoder.matches("judify-dummy-password", dummyHash);
+                return new Verification(false, null);
+            }
+            if (!passwordEncoder.matches(rawPassword, storedHash)) {
+                return new Verification(false, null);
+            }
+            String upgradedHash = passwordEncoder.upgradeEncoding(storedHash) ? passwordEncoder.encode(rawPassword) : null;
+            return new Verification(true, upgradedHash);
+        });
+    }
+
+    private <T> CompletableFuture<T> onHashingPool(Supplier<T> task) {
+        // Hands the result over to the application executor, which runs whatever the caller chains on
+        return CompletableFuture.supplyAsync(task, executor).thenApplyAsync(Function.identity(), completionExecutor);
+    }
+}
@@ -1,5 +1,6 @@
 package edu.cit.Judify.User;
 
+import edu.cit.Judify.Media.MediaService;
 import edu.cit.Judify.User.DTO.AuthenticatedUserDTO;
 import edu.cit.Judify.User.DTO.UserDTO;
 import edu.cit.Judify.User.DTO.UserDTOMapper;
@@ -10,6 +11,8 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
@@ -27,6 +30,9 @@ import java.util.Map;
 import java.util.Arrays;
 import java.util.stream.Collectors;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/users")
@@ -34,13 +40,17 @@ import java.util.Optional;
 @Tag(name = "User", description = "User management endpoints")
 public class UserController {
 
+    private static final Logger logger = LoggerFactory.getLogger(UserController.class);
+
     private final UserService userService;
     private final UserDTOMapper userDTOMapper;
+    private final MediaService mediaService;
 
     @Autowired
-    public UserController(UserService userService, UserDTOMapper userDTOMapper) {
+    public UserController(UserService userService, UserDTOMapper userDTOMapper, MediaService mediaService) {
         this.userService = userService;
         this.userDTOMapper = userDTOMapper;
+        this.mediaService = mediaService;
     }
 
     @Operation(summary = "Create a new user", description = "Creates a new user account")
@@ -50,7 +60,7 @@ public class UserController {
         @ApiResponse(responseCode = "400", description = "Invalid input data")
     })
     @PostMapping("/addUser")
-    public ResponseEntity<UserDTO> createUser(
+    public CompletableFuture<ResponseEntity<UserDTO>> createUser(
             @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "User data to create", required = true)
             @RequestBody UserEntity user) {
         // Add debug logging to inspect the incoming request
@@ -63,12 +73,13 @@ public class UserController {
         System.out.println("Password null check: " + (user.getPassword() == null ? "Password is NULL" : "Password is present"));
         System.out.println("Password empty check: " + (user.getPassword() != null && user.getPassword().trim().isEmpty() ? "Password is EMPTY" : "Password has content"));
 
+        // Completes on the application executor once the password is hashed, like authentication
         try {
-            UserEntity createdUser = userService.createUser(user);
-            return ResponseEntity.ok(userDTOMapper.toDTO(createdUser));
+            return userService.createUser(user).thenApply(createdUser -> ResponseEntity.ok(userDTOMapper.toDTO(createdUser)));
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(503).build());
         } catch (Exception e) {
-            System.err.println("Error creating user: " + e.getMessage());
-            e.printStackTrace();
+            logger.error("Error creating user", e);
             throw e;
         }
     }
@@ -185,17 +196,23 @@ public class UserController {
         @ApiResponse(responseCode = "401", description = "Authentication failed - invalid credentials")
     })
     @PostMapping("/authenticate")
-    public ResponseEntity<AuthenticatedUserDTO> authenticateUser(
+    public CompletableFuture<ResponseEntity<AuthenticatedUserDTO>> authenticateUser(
             @Parameter(description = "User email", required = true) @RequestParam String email,
             @Parameter(description = "User password", required = true) @RequestParam String password) {
-        return ResponseEntity.ok(userService.authenticateUser(email, password));
+        // Completes once the password-hashing pool is done; the request thread is released while the hash runs
+        try {
+            return userService.authenticateUser(email, password).thenApply(ResponseEntity::ok);
+        } catch (RejectedExecutionException e) {
+            // Too many logins already queued for hashing
+            return CompletableFuture.completedFuture(ResponseEntity.status(503).build());
+        }
     }
 
     /**
      * Test endpoint for manual user creation with proper error handling
      */
     @PostMapping("/manual-user-create")
-    public ResponseEntity<?> manualCreateUser(@RequestBody UserEntity userRequest) {
+    public CompletableFuture<ResponseEntity<?>> manualCreateUser(@RequestBody UserEntity userRequest) {
         try {
             // Log the incoming request
             System.out.println("Manual user creation request received:");
@@ -207,16 +224,18 @@ public class UserController {
             // Validate the user data
             boolean isValid = userRequest.validate();
             if (!isValid) {
-                return ResponseEntity.badRequest().body("User validation failed - see server logs for details");
+                return CompletableFuture.completedFuture(
+                        ResponseEntity.badRequest().body("User validation failed - see server logs for details"));
             }
 
             // Create the user
-            UserEntity createdUser = userService.createUser(userRequest);
-            return ResponseEntity.ok(userDTOMapper.toDTO(createdUser));
+            return userService.createUser(userRequest)
+                    .<ResponseEntity<?>>thenApply(createdUser -> ResponseEntity.ok(userDTOMapper.toDTO(createdUser)))
+                    .exceptionally(e -> serverError("Error in manual user creation", e));
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(503).build());
         } catch (Exception e) {
-            System.err.println("Error in manual user creation: " + e.getMessage());
-            e.printStackTrace();
-            return ResponseEntity.status(500).body("Server error: " + e.getMessage());
+            return CompletableFuture.completedFuture(serverError("Error in manual user creation", e));
         }
     }
 
@@ -225,7 +244,7 @@ public class UserController {
      * and converts it to the UserRole enum
      */
     @PostMapping("/register")
-    public ResponseEntity<?> registerUser(@RequestBody Map<String, Object> requestBody) {
+    public CompletableFuture<ResponseEntity<?>> registerUser(@RequestBody Map<String, Object> requestBody) {
         try {
             System.out.println("Registration request received: " + requestBody);
 
@@ -240,8 +259,8 @@ public class UserController {
             // Validate required fields
             if (username == null || email == null || password == null ||
                 firstName == null || lastName == null || roleStr == null) {
-                return ResponseEntity.badRequest()
-                    .body("Missing required fields. All fields (username, email, password, firstName, lastName, role) are required.");
+                return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body("Missing required fields. All fields (username, email, password, firstName, lastName, role) are required."));
             }
 
             // Create the user entity
@@ -257,13 +276,19 @@ public class UserController {
                 UserRole role = UserRole.valueOf(roleStr);
                 user.setRole(role);
             } catch (IllegalArgumentException e) {
-                return ResponseEntity.badRequest()
-                    .body("Invalid role value. Must be one of: " + Arrays.toString(UserRole.values()));
+                return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body("Invalid role value. Must be one of: " + Arrays.toString(UserRole.values())));
             }
 
             // Set optional fields if present
+            // A data URL picture is stored in the media store; only its hash goes on the user row
             if (requestBody.containsKey("profilePicture")) {
-                user.setProfilePicture((String) requestBody.get("profilePicture"));
+                try {
+                    user.setProfilePictureHash(mediaService.storeDataUrl((String) requestBody.get("profilePicture")));
+                } catch (IllegalArgumentException e) {
+                    return CompletableFuture.completedFuture(
+                            ResponseEntity.badRequest().body("Invalid profile picture: " + e.getMessage()));
+                }
             }
 
             if (requestBody.containsKey("contactDetails")) {
@@ -275,16 +300,24 @@ public class UserController {
             user.setCreatedAt(now);
             user.setUpdatedAt(now);
 
-            // Create the user
-            UserEntity createdUser = userService.createUser(user);
-            return ResponseEntity.ok(userDTOMapper.toDTO(createdUser));
+            // Create the user; completes on the application executor once the password is hashed, like authentication
+            return userService.createUser(user)
+                    .<ResponseEntity<?>>thenApply(createdUser -> ResponseEntity.ok(userDTOMapper.toDTO(createdUser)))
+                    .exceptionally(e -> serverError("Error in user registration", e));
+        } catch (RejectedExecutionException e) {
+            // Too many passwords already queued for hashing
+            return CompletableFuture.completedFuture(ResponseEntity.status(503).build());
         } catch (Exception e) {
-            System.err.println("Error in user registration: " + e.getMessage());
-            e.printStackTrace();
-            return ResponseEntity.status(500).body("Server error: " + e.getMessage());
+            return CompletableFuture.completedFuture(serverError("Error in user registration", e));
         }
     }
 
+    private static ResponseEntity<?> serverError(String context, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        logger.error(context, cause);
+        return ResponseEntity.status(500).body("Server error: " + cause.getMessage());
+    }
+
     /**
      * Upload profile picture for a user
      */
@@ -302,22 +335,28 @@ public class UserController {
             return userService.getUserById(userId)
                     .map(user -> {
                         try {
-                            // Convert the file to Base64 string
-                            String base64Image = "data:" + file.getContentType() + ";base64," +
-                                                java.util.Base64.getEncoder().encodeToString(file.getBytes());
+                            // Stream the upload into the media store (with a thumbnail); the user row keeps only the hash
+                            String hash;
+                            try (java.io.InputStream in = file.getInputStream()) {
+                                hash = mediaService.storeImage(in);
+                            }
 
                             // Update user's profile picture
-                            user.setProfilePicture(base64Image);
+                            user.setProfilePictureHash(hash);
                             user.setUpdatedAt(new Date());
-                            UserEntity updatedUser = userService.updateUser(userId, user);
+                            userService.updateUser(userId, user);
 
                             // Create response with both profilePicture and profileImage fields for frontend compatibility
+                            String imageUrl = mediaService.urlFor(hash);
                             Map<String, Object> response = new HashMap<>();
-                            response.put("profilePicture", base64Image);
-                            response.put("profileImage", base64Image);
+                            response.put("profilePicture", imageUrl);
+                            response.put("profileImage", imageUrl);
+                            response.put("profilePictureThumbnail", mediaService.thumbnailUrlFor(hash));
                             response.put("message", "Profile picture updated successfully");
 
                             return ResponseEntity.ok(response);
+                        } catch (IllegalArgumentException e) {
+                            return ResponseEntity.badRequest().body("Invalid profile picture: " + e.getMessage());
                         } catch (Exception e) {
                             System.err.println("Error processing profile picture: " + e.getMessage());
                             e.printStackTrace();
@@ -32,8 +32,9 @@ public class UserEntity {
     @Column(name = "roles", nullable = false)
     private UserRole role;
 
-    @Column(columnDefinition = "TEXT")
-    private String profilePicture;
+    // SHA-256 of the profile picture in the media blob store; the image itself is served from /media/{hash}
+    @Column(name = "profile_picture_hash", length = 64)
+    private String profilePictureHash;
     private String contactDetails;
 
     @Temporal(TemporalType.TIMESTAMP)
@@ -109,12 +110,12 @@ public class UserEntity {
         this.role = role;
     }
 
-    public String getProfilePicture() {
-        return profilePicture;
+    public String getProfilePictureHash() {
+        return profilePictureHash;
     }
 
-    public void setProfilePicture(String profilePicture) {
-        this.profilePicture = profilePicture;
+    public void setProfilePictureHash(String profilePictureHash) {
+        this.profilePictureHash = profilePictureHash;
     }
 
     public String getContactDetails() {
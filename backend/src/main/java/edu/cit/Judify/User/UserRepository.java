@@ -1,7 +1,12 @@
 package edu.cit.Judify.User;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
 import java.util.Optional;
 import java.util.List;
 
@@ -10,6 +15,11 @@ public interface UserRepository extends JpaRepository<UserEntity, Long> {
     Optional<UserEntity> findByEmail(String email);
     boolean existsByEmail(String email);
     List<UserEntity> findByRole(UserRole role);
-    Optional<UserEntity> findByEmailAndPassword(String email, String password);
     Optional<UserEntity> findByUsername(String username);
+
+    // Replaces a password hash after a successful login, without loading or touching the rest of the row
+    @Modifying
+    @Transactional
+    @Query("UPDATE UserEntity u SET u.password = :passwordHash WHERE u.userId = :userId")
+    int updatePasswordHash(@Param("userId") Long userId, @Param("passwordHash") String passwordHash);
 }
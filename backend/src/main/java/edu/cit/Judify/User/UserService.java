@@ -1,10 +1,16 @@
 package edu.cit.Judify.User;
 
+import edu.cit.Judify.Media.MediaService;
+import edu.cit.Judify.TutorProfile.TutorProfileService;
 import edu.cit.Judify.User.DTO.AuthenticatedUserDTO;
 import edu.cit.Judify.User.DTO.UserDTO;
 import edu.cit.Judify.User.DTO.UserDTOMapper;
 import io.jsonwebtoken.Jwts;
+import edu.cit.Judify.config.JwtTokenCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -13,27 +19,48 @@ import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.Arrays;
 
 @Service
 public class UserService {
 
+    private static final Logger logger = LoggerFactory.getLogger(UserService.class);
+
     private final UserRepository userRepository;
     private final UserDTOMapper userDTOMapper;
     private final Key jwtSecretKey;
+    private final MediaService mediaService;
+    private final JwtTokenCache jwtTokenCache;
+    private final PasswordService passwordService;
+    private final TutorProfileService tutorProfileService;
+
+    @Value("${jwt.expiration-ms:86400000}")
+    private long jwtExpirationMs;
 
     @Autowired
-    public UserService(UserRepository userRepository, UserDTOMapper userDTOMapper, Key jwtSecretKey) {
+    public UserService(UserRepository userRepository, UserDTOMapper userDTOMapper, Key jwtSecretKey,
+                       MediaService mediaService, JwtTokenCache jwtTokenCache, PasswordService passwordService,
+                       TutorProfileService tutorProfileService) {
         this.userRepository = userRepository;
         this.userDTOMapper = userDTOMapper;
         this.jwtSecretKey = jwtSecretKey;
+        this.mediaService = mediaService;
+        this.jwtTokenCache = jwtTokenCache;
+        this.passwordService = passwordService;
+        this.tutorProfileService = tutorProfileService;
     }
 
-    @Transactional
-    public UserEntity createUser(UserEntity user) {
-        // Add logging to debug the user entity being received
-        System.out.println("Creating user with data: " + user.getEmail() + ", " + user.getUsername() + ", role: " + user.getRole());
-        System.out.println("Password field present: " + (user.getPassword() != null ? "Yes" : "No"));
+    /**
+     * Validates and saves a new user. The password is hashed on the password-hashing executor and the
+     * user saved once the hash is ready, on the application executor, so neither request threads nor
+     * hashing threads wait on the database.
+     *
+     * @throws java.util.concurrent.RejectedExecutionException if the hashing executor is saturated
+     */
+    public CompletableFuture<UserEntity> createUser(UserEntity user) {
+        logger.debug("Creating user {} ({}), role {}, password present: {}",
+                user.getUsername(), user.getEmail(), user.getRole(), user.getPassword() != null);
 
         // Use the validation method to check all required fields
         if (!user.validate()) {
@@ -49,16 +76,17 @@ public class UserService {
             user.setUpdatedAt(new Date());
         }
 
-        try {
-            // Save the user and log the result
-            UserEntity savedUser = userRepository.save(user);
-            System.out.println("User created successfully with ID: " + savedUser.getUserId());
-            return savedUser;
-        } catch (Exception e) {
-            System.err.println("Error saving user to database: " + e.getMessage());
-            e.printStackTrace();
-            throw e;
-        }
+        return passwordService.hash(user.getPassword()).thenApply(hash -> {
+            user.setPassword(hash);
+            try {
+                UserEntity savedUser = userRepository.save(user);
+                logger.info("Created user {}", savedUser.getUserId());
+                return savedUser;
+            } catch (RuntimeException e) {
+                logger.error("Error saving user {} to the database", user.getEmail(), e);
+                throw e;
+            }
+        });
     }
 
     public Optional<UserEntity> getUserById(Long id) {
@@ -86,16 +114,25 @@ public class UserService {
         user.setEmail(userDetails.getEmail());
         user.setFirstName(userDetails.getFirstName());
         user.setLastName(userDetails.getLastName());
-        user.setProfilePicture(userDetails.getProfilePicture());
+        // Pictures are replaced through the upload endpoint; a payload without one keeps the current picture
+        if (userDetails.getProfilePictureHash() != null) {
+            user.setProfilePictureHash(userDetails.getProfilePictureHash());
+        }
         user.setContactDetails(userDetails.getContactDetails());
         user.setUpdatedAt(new Date());
 
-        return userRepository.save(user);
+        UserEntity savedUser = userRepository.save(user);
+        // Cached tutor profiles carry the username and names
+        tutorProfileService.evictUserDetails(id);
+        return savedUser;
     }
 
     @Transactional
     public void deleteUser(Long id) {
+        // Looked up before the cascade removes the tutor profile
+        tutorProfileService.evictUserDetails(id);
         userRepository.deleteById(id);
+        jwtTokenCache.evictUser(id);
     }
 
     @Transactional
@@ -109,43 +146,55 @@ public class UserService {
         return userRepository.save(user);
     }
 
-    public AuthenticatedUserDTO authenticateUser(String email, String password) {
-        AuthenticatedUserDTO authDTO = new AuthenticatedUserDTO();
-        authDTO.setAuthenticated(false); // Default to not authenticated
-
+    /**
+     * Checks the credentials on the password-hashing executor, so request threads never run the hash;
+     * the hash upgrade and token signing then run on the application executor.
+     * Outdated hashes (legacy plaintext, another algorithm or a lower cost) are replaced on success.
+     */
+    public CompletableFuture<AuthenticatedUserDTO> authenticateUser(String email, String password) {
         // First, find the user by email
         Optional<UserEntity> userOpt = userRepository.findByEmail(email);
 
-        if (userOpt.isPresent()) {
-            UserEntity user = userOpt.get();
-
-            // Simple password check (since we've removed hashing)
-            if (password != null && password.equals(user.getPassword())) {
-                // Authentication successful
-                authDTO.setAuthenticated(true);
-                authDTO.setUserId(user.getUserId());
-                authDTO.setUsername(user.getUsername());
-                authDTO.setEmail(user.getEmail());
-                authDTO.setFirstName(user.getFirstName());
-                authDTO.setLastName(user.getLastName());
-                authDTO.setRole(user.getRole());
-                authDTO.setProfilePicture(user.getProfilePicture());
-
-                // Generate JWT token if needed
-                String token = generateJwtToken(user);
-                authDTO.setToken(token);
-            }
-        }
+        return passwordService.verify(password, userOpt.map(UserEntity::getPassword).orElse(null))
+                .thenApply(verification -> {
+                    AuthenticatedUserDTO authDTO = new AuthenticatedUserDTO();
+                    authDTO.setAuthenticated(false); // Default to not authenticated
+
+                    if (userOpt.isEmpty() || !verification.matches()) {
+                        return authDTO;
+                    }
+
+                    UserEntity user = userOpt.get();
+                    if (verification.getUpgradedHash() != null) {
+                        userRepository.updatePasswordHash(user.getUserId(), verification.getUpgradedHash());
+                    }
 
-        return authDTO;
+                    // Authentication successful
+                    authDTO.setAuthenticated(true);
+                    authDTO.setUserId(user.getUserId());
+                    authDTO.setUsername(user.getUsername());
+                    authDTO.setEmail(user.getEmail());
+                    authDTO.setFirstName(user.getFirstName());
+                    authDTO.setLastName(user.getLastName());
+                    authDTO.setRole(user.getRole());
+                    authDTO.setProfilePicture(mediaService.urlFor(user.getProfilePictureHash()));
+
+                    // Generate JWT token if needed
+                    String token = generateJwtToken(user);
+                    authDTO.setToken(token);
+                    return authDTO;
+                });
     }
 
     public String generateJwtToken(UserEntity user) {
+        Date now = new Date();
         return Jwts.builder()
                 .setSubject(user.getEmail())
                 .claim("userId", user.getUserId())
+                .claim("username", user.getUsername())
                 .claim("role", user.getRole().name())
-                .setIssuedAt(new Date())
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + jwtExpirationMs))
                 .signWith(jwtSecretKey)
                 .compact();
     }
@@ -0,0 +1,74 @@
+package edu.cit.Judify.WebSocket;
+
+/**
+ * Ephemeral chat event: typing state or a read watermark. Relayed to the other participant on
+ * /user/queue/events and never stored as a message.
+ */
+public class ChatEvent {
+
+    private EventType type;
+    private Long conversationId;
+    private Long senderId;
+    private Long receiverId;
+    // For READ: the sender has read every message up to and including this one
+    private Long upToMessageId;
+    private long timestamp;
+
+    public enum EventType {
+        TYPING,
+        STOPPED_TYPING,
+        READ
+    }
+
+    public ChatEvent() {
+        this.timestamp = System.currentTimeMillis();
+    }
+
+    public EventType getType() {
+        return type;
+    }
+
+    public void setType(EventType type) {
+        this.type = type;
+    }
+
+    public Long getConversationId() {
+        return conversationId;
+    }
+
+    public void setConversationId(Long conversationId) {
+        this.conversationId = conversationId;
+    }
+
+    public Long getSenderId() {
+        return senderId;
+    }
+
+    public void setSenderId(Long senderId) {
+        this.senderId = senderId;
+    }
+
+    public Long getReceiverId() {
+        return receiverId;
+    }
+
+    public void setReceiverId(Long receiverId) {
+        this.receiverId = receiverId;
+    }
+
+    public Long getUpToMessageId() {
+        return upToMessageId;
+    }
+
+    public void setUpToMessageId(Long upToMessageId) {
+        this.upToMessageId = upToMessageId;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+}
@@ -0,0 +1,101 @@
+package edu.cit.Judify.WebSocket;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pushes {@link ChatEvent}s to the other participant of a conversation. Clients send TYPING on
+ * every keystroke; only the first in each interval is forwarded, and STOPPED_TYPING only when a
+ * TYPING was. Nothing here touches the database.
+ */
+@Component
+public class ChatEventRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChatEventRelay.class);
+
+    static final String EVENTS_QUEUE = "/queue/events";
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    // Map of "senderId/conversationId" -> when a TYPING event was last forwarded (epoch millis)
+    private final Map<String, Long> typingForwardedAt = new ConcurrentHashMap<>();
+    private final LongAdder relayed = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    @Value("${judify.chat.typing.min-interval-ms:2000}")
+    private long typingIntervalMs;
+
+    @Autowired
+    public ChatEventRelay(SimpMessagingTemplate messagingTemplate) {
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    /**
+     * Forwards the event to its receiver unless it repeats a TYPING already forwarded within the interval.
+     * The caller checks that the receiver has the conversation open.
+     *
+     * @param conversationKey the conversation as addressed in the STOMP destination
+     * @return whether the event was sent
+     */
+    public boolean relay(String conversationKey, ChatEvent event) {
+        if (event.getType() == null || event.getSenderId() == null || event.getReceiverId() == null) {
+            return false;
+        }
+
+        String typingKey = event.getSenderId() + "/" + conversationKey;
+        long now = System.currentTimeMillis();
+        switch (event.getType()) {
+            case TYPING -> {
+                Long last = typingForwardedAt.get(typingKey);
+                if (last != null && now - last < typingIntervalMs) {
+                    coalesced.increment();
+                    return false;
+                }
+                typingForwardedAt.put(typingKey, now);
+            }
+            case STOPPED_TYPING -> {
+                if (typingForwardedAt.remove(typingKey) == null) {
+                    coalesced.increment();
+                    return false;
+                }
+            }
+            default -> {
+            }
+        }
+
+        messagingTemplate.convertAndSendToUser(event.getReceiverId().toString(), EVENTS_QUEUE, event);
+        relayed.increment();
+        return true;
+    }
+
+    /**
+     * Forgets typing state of clients that stopped without sending STOPPED_TYPING.
+     */
+    @Scheduled(fixedDelayString = "${judify.chat.typing.sweep-interval-ms:60000}")
+    public void sweepTypingState() {
+        long cutoff = System.currentTimeMillis() - Math.max(typingIntervalMs, 30_000L);
+        int before = typingForwardedAt.size();
+        typingForwardedAt.values().removeIf(forwardedAt -> forwardedAt < cutoff);
+        int removed = before - typingForwardedAt.size();
+        if (removed > 0) {
+            logger.debug("Swept typing state of {} idle senders, {} active", removed, typingForwardedAt.size());
+        }
+    }
+
+    public long getRelayedCount() {
+        return relayed.sum();
+    }
+
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+}
@@ -0,0 +1,187 @@
+package edu.cit.Judify.WebSocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.ContentTypeResolver;
+import org.springframework.messaging.converter.DefaultContentTypeResolver;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.NativeMessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Negotiates a binary {@link PayloadFormat} per STOMP session and re-encodes the JSON payloads the
+ * broker pushes to sessions that asked for one.
+ * <ul>
+ *   <li>As a handshake interceptor on the native endpoint it marks the session as able to receive
+ *       binary frames; SockJS sessions never are, so they stay on JSON whatever they ask for.</li>
+ *   <li>On the inbound channel it reads the {@code payload-format} header of CONNECT and forgets the
+ *       session again on DISCONNECT.</li>
+ *   <li>On the outbound channel's executor it transcodes MESSAGE payloads for those sessions. The
+ *       content type becomes application/octet-stream, the only type Spring sends as a binary frame,
+ *       and the {@code payload-format} header tells the client how to decode it.</li>
+ * </ul>
+ * Frames the client sends are decoded by the converters from {@link #getMessageConverters()}
+ * when their content type is the format's MIME type.
+ */
+@Component
+public class CompactPayloadInterceptor implements ExecutorChannelInterceptor, HandshakeInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(CompactPayloadInterceptor.class);
+
+    static final String NATIVE_TRANSPORT_ATTRIBUTE = "judify.nativeTransport";
+
+    private final ContentTypeResolver contentTypeResolver = new DefaultContentTypeResolver();
+    private final ObjectMapper jsonMapper;
+    private final Map<PayloadFormat, ObjectMapper> mappers = new EnumMap<>(PayloadFormat.class);
+    private final Map<String, PayloadFormat> sessionFormats = new ConcurrentHashMap<>();
+    private final LongAdder jsonBytes = new LongAdder();
+    private final LongAdder encodedBytes = new LongAdder();
+
+    @Value("${judify.websocket.compact-payloads.enabled:true}")
+    private boolean enabled;
+
+    // The binary mappers are built from Boot's builder, so they share the JSON mapper's
+    // modules and date settings and decode to the same objects
+    @Autowired
+    public CompactPayloadInterceptor(ObjectMapper jsonMapper, Jackson2ObjectMapperBuilder mapperBuilder) {
+        this.jsonMapper = jsonMapper;
+        for (PayloadFormat format : PayloadFormat.values()) {
+            mappers.put(format, mapperBuilder.factory(format.newFactory()).build());
+        }
+    }
+
+    /**
+     * One strict converter per format, so they only ever apply to frames declaring that content type.
+     */
+    public List<MessageConverter> getMessageConverters() {
+        List<MessageConverter> converters = new ArrayList<>();
+        for (PayloadFormat format : PayloadFormat.values()) {
+            MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter(format.getMimeType());
+            converter.setObjectMapper(mappers.get(format));
+            converter.setStrictContentTypeMatch(true);
+            converters.add(converter);
+        }
+        return converters;
+    }
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        attributes.put(NATIVE_TRANSPORT_ATTRIBUTE, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        MessageHeaders headers = message.getHeaders();
+        SimpMessageType messageType = SimpMessageHeaderAccessor.getMessageType(headers);
+        if (messageType == SimpMessageType.CONNECT) {
+            negotiate(headers);
+        } else if (messageType == SimpMessageType.DISCONNECT) {
+            String sessionId = SimpMessageHeaderAccessor.getSessionId(headers);
+            if (sessionId != null) {
+                sessionFormats.remove(sessionId);
+            }
+        }
+        return message;
+    }
+
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        if (sessionFormats.isEmpty() || !(handler instanceof SubProtocolWebSocketHandler)) {
+            return message;
+        }
+        MessageHeaders headers = message.getHeaders();
+        if (SimpMessageHeaderAccessor.getMessageType(headers) != SimpMessageType.MESSAGE
+                || !(message.getPayload() instanceof byte[] json) || json.length == 0) {
+            return message;
+        }
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(headers);
+        PayloadFormat format = sessionId != null ? sessionFormats.get(sessionId) : null;
+        MimeType contentType = contentTypeResolver.resolve(headers);
+        if (format == null || contentType == null || !MimeTypeUtils.APPLICATION_JSON.isCompatibleWith(contentType)) {
+            return message;
+        }
+
+        byte[] encoded;
+        try {
+            encoded = mappers.get(format).writeValueAsBytes(jsonMapper.readTree(json));
+        } catch (IOException ex) {
+            logger.debug("Sending JSON to session {}, payload could not be encoded as {}", sessionId, format, ex);
+            return message;
+        }
+        jsonBytes.add(json.length);
+        encodedBytes.add(encoded.length);
+
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_OCTET_STREAM);
+        accessor.setNativeHeader(PayloadFormat.HEADER, format.getHeaderValue());
+        return MessageBuilder.createMessage(encoded, accessor.getMessageHeaders());
+    }
+
+    public int getSessionCount() {
+        return sessionFormats.size();
+    }
+
+    /**
+     * Size of the JSON payloads that were transcoded, before encoding.
+     */
+    public long getJsonBytes() {
+        return jsonBytes.sum();
+    }
+
+    /**
+     * Size of the same payloads as sent, after encoding.
+     */
+    public long getEncodedBytes() {
+        return encodedBytes.sum();
+    }
+
+    private void negotiate(MessageHeaders headers) {
+        PayloadFormat format = PayloadFormat.fromHeader(
+                NativeMessageHeaderAccessor.getFirstNativeHeader(PayloadFormat.HEADER, headers));
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(headers);
+        if (format == null || sessionId == null) {
+            return;
+        }
+        Map<String, Object> attributes = SimpMessageHeaderAccessor.getSessionAttributes(headers);
+        if (!enabled || attributes == null || !Boolean.TRUE.equals(attributes.get(NATIVE_TRANSPORT_ATTRIBUTE))) {
+            logger.debug("Session {} asked for {} payloads, keeping JSON (compact payloads disabled or not on the native endpoint)", sessionId, format);
+            return;
+        }
+        sessionFormats.put(sessionId, format);
+    }
+}
@@ -0,0 +1,64 @@
+package edu.cit.Judify.WebSocket;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.util.MimeType;
+
+import java.util.function.Supplier;
+
+/**
+ * Binary encodings a client on the native WebSocket endpoint can ask for instead of JSON, with the
+ * {@code payload-format} header of its CONNECT frame. Both carry the same document model as JSON,
+ * so any payload the chat sends can be transcoded without knowing its type.
+ */
+public enum PayloadFormat {
+
+    CBOR("cbor", new MimeType("application", "cbor"), CBORFactory::new),
+    SMILE("smile", new MimeType("application", "x-jackson-smile"), SmileFactory::new);
+
+    /**
+     * CONNECT header naming the format the client wants, echoed on every MESSAGE frame encoded with it.
+     */
+    public static final String HEADER = "payload-format";
+
+    private final String headerValue;
+    private final MimeType mimeType;
+    private final Supplier<JsonFactory> factory;
+
+    PayloadFormat(String headerValue, MimeType mimeType, Supplier<JsonFactory> factory) {
+        this.headerValue = headerValue;
+        this.mimeType = mimeType;
+        this.factory = factory;
+    }
+
+    public String getHeaderValue() {
+        return headerValue;
+    }
+
+    /**
+     * Content type clients use on SEND frames encoded in this format.
+     */
+    public MimeType getMimeType() {
+        return mimeType;
+    }
+
+    JsonFactory newFactory() {
+        return factory.get();
+    }
+
+    /**
+     * The format named by a {@code payload-format} header, or null for JSON and unknown values.
+     */
+    public static PayloadFormat fromHeader(String value) {
+        if (value == null) {
+            return null;
+        }
+        for (PayloadFormat format : values()) {
+            if (format.headerValue.equalsIgnoreCase(value.trim())) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,90 @@
+package edu.cit.Judify.WebSocket;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Times every frame written to a client. Writes to one session are serialized by Spring's send buffer,
+ * so a slow write means that client's network or device can't keep up; everything sent to it meanwhile
+ * is buffered. Spring closes the session once a write takes longer than the send time limit or the
+ * buffer outgrows its limit (see {@link WebSocketConfig}); this reports the laggards before that point,
+ * once per session, and counts slow writes for the metrics.
+ */
+@Component
+public class SlowConsumerDetector implements WebSocketHandlerDecoratorFactory {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlowConsumerDetector.class);
+
+    private final long slowSendNanos;
+    private final LongAdder slowSends = new LongAdder();
+    private final LongAdder slowSessions = new LongAdder();
+
+    @Autowired
+    public SlowConsumerDetector(@Value("${judify.websocket.slow-consumer.send-threshold-ms:1000}") long slowSendMs) {
+        this.slowSendNanos = TimeUnit.MILLISECONDS.toNanos(slowSendMs);
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                super.afterConnectionEstablished(new TimedSession(session));
+            }
+        };
+    }
+
+    /**
+     * Writes that took longer than the threshold.
+     */
+    public long getSlowSendCount() {
+        return slowSends.sum();
+    }
+
+    /**
+     * Sessions that had at least one slow write.
+     */
+    public long getSlowSessionCount() {
+        return slowSessions.sum();
+    }
+
+    private final class TimedSession extends WebSocketSessionDecorator {
+
+        private boolean reported;
+
+        TimedSession(WebSocketSession session) {
+            super(session);
+        }
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) throws IOException {
+            long start = System.nanoTime();
+            super.sendMessage(message);
+            long elapsed = System.nanoTime() - start;
+            if (elapsed > slowSendNanos) {
+                slowSends.increment();
+                if (!reported) {
+                    reported = true;
+                    slowSessions.increment();
+                    logger.warn("Slow consumer: writing {} bytes to session {} of {} took {} ms",
+                            message.getPayloadLength(), getId(),
+                            getPrincipal() != null ? getPrincipal().getName() : "anonymous",
+                            TimeUnit.NANOSECONDS.toMillis(elapsed));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package edu.cit.Judify.WebSocket;
+
+import edu.cit.Judify.User.UserEntity;
+import edu.cit.Judify.User.UserRepository;
+import edu.cit.Judify.config.JwtPrincipal;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Names the STOMP session's user after the authenticated user ID. Messages are addressed with
+ * {@code convertAndSendToUser(userId.toString(), ...)}, so a principal named after the login
+ * (the default) would never match any user destination. Bearer-token sessions carry the user ID in
+ * their {@link JwtPrincipal}; users signed in with Google are looked up by their email.
+ * <p>
+ * Also decides whether permessage-deflate is accepted when the client offers it. Tomcat supports
+ * the extension, so it is on unless disabled to save the server's CPU and per-session memory.
+ */
+public class UserIdHandshakeHandler extends DefaultHandshakeHandler {
+
+    static final String PERMESSAGE_DEFLATE = "permessage-deflate";
+
+    private final UserRepository userRepository;
+    private final boolean perMessageDeflate;
+
+    public UserIdHandshakeHandler(UserRepository userRepository, boolean perMessageDeflate) {
+        this.userRepository = userRepository;
+        this.perMessageDeflate = perMessageDeflate;
+    }
+
+    @Override
+    protected Principal determineUser(ServerHttpRequest request, WebSocketHandler wsHandler,
+                                      Map<String, Object> attributes) {
+        Principal principal = super.determineUser(request, wsHandler, attributes);
+        Long userId = resolveUserId(principal);
+        if (userId == null) {
+            return principal;
+        }
+        String name = String.valueOf(userId);
+        return () -> name;
+    }
+
+    private Long resolveUserId(Principal principal) {
+        if (!(principal instanceof Authentication authentication)) {
+            return null;
+        }
+        if (authentication.getPrincipal() instanceof JwtPrincipal jwtPrincipal) {
+            return jwtPrincipal.getUserId();
+        }
+        if (authentication.getPrincipal() instanceof OAuth2User oauth2User) {
+            String email = oauth2User.getAttribute("email");
+            if (email != null) {
+                return userRepository.findByEmail(email).map(UserEntity::getUserId).orElse(null);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    protected List<WebSocketExtension> filterRequestedExtensions(ServerHttpRequest request,
+                                                                 List<WebSocketExtension> requestedExtensions,
+                                                                 List<WebSocketExtension> supportedExtensions) {
+        List<WebSocketExtension> extensions = super.filterRequestedExtensions(request, requestedExtensions, supportedExtensions);
+        if (perMessageDeflate) {
+            return extensions;
+        }
+        return extensions.stream()
+                .filter(extension -> !PERMESSAGE_DEFLATE.equalsIgnoreCase(extension.getName()))
+                .toList();
+    }
+}
@@ -0,0 +1,105 @@
+package edu.cit.Judify.WebSocket;
+
+import edu.cit.Judify.config.ExecutionModeConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded executors for the two STOMP client channels: inbound (client frames to the @MessageMapping
+ * handlers and the broker) and outbound (broker fan-out to the sessions). Each has its own pool and
+ * queue, so a backlog on one side cannot starve the other. When the inbound queue is full the submitting
+ * thread runs the task itself, which slows down the client flooding the channel. When the outbound queue is
+ * full the message is dropped and counted: running it on the publisher would make a chat sender or a
+ * scheduled job wait on other clients' sockets. Sessions that fall behind are reported by
+ * {@link SlowConsumerDetector} and closed by the send time and buffer limits, and reload history on reconnect.
+ * With virtual threads enabled the pool threads are virtual; the bounds still apply.
+ *
+ * The executors are handed to the channels by {@link WebSocketConfig} and become the
+ * clientInboundChannelExecutor and clientOutboundChannelExecutor beans, which start and stop them.
+ */
+@Component
+public class WebSocketChannelExecutors {
+
+    static final String INBOUND = "inbound";
+    static final String OUTBOUND = "outbound";
+
+    private final ThreadPoolTaskExecutor inbound;
+    private final ThreadPoolTaskExecutor outbound;
+    private final LongAdder inboundSaturated = new LongAdder();
+    private final LongAdder outboundDropped = new LongAdder();
+
+    @Autowired
+    public WebSocketChannelExecutors(@Value("${judify.websocket.inbound.pool-size:0}") int inboundPoolSize,
+                                     @Value("${judify.websocket.inbound.queue-capacity:1000}") int inboundQueueCapacity,
+                                     @Value("${judify.websocket.outbound.pool-size:0}") int outboundPoolSize,
+                                     @Value("${judify.websocket.outbound.queue-capacity:5000}") int outboundQueueCapacity,
+                                     @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        boolean virtual = ExecutionModeConfig.virtualThreadsActive(virtualThreads);
+        this.inbound = executor("ws-inbound-", inboundPoolSize, inboundQueueCapacity, virtual, callerRuns(inboundSaturated));
+        this.outbound = executor("ws-outbound-", outboundPoolSize, outboundQueueCapacity, virtual, discard(outboundDropped));
+    }
+
+    public ThreadPoolTaskExecutor getInbound() {
+        return inbound;
+    }
+
+    public ThreadPoolTaskExecutor getOutbound() {
+        return outbound;
+    }
+
+    ThreadPoolTaskExecutor get(String channel) {
+        return INBOUND.equals(channel) ? inbound : outbound;
+    }
+
+    /**
+     * How often the channel's queue was full: inbound tasks the submitting thread had to run itself,
+     * outbound messages that were dropped.
+     */
+    long getSaturatedCount(String channel) {
+        return (INBOUND.equals(channel) ? inboundSaturated : outboundDropped).sum();
+    }
+
+    /**
+     * Tasks the channel's executor has finished, or 0 before it is started.
+     */
+    long getCompletedCount(String channel) {
+        try {
+            return get(channel).getThreadPoolExecutor().getCompletedTaskCount();
+        } catch (IllegalStateException e) {
+            return 0;
+        }
+    }
+
+    private static ThreadPoolTaskExecutor executor(String threadNamePrefix, int poolSize, int queueCapacity,
+                                                   boolean virtual, RejectedExecutionHandler rejectedHandler) {
+        // Channel work is short and mostly waits on the database, hence two threads per CPU
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors() * 2;
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setVirtualThreads(virtual);
+        executor.setRejectedExecutionHandler(rejectedHandler);
+        return executor;
+    }
+
+    private static RejectedExecutionHandler callerRuns(LongAdder saturated) {
+        ThreadPoolExecutor.CallerRunsPolicy callerRuns = new ThreadPoolExecutor.CallerRunsPolicy();
+        return (task, executor) -> {
+            saturated.increment();
+            callerRuns.rejectedExecution(task, executor);
+        };
+    }
+
+    private static RejectedExecutionHandler discard(LongAdder dropped) {
+        return (task, executor) -> dropped.increment();
+    }
+}
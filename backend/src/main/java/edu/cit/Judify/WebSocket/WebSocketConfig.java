@@ -1,15 +1,67 @@
 package edu.cit.Judify.WebSocket;
 
+import edu.cit.Judify.QueryProfile.QueryProfileChannelInterceptor;
+import edu.cit.Judify.RateLimit.RateLimitChannelInterceptor;
+import edu.cit.Judify.User.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+
+import java.util.List;
 
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final UserRepository userRepository;
+    private final RateLimitChannelInterceptor rateLimitChannelInterceptor;
+    private final WebSocketFanOutInterceptor fanOutInterceptor;
+    private final QueryProfileChannelInterceptor queryProfileChannelInterceptor;
+    private final WebSocketChannelExecutors channelExecutors;
+    private final SlowConsumerDetector slowConsumerDetector;
+    private final CompactPayloadInterceptor compactPayloadInterceptor;
+
+    // A session is closed when a single write to it takes longer than the time limit,
+    // or when more than the buffer limit is waiting to be written to it
+    @Value("${judify.websocket.send-time-limit-ms:10000}")
+    private int sendTimeLimitMs;
+
+    @Value("${judify.websocket.send-buffer-size-limit-bytes:524288}")
+    private int sendBufferSizeLimit;
+
+    @Value("${judify.websocket.message-size-limit-bytes:65536}")
+    private int messageSizeLimit;
+
+    @Value("${judify.websocket.time-to-first-message-ms:60000}")
+    private int timeToFirstMessageMs;
+
+    @Value("${judify.websocket.permessage-deflate.enabled:true}")
+    private boolean perMessageDeflate;
+
+    @Autowired
+    public WebSocketConfig(UserRepository userRepository,
+                           RateLimitChannelInterceptor rateLimitChannelInterceptor,
+                           WebSocketFanOutInterceptor fanOutInterceptor,
+                           QueryProfileChannelInterceptor queryProfileChannelInterceptor,
+                           WebSocketChannelExecutors channelExecutors,
+                           SlowConsumerDetector slowConsumerDetector,
+                           CompactPayloadInterceptor compactPayloadInterceptor) {
+        this.userRepository = userRepository;
+        this.rateLimitChannelInterceptor = rateLimitChannelInterceptor;
+        this.fanOutInterceptor = fanOutInterceptor;
+        this.queryProfileChannelInterceptor = queryProfileChannelInterceptor;
+        this.channelExecutors = channelExecutors;
+        this.slowConsumerDetector = slowConsumerDetector;
+        this.compactPayloadInterceptor = compactPayloadInterceptor;
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         // Enable a simple in-memory message broker for sending messages to clients
@@ -29,6 +81,47 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         // WebSocket works on browsers that don't support it
         registry.addEndpoint("/ws")
                 .setAllowedOriginPatterns("*") // For dev environment, restrict in production
+                .setHandshakeHandler(new UserIdHandshakeHandler(userRepository, perMessageDeflate))
                 .withSockJS();
+
+        // Plain WebSocket endpoint for clients that don't need the fallback; only here can a
+        // session negotiate binary CBOR/Smile payloads, since SockJS frames are always text
+        registry.addEndpoint("/ws-native")
+                .setAllowedOriginPatterns("*")
+                .setHandshakeHandler(new UserIdHandshakeHandler(userRepository, perMessageDeflate))
+                .addInterceptors(compactPayloadInterceptor);
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        // Throttle chat messages before they reach the @MessageMapping handlers,
+        // then count the SQL statements each handled message issues; CONNECT frames pick the payload format
+        registration.interceptors(rateLimitChannelInterceptor, queryProfileChannelInterceptor, compactPayloadInterceptor);
+        // Replaces the shared application executor Boot's auto-configuration would set
+        registration.executor(channelExecutors.getInbound());
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        // Count every message pushed to a session, per destination, then encode it
+        // for sessions that negotiated a binary payload format
+        registration.interceptors(fanOutInterceptor, compactPayloadInterceptor);
+        registration.executor(channelExecutors.getOutbound());
+    }
+
+    @Override
+    public boolean configureMessageConverters(List<MessageConverter> messageConverters) {
+        // Decode CBOR/Smile SEND frames by their content type; JSON keeps using the converters Boot registers
+        messageConverters.addAll(compactPayloadInterceptor.getMessageConverters());
+        return true;
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(sendTimeLimitMs)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setMessageSizeLimit(messageSizeLimit)
+                .setTimeToFirstMessage(timeToFirstMessageMs)
+                .addDecoratorFactory(slowConsumerDetector);
     }
-} 
\ No newline at end of file
+}
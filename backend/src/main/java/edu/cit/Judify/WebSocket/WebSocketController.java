@@ -4,6 +4,7 @@ import edu.cit.Judify.Conversation.ConversationEntity;
 import edu.cit.Judify.Conversation.ConversationService;
 import edu.cit.Judify.Message.MessageEntity;
 import edu.cit.Judify.Message.MessageService;
+import edu.cit.Judify.Message.ReadWatermarkService;
 import edu.cit.Judify.User.UserEntity;
 import edu.cit.Judify.User.UserService;
 import edu.cit.Judify.Message.DTO.MessageDTO;
@@ -17,6 +18,7 @@ import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Controller;
 
+import java.security.Principal;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -40,6 +42,12 @@ public class WebSocketController {
 
     @Autowired
     private WebSocketSessionManager sessionManager;
+
+    @Autowired
+    private ReadWatermarkService readWatermarkService;
+
+    @Autowired
+    private ChatEventRelay chatEventRelay;
     
     /**
      * Utility method to find a conversation by its ID, supporting both numeric IDs and string IDs
@@ -320,7 +328,12 @@ public class WebSocketController {
             }
             
             MessageEntity message = null;
-            if (messageIdLong != null) {
+            if (messageIdLong != null && readReceipt.getConversationId() != null
+                    && readReceipt.getReceiverId() != null && readReceipt.getSenderId() != null) {
+                // Receipts carrying the conversation move the reader's watermark; the database
+                // is updated on the next flush, together with the reader's other receipts
+                readWatermarkService.advance(readReceipt.getConversationId(), readReceipt.getReceiverId(), messageIdLong);
+            } else if (messageIdLong != null) {
                 // Mark the message as read in the database
                 message = messageService.markMessageAsRead(messageIdLong);
             }
@@ -353,4 +366,56 @@ public class WebSocketController {
             logger.error("Error marking message as read: ", e);
         }
     }
-} 
\ No newline at end of file
+
+    /**
+     * Relays typing state to the other participant. Never stored; repeated TYPING events
+     * are coalesced by the {@link ChatEventRelay}.
+     */
+    @MessageMapping("/chat.typing/{conversationId}")
+    public void typing(
+            @DestinationVariable String conversationId,
+            @Payload ChatEvent event) {
+
+        if (event.getType() == ChatEvent.EventType.READ || event.getReceiverId() == null) {
+            return;
+        }
+        if (isUserConnectedToConversation(event.getReceiverId(), conversationId)) {
+            chatEventRelay.relay(conversationId, event);
+        }
+    }
+
+    /**
+     * Moves the reader's "read up to" watermark in a conversation. Clients may send this for every
+     * message that scrolls into view: the watermark only moves forward, is written in batches, and
+     * the other participant is told only when it actually advanced.
+     */
+    @MessageMapping("/chat.read-up-to/{conversationId}")
+    public void readUpTo(
+            @DestinationVariable Long conversationId,
+            @Payload ChatEvent event,
+            Principal principal) {
+
+        // The reader is the authenticated user when there is one (see UserIdHandshakeHandler)
+        Long readerId = event.getSenderId();
+        if (principal != null) {
+            try {
+                readerId = Long.parseLong(principal.getName());
+            } catch (NumberFormatException e) {
+                // Principal not named after a user ID, keep the reader from the payload
+            }
+        }
+        if (readerId == null || event.getUpToMessageId() == null) {
+            return;
+        }
+
+        if (!readWatermarkService.advance(conversationId, readerId, event.getUpToMessageId())) {
+            return;
+        }
+        if (event.getReceiverId() != null && sessionManager.isUserConnectedToConversation(event.getReceiverId(), conversationId)) {
+            event.setType(ChatEvent.EventType.READ);
+            event.setConversationId(conversationId);
+            event.setSenderId(readerId);
+            chatEventRelay.relay(conversationId.toString(), event);
+        }
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.context.event.EventListener;
 import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.messaging.SessionConnectedEvent;
 import org.springframework.web.socket.messaging.SessionDisconnectEvent;
 
@@ -44,6 +45,11 @@ public class WebSocketEventListener {
         String sessionId = headerAccessor.getSessionId();
         
         logger.info("WebSocket connection disconnected: {}", sessionId);
+        if (CloseStatus.SESSION_NOT_RELIABLE.equalsCode(event.getCloseStatus())) {
+            // Closed by the server because writes to it exceeded the send time or buffer limit
+            logger.warn("Disconnected slow consumer {} ({}): {}", sessionId,
+                    event.getUser() != null ? event.getUser().getName() : "anonymous", event.getCloseStatus().getReason());
+        }
         
         // Find the user associated with this session and clean up their state
         // In a production app, you would store the user ID in the session attributes
@@ -0,0 +1,67 @@
+package edu.cit.Judify.WebSocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts messages leaving the broker for client sessions, per destination. Every copy pushed to a
+ * session counts once, so a message delivered to both participants of a chat counts twice.
+ */
+@Component
+public class WebSocketFanOutInterceptor implements ChannelInterceptor {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    @Autowired
+    public WebSocketFanOutInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        MessageHeaders headers = message.getHeaders();
+        if (SimpMessageHeaderAccessor.getMessageType(headers) == SimpMessageType.MESSAGE) {
+            counters.computeIfAbsent(destination(headers), destination -> Counter.builder("judify.websocket.messages.outbound")
+                            .description("Messages pushed to client sessions")
+                            .tag("destination", destination)
+                            .register(meterRegistry))
+                    .increment();
+        }
+        return message;
+    }
+
+    /**
+     * The destination the client subscribed to (e.g. /user/queue/messages rather than the resolved
+     * per-session queue), cut before the first segment containing a digit so ids never become tag values.
+     */
+    static String destination(MessageHeaders headers) {
+        Object original = headers.get(SimpMessageHeaderAccessor.ORIGINAL_DESTINATION);
+        String destination = original != null ? original.toString() : SimpMessageHeaderAccessor.getDestination(headers);
+        if (destination == null) {
+            return "none";
+        }
+        StringBuilder normalized = new StringBuilder();
+        for (String segment : destination.split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            if (segment.chars().anyMatch(Character::isDigit)) {
+                break;
+            }
+            normalized.append('/').append(segment);
+        }
+        return normalized.length() > 0 ? normalized.toString() : "/";
+    }
+}
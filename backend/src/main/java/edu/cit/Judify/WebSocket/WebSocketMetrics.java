@@ -0,0 +1,143 @@
+package edu.cit.Judify.WebSocket;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.config.WebSocketMessageBrokerStats;
+import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
+
+import java.util.function.ToIntFunction;
+
+/**
+ * Session gauges for the STOMP endpoint: open sessions per transport from Spring's broker stats,
+ * sessions closed abnormally (slow consumers hitting the send limits, clients that never sent
+ * CONNECT, transport errors), and how many users and conversations have the chat open.
+ * Also the load on the inbound and outbound channel executors and the slow writes seen by
+ * {@link SlowConsumerDetector}, and what the sessions on a binary payload format save over JSON
+ * ({@link CompactPayloadInterceptor}), and typing/read events relayed or coalesced by
+ * {@link ChatEventRelay}. Outbound message fan-out is counted separately by
+ * {@link WebSocketFanOutInterceptor}.
+ */
+@Component
+public class WebSocketMetrics implements MeterBinder {
+
+    private final ObjectProvider<WebSocketMessageBrokerStats> brokerStats;
+    private final WebSocketSessionManager sessionManager;
+    private final WebSocketChannelExecutors channelExecutors;
+    private final SlowConsumerDetector slowConsumerDetector;
+    private final CompactPayloadInterceptor compactPayloadInterceptor;
+    private final ChatEventRelay chatEventRelay;
+
+    // The broker stats bean is created by the WebSocket configuration, which itself depends on
+    // beans that use the meter registry, so it is looked up when a gauge is read
+    @Autowired
+    public WebSocketMetrics(ObjectProvider<WebSocketMessageBrokerStats> brokerStats,
+                            WebSocketSessionManager sessionManager,
+                            WebSocketChannelExecutors channelExecutors,
+                            SlowConsumerDetector slowConsumerDetector,
+                            CompactPayloadInterceptor compactPayloadInterceptor,
+                            ChatEventRelay chatEventRelay) {
+        this.brokerStats = brokerStats;
+        this.sessionManager = sessionManager;
+        this.channelExecutors = channelExecutors;
+        this.slowConsumerDetector = slowConsumerDetector;
+        this.compactPayloadInterceptor = compactPayloadInterceptor;
+        this.chatEventRelay = chatEventRelay;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        sessionGauge(registry, "websocket", SubProtocolWebSocketHandler.Stats::getWebSocketSessions);
+        sessionGauge(registry, "http-streaming", SubProtocolWebSocketHandler.Stats::getHttpStreamingSessions);
+        sessionGauge(registry, "http-polling", SubProtocolWebSocketHandler.Stats::getHttpPollingSessions);
+
+        FunctionCounter.builder("judify.websocket.sessions.opened", this,
+                        metrics -> metrics.sessionStat(SubProtocolWebSocketHandler.Stats::getTotalSessions))
+                .description("WebSocket/SockJS sessions opened since startup")
+                .register(registry);
+        closedCounter(registry, "limit-exceeded", SubProtocolWebSocketHandler.Stats::getLimitExceededSessions);
+        closedCounter(registry, "no-connect", SubProtocolWebSocketHandler.Stats::getNoMessagesReceivedSessions);
+        closedCounter(registry, "transport-error", SubProtocolWebSocketHandler.Stats::getTransportErrorSessions);
+
+        Gauge.builder("judify.websocket.chat.users", sessionManager, WebSocketSessionManager::getConnectedUserCount)
+                .description("Users with at least one conversation open")
+                .register(registry);
+        Gauge.builder("judify.websocket.chat.conversations", sessionManager, WebSocketSessionManager::getActiveConversationCount)
+                .description("Conversations with at least one participant connected")
+                .register(registry);
+
+        executorMeters(registry, WebSocketChannelExecutors.INBOUND);
+        executorMeters(registry, WebSocketChannelExecutors.OUTBOUND);
+
+        FunctionCounter.builder("judify.websocket.slow.sends", slowConsumerDetector, SlowConsumerDetector::getSlowSendCount)
+                .description("Writes to a client session that took longer than the slow-consumer threshold")
+                .register(registry);
+        FunctionCounter.builder("judify.websocket.slow.sessions", slowConsumerDetector, SlowConsumerDetector::getSlowSessionCount)
+                .description("Sessions with at least one slow write")
+                .register(registry);
+
+        Gauge.builder("judify.websocket.compact.sessions", compactPayloadInterceptor, CompactPayloadInterceptor::getSessionCount)
+                .description("Sessions receiving CBOR or Smile payloads instead of JSON")
+                .register(registry);
+        FunctionCounter.builder("judify.websocket.compact.bytes", compactPayloadInterceptor, CompactPayloadInterceptor::getJsonBytes)
+                .description("Payload bytes pushed to sessions on a binary format, as JSON and as sent")
+                .tag("encoding", "json")
+                .register(registry);
+        FunctionCounter.builder("judify.websocket.compact.bytes", compactPayloadInterceptor, CompactPayloadInterceptor::getEncodedBytes)
+                .description("Payload bytes pushed to sessions on a binary format, as JSON and as sent")
+                .tag("encoding", "compact")
+                .register(registry);
+
+        FunctionCounter.builder("judify.websocket.events", chatEventRelay, ChatEventRelay::getRelayedCount)
+                .description("Typing and read events from clients, relayed or dropped as repeats")
+                .tag("outcome", "relayed")
+                .register(registry);
+        FunctionCounter.builder("judify.websocket.events", chatEventRelay, ChatEventRelay::getCoalescedCount)
+                .description("Typing and read events from clients, relayed or dropped as repeats")
+                .tag("outcome", "coalesced")
+                .register(registry);
+    }
+
+    private void executorMeters(MeterRegistry registry, String channel) {
+        Gauge.builder("judify.websocket.executor.active", channelExecutors, executors -> executors.get(channel).getActiveCount())
+                .description("Channel executor threads busy with a task")
+                .tag("channel", channel)
+                .register(registry);
+        Gauge.builder("judify.websocket.executor.queued", channelExecutors, executors -> executors.get(channel).getQueueSize())
+                .description("Tasks waiting in the channel executor's queue")
+                .tag("channel", channel)
+                .register(registry);
+        FunctionCounter.builder("judify.websocket.executor.completed", channelExecutors, executors -> executors.getCompletedCount(channel))
+                .description("Tasks completed by the channel executor")
+                .tag("channel", channel)
+                .register(registry);
+        FunctionCounter.builder("judify.websocket.executor.saturated", channelExecutors, executors -> executors.getSaturatedCount(channel))
+                .description("Tasks the channel executor's queue had no room for: run by the submitting thread (inbound) or dropped (outbound)")
+                .tag("channel", channel)
+                .register(registry);
+    }
+
+    private void sessionGauge(MeterRegistry registry, String transport, ToIntFunction<SubProtocolWebSocketHandler.Stats> stat) {
+        Gauge.builder("judify.websocket.sessions", this, metrics -> metrics.sessionStat(stat))
+                .description("Open WebSocket/SockJS sessions")
+                .tag("transport", transport)
+                .register(registry);
+    }
+
+    private void closedCounter(MeterRegistry registry, String reason, ToIntFunction<SubProtocolWebSocketHandler.Stats> stat) {
+        FunctionCounter.builder("judify.websocket.sessions.closed", this, metrics -> metrics.sessionStat(stat))
+                .description("Sessions closed by the server for a reason other than a normal disconnect")
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    private double sessionStat(ToIntFunction<SubProtocolWebSocketHandler.Stats> stat) {
+        WebSocketMessageBrokerStats stats = brokerStats.getIfAvailable();
+        SubProtocolWebSocketHandler.Stats sessionStats = stats != null ? stats.getWebSocketSessionStats() : null;
+        return sessionStats != null ? stat.applyAsInt(sessionStats) : Double.NaN;
+    }
+}
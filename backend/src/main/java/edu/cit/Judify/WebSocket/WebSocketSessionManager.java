@@ -104,6 +104,20 @@ public class WebSocketSessionManager {
         return userSessions.get(userId);
     }
     
+    /**
+     * Number of users that currently have at least one conversation open
+     */
+    public int getConnectedUserCount() {
+        return userSessions.size();
+    }
+
+    /**
+     * Number of conversations that currently have at least one participant connected
+     */
+    public int getActiveConversationCount() {
+        return conversationUsers.size();
+    }
+
     /**
      * Clean up a user's sessions when they disconnect completely
      */
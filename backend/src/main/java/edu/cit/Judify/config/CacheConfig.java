@@ -0,0 +1,55 @@
+package edu.cit.Judify.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+
+/**
+ * Read-through caches for hot profile lookups. Each named region is an in-process Caffeine cache
+ * with its own size/TTL spec (judify.cache.spec.<region>, falling back to judify.cache.default-spec)
+ * and statistics recording. Writes evict or refresh the affected entries.
+ *
+ * With judify.cache.tier=distributed this local manager steps aside and Spring Boot's cache
+ * auto-configuration takes over (e.g. spring.cache.type=redis with a Redis starter), so several
+ * nodes can share one cache tier using the same region names.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheConfig.class);
+
+    public static final String TUTOR_PROFILES = "tutorProfiles";
+    public static final String TUTOR_PROFILES_BY_USER = "tutorProfilesByUser";
+    public static final String STUDENT_PROFILES_BY_USER = "studentProfilesByUser";
+
+    public static final List<String> REGIONS = List.of(
+            TUTOR_PROFILES, TUTOR_PROFILES_BY_USER, STUDENT_PROFILES_BY_USER);
+
+    @Value("${judify.cache.default-spec:maximumSize=10000,expireAfterWrite=10m}")
+    private String defaultSpec;
+
+    @Bean
+    @ConditionalOnProperty(name = "judify.cache.tier", havingValue = "local", matchIfMissing = true)
+    public CacheManager cacheManager(Environment environment) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Only the regions below exist; a typo in a cache name fails instead of silently creating an unbounded cache
+        cacheManager.setCacheNames(List.of());
+        for (String region : REGIONS) {
+            String spec = environment.getProperty("judify.cache.spec." + region, defaultSpec);
+            cacheManager.registerCustomCache(region, Caffeine.from(spec).recordStats().build());
+            logger.info("Cache region {} configured with {}", region, spec);
+        }
+        return cacheManager;
+    }
+}
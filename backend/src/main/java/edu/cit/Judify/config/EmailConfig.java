@@ -29,6 +29,16 @@ public class EmailConfig {
     @Value("${spring.mail.properties.mail.smtp.starttls.enable:true}")
     private String starttls;
 
+    @Value("${spring.mail.properties.mail.debug:false}")
+    private String debug;
+
+    // Socket timeouts so a stalled SMTP server can't hang the outbox dispatcher indefinitely
+    @Value("${judify.mail.connection-timeout-ms:10000}")
+    private String connectionTimeout;
+
+    @Value("${judify.mail.timeout-ms:30000}")
+    private String timeout;
+
     @Bean
     public JavaMailSender getJavaMailSender() {
         JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
@@ -44,7 +54,10 @@ public class EmailConfig {
         props.put("mail.transport.protocol", "smtp");
         props.put("mail.smtp.auth", auth);
         props.put("mail.smtp.starttls.enable", starttls);
-        props.put("mail.debug", "true");
+        props.put("mail.smtp.connectiontimeout", connectionTimeout);
+        props.put("mail.smtp.timeout", timeout);
+        props.put("mail.smtp.writetimeout", timeout);
+        props.put("mail.debug", debug);
         
         return mailSender;
     }
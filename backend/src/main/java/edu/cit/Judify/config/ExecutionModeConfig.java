@@ -0,0 +1,58 @@
+package edu.cit.Judify.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Execution mode for request handling, switched with spring.threads.virtual.enabled. On Java 21+
+ * Boot then runs Tomcat requests, scheduled jobs and @Async methods on virtual threads, and so do the
+ * STOMP channel executors (see {@link edu.cit.Judify.WebSocket.WebSocketChannelExecutors}), so a call
+ * blocked on Google Calendar, Stripe, SMTP or JDBC no longer holds a platform thread. The JDBC pool
+ * then becomes the concurrency limit for database work, which is why its size is reported next to
+ * the mode.
+ */
+@Configuration
+@EnableAsync
+public class ExecutionModeConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecutionModeConfig.class);
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    @Value("${server.tomcat.threads.max:200}")
+    private int tomcatMaxThreads;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int jdbcPoolSize;
+
+    @Value("${spring.datasource.hikari.connection-timeout:30000}")
+    private long jdbcConnectionTimeoutMs;
+
+    /**
+     * Whether virtual threads are actually in use; Boot ignores the setting below Java 21.
+     */
+    public static boolean virtualThreadsActive(boolean enabled) {
+        return enabled && Runtime.version().feature() >= 21;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void logExecutionMode() {
+        if (virtualThreadsActive(virtualThreadsEnabled)) {
+            logger.info("Handling requests, @Async tasks and STOMP channels on virtual threads; "
+                    + "JDBC pool: {} connections, {} ms acquire timeout", jdbcPoolSize, jdbcConnectionTimeoutMs);
+        } else {
+            if (virtualThreadsEnabled) {
+                logger.warn("spring.threads.virtual.enabled is set but Java {} has no virtual threads (21+ required); "
+                        + "falling back to platform threads", Runtime.version().feature());
+            }
+            logger.info("Handling requests on up to {} platform threads; JDBC pool: {} connections, {} ms acquire timeout",
+                    tomcatMaxThreads, jdbcPoolSize, jdbcConnectionTimeoutMs);
+        }
+    }
+}
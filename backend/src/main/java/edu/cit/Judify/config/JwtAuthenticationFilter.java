@@ -0,0 +1,91 @@
+package edu.cit.Judify.config;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.security.Key;
+import java.util.Date;
+
+/**
+ * Authenticates requests carrying an "Authorization: Bearer" token. Tokens are validated against the
+ * shared signing key and the resulting principal is cached, so authentication never touches the database.
+ * Requests without a valid token continue unauthenticated and are left to the authorization rules.
+ * Created by {@link SecurityConfig} rather than as a bean so it isn't also registered as a servlet filter.
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final Key jwtSecretKey;
+    private final JwtTokenCache tokenCache;
+
+    public JwtAuthenticationFilter(Key jwtSecretKey, JwtTokenCache tokenCache) {
+        this.jwtSecretKey = jwtSecretKey;
+        this.tokenCache = tokenCache;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER_PREFIX)) {
+            JwtPrincipal principal = resolve(header.substring(BEARER_PREFIX.length()).trim());
+            if (principal != null) {
+                UsernamePasswordAuthenticationToken authentication =
+                        new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+                SecurityContext context = SecurityContextHolder.createEmptyContext();
+                context.setAuthentication(authentication);
+                SecurityContextHolder.setContext(context);
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private JwtPrincipal resolve(String token) {
+        JwtPrincipal cached = tokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+
+        try {
+            Claims claims = Jwts.parserBuilder()
+                    .setSigningKey(jwtSecretKey)
+                    .build()
+                    .parseClaimsJws(token)
+                    .getBody();
+
+            Number userId = claims.get("userId", Number.class);
+            String role = claims.get("role", String.class);
+            if (userId == null || role == null) {
+                return null;
+            }
+            String username = claims.get("username", String.class);
+            JwtPrincipal principal = new JwtPrincipal(userId.longValue(),
+                    username != null ? username : claims.getSubject(), claims.getSubject(), role);
+
+            Date expiration = claims.getExpiration();
+            tokenCache.put(token, principal, expiration != null ? expiration.getTime() : Long.MAX_VALUE);
+            return principal;
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.debug("Rejected JWT: {}", e.getMessage());
+            return null;
+        }
+    }
+}
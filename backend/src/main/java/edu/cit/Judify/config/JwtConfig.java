@@ -1,6 +1,10 @@
 package edu.cit.Judify.config;
 
+import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -8,9 +12,20 @@ import java.security.Key;
 
 @Configuration
 public class JwtConfig {
-    
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtConfig.class);
+
+    // Base64-encoded HMAC key shared by all nodes (at least 256 bits)
+    @Value("${jwt.secret:}")
+    private String jwtSecret;
+
     @Bean
     public Key jwtSecretKey() {
-        return Keys.secretKeyFor(io.jsonwebtoken.SignatureAlgorithm.HS256);
+        if (jwtSecret == null || jwtSecret.isBlank()) {
+            // Development fallback: tokens will not survive a restart or work across nodes
+            logger.warn("jwt.secret is not set; using a random signing key for this instance");
+            return Keys.secretKeyFor(io.jsonwebtoken.SignatureAlgorithm.HS256);
+        }
+        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
     }
-} 
\ No newline at end of file
+}
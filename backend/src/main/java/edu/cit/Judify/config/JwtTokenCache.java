@@ -0,0 +1,102 @@
+package edu.cit.Judify.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache from raw token to the principal it was validated as, so repeat requests with the
+ * same token skip signature verification and claim parsing. The cache is split into independently
+ * locked segments to keep contention low under concurrent requests; each segment evicts its least
+ * recently used entry once full. Entries never outlive the token's own expiry.
+ */
+@Component
+public class JwtTokenCache {
+
+    private static final int SEGMENTS = 16;
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+
+    public JwtTokenCache(@Value("${jwt.cache.max-entries:10000}") int maxEntries) {
+        int perSegment = Math.max(1, maxEntries / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+    }
+
+    /**
+     * Returns the cached principal for the token, or null if it isn't cached or has expired.
+     */
+    public JwtPrincipal get(String token) {
+        Segment segment = segmentFor(token);
+        synchronized (segment) {
+            Entry entry = segment.get(token);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt <= System.currentTimeMillis()) {
+                segment.remove(token);
+                return null;
+            }
+            return entry.principal;
+        }
+    }
+
+    public void put(String token, JwtPrincipal principal, long expiresAt) {
+        Segment segment = segmentFor(token);
+        synchronized (segment) {
+            segment.put(token, new Entry(principal, expiresAt));
+        }
+    }
+
+    /**
+     * Drops every cached token of the user, e.g. after the account is deleted.
+     */
+    public void evictUser(Long userId) {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.values().removeIf(entry -> entry.principal.getUserId().equals(userId));
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    private Segment segmentFor(String token) {
+        return segments[(token.hashCode() & 0x7fffffff) % SEGMENTS];
+    }
+
+    private static final class Entry {
+        private final JwtPrincipal principal;
+        private final long expiresAt;
+
+        private Entry(JwtPrincipal principal, long expiresAt) {
+            this.principal = principal;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static final class Segment extends LinkedHashMap<String, Entry> {
+        private final int maxEntries;
+
+        private Segment(int maxEntries) {
+            super(16, 0.75f, true);  // access order, so iteration starts at the least recently used entry
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > maxEntries;
+        }
+    }
+}
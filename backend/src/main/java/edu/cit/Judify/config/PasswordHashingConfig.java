@@ -0,0 +1,97 @@
+package edu.cit.Judify.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.util.ClassUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Password hashing setup. Hashes are stored as "{id}hash" so several algorithms can coexist;
+ * new hashes use judify.password.algorithm with the configured cost, and older or weaker hashes are
+ * upgraded on the next successful login. Rows without an "{id}" prefix are legacy values and are
+ * matched by {@link #legacyPasswordMatcher()}.
+ */
+@Configuration
+public class PasswordHashingConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingConfig.class);
+
+    // bcrypt, pbkdf2 or argon2 (argon2 needs org.bouncycastle:bcprov on the classpath)
+    @Value("${judify.password.algorithm:bcrypt}")
+    private String algorithm;
+
+    @Value("${judify.password.bcrypt.strength:12}")
+    private int bcryptStrength;
+
+    @Value("${judify.password.pbkdf2.iterations:310000}")
+    private int pbkdf2Iterations;
+
+    @Value("${judify.password.argon2.memory-kb:19456}")
+    private int argon2MemoryKb;
+
+    @Value("${judify.password.argon2.iterations:2}")
+    private int argon2Iterations;
+
+    @Value("${judify.password.argon2.parallelism:1}")
+    private int argon2Parallelism;
+
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", new BCryptPasswordEncoder(bcryptStrength));
+        encoders.put("pbkdf2", new Pbkdf2PasswordEncoder("", 16, pbkdf2Iterations,
+                Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256));
+        if (ClassUtils.isPresent("org.bouncycastle.crypto.params.Argon2Parameters", getClass().getClassLoader())) {
+            encoders.put("argon2", new Argon2PasswordEncoder(16, 32, argon2Parallelism, argon2MemoryKb, argon2Iterations));
+        }
+
+        if (!encoders.containsKey(algorithm)) {
+            throw new IllegalStateException("Unsupported password algorithm '" + algorithm + "'; available: " + encoders.keySet());
+        }
+        logger.info("Hashing new passwords with {}", algorithm);
+
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(algorithm, encoders);
+        delegating.setDefaultPasswordEncoderForMatches(legacyPasswordMatcher());
+        return delegating;
+    }
+
+    /**
+     * Matches rows written before hashing was introduced: unprefixed bcrypt hashes, or plaintext.
+     * Such rows always report a match as needing an upgrade, so they are rehashed on the next login.
+     * Encoding produces the legacy format, an unprefixed bcrypt hash, which this matcher accepts.
+     */
+    private PasswordEncoder legacyPasswordMatcher() {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return bcrypt.encode(rawPassword);
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String storedPassword) {
+                if (rawPassword == null || storedPassword == null || storedPassword.isEmpty()) {
+                    return false;
+                }
+                if (storedPassword.startsWith("$2")) {
+                    return bcrypt.matches(rawPassword, storedPassword);
+                }
+                return MessageDigest.isEqual(
+                        rawPassword.toString().getBytes(StandardCharsets.UTF_8),
+                        storedPassword.getBytes(StandardCharsets.UTF_8));
+            }
+        };
+    }
+}
@@ -0,0 +1,66 @@
+package edu.cit.Judify.config;
+
+import edu.cit.Judify.PaymentTransaction.Gateway.CircuitBreaker;
+import edu.cit.Judify.PaymentTransaction.Gateway.PaymentGateway;
+import edu.cit.Judify.PaymentTransaction.Gateway.ResilientPaymentGateway;
+import edu.cit.Judify.PaymentTransaction.Gateway.StripePaymentGateway;
+import edu.cit.Judify.PaymentTransaction.Gateway.StubPaymentGateway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PaymentGatewayConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentGatewayConfig.class);
+
+    // "stripe" for the real provider, "stub" for offline development and tests
+    @Value("${payment.gateway.mode:stripe}")
+    private String mode;
+
+    @Value("${payment.gateway.connect-timeout-ms:3000}")
+    private int connectTimeoutMs;
+
+    @Value("${payment.gateway.create-intent.timeout-ms:10000}")
+    private int createIntentTimeoutMs;
+
+    @Value("${payment.gateway.refund.timeout-ms:15000}")
+    private int refundTimeoutMs;
+
+    @Value("${payment.gateway.max-network-retries:1}")
+    private int maxNetworkRetries;
+
+    @Value("${payment.gateway.bulkhead.max-concurrent-calls:16}")
+    private int maxConcurrentCalls;
+
+    @Value("${payment.gateway.bulkhead.max-wait-ms:250}")
+    private long bulkheadWaitMs;
+
+    @Value("${payment.gateway.circuit-breaker.failure-threshold:5}")
+    private int failureThreshold;
+
+    @Value("${payment.gateway.circuit-breaker.open-duration-ms:30000}")
+    private long openDurationMs;
+
+    @Value("${payment.gateway.stub.latency-ms:0}")
+    private long stubLatencyMs;
+
+    @Value("${payment.gateway.stub.failure-rate:0}")
+    private double stubFailureRate;
+
+    @Bean
+    public PaymentGateway paymentGateway() {
+        PaymentGateway delegate;
+        if ("stub".equalsIgnoreCase(mode)) {
+            logger.warn("Using the stub payment gateway; no real payments will be processed");
+            delegate = new StubPaymentGateway(stubLatencyMs, stubFailureRate);
+        } else {
+            delegate = new StripePaymentGateway(connectTimeoutMs, createIntentTimeoutMs, refundTimeoutMs, maxNetworkRetries);
+        }
+
+        return new ResilientPaymentGateway(delegate, maxConcurrentCalls, bulkheadWaitMs,
+                new CircuitBreaker(failureThreshold, openDurationMs));
+    }
+}
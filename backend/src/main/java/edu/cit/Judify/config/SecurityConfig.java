@@ -4,9 +4,8 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
 import org.springframework.security.core.Authentication;
 
@@ -14,15 +13,18 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.security.Key;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, Key jwtSecretKey, JwtTokenCache jwtTokenCache) throws Exception {
         http
             .csrf(csrf -> csrf.disable())  // Disable CSRF for development
+            // Bearer tokens are validated statelessly before any other authentication mechanism
+            .addFilterBefore(new JwtAuthenticationFilter(jwtSecretKey, jwtTokenCache), UsernamePasswordAuthenticationFilter.class)
 //            .cors(cors -> cors.configure(http)) // Enable CORS
             .authorizeHttpRequests(auth -> auth
                 // Swagger UI endpoints
@@ -31,6 +33,8 @@ public class SecurityConfig {
                 .requestMatchers("/api/users/authenticate", "/api/users/addUser", "/api/users/register").permitAll()
                 // OAuth2 endpoints
                 .requestMatchers("/oauth2/**", "/login/oauth2/**", "/api/users/oauth2-success", "/api/users/oauth2-failure").permitAll()
+                // Media is content-addressed and public
+                .requestMatchers("/media/**").permitAll()
                 .anyRequest().permitAll()  // Allow all requests during development
                 // For production, replace the line above with something like:
                 // .anyRequest().authenticated()
@@ -45,11 +49,6 @@ public class SecurityConfig {
         return http.build();
     }
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
-    
     /**
      * Create a custom success handler for OAuth2 login
      */
@@ -14,9 +14,18 @@ public class StripeConfig {
     @Value("${stripe.webhook.secret}")
     private String stripeWebhookSecret;
 
+    // Size of the JDK keep-alive connection cache the Stripe SDK's HTTP client reuses
+    @Value("${stripe.http.max-connections:20}")
+    private String maxConnections;
+
     @PostConstruct
     public void initStripe() {
         Stripe.apiKey = stripeApiKey;
+
+        // Only takes effect if set before the first HttpURLConnection is opened
+        if (System.getProperty("http.maxConnections") == null) {
+            System.setProperty("http.maxConnections", maxConnections);
+        }
     }
 
     public String getStripeApiKey() {
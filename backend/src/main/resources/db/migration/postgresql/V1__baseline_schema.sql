@@ -0,0 +1,182 @@
+-- Schema as Hibernate's ddl-auto=update had built it from the entities before Flyway took over, i.e. the
+-- production schema when migrations were introduced. Databases created that way are baselined at this version
+-- and never run this script; everything added since is in the later versions.
+
+create table users (
+    user_id bigint generated by default as identity,
+    username varchar(255) not null,
+    email varchar(255) not null,
+    password_hash varchar(255) not null,
+    first_name varchar(255) not null,
+    last_name varchar(255) not null,
+    roles varchar(255) not null,
+    profile_picture text,
+    contact_details varchar(255),
+    created_at timestamp(6) not null,
+    updated_at timestamp(6),
+    primary key (user_id),
+    constraint uk_users_username unique (username),
+    constraint uk_users_email unique (email)
+);
+
+create table tutor_profiles (
+    id bigint generated by default as identity,
+    user_id bigint not null,
+    biography text,
+    expertise varchar(255),
+    hourly_rate float(53),
+    rating float(53),
+    total_reviews integer,
+    latitude float(53),
+    longitude float(53),
+    share_location boolean,
+    created_at timestamp(6),
+    primary key (id),
+    constraint uk_tutor_profiles_user unique (user_id),
+    constraint fk_tutor_profiles_user foreign key (user_id) references users
+);
+
+create table tutor_subjects (
+    id bigint generated by default as identity,
+    tutor_id bigint not null,
+    subject varchar(255) not null,
+    created_at timestamp(6),
+    primary key (id),
+    constraint fk_tutor_subjects_tutor foreign key (tutor_id) references tutor_profiles
+);
+
+create table student_profiles (
+    id bigint generated by default as identity,
+    user_id bigint not null,
+    bio text,
+    grade_level varchar(255),
+    school varchar(255),
+    city varchar(255),
+    state varchar(255),
+    country varchar(255),
+    latitude float(53),
+    longitude float(53),
+    interests text,
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    primary key (id),
+    constraint uk_student_profiles_user unique (user_id),
+    constraint fk_student_profiles_user foreign key (user_id) references users
+);
+
+create table tutor_availabilities (
+    availability_id bigint generated by default as identity,
+    tutor_id bigint not null,
+    day_of_week varchar(255) not null,
+    start_time varchar(255) not null,
+    end_time varchar(255) not null,
+    additional_notes varchar(1000),
+    primary key (availability_id),
+    constraint fk_tutor_availabilities_tutor foreign key (tutor_id) references users
+);
+
+create table conversations (
+    conversation_id bigint generated by default as identity,
+    student_id bigint not null,
+    tutor_id bigint not null,
+    created_at timestamp(6) not null,
+    updated_at timestamp(6),
+    primary key (conversation_id),
+    constraint fk_conversations_student foreign key (student_id) references users,
+    constraint fk_conversations_tutor foreign key (tutor_id) references users
+);
+
+create table tutoring_sessions (
+    session_id bigint generated by default as identity,
+    tutor_id bigint not null,
+    student_id bigint not null,
+    start_time timestamp(6),
+    end_time timestamp(6),
+    subject varchar(255),
+    status varchar(255),
+    price float(53),
+    notes varchar(255),
+    latitude float(53),
+    longitude float(53),
+    location_name varchar(255),
+    meeting_link varchar(255),
+    session_type varchar(255),
+    created_at timestamp(6) not null,
+    updated_at timestamp(6),
+    tutor_accepted boolean,
+    student_accepted boolean,
+    conversation_id bigint,
+    primary key (session_id),
+    constraint uk_tutoring_sessions_conversation unique (conversation_id),
+    constraint fk_tutoring_sessions_tutor foreign key (tutor_id) references users,
+    constraint fk_tutoring_sessions_student foreign key (student_id) references users,
+    constraint fk_tutoring_sessions_conversation foreign key (conversation_id) references conversations
+);
+
+create table messages (
+    message_id bigint generated by default as identity,
+    conversation_id bigint not null,
+    sender_id bigint not null,
+    receiver_id bigint not null,
+    content varchar(2000) not null,
+    message_type varchar(255) not null,
+    session_id bigint,
+    timestamp timestamp(6) not null,
+    is_read boolean not null,
+    primary key (message_id),
+    constraint fk_messages_conversation foreign key (conversation_id) references conversations,
+    constraint fk_messages_sender foreign key (sender_id) references users,
+    constraint fk_messages_receiver foreign key (receiver_id) references users,
+    constraint fk_messages_session foreign key (session_id) references tutoring_sessions
+);
+
+create table reviews (
+    review_id bigint generated by default as identity,
+    session_id bigint not null,
+    tutor_id bigint not null,
+    student_id bigint not null,
+    rating integer not null,
+    comment varchar(2000),
+    created_at timestamp(6) not null,
+    primary key (review_id),
+    constraint uk_reviews_session unique (session_id),
+    constraint fk_reviews_session foreign key (session_id) references tutoring_sessions,
+    constraint fk_reviews_tutor foreign key (tutor_id) references users,
+    constraint fk_reviews_student foreign key (student_id) references users
+);
+
+create table notifications (
+    notification_id bigint generated by default as identity,
+    user_id bigint not null,
+    type varchar(255) not null,
+    content varchar(1000) not null,
+    is_read boolean not null,
+    created_at timestamp(6) not null,
+    primary key (notification_id),
+    constraint fk_notifications_user foreign key (user_id) references users
+);
+
+create table payment_transactions (
+    transaction_id bigint generated by default as identity,
+    session_id bigint not null,
+    payer_id bigint not null,
+    payee_id bigint not null,
+    amount float(53) not null,
+    currency varchar(255) not null,
+    status varchar(255) not null,
+    payment_status varchar(255) not null,
+    payment_gateway_reference varchar(255) not null,
+    transaction_reference varchar(255) not null,
+    payment_intent_id varchar(255),
+    payment_method_id varchar(255),
+    client_secret varchar(255),
+    is_refunded boolean,
+    receipt_url varchar(255),
+    created_at timestamp(6) not null,
+    updated_at timestamp(6),
+    completed_at timestamp(6),
+    primary key (transaction_id),
+    constraint fk_payment_transactions_session foreign key (session_id) references tutoring_sessions,
+    constraint fk_payment_transactions_payer foreign key (payer_id) references users,
+    constraint fk_payment_transactions_payee foreign key (payee_id) references users
+);
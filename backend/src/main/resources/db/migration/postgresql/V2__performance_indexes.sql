@@ -0,0 +1,49 @@
+-- Secondary indexes for the hot filters, each named after the table and columns it covers.
+-- Foreign keys are not indexed by PostgreSQL on their own, so every lookup by participant or parent
+-- row was a sequential scan. The repository methods each index serves are listed above it.
+-- notifications.user_id and payment_transactions.payment_intent_id are covered by V4 and V5.
+
+-- MessageRepository.findByConversationConversationIdOrderByTimestampAsc/Desc (conversation history),
+-- findByConversation*, and the per-conversation MAX(timestamp) of findLatestMessagesForUser
+create index if not exists idx_messages_conversation_timestamp on messages (conversation_id, timestamp);
+
+-- Unread messages only: countUnreadMessagesInConversationForUser, markAllAsReadInConversationForUser,
+-- findByReceiverAndIsReadFalse and the read-watermark flush (message_id <= watermark).
+-- Read messages, by far the majority, stay out of the index
+create index if not exists idx_messages_receiver_unread on messages (receiver_id, conversation_id, message_id)
+    where is_read = false;
+
+-- MessageRepository.findBySender, findBySenderAndReceiver, findBySenderAndIsReadFalse
+create index if not exists idx_messages_sender on messages (sender_id);
+
+-- TutoringSessionRepository.findByTutorOrderByStartTimeDesc, findByTutor (paged),
+-- findByTutorAndStartTimeBetween, findOverlappingSessionsByUserAndStatus (booking conflict check)
+create index if not exists idx_tutoring_sessions_tutor_start on tutoring_sessions (tutor_id, start_time);
+
+-- TutoringSessionRepository.findByStudentOrderByStartTimeDesc, findByStudent (paged),
+-- findByStudentAndStartTimeBetween
+create index if not exists idx_tutoring_sessions_student_start on tutoring_sessions (student_id, start_time);
+
+-- ConversationRepository.findByStudentOrTutor and findConversationBetweenUsers (a BitmapOr of the two)
+create index if not exists idx_conversations_student on conversations (student_id);
+create index if not exists idx_conversations_tutor on conversations (tutor_id);
+
+-- ReviewRepository.findByTutorOrderByCreatedAtDesc, findByTutor (paged), findAverageRatingByTutor
+create index if not exists idx_reviews_tutor_created on reviews (tutor_id, created_at);
+
+-- ReviewRepository.findByStudentOrderByCreatedAtDesc, findByStudent (paged)
+create index if not exists idx_reviews_student_created on reviews (student_id, created_at);
+
+-- TutorAvailabilityRepository.findByTutorAndDayOfWeek (availability conflict check) and findByTutor
+create index if not exists idx_tutor_availabilities_tutor_day on tutor_availabilities (tutor_id, day_of_week);
+
+-- Batch loading of TutorProfileEntity.subjectEntities (where tutor_id in (...)) for directory pages
+create index if not exists idx_tutor_subjects_tutor on tutor_subjects (tutor_id);
+
+-- PaymentTransactionRepository.findByPayerOrderByCreatedAtDesc / findByPayeeOrderByCreatedAtDesc
+create index if not exists idx_payment_transactions_payer_created on payment_transactions (payer_id, created_at);
+create index if not exists idx_payment_transactions_payee_created on payment_transactions (payee_id, created_at);
+
+-- Retention sweep: NotificationRepository.findReadNotificationIdsCreatedBefore
+create index if not exists idx_notifications_read_created on notifications (created_at)
+    where is_read = true;
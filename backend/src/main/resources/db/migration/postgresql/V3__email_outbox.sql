@@ -0,0 +1,19 @@
+-- Transactional outbox for session confirmation emails, drained in batches by EmailOutboxDispatcher.
+
+create table if not exists email_outbox (
+    outbox_id bigint generated by default as identity,
+    recipient varchar(255) not null,
+    subject varchar(255) not null,
+    body text not null,
+    attachment_name varchar(255),
+    attachment_content_type varchar(255),
+    attachment_content text,
+    status varchar(16) not null,
+    attempts integer not null,
+    next_attempt_at timestamp(6) not null,
+    last_error varchar(1000),
+    created_at timestamp(6) not null,
+    sent_at timestamp(6),
+    primary key (outbox_id)
+);
+create index if not exists idx_email_outbox_status_next_attempt on email_outbox (status, next_attempt_at);
@@ -0,0 +1,16 @@
+-- Notifications remember the tutoring session they are about, how many events were coalesced into them
+-- and whether they are held for a digest.
+
+alter table notifications add column if not exists session_id bigint;
+alter table notifications add column if not exists occurrences integer;
+alter table notifications add column if not exists updated_at timestamp(6);
+
+-- Listing, unread counts and the set-based bulk updates of NotificationRepository
+create index if not exists idx_notifications_user_read_created on notifications (user_id, is_read, created_at);
+-- Finding the notification to coalesce into
+create index if not exists idx_notifications_user_session_type on notifications (user_id, session_id, type);
+
+-- Low-priority notifications are held here until the next digest; the flush claims them by user
+alter table notifications add column if not exists held_for_digest boolean not null default false;
+create index if not exists idx_notifications_held_for_digest on notifications (user_id, notification_id)
+    where held_for_digest and not is_read;
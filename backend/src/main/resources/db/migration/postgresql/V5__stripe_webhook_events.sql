@@ -0,0 +1,36 @@
+-- Verified Stripe webhook events, deduplicated by event ID and applied in the background.
+
+create table if not exists stripe_webhook_events (
+    webhook_event_id bigint generated by default as identity,
+    event_id varchar(255) not null,
+    event_type varchar(255) not null,
+    payment_intent_id varchar(255),
+    payload text not null,
+    status varchar(16) not null,
+    attempts integer not null,
+    last_error varchar(1000),
+    received_at timestamp(6) not null,
+    processed_at timestamp(6),
+    next_attempt_at timestamp(6),
+    primary key (webhook_event_id),
+    constraint uk_stripe_webhook_events_event unique (event_id)
+);
+-- The recovery sweep: due events in arrival order
+create index if not exists idx_stripe_webhook_events_status_next_attempt on stripe_webhook_events (status, next_attempt_at);
+-- Holding an event back behind earlier events for the same payment intent
+create index if not exists idx_stripe_webhook_events_payment_intent on stripe_webhook_events (payment_intent_id, webhook_event_id);
+
+-- Webhook handlers look transactions up by Stripe PaymentIntent ID; an intent has one transaction, also when a
+-- retried request gets the same intent back from Stripe. Retried requests used to add a row each, so the
+-- duplicates go first: the row webhooks already moved past PENDING is kept, otherwise the oldest one, which is
+-- the row the old handlers updated. Nothing references payment_transactions, so the rest can just be removed.
+delete from payment_transactions t
+using (
+    select transaction_id,
+           row_number() over (partition by payment_intent_id
+                              order by case when payment_status = 'PENDING' then 1 else 0 end, transaction_id) as row_rank
+    from payment_transactions
+    where payment_intent_id is not null
+) ranked
+where t.transaction_id = ranked.transaction_id and ranked.row_rank > 1;
+create unique index if not exists idx_payment_transactions_payment_intent on payment_transactions (payment_intent_id);
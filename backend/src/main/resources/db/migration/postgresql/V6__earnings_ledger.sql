@@ -0,0 +1,44 @@
+-- Double-entry earnings ledger: immutable entries, running balances per account and day/month rollups.
+
+create table if not exists ledger_entries (
+    entry_id bigint generated by default as identity,
+    user_id bigint not null,
+    account_type varchar(32) not null,
+    transaction_id bigint not null,
+    session_id bigint not null,
+    entry_type varchar(16) not null,
+    amount_minor bigint not null,
+    currency varchar(3) not null,
+    created_at timestamp(6) not null,
+    primary key (entry_id),
+    constraint uk_ledger_entries_posting unique (transaction_id, entry_type, account_type)
+);
+create index if not exists idx_ledger_entries_user_account on ledger_entries (user_id, account_type, entry_id);
+
+create table if not exists ledger_balances (
+    balance_id bigint generated by default as identity,
+    user_id bigint not null,
+    account_type varchar(32) not null,
+    currency varchar(3) not null,
+    balance_minor bigint not null,
+    entry_count bigint not null,
+    updated_at timestamp(6),
+    primary key (balance_id),
+    constraint uk_ledger_balances_account unique (user_id, account_type, currency)
+);
+
+create table if not exists ledger_rollups (
+    rollup_id bigint generated by default as identity,
+    user_id bigint not null,
+    account_type varchar(32) not null,
+    currency varchar(3) not null,
+    period_type varchar(8) not null,
+    period_start date not null,
+    total_minor bigint not null,
+    entry_count bigint not null,
+    primary key (rollup_id),
+    constraint uk_ledger_rollups_period unique (user_id, account_type, currency, period_type, period_start)
+);
+
+-- Refunds are posted to the ledger on the day they happened
+alter table payment_transactions add column if not exists refunded_at timestamp(6);
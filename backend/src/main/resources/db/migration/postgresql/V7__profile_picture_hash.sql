@@ -0,0 +1,4 @@
+-- Profile pictures live in the content-addressed media store; users keep the SHA-256 of theirs.
+-- The legacy base64 profile_picture column stays until ProfilePictureMigrationRunner has emptied it.
+
+alter table users add column if not exists profile_picture_hash varchar(64);
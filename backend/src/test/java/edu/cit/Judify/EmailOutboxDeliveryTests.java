@@ -0,0 +1,205 @@
+package edu.cit.Judify;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import edu.cit.Judify.Email.EmailOutboxDispatcher;
+import edu.cit.Judify.Email.EmailOutboxEntity;
+import edu.cit.Judify.Email.EmailOutboxRepository;
+import edu.cit.Judify.TutoringSession.TutoringSessionEntity;
+import edu.cit.Judify.TutoringSession.TutoringSessionService;
+import edu.cit.Judify.User.UserEntity;
+import edu.cit.Judify.User.UserRepository;
+import edu.cit.Judify.User.UserRole;
+import jakarta.mail.Multipart;
+import jakarta.mail.Part;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Delivers the email outbox to an in-process GreenMail SMTP server: a booking queues the confirmation
+ * emails with their calendar invite, and the dispatcher sends them, retries them while the server is
+ * down and dead-letters them once they run out of attempts. The dispatcher is run by the tests, not
+ * the scheduler.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:emailoutbox;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        // The migrations are PostgreSQL scripts; H2 gets its schema from the entities
+        "spring.flyway.enabled=false",
+        "OAUTH_CLIENT_ID=test",
+        "OAUTH_CLIENT_SECRET=test",
+        "OAUTH_REDIRECT_URI=http://localhost/login/oauth2/code/google",
+        "STRIPE_API_KEY=sk_test_outbox",
+        "STRIPE_WEBHOOK_SECRET=whsec_outbox",
+        "STRIPE_PUBLISHABLE_KEY=pk_test_outbox",
+        "spring.mail.host=localhost",
+        "spring.mail.port=3025",
+        "spring.mail.properties.mail.smtp.auth=false",
+        "spring.mail.properties.mail.smtp.starttls.enable=false",
+        "judify.mail.outbox.poll-interval-ms=3600000",
+        "judify.mail.outbox.max-attempts=2"
+})
+class EmailOutboxDeliveryTests {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired private EmailOutboxDispatcher dispatcher;
+    @Autowired private EmailOutboxRepository outboxRepository;
+    @Autowired private TutoringSessionService sessionService;
+    @Autowired private UserRepository userRepository;
+
+    @BeforeEach
+    void emptyOutbox() {
+        outboxRepository.deleteAll();
+    }
+
+    @Test
+    void bookingDeliversConfirmationsWithCalendarInvite() throws Exception {
+        UserEntity tutor = userRepository.save(user("outbox-tutor", UserRole.TUTOR));
+        UserEntity student = userRepository.save(user("outbox-student", UserRole.STUDENT));
+        TutoringSessionEntity session = new TutoringSessionEntity();
+        session.setTutor(tutor);
+        session.setStudent(student);
+        session.setStartTime(new Date(System.currentTimeMillis() + 86_400_000L));
+        session.setEndTime(new Date(System.currentTimeMillis() + 90_000_000L));
+        session.setSubject("Calculus");
+        session.setStatus("SCHEDULED");
+        sessionService.createSession(session);
+
+        // Booking only queues; nothing reaches SMTP until the dispatcher runs
+        assertEquals(0, greenMail.getReceivedMessages().length);
+        dispatcher.dispatchPending();
+
+        assertTrue(greenMail.waitForIncomingEmail(5000, 2));
+        MimeMessage[] messages = greenMail.getReceivedMessages();
+        Set<String> recipients = Arrays.stream(messages)
+                .map(EmailOutboxDeliveryTests::recipient)
+                .collect(Collectors.toSet());
+        assertEquals(Set.of(tutor.getEmail(), student.getEmail()), recipients);
+
+        for (MimeMessage message : messages) {
+            assertEquals("Tutoring Session Confirmation: Calculus", message.getSubject());
+            Part invite = attachment(message);
+            assertNotNull(invite, "The confirmation has no calendar attachment");
+            assertEquals("tutoring_session.ics", invite.getFileName());
+            assertTrue(invite.getContentType().startsWith("text/calendar"), invite.getContentType());
+            String calendar = new String(invite.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            assertTrue(calendar.contains("BEGIN:VCALENDAR"), calendar);
+        }
+
+        assertEquals(2, outboxRepository.countByStatus(EmailOutboxEntity.STATUS_SENT));
+        outboxRepository.findAll().forEach(email -> assertNotNull(email.getSentAt()));
+    }
+
+    @Test
+    void failedDeliveryIsRetriedWithBackoff() {
+        EmailOutboxEntity email = outboxRepository.save(email("retry@judify.test"));
+
+        greenMail.stop();
+        dispatcher.dispatchPending();
+        greenMail.start();
+
+        EmailOutboxEntity failed = outboxRepository.findById(email.getOutboxId()).orElseThrow();
+        assertEquals(EmailOutboxEntity.STATUS_PENDING, failed.getStatus());
+        assertEquals(1, failed.getAttempts());
+        assertNotNull(failed.getLastError());
+        assertTrue(failed.getNextAttemptAt().after(new Date()), "A failed email must back off");
+
+        // Not due yet: the next run leaves it alone
+        dispatcher.dispatchPending();
+        assertEquals(0, greenMail.getReceivedMessages().length);
+
+        makeDue(failed);
+        dispatcher.dispatchPending();
+
+        assertTrue(greenMail.waitForIncomingEmail(5000, 1));
+        EmailOutboxEntity sent = outboxRepository.findById(email.getOutboxId()).orElseThrow();
+        assertEquals(EmailOutboxEntity.STATUS_SENT, sent.getStatus());
+        assertEquals("retry@judify.test", recipient(greenMail.getReceivedMessages()[0]));
+    }
+
+    @Test
+    void emailIsDeadLetteredAfterMaxAttempts() {
+        EmailOutboxEntity email = outboxRepository.save(email("dead@judify.test"));
+
+        greenMail.stop();
+        dispatcher.dispatchPending();
+        makeDue(outboxRepository.findById(email.getOutboxId()).orElseThrow());
+        dispatcher.dispatchPending();
+        greenMail.start();
+
+        EmailOutboxEntity dead = outboxRepository.findById(email.getOutboxId()).orElseThrow();
+        assertEquals(EmailOutboxEntity.STATUS_DEAD, dead.getStatus());
+        assertEquals(2, dead.getAttempts());
+
+        // Dead letters are never claimed again
+        makeDue(dead);
+        dispatcher.dispatchPending();
+        assertEquals(0, greenMail.getReceivedMessages().length);
+        assertEquals(List.of(), outboxRepository.findByStatusOrderByCreatedAtDesc(EmailOutboxEntity.STATUS_PENDING));
+    }
+
+    private void makeDue(EmailOutboxEntity email) {
+        email.setNextAttemptAt(new Date(System.currentTimeMillis() - 1000));
+        outboxRepository.save(email);
+    }
+
+    private static Part attachment(MimeMessage message) throws Exception {
+        if (!(message.getContent() instanceof Multipart multipart)) {
+            return null;
+        }
+        for (int i = 0; i < multipart.getCount(); i++) {
+            Part part = multipart.getBodyPart(i);
+            if (Part.ATTACHMENT.equalsIgnoreCase(part.getDisposition())) {
+                return part;
+            }
+        }
+        return null;
+    }
+
+    private static String recipient(MimeMessage message) {
+        try {
+            return message.getAllRecipients()[0].toString();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static EmailOutboxEntity email(String recipient) {
+        EmailOutboxEntity email = new EmailOutboxEntity();
+        email.setRecipient(recipient);
+        email.setSubject("Outbox test");
+        email.setBody("<p>Hello</p>");
+        return email;
+    }
+
+    private static UserEntity user(String username, UserRole role) {
+        UserEntity user = new UserEntity();
+        user.setUsername(username);
+        user.setEmail(username + "@judify.test");
+        user.setPassword("{noop}password");
+        user.setFirstName(username);
+        user.setLastName("Test");
+        user.setRole(role);
+        return user;
+    }
+}
@@ -0,0 +1,226 @@
+package edu.cit.Judify;
+
+import edu.cit.Judify.Conversation.ConversationEntity;
+import edu.cit.Judify.Conversation.ConversationRepository;
+import edu.cit.Judify.Conversation.ConversationService;
+import edu.cit.Judify.Conversation.DTO.ConversationDTOMapper;
+import edu.cit.Judify.Message.DTO.MessageDTOMapper;
+import edu.cit.Judify.Message.MessageEntity;
+import edu.cit.Judify.Message.MessageRepository;
+import edu.cit.Judify.Message.MessageService;
+import edu.cit.Judify.Message.ReadWatermarkService;
+import edu.cit.Judify.QueryProfile.QueryProfiler;
+import edu.cit.Judify.TutorProfile.TutorProfileEntity;
+import edu.cit.Judify.TutorProfile.TutorProfileRepository;
+import edu.cit.Judify.TutorProfile.TutorProfileService;
+import edu.cit.Judify.TutoringSession.DTO.TutoringSessionDTOMapper;
+import edu.cit.Judify.TutoringSession.TutoringSessionEntity;
+import edu.cit.Judify.TutoringSession.TutoringSessionRepository;
+import edu.cit.Judify.TutoringSession.TutoringSessionService;
+import edu.cit.Judify.User.UserEntity;
+import edu.cit.Judify.User.UserRepository;
+import edu.cit.Judify.User.UserRole;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Guards the fetch plans of the main listing endpoints. Each check renders a full page the way
+ * its controller does, inside one persistence context (as open-in-view gives a request), and
+ * asserts how many SQL statements the profiling DataSource saw. The budgets don't depend on the
+ * page size, so an association that starts loading row by row fails here instead of in production.
+ * Read receipts are held to the same standard: a conversation read message by message is one write.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:fetchplan;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        // The migrations are PostgreSQL scripts; H2 gets its schema from the entities
+        "spring.flyway.enabled=false",
+        "OAUTH_CLIENT_ID=test",
+        "OAUTH_CLIENT_SECRET=test",
+        "OAUTH_REDIRECT_URI=http://localhost/login/oauth2/code/google",
+        "STRIPE_API_KEY=sk_test_fetchplan",
+        "STRIPE_WEBHOOK_SECRET=whsec_fetchplan",
+        "STRIPE_PUBLISHABLE_KEY=pk_test_fetchplan",
+        // Read watermarks are flushed by the test, not the scheduler
+        "judify.chat.read-watermarks.flush-interval-ms=3600000"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class FetchPlanStatementCountTests {
+
+    private static final int ROWS = 12;
+    private static final int PAGE_SIZE = 10;
+
+    @Autowired private QueryProfiler queryProfiler;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    @Autowired private UserRepository userRepository;
+    @Autowired private TutorProfileRepository tutorProfileRepository;
+    @Autowired private ConversationRepository conversationRepository;
+    @Autowired private TutoringSessionRepository sessionRepository;
+    @Autowired private MessageRepository messageRepository;
+
+    @Autowired private TutorProfileService tutorProfileService;
+    @Autowired private TutoringSessionService sessionService;
+    @Autowired private ConversationService conversationService;
+    @Autowired private MessageService messageService;
+    @Autowired private ReadWatermarkService readWatermarkService;
+
+    @Autowired private TutoringSessionDTOMapper sessionDTOMapper;
+    @Autowired private ConversationDTOMapper conversationDTOMapper;
+    @Autowired private MessageDTOMapper messageDTOMapper;
+
+    private TransactionTemplate transactionTemplate;
+    private Long studentId;
+    private Long busyTutorId;
+    private Long conversationId;
+
+    @BeforeAll
+    void seed() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            UserEntity student = userRepository.save(user("student", UserRole.STUDENT));
+            studentId = student.getUserId();
+
+            List<UserEntity> tutors = new ArrayList<>();
+            for (int i = 0; i < ROWS; i++) {
+                UserEntity tutor = userRepository.save(user("tutor" + i, UserRole.TUTOR));
+                TutorProfileEntity profile = new TutorProfileEntity();
+                profile.setUser(tutor);
+                profile.setExpertise("Subject " + i);
+                profile.setHourlyRate(20.0 + i);
+                profile.setSubjects(Set.of("Math", "Physics " + i));
+                tutorProfileRepository.save(profile);
+                tutors.add(tutor);
+            }
+            busyTutorId = tutors.get(0).getUserId();
+
+            for (UserEntity tutor : tutors) {
+                ConversationEntity conversation = new ConversationEntity();
+                conversation.setStudent(student);
+                conversation.setTutor(tutor);
+                conversation = conversationRepository.save(conversation);
+                if (conversationId == null) {
+                    conversationId = conversation.getConversationId();
+                }
+            }
+
+            ConversationEntity busyConversation = conversationRepository.getReferenceById(conversationId);
+            for (int i = 0; i < ROWS; i++) {
+                TutoringSessionEntity session = new TutoringSessionEntity();
+                session.setTutor(tutors.get(0));
+                session.setStudent(student);
+                session.setStartTime(new Date(System.currentTimeMillis() + i * 3_600_000L));
+                session.setEndTime(new Date(System.currentTimeMillis() + i * 3_600_000L + 1_800_000L));
+                session.setSubject("Math");
+                session.setStatus("SCHEDULED");
+                session.setConversation(i == 0 ? busyConversation : null);
+                sessionRepository.save(session);
+
+                MessageEntity message = new MessageEntity();
+                message.setConversation(busyConversation);
+                message.setSender(i % 2 == 0 ? student : tutors.get(0));
+                message.setReceiver(i % 2 == 0 ? tutors.get(0) : student);
+                message.setContent("Message " + i);
+                message.setIsRead(false);
+                messageRepository.save(message);
+            }
+        });
+    }
+
+    @Test
+    void tutorDirectoryPage() {
+        // Profiles with their users, the page count and one batched load of subjects
+        long statements = countStatements(() ->
+                tutorProfileService.getAllTutorProfilesPaginated(0, PAGE_SIZE, null, null, null, null));
+        assertBudget(3, statements);
+    }
+
+    @Test
+    void tutorSessionsPage() {
+        // The tutor (plus its inverse tutor profile), then sessions joined with both participants, and the count
+        long statements = countStatements(() -> {
+            UserEntity tutor = userRepository.findById(busyTutorId).orElseThrow();
+            sessionService.getTutorSessionsPaginated(tutor, null, null, 0, PAGE_SIZE)
+                    .map(sessionDTOMapper::toDTO)
+                    .getContent();
+        });
+        assertBudget(5, statements);
+    }
+
+    @Test
+    void userConversations() {
+        // The student (plus its inverse tutor profile), then conversations joined with both participants
+        long statements = countStatements(() -> {
+            UserEntity student = userRepository.findById(studentId).orElseThrow();
+            conversationService.getUserConversations(student).forEach(conversationDTOMapper::toDTO);
+        });
+        assertBudget(4, statements);
+    }
+
+    @Test
+    void conversationMessagesPage() {
+        // Only participant IDs are rendered, so the page and its count are all it takes
+        long statements = countStatements(() ->
+                messageService.getMessagesByConversationIdPaginated(conversationId, PageRequest.of(0, PAGE_SIZE))
+                        .map(messageDTOMapper::toDTO)
+                        .getContent());
+        assertBudget(2, statements);
+    }
+
+    @Test
+    void readReceiptsWhileScrolling() {
+        // One receipt per message as it scrolls into view, coalesced into a single batched UPDATE
+        List<Long> messageIds = messageService.getMessagesByConversationId(conversationId).stream()
+                .map(MessageEntity::getMessageId)
+                .toList();
+        long statements = countStatements(() -> {
+            messageIds.forEach(messageId -> readWatermarkService.advance(conversationId, studentId, messageId));
+            readWatermarkService.flush();
+        });
+        assertBudget(1, statements);
+        assertEquals(0L, messageService.getUnreadMessagesCount(conversationId, studentId));
+    }
+
+    private long countStatements(Runnable endpoint) {
+        return transactionTemplate.execute(status -> {
+            try (QueryProfiler.Scope scope = queryProfiler.open()) {
+                endpoint.run();
+                return (long) scope.getStatementCount();
+            }
+        });
+    }
+
+    private void assertBudget(long budget, long statements) {
+        assertTrue(statements <= budget,
+                "Expected at most " + budget + " SQL statements but " + statements + " were executed");
+        assertTrue(statements > 0, "Statements are not reaching the SQL profiler");
+    }
+
+    private UserEntity user(String username, UserRole role) {
+        UserEntity user = new UserEntity();
+        user.setUsername(username);
+        user.setEmail(username + "@judify.test");
+        user.setPassword("{noop}password");
+        user.setFirstName(username);
+        user.setLastName("Test");
+        user.setRole(role);
+        return user;
+    }
+}
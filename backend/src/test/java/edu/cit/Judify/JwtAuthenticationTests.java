@@ -0,0 +1,238 @@
+package edu.cit.Judify;
+
+import edu.cit.Judify.config.JwtAuthenticationFilter;
+import edu.cit.Judify.config.JwtPrincipal;
+import edu.cit.Judify.config.JwtTokenCache;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.security.Key;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * The segmented LRU token cache and the bearer token filter in front of it, without a Spring context:
+ * the cache stays within its bound, drops expired tokens and evicts per user; the filter accepts
+ * tokens signed with the shared key, rejects tampered, expired or foreign ones, and answers a cache
+ * hit without touching the signing key or any repository.
+ */
+class JwtAuthenticationTests {
+
+    private final Key key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void cacheStaysWithinItsBound() {
+        JwtTokenCache cache = new JwtTokenCache(64);
+        long expiresAt = System.currentTimeMillis() + 60_000;
+        for (int i = 0; i < 10_000; i++) {
+            cache.put("token-" + i, principal(i), expiresAt);
+        }
+
+        // 16 segments of 64 / 16 entries each
+        assertTrue(cache.size() <= 64, "cache holds " + cache.size());
+        assertNotNull(cache.get("token-9999"));
+    }
+
+    @Test
+    void cacheEvictsTheLeastRecentlyUsedTokenOfASegment() {
+        // Two entries per segment, so a third token of the same segment evicts one
+        JwtTokenCache cache = new JwtTokenCache(32);
+        List<String> tokens = tokensInOneSegment(3);
+        long expiresAt = System.currentTimeMillis() + 60_000;
+
+        cache.put(tokens.get(0), principal(0), expiresAt);
+        cache.put(tokens.get(1), principal(1), expiresAt);
+        // Reading the first token makes the second the least recently used
+        assertNotNull(cache.get(tokens.get(0)));
+        cache.put(tokens.get(2), principal(2), expiresAt);
+
+        assertNotNull(cache.get(tokens.get(0)));
+        assertNull(cache.get(tokens.get(1)));
+        assertNotNull(cache.get(tokens.get(2)));
+    }
+
+    @Test
+    void expiredTokensAreDropped() {
+        JwtTokenCache cache = new JwtTokenCache(100);
+        cache.put("expired", principal(1), System.currentTimeMillis() - 1);
+        cache.put("valid", principal(2), System.currentTimeMillis() + 60_000);
+
+        assertNull(cache.get("expired"));
+        assertEquals(1, cache.size());
+        assertNotNull(cache.get("valid"));
+    }
+
+    @Test
+    void evictUserDropsEveryTokenOfThatUser() {
+        JwtTokenCache cache = new JwtTokenCache(100);
+        long expiresAt = System.currentTimeMillis() + 60_000;
+        cache.put("first", principal(1), expiresAt);
+        cache.put("second", principal(1), expiresAt);
+        cache.put("other", principal(2), expiresAt);
+
+        cache.evictUser(1L);
+
+        assertNull(cache.get("first"));
+        assertNull(cache.get("second"));
+        assertNotNull(cache.get("other"));
+    }
+
+    @Test
+    void validTokenAuthenticatesAndIsCached() throws Exception {
+        JwtTokenCache cache = new JwtTokenCache(100);
+        String token = token(key, 7L, new Date(System.currentTimeMillis() + 60_000));
+
+        JwtPrincipal principal = authenticate(new JwtAuthenticationFilter(key, cache), token);
+
+        assertNotNull(principal);
+        assertEquals(7L, principal.getUserId());
+        assertEquals("tutor7", principal.getUsername());
+        assertEquals("tutor7@judify.test", principal.getEmail());
+        assertEquals("ROLE_TUTOR", principal.getAuthorities().iterator().next().getAuthority());
+        assertNotNull(cache.get(token));
+    }
+
+    @Test
+    void cacheHitNeedsNeitherTheSigningKeyNorTheDatabase() throws Exception {
+        JwtTokenCache cache = new JwtTokenCache(100);
+        JwtPrincipal cached = principal(9);
+        // Not even a JWT: only a cache hit can authenticate it
+        cache.put("opaque-cached-token", cached, System.currentTimeMillis() + 60_000);
+        Key untouchedKey = mock(Key.class);
+
+        JwtPrincipal principal = authenticate(new JwtAuthenticationFilter(untouchedKey, cache), "opaque-cached-token");
+
+        assertSame(cached, principal);
+        verifyNoInteractions(untouchedKey);
+    }
+
+    @Test
+    void tamperedTokenIsRejected() throws Exception {
+        JwtTokenCache cache = new JwtTokenCache(100);
+        String token = token(key, 7L, new Date(System.currentTimeMillis() + 60_000));
+        // Swap the payload for one claiming to be another user, keeping the original signature
+        String[] parts = token.split("\\.");
+        String forgedPayload = token(key, 1L, new Date(System.currentTimeMillis() + 60_000)).split("\\.")[1];
+        String forged = parts[0] + "." + forgedPayload + "." + parts[2];
+
+        assertNull(authenticate(new JwtAuthenticationFilter(key, cache), forged));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void tokenSignedWithAnotherKeyIsRejected() throws Exception {
+        JwtTokenCache cache = new JwtTokenCache(100);
+        String token = token(Keys.secretKeyFor(SignatureAlgorithm.HS256), 7L, new Date(System.currentTimeMillis() + 60_000));
+
+        assertNull(authenticate(new JwtAuthenticationFilter(key, cache), token));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void expiredTokenIsRejected() throws Exception {
+        JwtTokenCache cache = new JwtTokenCache(100);
+        String token = token(key, 7L, new Date(System.currentTimeMillis() - 1000));
+
+        assertNull(authenticate(new JwtAuthenticationFilter(key, cache), token));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void expiredCacheEntryIsNotTrusted() throws Exception {
+        JwtTokenCache cache = new JwtTokenCache(100);
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(key, cache);
+        long past = System.currentTimeMillis() - 1;
+
+        // An entry past its expiry is validated again, so an expired token is rejected...
+        String expired = token(key, 7L, new Date(System.currentTimeMillis() - 1000));
+        cache.put(expired, principal(7), past);
+        assertNull(authenticate(filter, expired));
+
+        // ...and a still valid one is re-cached from its claims, not from the stale entry
+        String valid = token(key, 7L, new Date(System.currentTimeMillis() + 60_000));
+        cache.put(valid, principal(99), past);
+        assertEquals(7L, authenticate(filter, valid).getUserId());
+        assertEquals(7L, cache.get(valid).getUserId());
+    }
+
+    @Test
+    void requestWithoutBearerTokenStaysAnonymous() throws Exception {
+        JwtTokenCache cache = new JwtTokenCache(100);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Basic dXNlcjpwYXNz");
+        MockFilterChain chain = new MockFilterChain();
+
+        new JwtAuthenticationFilter(key, cache).doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    /**
+     * Runs the filter for a bearer token and returns the principal it authenticated, or null.
+     * The request always continues down the chain.
+     */
+    private static JwtPrincipal authenticate(JwtAuthenticationFilter filter, String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest(), "The filter must never stop the request");
+        return JwtPrincipal.current().orElse(null);
+    }
+
+    private static String token(Key signingKey, long userId, Date expiration) {
+        return Jwts.builder()
+                .setSubject("tutor" + userId + "@judify.test")
+                .claim("userId", userId)
+                .claim("username", "tutor" + userId)
+                .claim("role", "TUTOR")
+                .setIssuedAt(new Date(expiration.getTime() - 120_000))
+                .setExpiration(expiration)
+                .signWith(signingKey)
+                .compact();
+    }
+
+    private static JwtPrincipal principal(long userId) {
+        return new JwtPrincipal(userId, "user" + userId, "user" + userId + "@judify.test", "STUDENT");
+    }
+
+    /**
+     * Tokens that land in the same cache segment, which is picked by the token's hash code.
+     */
+    private static List<String> tokensInOneSegment(int count) {
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; tokens.size() < count; i++) {
+            String token = "token-" + i;
+            if ((token.hashCode() & 0x7fffffff) % 16 == 0) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
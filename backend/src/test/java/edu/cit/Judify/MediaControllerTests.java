@@ -0,0 +1,237 @@
+package edu.cit.Judify;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.cit.Judify.User.UserEntity;
+import edu.cit.Judify.User.UserRepository;
+import edu.cit.Judify.User.UserRole;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Uploads profile pictures and reads them back from /media/{hash} through MockMvc: full and partial
+ * responses, unsatisfiable ranges, conditional requests, and the uploads the media store refuses.
+ * Blobs go to a directory under target/, and uploads are capped at 64 KB so the size limit is cheap to hit.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:mediacontroller;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        // The migrations are PostgreSQL scripts; H2 gets its schema from the entities
+        "spring.flyway.enabled=false",
+        "OAUTH_CLIENT_ID=test",
+        "OAUTH_CLIENT_SECRET=test",
+        "OAUTH_REDIRECT_URI=http://localhost/login/oauth2/code/google",
+        "STRIPE_API_KEY=sk_test_media",
+        "STRIPE_WEBHOOK_SECRET=whsec_media",
+        "STRIPE_PUBLISHABLE_KEY=pk_test_media",
+        "judify.media.root=target/test-media",
+        "judify.media.base-url=http://localhost/media",
+        "judify.media.max-upload-bytes=65536"
+})
+@AutoConfigureMockMvc
+class MediaControllerTests {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private UserRepository userRepository;
+    @Autowired private ObjectMapper objectMapper;
+
+    private UserEntity user;
+
+    @BeforeEach
+    void createUser() {
+        user = userRepository.save(user("media-" + System.nanoTime()));
+    }
+
+    @Test
+    void uploadedPictureIsServedWithCacheHeaders() throws Exception {
+        String hash = upload(png(64, 48));
+
+        byte[] body = mockMvc.perform(get("/media/{hash}", hash))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("image/png"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + hash + "\""))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public, immutable"))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals(64, ImageIO.read(new ByteArrayInputStream(body)).getWidth());
+
+        mockMvc.perform(get("/media/{hash}", hash).param("variant", "thumb"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + hash + "-thumb\""));
+    }
+
+    @Test
+    void singleRangeGetsPartialContent() throws Exception {
+        String hash = upload(png(64, 48));
+        byte[] full = mockMvc.perform(get("/media/{hash}", hash)).andReturn().getResponse().getContentAsByteArray();
+
+        byte[] part = mockMvc.perform(get("/media/{hash}", hash).header(HttpHeaders.RANGE, "bytes=8-23"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 8-23/" + full.length))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 16))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertArrayEquals(Arrays.copyOfRange(full, 8, 24), part);
+
+        // Suffix range: the last 10 bytes
+        byte[] tail = mockMvc.perform(get("/media/{hash}", hash).header(HttpHeaders.RANGE, "bytes=-10"))
+                .andExpect(status().isPartialContent())
+                .andReturn().getResponse().getContentAsByteArray();
+        assertArrayEquals(Arrays.copyOfRange(full, full.length - 10, full.length), tail);
+
+        // A stale If-Range validator gets the whole image instead
+        mockMvc.perform(get("/media/{hash}", hash)
+                        .header(HttpHeaders.RANGE, "bytes=8-23")
+                        .header(HttpHeaders.IF_RANGE, "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, full.length));
+    }
+
+    @Test
+    void rangeBeyondTheEndIsNotSatisfiable() throws Exception {
+        String hash = upload(png(64, 48));
+        long length = mockMvc.perform(get("/media/{hash}", hash)).andReturn().getResponse().getContentAsByteArray().length;
+
+        mockMvc.perform(get("/media/{hash}", hash).header(HttpHeaders.RANGE, "bytes=" + length + "-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */" + length));
+    }
+
+    @Test
+    void matchingEtagGetsNotModified() throws Exception {
+        String hash = upload(png(64, 48));
+
+        mockMvc.perform(get("/media/{hash}", hash).header(HttpHeaders.IF_NONE_MATCH, "\"" + hash + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+        mockMvc.perform(get("/media/{hash}", hash).header(HttpHeaders.IF_NONE_MATCH, "\"other\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void unknownHashIsNotFound() throws Exception {
+        mockMvc.perform(get("/media/{hash}", "0".repeat(64)))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/media/{hash}", "not-a-hash"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void oversizedUploadIsRejected() throws Exception {
+        byte[] oversized = new byte[70_000];
+        byte[] header = png(8, 8);
+        System.arraycopy(header, 0, oversized, 0, header.length);
+
+        mockMvc.perform(multipart("/api/users/{userId}/profile-picture", user.getUserId())
+                        .file(new MockMultipartFile("file", "big.png", "image/png", oversized)))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Invalid profile picture: Image exceeds the maximum size of 65536 bytes"));
+        assertNull(userRepository.findById(user.getUserId()).orElseThrow().getProfilePictureHash());
+    }
+
+    @Test
+    void nonImageUploadIsRejected() throws Exception {
+        byte[] script = "<?php echo 'hello'; ?>".getBytes(StandardCharsets.UTF_8);
+
+        mockMvc.perform(multipart("/api/users/{userId}/profile-picture", user.getUserId())
+                        .file(new MockMultipartFile("file", "avatar.png", "image/png", script)))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Invalid profile picture: Unsupported image format"));
+    }
+
+    @Test
+    void servedJpegCarriesNoExif() throws Exception {
+        byte[] exif = "Exif\0\0GPS 10.3157 N 123.8854 E".getBytes(StandardCharsets.ISO_8859_1);
+        byte[] jpeg = jpeg(64, 48);
+        ByteArrayOutputStream withExif = new ByteArrayOutputStream();
+        withExif.write(jpeg, 0, 2);
+        withExif.write(new byte[] {(byte) 0xFF, (byte) 0xE1, 0, (byte) (exif.length + 2)});
+        withExif.write(exif);
+        withExif.write(jpeg, 2, jpeg.length - 2);
+
+        String hash = upload(withExif.toByteArray(), "photo.jpg", "image/jpeg");
+        byte[] served = mockMvc.perform(get("/media/{hash}", hash))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("image/jpeg"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertFalse(new String(served, StandardCharsets.ISO_8859_1).contains("GPS"));
+        assertTrue(served.length < withExif.size());
+    }
+
+    private String upload(byte[] image) throws Exception {
+        return upload(image, "avatar.png", "image/png");
+    }
+
+    private String upload(byte[] image, String filename, String contentType) throws Exception {
+        String body = mockMvc.perform(multipart("/api/users/{userId}/profile-picture", user.getUserId())
+                        .file(new MockMultipartFile("file", filename, contentType, image)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode response = objectMapper.readTree(body);
+        String url = response.get("profilePicture").asText();
+        return url.substring(url.lastIndexOf('/') + 1);
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        return encode(image(width, height), "png");
+    }
+
+    private static byte[] jpeg(int width, int height) throws IOException {
+        return encode(image(width, height), "jpg");
+    }
+
+    private static BufferedImage image(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                image.setRGB(x, y, (x * 4) << 16 | (y * 5) << 8 | 0x40);
+            }
+        }
+        return image;
+    }
+
+    private static byte[] encode(BufferedImage image, String format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, format, out);
+        return out.toByteArray();
+    }
+
+    private static UserEntity user(String username) {
+        UserEntity user = new UserEntity();
+        user.setUsername(username);
+        user.setEmail(username + "@judify.test");
+        user.setPassword("{noop}password");
+        user.setFirstName(username);
+        user.setLastName("Test");
+        user.setRole(UserRole.STUDENT);
+        return user;
+    }
+}
@@ -0,0 +1,156 @@
+package edu.cit.Judify;
+
+import edu.cit.Judify.RateLimit.RateLimitFilter;
+import edu.cit.Judify.RateLimit.RateLimiter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Exercises the GCRA buckets through {@link RateLimiter} (burst, rejection, refill and idle-key
+ * eviction) and the 429 responses of {@link RateLimitFilter}, without a Spring context.
+ * Chat sends use a 20-per-second policy, so refills are observable in a few milliseconds.
+ */
+class RateLimiterTests {
+
+    private static final int CHAT_LIMIT = 20;
+
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void createLimiter() {
+        // authenticate 10/60s, authenticate-account 5/60s, register 5/600s, chat-send 20/1s
+        rateLimiter = new RateLimiter(10, 60, 5, 60, 5, 600, CHAT_LIMIT, 1);
+        ReflectionTestUtils.setField(rateLimiter, "enabled", true);
+        ReflectionTestUtils.setField(rateLimiter, "maxKeys", 100_000);
+    }
+
+    @Test
+    void burstIsAdmittedThenRejectedUntilRefilled() throws InterruptedException {
+        for (int i = 0; i < CHAT_LIMIT; i++) {
+            assertEquals(0, rateLimiter.tryAcquire(RateLimiter.POLICY_CHAT_SEND, "user:burst"), "request " + i);
+        }
+
+        long retryAfterMs = rateLimiter.tryAcquire(RateLimiter.POLICY_CHAT_SEND, "user:burst");
+        // One emission interval (1000 ms / 20) at most until the next request fits
+        assertTrue(retryAfterMs > 0 && retryAfterMs <= 50, "retry after " + retryAfterMs);
+        assertEquals(1, rateLimiter.getRejectedCount(RateLimiter.POLICY_CHAT_SEND));
+
+        // Other keys have their own bucket
+        assertEquals(0, rateLimiter.tryAcquire(RateLimiter.POLICY_CHAT_SEND, "user:other"));
+
+        Thread.sleep(retryAfterMs + 5);
+        assertEquals(0, rateLimiter.tryAcquire(RateLimiter.POLICY_CHAT_SEND, "user:burst"));
+        // Refilled by one request only, not a whole burst
+        assertTrue(rateLimiter.tryAcquire(RateLimiter.POLICY_CHAT_SEND, "user:burst") > 0);
+    }
+
+    @Test
+    void idleKeysAreEvictedOnceMaxKeysIsReached() throws InterruptedException {
+        ReflectionTestUtils.setField(rateLimiter, "maxKeys", 3);
+        for (String key : new String[] {"a", "b", "c"}) {
+            assertEquals(0, rateLimiter.tryAcquire(RateLimiter.POLICY_CHAT_SEND, key));
+        }
+        assertEquals(3, rateLimiter.getActiveKeys());
+
+        // One request refills within 50 ms, after which the buckets are idle
+        Thread.sleep(100);
+        assertEquals(0, rateLimiter.tryAcquire(RateLimiter.POLICY_CHAT_SEND, "d"));
+        assertEquals(1, rateLimiter.getActiveKeys());
+    }
+
+    @Test
+    void busyKeysSurviveEviction() {
+        ReflectionTestUtils.setField(rateLimiter, "maxKeys", 3);
+        for (int i = 0; i < 10; i++) {
+            rateLimiter.tryAcquire(RateLimiter.POLICY_AUTHENTICATE, "10.0.0.1");
+        }
+        rateLimiter.tryAcquire(RateLimiter.POLICY_AUTHENTICATE, "10.0.0.2");
+        rateLimiter.tryAcquire(RateLimiter.POLICY_AUTHENTICATE, "10.0.0.3");
+
+        // Nothing is idle yet, so a new key sweeps nothing and the exhausted client stays limited
+        assertEquals(0, rateLimiter.tryAcquire(RateLimiter.POLICY_AUTHENTICATE, "10.0.0.4"));
+        assertEquals(4, rateLimiter.getActiveKeys());
+        assertTrue(rateLimiter.tryAcquire(RateLimiter.POLICY_AUTHENTICATE, "10.0.0.1") > 0);
+    }
+
+    @Test
+    void rejectedLoginGets429WithRetryAfter() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(rateLimiter);
+        for (int i = 0; i < 10; i++) {
+            MockHttpServletResponse response = authenticate(filter, "10.0.0.1", "user" + i + "@judify.test");
+            assertEquals(200, response.getStatus(), "attempt " + i);
+        }
+
+        MockHttpServletResponse rejected = authenticate(filter, "10.0.0.1", "another@judify.test");
+        assertEquals(429, rejected.getStatus());
+        // 10 per minute: the next attempt fits in about 6 seconds
+        long retryAfterSeconds = Long.parseLong(rejected.getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(retryAfterSeconds >= 1 && retryAfterSeconds <= 6, "Retry-After " + retryAfterSeconds);
+        assertEquals("Too many requests, please try again later", rejected.getContentAsString());
+    }
+
+    @Test
+    void accountLimitIsPerClientSoOthersCannotLockTheOwnerOut() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(rateLimiter);
+        for (int i = 0; i < 5; i++) {
+            authenticate(filter, "203.0.113.7", "victim@judify.test");
+        }
+        assertEquals(429, authenticate(filter, "203.0.113.7", "Victim@Judify.test ").getStatus());
+
+        // The owner logging in from their own address is unaffected
+        assertEquals(200, authenticate(filter, "198.51.100.20", "victim@judify.test").getStatus());
+    }
+
+    @Test
+    void registrationRoutesShareOneLimitPerClient() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(rateLimiter);
+        String[] paths = {"/api/users/register", "/api/users/addUser", "/api/users/manual-user-create",
+                "/api/tutors/register", "/api/users/register"};
+        for (String path : paths) {
+            assertEquals(200, post(filter, path, "10.0.0.9", null).getStatus(), path);
+        }
+        assertEquals(429, post(filter, "/api/tutors/register", "10.0.0.9", null).getStatus());
+    }
+
+    @Test
+    void otherRequestsAreNotThrottled() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(rateLimiter);
+        for (int i = 0; i < 20; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/authenticate");
+            request.setServletPath("/api/users/authenticate");
+            MockFilterChain chain = new MockFilterChain();
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+            assertNotNull(chain.getRequest());
+        }
+    }
+
+    private static MockHttpServletResponse authenticate(RateLimitFilter filter, String clientIp, String email) throws Exception {
+        return post(filter, "/api/users/authenticate", clientIp, email);
+    }
+
+    private static MockHttpServletResponse post(RateLimitFilter filter, String path, String clientIp, String email) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setServletPath(path);
+        request.setRemoteAddr(clientIp);
+        if (email != null) {
+            request.setParameter("email", email);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, response, chain);
+        if (response.getStatus() == 429) {
+            assertNull(chain.getRequest(), "A rejected request must not reach the controllers");
+        }
+        return response;
+    }
+}
@@ -0,0 +1,148 @@
+package edu.cit.Judify;
+
+import edu.cit.Judify.ReadReplica.ReplicaRouter;
+import edu.cit.Judify.User.UserRepository;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Routes between two local PostgreSQL instances. The second is a standalone instance standing in for
+ * a streaming replica: it has the schema but none of the rows written through the application, and a
+ * different database name, so where a statement ran shows in what it finds. Needs Docker; skipped without it.
+ */
+@SpringBootTest(properties = {
+        "judify.datasource.replicas.enabled=true",
+        // Replicas are checked by the tests, not the scheduler
+        "judify.datasource.replicas.lag-check-interval-ms=3600000",
+        "OAUTH_CLIENT_ID=test",
+        "OAUTH_CLIENT_SECRET=test",
+        "OAUTH_REDIRECT_URI=http://localhost/login/oauth2/code/google",
+        "STRIPE_API_KEY=sk_test_replica",
+        "STRIPE_WEBHOOK_SECRET=whsec_replica",
+        "STRIPE_PUBLISHABLE_KEY=pk_test_replica"
+})
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ReadReplicaRoutingTests {
+
+    private static final String PRIMARY = "judify_primary";
+    private static final String REPLICA = "judify_replica";
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> primary = new PostgreSQLContainer<>("postgres:16-alpine").withDatabaseName(PRIMARY);
+
+    @Container
+    static PostgreSQLContainer<?> replica = new PostgreSQLContainer<>("postgres:16-alpine").withDatabaseName(REPLICA);
+
+    @DynamicPropertySource
+    static void replicaProperties(DynamicPropertyRegistry registry) {
+        registry.add("judify.datasource.replicas.urls", replica::getJdbcUrl);
+        registry.add("judify.datasource.replicas.username", replica::getUsername);
+        registry.add("judify.datasource.replicas.password", replica::getPassword);
+    }
+
+    @Autowired private ReplicaRouter replicaRouter;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private UserRepository userRepository;
+
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeAll
+    void setUp() {
+        // Replication would bring the schema over from the primary
+        Flyway.configure()
+                .dataSource(replica.getJdbcUrl(), replica.getUsername(), replica.getPassword())
+                .locations("classpath:db/migration/postgresql")
+                .load()
+                .migrate();
+        replicaRouter.checkReplicas();
+
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @Order(1)
+    void readOnlyTransactionsRunOnTheReplica() {
+        assertEquals(1, replicaRouter.getAvailableReplicaCount());
+        assertEquals(REPLICA, databaseOf(readOnly));
+        assertEquals(PRIMARY, databaseOf(readWrite));
+        assertEquals(PRIMARY, jdbcTemplate.queryForObject("select current_database()", String.class));
+    }
+
+    @Test
+    @Order(2)
+    void bareRepositoryCallsStayOnThePrimary() {
+        Long userId = jdbcTemplate.queryForObject("""
+                insert into users (username, email, password_hash, first_name, last_name, roles, created_at)
+                values ('primary-only', 'primary-only@judify.test', 'x', 'First', 'Last', 'STUDENT', now())
+                returning user_id""", Long.class);
+
+        assertTrue(userRepository.findById(userId).isPresent());
+        assertTrue(readOnly.execute(status -> userRepository.findById(userId)).isEmpty());
+    }
+
+    @Test
+    @Order(3)
+    void usersReadTheirOwnWrites() {
+        authenticate("alice");
+        readWrite.executeWithoutResult(status ->
+                jdbcTemplate.update("update users set updated_at = now() where username = 'primary-only'"));
+        assertEquals(PRIMARY, databaseOf(readOnly));
+
+        authenticate("bob");
+        assertEquals(REPLICA, databaseOf(readOnly));
+    }
+
+    @Test
+    @Order(4)
+    void unreachableReplicaFallsBackToThePrimary() {
+        replica.stop();
+        replicaRouter.checkReplicas();
+
+        assertEquals(0, replicaRouter.getAvailableReplicaCount());
+        assertEquals(PRIMARY, databaseOf(readOnly));
+    }
+
+    private String databaseOf(TransactionTemplate template) {
+        return template.execute(status -> jdbcTemplate.queryForObject("select current_database()", String.class));
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                username, null, AuthorityUtils.createAuthorityList("ROLE_STUDENT")));
+    }
+}
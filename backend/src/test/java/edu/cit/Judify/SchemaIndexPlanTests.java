@@ -0,0 +1,155 @@
+package edu.cit.Judify;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the Flyway migrations against a real PostgreSQL, lets Hibernate validate the entities
+ * against the result, and checks with EXPLAIN that the hot queries are served by the indexes of
+ * V2. The queries are written as the repositories issue them, with literals for the parameters.
+ * Needs Docker; skipped without it.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "OAUTH_CLIENT_ID=test",
+        "OAUTH_CLIENT_SECRET=test",
+        "OAUTH_REDIRECT_URI=http://localhost/login/oauth2/code/google",
+        "STRIPE_API_KEY=sk_test_schema",
+        "STRIPE_WEBHOOK_SECRET=whsec_schema",
+        "STRIPE_PUBLISHABLE_KEY=pk_test_schema"
+})
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SchemaIndexPlanTests {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    /**
+     * 200 users, 100 conversations of 50 messages (3 unread each), 20 sessions per conversation with
+     * a payment and a review each, availability on weekdays for every tutor, 10 notifications per user.
+     * Enough rows for the planner statistics to mean something; odd user ids are students, even tutors.
+     */
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.execute("""
+                insert into users (username, email, password_hash, first_name, last_name, roles, created_at)
+                select 'user' || i, 'user' || i || '@judify.test', 'x', 'First', 'Last',
+                       case when i % 2 = 0 then 'TUTOR' else 'STUDENT' end, now()
+                from generate_series(1, 200) i""");
+        jdbcTemplate.execute("""
+                insert into conversations (student_id, tutor_id, created_at)
+                select user_id, user_id + 1, now() from users where user_id % 2 = 1""");
+        jdbcTemplate.execute("""
+                insert into messages (conversation_id, sender_id, receiver_id, content, message_type, timestamp, is_read)
+                select c.conversation_id, c.student_id, c.tutor_id, 'Message ' || g, 'TEXT',
+                       now() - g * interval '1 minute', g > 3
+                from conversations c, generate_series(1, 50) g""");
+        jdbcTemplate.execute("""
+                insert into tutoring_sessions (tutor_id, student_id, start_time, end_time, status, created_at)
+                select c.tutor_id, c.student_id, now() + g * interval '1 day',
+                       now() + g * interval '1 day' + interval '1 hour', 'APPROVED', now()
+                from conversations c, generate_series(1, 20) g""");
+        jdbcTemplate.execute("""
+                insert into payment_transactions (session_id, payer_id, payee_id, amount, currency, status,
+                        payment_status, payment_gateway_reference, transaction_reference, payment_intent_id, created_at)
+                select session_id, student_id, tutor_id, 100, 'PHP', 'COMPLETED', 'COMPLETED', 'stripe',
+                       'txn_' || session_id, 'pi_' || session_id, now()
+                from tutoring_sessions""");
+        jdbcTemplate.execute("""
+                insert into reviews (session_id, tutor_id, student_id, rating, created_at)
+                select session_id, tutor_id, student_id, 5, now() from tutoring_sessions""");
+        jdbcTemplate.execute("""
+                insert into tutor_availabilities (tutor_id, day_of_week, start_time, end_time)
+                select u.user_id, d, '09:00', '17:00'
+                from users u, unnest(array['MONDAY', 'TUESDAY', 'WEDNESDAY', 'THURSDAY', 'FRIDAY']) d
+                where u.user_id % 2 = 0""");
+        jdbcTemplate.execute("""
+                insert into notifications (user_id, type, content, is_read, created_at)
+                select user_id, 'SESSION_UPDATE', 'Update ' || g, g > 2, now() - g * interval '1 day'
+                from users, generate_series(1, 10) g""");
+        jdbcTemplate.execute("analyze");
+    }
+
+    @Test
+    void conversationHistory() {
+        assertUsesIndex("idx_messages_conversation_timestamp",
+                "select * from messages where conversation_id = 1 order by timestamp desc limit 20");
+    }
+
+    @Test
+    void unreadCountAndReadWatermark() {
+        assertUsesIndex("idx_messages_receiver_unread",
+                "select count(*) from messages where conversation_id = 1 and receiver_id = 2 and is_read = false");
+        assertUsesIndex("idx_messages_receiver_unread",
+                "update messages set is_read = true where conversation_id = 1 and receiver_id = 2"
+                        + " and message_id <= 40 and is_read = false");
+    }
+
+    @Test
+    void sessionsOfTutor() {
+        assertUsesIndex("idx_tutoring_sessions_tutor_start",
+                "select * from tutoring_sessions where tutor_id = 2 order by start_time desc");
+        assertUsesIndex("idx_tutoring_sessions_tutor_start",
+                "select * from tutoring_sessions where tutor_id = 2 and status = 'APPROVED'"
+                        + " and start_time < now() + interval '3 days' and end_time > now() + interval '2 days'");
+    }
+
+    @Test
+    void conversationsOfUser() {
+        assertUsesIndex("idx_conversations_student",
+                "select * from conversations where student_id = 1 or tutor_id = 1");
+    }
+
+    @Test
+    void reviewsOfTutor() {
+        assertUsesIndex("idx_reviews_tutor_created",
+                "select * from reviews where tutor_id = 2 order by created_at desc");
+    }
+
+    @Test
+    void availabilityOfTutor() {
+        assertUsesIndex("idx_tutor_availabilities_tutor_day",
+                "select * from tutor_availabilities where tutor_id = 2 and day_of_week = 'MONDAY'");
+    }
+
+    @Test
+    void paymentsByIntentAndPayer() {
+        assertUsesIndex("idx_payment_transactions_payment_intent",
+                "select * from payment_transactions where payment_intent_id = 'pi_1'");
+        assertUsesIndex("idx_payment_transactions_payer_created",
+                "select * from payment_transactions where payer_id = 1 order by created_at desc");
+    }
+
+    @Test
+    void readNotificationRetention() {
+        assertUsesIndex("idx_notifications_read_created",
+                "select notification_id from notifications where is_read = true and created_at < now() - interval '8 days'");
+    }
+
+    private void assertUsesIndex(String index, String sql) {
+        String plan = new TransactionTemplate(transactionManager).execute(status -> {
+            // Small tables are often cheapest to scan whole; with sequential scans priced out the
+            // plan shows whether an index can serve the query at all. EXPLAIN does not run the UPDATE.
+            jdbcTemplate.execute("set local enable_seqscan = off");
+            return String.join("\n", jdbcTemplate.queryForList("explain " + sql, String.class));
+        });
+        assertTrue(plan.contains(index), () -> "Expected " + index + " in the plan of: " + sql + "\n" + plan);
+    }
+}
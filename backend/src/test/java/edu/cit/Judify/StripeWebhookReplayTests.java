@@ -0,0 +1,187 @@
+package edu.cit.Judify;
+
+import com.stripe.model.Event;
+import com.stripe.net.ApiResource;
+import edu.cit.Judify.Ledger.LedgerEntryRepository;
+import edu.cit.Judify.PaymentTransaction.PaymentTransactionEntity;
+import edu.cit.Judify.PaymentTransaction.PaymentTransactionRepository;
+import edu.cit.Judify.PaymentTransaction.StripeWebhookEventEntity;
+import edu.cit.Judify.PaymentTransaction.StripeWebhookEventRepository;
+import edu.cit.Judify.PaymentTransaction.StripeWebhookReplayController;
+import edu.cit.Judify.PaymentTransaction.StripeWebhookService;
+import edu.cit.Judify.TutoringSession.TutoringSessionEntity;
+import edu.cit.Judify.TutoringSession.TutoringSessionRepository;
+import edu.cit.Judify.User.UserEntity;
+import edu.cit.Judify.User.UserRepository;
+import edu.cit.Judify.User.UserRole;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Feeds the Stripe fixtures under src/test/resources/stripe through the webhook pipeline: a card
+ * decline followed by the successful retry of the same PaymentIntent. Replaying them is harmless,
+ * and the events of one PaymentIntent are applied in the order they arrived.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:stripewebhooks;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        // The migrations are PostgreSQL scripts; H2 gets its schema from the entities
+        "spring.flyway.enabled=false",
+        "OAUTH_CLIENT_ID=test",
+        "OAUTH_CLIENT_SECRET=test",
+        "OAUTH_REDIRECT_URI=http://localhost/login/oauth2/code/google",
+        "STRIPE_API_KEY=sk_test_webhooks",
+        "STRIPE_WEBHOOK_SECRET=whsec_webhooks",
+        "STRIPE_PUBLISHABLE_KEY=pk_test_webhooks",
+        "stripe.webhook.replay.enabled=true",
+        // Events are applied by their lanes or by the tests, not the recovery sweep
+        "stripe.webhook.recovery-interval-ms=3600000"
+})
+class StripeWebhookReplayTests {
+
+    private static final String FAILED = "stripe/payment_intent_payment_failed.json";
+    private static final String SUCCEEDED = "stripe/payment_intent_succeeded.json";
+
+    @Autowired private StripeWebhookReplayController replayController;
+    @Autowired private StripeWebhookService webhookService;
+    @Autowired private StripeWebhookEventRepository webhookEventRepository;
+    @Autowired private PaymentTransactionRepository transactionRepository;
+    @Autowired private LedgerEntryRepository ledgerEntryRepository;
+    @Autowired private TutoringSessionRepository sessionRepository;
+    @Autowired private UserRepository userRepository;
+
+    @Test
+    void replayingTheFixturesTwiceAppliesEachEventOnce() throws Exception {
+        PaymentTransactionEntity transaction = pendingTransaction("pi_fixture_0001", "replay");
+        String fixtures = "[" + fixture(FAILED) + "," + fixture(SUCCEEDED) + "]";
+
+        Map<String, Object> first = replayController.replayFixture(fixtures).getBody();
+        assertEquals(List.of("evt_fixture_pi_failed_0001", "evt_fixture_pi_succeeded_0001"), first.get("accepted"));
+        awaitProcessed("evt_fixture_pi_failed_0001", "evt_fixture_pi_succeeded_0001");
+
+        Map<String, Object> second = replayController.replayFixture(fixtures).getBody();
+        assertEquals(List.of(), second.get("accepted"));
+        assertEquals(List.of("evt_fixture_pi_failed_0001", "evt_fixture_pi_succeeded_0001"), second.get("duplicates"));
+
+        // A redelivered event that is already applied is skipped, however it reaches the service
+        StripeWebhookEventEntity succeeded = webhookEventRepository.findByEventId("evt_fixture_pi_succeeded_0001").orElseThrow();
+        assertTrue(webhookService.process(succeeded.getWebhookEventId()));
+
+        for (String eventId : List.of("evt_fixture_pi_failed_0001", "evt_fixture_pi_succeeded_0001")) {
+            StripeWebhookEventEntity stored = webhookEventRepository.findByEventId(eventId).orElseThrow();
+            assertEquals(StripeWebhookEventEntity.STATUS_PROCESSED, stored.getStatus());
+            assertEquals(1, stored.getAttempts(), eventId + " was applied more than once");
+        }
+        assertEquals("COMPLETED", transactionRepository.findById(transaction.getTransactionId()).orElseThrow().getPaymentStatus());
+        // One payment posting: the tutor's earnings and the student's payment
+        long postings = ledgerEntryRepository.findAll().stream()
+                .filter(entry -> entry.getTransactionId().equals(transaction.getTransactionId()))
+                .count();
+        assertEquals(2, postings);
+    }
+
+    @Test
+    void laterEventWaitsForTheEarlierEventOfItsPaymentIntent() throws Exception {
+        PaymentTransactionEntity transaction = pendingTransaction("pi_fixture_0002", "order");
+        StripeWebhookEventEntity failed = ingest(fixture(FAILED), "0002");
+        StripeWebhookEventEntity succeeded = ingest(fixture(SUCCEEDED), "0002");
+
+        // The success arrived second, so it is held back until the decline is applied
+        assertFalse(webhookService.process(succeeded.getWebhookEventId()));
+        assertEquals(StripeWebhookEventEntity.STATUS_RECEIVED, status(succeeded));
+        assertEquals("PENDING", paymentStatus(transaction));
+
+        assertTrue(webhookService.process(failed.getWebhookEventId()));
+        assertEquals("FAILED", paymentStatus(transaction));
+        // Applying the decline made the held event due again
+        Date due = webhookEventRepository.findById(succeeded.getWebhookEventId()).orElseThrow().getNextAttemptAt();
+        assertFalse(due.after(new Date()));
+
+        assertTrue(webhookService.process(succeeded.getWebhookEventId()));
+        assertEquals(StripeWebhookEventEntity.STATUS_PROCESSED, status(succeeded));
+        assertEquals("COMPLETED", paymentStatus(transaction));
+    }
+
+    private StripeWebhookEventEntity ingest(String payload, String suffix) {
+        // The same fixture for another PaymentIntent, under its own event ID
+        String renamed = payload.replace("_0001", "_" + suffix);
+        Event event = ApiResource.GSON.fromJson(renamed, Event.class);
+        return webhookService.ingest(event, renamed).orElseThrow();
+    }
+
+    private void awaitProcessed(String... eventIds) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        for (String eventId : eventIds) {
+            while (!StripeWebhookEventEntity.STATUS_PROCESSED.equals(
+                    webhookEventRepository.findByEventId(eventId).map(StripeWebhookEventEntity::getStatus).orElse(null))) {
+                assertTrue(System.currentTimeMillis() < deadline, eventId + " was not applied in time");
+                Thread.sleep(50);
+            }
+        }
+    }
+
+    private String status(StripeWebhookEventEntity webhookEvent) {
+        return webhookEventRepository.findById(webhookEvent.getWebhookEventId()).orElseThrow().getStatus();
+    }
+
+    private String paymentStatus(PaymentTransactionEntity transaction) {
+        return transactionRepository.findById(transaction.getTransactionId()).orElseThrow().getPaymentStatus();
+    }
+
+    private PaymentTransactionEntity pendingTransaction(String paymentIntentId, String name) {
+        UserEntity tutor = userRepository.save(user(name + "-tutor", UserRole.TUTOR));
+        UserEntity student = userRepository.save(user(name + "-student", UserRole.STUDENT));
+
+        TutoringSessionEntity session = new TutoringSessionEntity();
+        session.setTutor(tutor);
+        session.setStudent(student);
+        session.setStartTime(new Date(System.currentTimeMillis() + 86_400_000L));
+        session.setEndTime(new Date(System.currentTimeMillis() + 90_000_000L));
+        session.setSubject("Calculus");
+        session.setStatus("APPROVED");
+        session = sessionRepository.save(session);
+
+        PaymentTransactionEntity transaction = new PaymentTransactionEntity();
+        transaction.setSession(session);
+        transaction.setPayer(student);
+        transaction.setPayee(tutor);
+        transaction.setAmount(500.0);
+        transaction.setCurrency("PHP");
+        transaction.setStatus("PENDING");
+        transaction.setPaymentStatus("PENDING");
+        transaction.setPaymentGatewayReference("stripe");
+        transaction.setTransactionReference("txn_" + paymentIntentId);
+        transaction.setPaymentIntentId(paymentIntentId);
+        return transactionRepository.save(transaction);
+    }
+
+    private static String fixture(String path) throws IOException {
+        return new ClassPathResource(path).getContentAsString(StandardCharsets.UTF_8);
+    }
+
+    private static UserEntity user(String username, UserRole role) {
+        UserEntity user = new UserEntity();
+        user.setUsername(username);
+        user.setEmail(username + "@judify.test");
+        user.setPassword("{noop}password");
+        user.setFirstName(username);
+        user.setLastName("Test");
+        user.setRole(role);
+        return user;
+    }
+}
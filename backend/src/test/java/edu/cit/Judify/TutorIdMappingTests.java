@@ -0,0 +1,90 @@
+package edu.cit.Judify;
+
+import edu.cit.Judify.TutorProfile.TutorIdMapping;
+import edu.cit.Judify.TutorProfile.TutorIdMappingEvent;
+import edu.cit.Judify.TutorProfile.TutorProfileRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Lookups through {@link TutorIdMapping} against a mocked repository: hits never reach the database,
+ * and IDs without a tutor profile are looked up once until the miss expires, a profile is
+ * registered for them or the mapping is reloaded.
+ */
+class TutorIdMappingTests {
+
+    private TutorProfileRepository repository;
+    private TutorIdMapping mapping;
+
+    @BeforeEach
+    void createMapping() {
+        repository = mock(TutorProfileRepository.class);
+        when(repository.findUserIdByTutorId(anyLong())).thenReturn(Optional.empty());
+        when(repository.findTutorIdByUserId(anyLong())).thenReturn(Optional.empty());
+        when(repository.findAllIdMappings()).thenReturn(List.<Object[]>of(new Object[] {3L, 30L}));
+        mapping = new TutorIdMapping(repository, "maximumSize=100,expireAfterWrite=1m");
+        mapping.reload();
+    }
+
+    @Test
+    void knownIdsResolveFromMemory() {
+        assertEquals(Optional.of(30L), mapping.resolveUserId(30));
+        assertEquals(Optional.of(30L), mapping.resolveUserId(3));
+        assertEquals(Optional.of(3L), mapping.findTutorId(30));
+
+        verify(repository, never()).findUserIdByTutorId(anyLong());
+        verify(repository, never()).findTutorIdByUserId(anyLong());
+    }
+
+    @Test
+    void unknownIdsQueryTheDatabaseOnce() {
+        // A student's user ID: neither a tutor's user ID nor a tutor profile ID
+        for (int i = 0; i < 5; i++) {
+            assertEquals(Optional.empty(), mapping.resolveUserId(42));
+        }
+
+        verify(repository, times(1)).findUserIdByTutorId(42L);
+        verify(repository, times(1)).findTutorIdByUserId(42L);
+    }
+
+    @Test
+    void registeringAProfileClearsItsMiss() {
+        assertEquals(Optional.empty(), mapping.findUserId(5));
+
+        mapping.onMappingEvent(new TutorIdMappingEvent(TutorIdMappingEvent.Type.REGISTERED, 5, 50));
+
+        assertEquals(Optional.of(50L), mapping.findUserId(5));
+        assertEquals(Optional.of(50L), mapping.resolveUserId(50));
+    }
+
+    @Test
+    void profileCreatedElsewhereResolvesAfterReload() {
+        assertEquals(Optional.empty(), mapping.findUserId(6));
+
+        when(repository.findUserIdByTutorId(6L)).thenReturn(Optional.of(60L));
+        mapping.reload();
+
+        assertEquals(Optional.of(60L), mapping.findUserId(6));
+        verify(repository, times(2)).findUserIdByTutorId(6L);
+    }
+
+    @Test
+    void removedProfileNoLongerResolves() {
+        mapping.onMappingEvent(new TutorIdMappingEvent(TutorIdMappingEvent.Type.REMOVED, 3, 30));
+
+        assertEquals(Optional.empty(), mapping.resolveUserId(30));
+        assertEquals(Optional.empty(), mapping.findUserId(3));
+        assertEquals(0, mapping.size());
+    }
+}
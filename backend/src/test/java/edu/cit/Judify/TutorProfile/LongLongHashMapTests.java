@@ -0,0 +1,181 @@
+package edu.cit.Judify.TutorProfile;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Probing, resizing and backward-shift removal of {@link LongLongHashMap}. Colliding keys are found
+ * through the map's own hash, so the probe runs under test are known rather than hoped for.
+ * Lives in the map's package since the map is package-private.
+ */
+class LongLongHashMapTests {
+
+    @Test
+    void missingKeysReturnNoValue() {
+        LongLongHashMap map = new LongLongHashMap(4);
+        map.put(7, 70);
+
+        assertEquals(LongLongHashMap.NO_VALUE, map.get(8));
+        assertFalse(map.containsKey(8));
+        // 0 marks empty slots and negative IDs don't exist; neither is ever found
+        assertEquals(LongLongHashMap.NO_VALUE, map.get(0));
+        assertEquals(LongLongHashMap.NO_VALUE, map.get(-7));
+        assertThrows(IllegalArgumentException.class, () -> map.put(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> map.put(-1, 1));
+    }
+
+    @Test
+    void putOverwritesExistingKey() {
+        LongLongHashMap map = new LongLongHashMap(4);
+        map.put(7, 70);
+        map.put(7, 71);
+
+        assertEquals(71, map.get(7));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void collidingKeysProbeToTheNextSlots() {
+        LongLongHashMap map = new LongLongHashMap(4);
+        List<Long> colliding = keysWithHome(3, map.capacity(), 4);
+        for (long key : colliding) {
+            map.put(key, key * 10);
+        }
+
+        for (long key : colliding) {
+            assertEquals(key * 10, map.get(key));
+        }
+        assertEquals(4, map.size());
+    }
+
+    @Test
+    void probeRunWrapsAroundTheEndOfTheTable() {
+        LongLongHashMap map = new LongLongHashMap(4);
+        int capacity = map.capacity();
+        List<Long> colliding = keysWithHome(capacity - 1, capacity, 3);
+        for (long key : colliding) {
+            map.put(key, key + 1);
+        }
+
+        // The second and third keys were placed in slots 0 and 1
+        for (long key : colliding) {
+            assertEquals(key + 1, map.get(key));
+        }
+        long missing = keysWithHome(capacity - 1, capacity, 4).get(3);
+        assertEquals(LongLongHashMap.NO_VALUE, map.get(missing));
+    }
+
+    @Test
+    void resizeKeepsEveryEntryAndAtMostHalfFull() {
+        LongLongHashMap map = new LongLongHashMap(0);
+        int initialCapacity = map.capacity();
+        for (long key = 1; key <= 1000; key++) {
+            map.put(key, -key);
+            assertTrue(map.size() * 2 <= map.capacity(), "over half full at " + key);
+        }
+
+        assertTrue(map.capacity() > initialCapacity);
+        assertEquals(1000, map.size());
+        for (long key = 1; key <= 1000; key++) {
+            assertEquals(-key, map.get(key));
+        }
+    }
+
+    @Test
+    void removeShiftsTheRestOfTheProbeRunBack() {
+        LongLongHashMap map = new LongLongHashMap(4);
+        int capacity = map.capacity();
+        // A run that wraps around, with a key whose home is slot 0 inside it
+        List<Long> run = keysWithHome(capacity - 1, capacity, 3);
+        long homeZero = keysWithHome(0, capacity, 1).get(0);
+        for (long key : run) {
+            map.put(key, key);
+        }
+        map.put(homeZero, homeZero);
+
+        assertTrue(map.remove(run.get(0)));
+        assertFalse(map.remove(run.get(0)));
+        assertEquals(LongLongHashMap.NO_VALUE, map.get(run.get(0)));
+        // Still reachable with no tombstone left in slot capacity - 1
+        assertEquals(run.get(1), map.get(run.get(1)));
+        assertEquals(run.get(2), map.get(run.get(2)));
+        assertEquals(homeZero, map.get(homeZero));
+        assertEquals(3, map.size());
+
+        assertTrue(map.remove(run.get(1)));
+        assertTrue(map.remove(homeZero));
+        assertEquals(run.get(2), map.get(run.get(2)));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void removeOfMissingKeyChangesNothing() {
+        LongLongHashMap map = new LongLongHashMap(4);
+        map.put(5, 50);
+
+        assertFalse(map.remove(6));
+        assertFalse(map.remove(0));
+        assertEquals(1, map.size());
+        assertEquals(50, map.get(5));
+    }
+
+    @Test
+    void matchesHashMapUnderRandomPutsAndRemoves() {
+        Random random = new Random(42);
+        LongLongHashMap map = new LongLongHashMap(16);
+        Map<Long, Long> expected = new HashMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            // A small key range keeps collisions and removals of present keys frequent
+            long key = 1 + random.nextInt(500);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key) != null, map.remove(key));
+            } else {
+                long value = random.nextInt(1_000_000);
+                map.put(key, value);
+                expected.put(key, value);
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (long key = 1; key <= 500; key++) {
+            assertEquals(expected.getOrDefault(key, LongLongHashMap.NO_VALUE), map.get(key));
+        }
+    }
+
+    @Test
+    void copyIsIndependent() {
+        LongLongHashMap map = new LongLongHashMap(4);
+        map.put(1, 10);
+        LongLongHashMap copy = map.copy();
+        copy.put(2, 20);
+        copy.remove(1);
+
+        assertEquals(10, map.get(1));
+        assertEquals(LongLongHashMap.NO_VALUE, map.get(2));
+        assertEquals(1, map.size());
+        assertEquals(20, copy.get(2));
+    }
+
+    /**
+     * The first {@code count} positive keys whose home slot in a table of the given capacity is {@code slot}.
+     */
+    private static List<Long> keysWithHome(int slot, int capacity, int count) {
+        List<Long> keys = new ArrayList<>();
+        for (long key = 1; keys.size() < count; key++) {
+            if ((LongLongHashMap.mix(key) & (capacity - 1)) == slot) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+}